@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import org.candlepin.auth.PrincipalData;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Compares the encoded size and encode/decode throughput of the supported event body formats for
+ * a couple of representative events: a compliance event with a number of status reasons, and a bulk
+ * consumer deletion event carrying a large list of consumer UUIDs.
+ *
+ * The encoded size of each event is reported through the "bytes" auxiliary counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public String format;
+
+    @Param({"compliance", "bulk_deletion"})
+    public String eventType;
+
+    private EventFormat eventFormat;
+    private Event event;
+    private byte[] encoded;
+
+    /**
+     * Reports the size of the encoded event alongside the throughput figures
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventFormat = EventFormat.fromName(this.format);
+        this.event = "compliance".equals(this.eventType) ?
+            buildComplianceEvent(25) :
+            buildBulkDeletionEvent(5000);
+
+        this.encoded = this.eventFormat.encode(this.event);
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) {
+        byte[] output = this.eventFormat.encode(this.event);
+        size.bytes = output.length;
+
+        return output;
+    }
+
+    @Benchmark
+    public Event decode() {
+        return this.eventFormat.decode(this.encoded);
+    }
+
+    private static Event buildComplianceEvent(int reasonCount) {
+        List<Map<String, String>> reasons = new ArrayList<>(reasonCount);
+        for (int i = 0; i < reasonCount; ++i) {
+            reasons.add(Map.of(
+                "productName", "Red Hat Enterprise Linux Server, Premium (Physical or Virtual Nodes) " + i,
+                "message", "Only supports 2 of 8 sockets."));
+        }
+
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("status", "partial");
+        eventData.put("reasons", reasons);
+
+        String uuid = UUID.randomUUID().toString();
+
+        return new Event(Event.Type.CREATED, Event.Target.COMPLIANCE, buildPrincipal())
+            .setTargetName("system-" + uuid)
+            .setConsumerUuid(uuid)
+            .setEntityId(uuid)
+            .setOwnerKey("benchmark_owner")
+            .setEventData(eventData);
+    }
+
+    private static Event buildBulkDeletionEvent(int consumerCount) {
+        List<String> consumerUuids = new ArrayList<>(consumerCount);
+        for (int i = 0; i < consumerCount; ++i) {
+            consumerUuids.add(UUID.randomUUID().toString());
+        }
+
+        return new Event(Event.Type.BULK_DELETION, Event.Target.CONSUMER, buildPrincipal())
+            .setOwnerKey("benchmark_owner")
+            .setAnonymousOwner(false)
+            .setEventData(Map.of("consumerUuids", consumerUuids));
+    }
+
+    private static PrincipalData buildPrincipal() {
+        return new PrincipalData("UserPrincipal", "admin");
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.bind;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Compares the throughput of concurrent binds against a single pool when the pool row is locked for
+ * the duration of the bind, as done by BindContext.lockPools, against reserving the bound quantity
+ * with a conditional update committed ahead of the bind, as done by BindContext.reservePools.
+ * <p>
+ * Each bind updates the consumed quantity of the pool, performs an amount of work standing in for
+ * the rules, certificate and compliance work of a bind, and creates an entitlement. The binds are
+ * run against an in-memory HSQLDB database in MVCC mode, which blocks concurrent writers of a row
+ * until the writing transaction completes, as PostgreSQL and MariaDB do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PoolQuantityReservationBenchmark {
+    private static final String DB_URL = "jdbc:hsqldb:mem:bind_benchmark;hsqldb.tx=mvcc";
+    private static final String POOL_ID = "pool";
+
+    /** The amount of work, in JMH CPU tokens, performed by each bind besides updating the pool */
+    @Param({"10000", "100000"})
+    public long bindWork;
+
+    private Connection connection;
+
+    /**
+     * Holds the database connection and statements of a benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Binder {
+        private Connection connection;
+        private PreparedStatement lock;
+        private PreparedStatement reserve;
+        private PreparedStatement entitle;
+
+        @Setup(Level.Trial)
+        public void setup() throws SQLException {
+            this.connection = DriverManager.getConnection(DB_URL, "sa", "");
+            this.connection.setAutoCommit(false);
+
+            this.lock = this.connection.prepareStatement(
+                "UPDATE cp_pool SET quantity_consumed = quantity_consumed + ? WHERE id = ?");
+            this.reserve = this.connection.prepareStatement(
+                "UPDATE cp_pool SET quantity_consumed = quantity_consumed + ? " +
+                "WHERE id = ? AND (quantity < 0 OR quantity_consumed + ? <= quantity)");
+            this.entitle = this.connection.prepareStatement(
+                "INSERT INTO cp_entitlement (id, pool_id, quantity) VALUES (?, ?, ?)");
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() throws SQLException {
+            this.connection.close();
+        }
+
+        public void lock(int quantity) throws SQLException {
+            this.lock.setInt(1, quantity);
+            this.lock.setString(2, POOL_ID);
+            this.lock.executeUpdate();
+        }
+
+        public void reserve(int quantity) throws SQLException {
+            this.reserve.setInt(1, quantity);
+            this.reserve.setString(2, POOL_ID);
+            this.reserve.setInt(3, quantity);
+
+            if (this.reserve.executeUpdate() != 1) {
+                throw new IllegalStateException("Insufficient pool quantity");
+            }
+
+            this.connection.commit();
+        }
+
+        public void bind(long work, int quantity) throws SQLException {
+            Blackhole.consumeCPU(work);
+
+            this.entitle.setString(1, UUID.randomUUID().toString());
+            this.entitle.setString(2, POOL_ID);
+            this.entitle.setInt(3, quantity);
+            this.entitle.executeUpdate();
+
+            this.connection.commit();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        // Keeps the in-memory database open for the duration of the trial
+        this.connection = DriverManager.getConnection(DB_URL, "sa", "");
+
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS cp_entitlement");
+            statement.execute("DROP TABLE IF EXISTS cp_pool");
+            statement.execute("CREATE TABLE cp_pool (id VARCHAR(32) PRIMARY KEY, quantity BIGINT, " +
+                "quantity_consumed BIGINT)");
+            statement.execute("CREATE TABLE cp_entitlement (id VARCHAR(36) PRIMARY KEY, " +
+                "pool_id VARCHAR(32), quantity INTEGER)");
+            statement.execute("INSERT INTO cp_pool VALUES ('" + POOL_ID + "', " + Integer.MAX_VALUE + ", 0)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Benchmark
+    public void lockedBind(Binder binder) throws SQLException {
+        // The pool row remains locked until the bind is committed
+        binder.lock(1);
+        binder.bind(this.bindWork, 1);
+    }
+
+    @Benchmark
+    public void reservedBind(Binder binder) throws SQLException {
+        // The pool row is only locked while the reservation is committed
+        binder.reserve(1);
+        binder.bind(this.bindWork, 1);
+    }
+
+}
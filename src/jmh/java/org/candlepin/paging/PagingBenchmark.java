@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.paging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Compares the cost of rendering a single page of in-memory elements using the previous approach
+ * of sorting every element with a comparator invoking the accessor through reflection, against the
+ * compiled accessor comparators, both with a full sort and with the bounded heap selection used by
+ * PagingUtil for leading pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PagingBenchmark {
+
+    @Param({"10000", "200000"})
+    public int elementCount;
+
+    @Param({"1", "20"})
+    public int page;
+
+    @Param({"50"})
+    public int perPage;
+
+    private List<Element> elements;
+    private Comparator<Element> reflectiveComparator;
+    private Comparator<Element> compiledComparator;
+
+    /**
+     * Simple element with a sortable field
+     */
+    public static class Element {
+        private final String name;
+
+        public Element(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        Random random = new Random(8675309);
+
+        this.elements = new ArrayList<>(this.elementCount);
+        for (int i = 0; i < this.elementCount; ++i) {
+            this.elements.add(new Element("element-" + random.nextInt(1000)));
+        }
+
+        this.reflectiveComparator = buildReflectiveComparator(Element.class.getMethod("getName"));
+        this.compiledComparator = new ReflectionFieldComparatorFactory<>(Element.class, null)
+            .getComparator("name");
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Element> buildReflectiveComparator(Method method) {
+        return Comparator.comparing((Element instance) -> {
+            try {
+                return (Comparable) method.invoke(instance);
+            }
+            catch (InvocationTargetException | IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private List<Element> sortAndPage(Comparator<Element> comparator) {
+        return this.elements.stream()
+            .sorted(comparator)
+            .skip((long) (this.page - 1) * this.perPage)
+            .limit(this.perPage)
+            .toList();
+    }
+
+    @Benchmark
+    public List<Element> reflectiveFullSort() {
+        return this.sortAndPage(this.reflectiveComparator);
+    }
+
+    @Benchmark
+    public List<Element> compiledFullSort() {
+        return this.sortAndPage(this.compiledComparator);
+    }
+
+    @Benchmark
+    public List<Element> compiledHeapSelection() {
+        return PagingUtil.selectLeading(this.elements.stream(), this.compiledComparator, this.page * this.perPage)
+            .stream()
+            .skip((long) (this.page - 1) * this.perPage)
+            .toList();
+    }
+
+}
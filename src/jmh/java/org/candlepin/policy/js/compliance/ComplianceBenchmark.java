@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.audit.EventSink;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.dto.ModelTranslator;
+import org.candlepin.dto.StandardTranslator;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerCurator;
+import org.candlepin.model.ConsumerInstalledProduct;
+import org.candlepin.model.ConsumerType;
+import org.candlepin.model.ConsumerTypeCurator;
+import org.candlepin.model.Entitlement;
+import org.candlepin.model.EntitlementCurator;
+import org.candlepin.model.EnvironmentCurator;
+import org.candlepin.model.Owner;
+import org.candlepin.model.OwnerCurator;
+import org.candlepin.model.Pool;
+import org.candlepin.model.Product;
+import org.candlepin.model.Rules;
+import org.candlepin.model.RulesCurator;
+import org.candlepin.policy.js.JsRunnerProvider;
+import org.candlepin.policy.js.JsRunnerRequestCache;
+import org.candlepin.util.ObjectMapperFactory;
+import org.candlepin.util.Util;
+
+import com.google.inject.Provider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xnap.commons.i18n.I18n;
+import org.xnap.commons.i18n.I18nFactory;
+
+import java.io.InputStream;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Compares the cost of calculating the compliance status of a consumer with the compliance functions
+ * of the rules file against the native compliance engine, for a consumer with a number of stacked
+ * entitlements covering its installed products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComplianceBenchmark {
+
+    @Param({"5", "50"})
+    public int entitlementCount;
+
+    @Param({"true", "false"})
+    public boolean calculateCompliantUntil;
+
+    private ComplianceRules jsCompliance;
+    private ComplianceRules nativeCompliance;
+    private Consumer consumer;
+    private Date onDate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConsumerTypeCurator consumerTypeCurator = mock(ConsumerTypeCurator.class);
+        OwnerCurator ownerCurator = mock(OwnerCurator.class);
+        ModelTranslator translator = new StandardTranslator(consumerTypeCurator,
+            mock(EnvironmentCurator.class), ownerCurator);
+
+        // Load the default production rules
+        InputStream is = this.getClass().getResourceAsStream(RulesCurator.DEFAULT_RULES_FILE);
+        RulesCurator rulesCurator = mock(RulesCurator.class);
+        when(rulesCurator.getUpdated()).thenReturn(new Date());
+        when(rulesCurator.getRules()).thenReturn(new Rules(Util.readFile(is)));
+
+        @SuppressWarnings("unchecked")
+        Provider<JsRunnerRequestCache> cacheProvider = mock(Provider.class);
+        when(cacheProvider.get()).thenReturn(mock(JsRunnerRequestCache.class));
+        JsRunnerProvider provider = new JsRunnerProvider(rulesCurator, cacheProvider);
+
+        I18n i18n = I18nFactory.getI18n(this.getClass(), "org.candlepin.i18n.Messages", Locale.US,
+            I18nFactory.FALLBACK);
+
+        DevConfig jsConfig = TestConfig.defaults();
+        jsConfig.setProperty(ConfigProperties.COMPLIANCE_ENGINE, ComplianceRules.Engine.JS.name());
+        DevConfig nativeConfig = TestConfig.defaults();
+        nativeConfig.setProperty(ConfigProperties.COMPLIANCE_ENGINE, ComplianceRules.Engine.NATIVE.name());
+
+        NativeComplianceEngine nativeEngine = new NativeComplianceEngine(consumerTypeCurator);
+        this.jsCompliance = new ComplianceRules(provider.get(), mock(EntitlementCurator.class),
+            new StatusReasonMessageGenerator(i18n), mock(EventSink.class), mock(ConsumerCurator.class),
+            consumerTypeCurator, ObjectMapperFactory.getRulesObjectMapper(), translator,
+            new ComplianceSettingsProvider(jsConfig).get(), nativeEngine);
+        this.nativeCompliance = new ComplianceRules(provider.get(), mock(EntitlementCurator.class),
+            new StatusReasonMessageGenerator(i18n), mock(EventSink.class), mock(ConsumerCurator.class),
+            consumerTypeCurator, ObjectMapperFactory.getRulesObjectMapper(), translator,
+            new ComplianceSettingsProvider(nativeConfig).get(), nativeEngine);
+
+        Owner owner = new Owner()
+            .setId("owner-id")
+            .setKey("owner")
+            .setDisplayName("owner");
+        when(ownerCurator.findOwnerById(owner.getId())).thenReturn(owner);
+
+        ConsumerType ctype = new ConsumerType(ConsumerType.ConsumerTypeEnum.SYSTEM);
+        ctype.setId("system-ctype");
+
+        this.consumer = new Consumer()
+            .setUuid("consumer-uuid")
+            .setOwner(owner)
+            .setType(ctype)
+            .setFact(Consumer.Facts.CPU_SOCKETS, "8")
+            .setFact(Consumer.Facts.CPU_CORES_PER_SOCKET, "4");
+
+        when(consumerTypeCurator.get(ctype.getId())).thenReturn(ctype);
+        when(consumerTypeCurator.getConsumerType(this.consumer)).thenReturn(ctype);
+
+        Set<Product> installed = new HashSet<>();
+        for (int i = 0; i < 5; ++i) {
+            Product product = new Product("installed-" + i, "installed product " + i);
+            installed.add(product);
+
+            this.consumer.addInstalledProduct(new ConsumerInstalledProduct()
+                .setProductId(product.getId())
+                .setProductName(product.getName()));
+        }
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2020, Calendar.JANUARY, 1);
+        Date start = calendar.getTime();
+
+        // Stagger the end dates so calculating the compliant until date checks several dates
+        Set<Entitlement> entitlements = new HashSet<>();
+        for (int i = 0; i < this.entitlementCount; ++i) {
+            calendar.setTime(start);
+            calendar.add(Calendar.MONTH, 12 + i);
+
+            Product sku = new Product("sku-" + i, "sku " + i)
+                .setAttribute(Product.Attributes.STACKING_ID, "stack-" + (i % 2))
+                .setAttribute(Product.Attributes.SOCKETS, "2")
+                .setProvidedProducts(installed);
+
+            Pool pool = new Pool()
+                .setId("pool-" + i)
+                .setOwner(owner)
+                .setProduct(sku)
+                .setQuantity(1000L)
+                .setStartDate(start)
+                .setEndDate(calendar.getTime());
+
+            Entitlement entitlement = new Entitlement(pool, this.consumer, owner, 1);
+            entitlement.setId("ent-" + i);
+            entitlement.setCreated(new Date());
+            entitlement.setUpdated(new Date());
+            entitlements.add(entitlement);
+        }
+
+        this.consumer.setEntitlements(entitlements);
+
+        calendar.setTime(start);
+        calendar.add(Calendar.MONTH, 6);
+        this.onDate = calendar.getTime();
+    }
+
+    private ComplianceStatus getStatus(ComplianceRules compliance) {
+        return compliance.getStatus(this.consumer, List.of(), this.onDate, this.calculateCompliantUntil,
+            false, false, false);
+    }
+
+    @Benchmark
+    public ComplianceStatus jsEngine() {
+        return this.getStatus(this.jsCompliance);
+    }
+
+    @Benchmark
+    public ComplianceStatus nativeEngine() {
+        return this.getStatus(this.nativeCompliance);
+    }
+
+}
@@ -25,7 +25,10 @@ import org.candlepin.controller.mode.CandlepinModeManager.Mode;
 import org.candlepin.controller.mode.ModeChangeListener;
 import org.candlepin.guice.CandlepinRequestScope;
 import org.candlepin.guice.PrincipalProvider;
+import org.candlepin.hibernate.QueryStatistics;
 import org.candlepin.logging.LoggingUtil;
+import org.candlepin.metrics.MetricsRegistry;
+import org.candlepin.metrics.MetricsRegistry.HistogramFamily;
 import org.candlepin.model.AsyncJobStatus;
 import org.candlepin.model.AsyncJobStatus.JobState;
 import org.candlepin.model.AsyncJobStatusCurator;
@@ -107,6 +110,9 @@ public class JobManager implements ModeChangeListener {
     private static final Object SUSPEND_KEY_DEFAULT = "default_suspend_key";
     private static final Object SUSPEND_KEY_TRIGGERED = "triggered_suspend_key";
 
+    /** The upper bounds of the buckets of the job duration histograms, in seconds */
+    private static final double[] JOB_DURATION_BUCKETS = {0.1, 0.5, 1, 5, 15, 30, 60, 300, 900, 1800, 3600};
+
     /** Stores our mapping of job keys to job classes */
     private static final Map<String, Class<? extends AsyncJob>> JOB_KEY_MAP = new HashMap<>();
 
@@ -338,6 +344,8 @@ public class JobManager implements ModeChangeListener {
     private final PrincipalProvider principalProvider;
     private final Injector injector;
     private final Provider<EventSink> eventSinkProvider;
+    private final QueryStatistics queryStatistics;
+    private final HistogramFamily jobDurations;
 
     private ManagerState state;
     private JobMessageSynchronizer synchronizer;
@@ -361,7 +369,9 @@ public class JobManager implements ModeChangeListener {
         PrincipalProvider principalProvider,
         CandlepinRequestScope scope,
         Provider<EventSink> eventSink,
-        Injector injector) {
+        Injector injector,
+        QueryStatistics queryStatistics,
+        MetricsRegistry metricsRegistry) {
 
         this.configuration = Objects.requireNonNull(configuration);
         this.schedulerFactory = Objects.requireNonNull(schedulerFactory);
@@ -374,6 +384,9 @@ public class JobManager implements ModeChangeListener {
         this.principalProvider = Objects.requireNonNull(principalProvider);
         this.eventSinkProvider = Objects.requireNonNull(eventSink);
         this.injector = Objects.requireNonNull(injector);
+        this.queryStatistics = Objects.requireNonNull(queryStatistics);
+        this.jobDurations = metricsRegistry.histogram("candlepin_job_duration_seconds",
+            "The duration of job executions by job key and resulting state", JOB_DURATION_BUCKETS, "job", "state");
 
         this.state = ManagerState.CREATED;
         this.qrtzExecutor = new QuartzJobExecutor(this);
@@ -1232,6 +1245,8 @@ public class JobManager implements ModeChangeListener {
             return status;
         }
 
+        long startTime = System.nanoTime();
+
         try {
             this.setupJobRuntimeEnvironment(status);
 
@@ -1309,6 +1324,8 @@ public class JobManager implements ModeChangeListener {
         }
         finally {
             this.teardownJobRuntimeEnvironment();
+            this.jobDurations.observe(System.nanoTime() - startTime, status.getJobKey(),
+                String.valueOf(status.getState()));
         }
     }
 
@@ -1319,6 +1336,7 @@ public class JobManager implements ModeChangeListener {
      *  - Setting up the logging level
      *  - Injecting the job's metadata to the logging backend
      *  - Setting up the principal to use during job runtime
+     *  - Tracking the statements issued by the job, if enabled
      *
      * @param status
      *  the job status to use to configure the runtime environment
@@ -1377,15 +1395,20 @@ public class JobManager implements ModeChangeListener {
         Principal principal = name != null ? new JobPrincipal(name) : new SystemPrincipal();
 
         ResteasyContext.pushContext(Principal.class, principal);
+
+        this.queryStatistics.begin("job:" + status.getJobKey());
     }
 
     /**
      * Tears down the job's runtime environment, performing the following operations:
      *
+     *  - Recording the statements issued by the job
      *  - Removing the job's context principal from the environment
      *  - Leaving the injection scope (CandlepinRequestScope)
      */
     private void teardownJobRuntimeEnvironment() {
+        this.queryStatistics.end();
+
         // Pop principal info
         ResteasyContext.popContextData(Principal.class);
 
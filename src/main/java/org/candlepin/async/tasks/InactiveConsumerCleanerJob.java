@@ -17,17 +17,13 @@ package org.candlepin.async.tasks;
 import org.candlepin.async.AsyncJob;
 import org.candlepin.async.JobExecutionContext;
 import org.candlepin.async.JobExecutionException;
-import org.candlepin.audit.Event;
-import org.candlepin.audit.EventFactory;
 import org.candlepin.audit.EventSink;
 import org.candlepin.config.ConfigProperties;
 import org.candlepin.config.Configuration;
+import org.candlepin.controller.BulkConsumerDeletion;
 import org.candlepin.model.AnonymousCloudConsumerCurator;
-import org.candlepin.model.CertificateSerialCurator;
 import org.candlepin.model.ConsumerCurator;
-import org.candlepin.model.ContentAccessCertificateCurator;
 import org.candlepin.model.DeletedConsumer;
-import org.candlepin.model.IdentityCertificateCurator;
 import org.candlepin.model.InactiveConsumerRecord;
 import org.candlepin.util.Transactional;
 
@@ -38,11 +34,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -82,32 +74,23 @@ public class InactiveConsumerCleanerJob implements AsyncJob {
     private final Configuration config;
     private final ConsumerCurator consumerCurator;
     private final AnonymousCloudConsumerCurator anonymousCloudConsumerCurator;
-    private final IdentityCertificateCurator identityCertificateCurator;
-    private final ContentAccessCertificateCurator contentAccessCertificateCurator;
-    private final CertificateSerialCurator certificateSerialCurator;
+    private final BulkConsumerDeletion bulkConsumerDeletion;
 
-    private final EventFactory eventFactory;
     private final EventSink eventSink;
 
     @Inject
     public InactiveConsumerCleanerJob(Configuration config,
         ConsumerCurator consumerCurator,
         AnonymousCloudConsumerCurator anonymousCloudConsumerCurator,
-        IdentityCertificateCurator identityCertificateCurator,
-        ContentAccessCertificateCurator contentAccessCertificateCurator,
-        CertificateSerialCurator certificateSerialCurator,
-        EventSink eventSink,
-        EventFactory eventFactory) {
+        BulkConsumerDeletion bulkConsumerDeletion,
+        EventSink eventSink) {
 
         this.config = Objects.requireNonNull(config);
         this.consumerCurator = Objects.requireNonNull(consumerCurator);
         this.anonymousCloudConsumerCurator = Objects.requireNonNull(anonymousCloudConsumerCurator);
-        this.identityCertificateCurator = Objects.requireNonNull(identityCertificateCurator);
-        this.contentAccessCertificateCurator = Objects.requireNonNull(contentAccessCertificateCurator);
-        this.certificateSerialCurator = Objects.requireNonNull(certificateSerialCurator);
+        this.bulkConsumerDeletion = Objects.requireNonNull(bulkConsumerDeletion);
 
         this.eventSink = Objects.requireNonNull(eventSink);
-        this.eventFactory = Objects.requireNonNull(eventFactory);
     }
 
     @Override
@@ -146,71 +129,22 @@ public class InactiveConsumerCleanerJob implements AsyncJob {
         List<InactiveConsumerRecord> inactiveConsumers = this.consumerCurator
             .getInactiveConsumers(lastCheckedInRetention, nonCheckedInRetention);
 
-        return deleteInBatches(inactiveConsumers, batchSize, "inactive consumers",
-            this::deleteInactiveConsumers);
+        return this.deleteInactiveConsumers(inactiveConsumers, batchSize, "inactive consumers");
     }
 
     /**
-     * Deletes inactive consumers and creates {@link DeletedConsumer} records.
+     * Deletes inactive consumers in batches and creates {@link DeletedConsumer} records.
      * The identity certificate and content access certificate for the consumers
      * are removed and their serials are revoked.
      *
-     * @param args
-     *  Arguments for this method; abstracted out due to restrictions in the transactional framework. Must
-     *  consist of a single element which is a collection of InactiveConsumerRecord instances.
-     *
      * @return
      *  the number of consumers that have been deleted.
      */
-    @SuppressWarnings("unchecked")
-    private Integer deleteInactiveConsumers(Object... args) {
-        if (args == null || args.length < 1) {
-            log.trace("No arguments sent to transactional operation");
-            return 0;
-        }
-
-        Collection<InactiveConsumerRecord> inactiveConsumers = (Collection<InactiveConsumerRecord>) args[0];
-        if (inactiveConsumers == null || inactiveConsumers.isEmpty()) {
-            return 0;
-        }
-
-        // This probably isn't the most efficient way to go about this. Once the stream gather operation is
-        // available, we can probably inline all of the partitioning and this into one lazy operation rather
-        // than doing this.
-        Map<String, List<String>> orgConsumerMap = new HashMap<>();
-        List<String> consumerIds = new ArrayList<>();
-        Map<String, Boolean> orgAnonymousMap = new HashMap<>();
-
-        for (InactiveConsumerRecord rec : inactiveConsumers) {
-            consumerIds.add(rec.consumerId());
-            orgConsumerMap.computeIfAbsent(rec.ownerKey(), key -> new ArrayList<>())
-                .add(rec.consumerUuid());
-
-            orgAnonymousMap.computeIfAbsent(rec.ownerKey(), key -> {
-                return rec.isOwnerAnonymous() == null ? false : rec.isOwnerAnonymous();
-            });
-        }
-
-        // Retrieve the certs and their serials for the inactive consumers.
-        List<String> idCertsToRemove = consumerCurator.getIdentityCertIds(consumerIds);
-        List<String> scaCertsToRemove = consumerCurator.getContentAccessCertIds(consumerIds);
-        List<Long> serialIdsToRevoke = this.consumerCurator.getConsumerCertSerialIds(consumerIds);
-
-        int deletedConsumers = this.consumerCurator.deleteConsumers(consumerIds);
-
-        // Delete the certificates and revoke their serials.
-        this.identityCertificateCurator.deleteByIds(idCertsToRemove);
-        this.contentAccessCertificateCurator.deleteByIds(scaCertsToRemove);
-        this.certificateSerialCurator.revokeByIds(serialIdsToRevoke);
-
-        // Build and queue bulk-deletion events on a per-org basis :(
-        for (Map.Entry<String, List<String>> entry : orgConsumerMap.entrySet()) {
-            Boolean anonymous = orgAnonymousMap.get(entry.getKey());
-            Event event = this.eventFactory.bulkConsumerDeletion(entry.getKey(), anonymous, entry.getValue());
-            this.eventSink.queueEvent(event);
-        }
+    private int deleteInactiveConsumers(List<InactiveConsumerRecord> inactiveConsumers, int batchSize,
+        String entityDescription) {
 
-        return deletedConsumers;
+        log.info("Found {} {}", inactiveConsumers.size(), entityDescription);
+        return this.bulkConsumerDeletion.deleteConsumers(inactiveConsumers, batchSize);
     }
 
     private int deleteInactiveConsumersFromAnonymousOwners(Instant lastCheckedInRetention, int batchSize) {
@@ -222,8 +156,7 @@ public class InactiveConsumerCleanerJob implements AsyncJob {
 
         String entityDescription = "inactive consumers from anonymous owners";
 
-        return this.deleteInBatches(inactiveConsumers, batchSize, entityDescription,
-            this::deleteInactiveConsumers);
+        return this.deleteInactiveConsumers(inactiveConsumers, batchSize, entityDescription);
     }
 
     private int deleteInactiveAnonymousCloudConsumers(Instant retention, int batchSize) {
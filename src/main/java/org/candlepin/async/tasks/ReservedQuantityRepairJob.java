@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.async.tasks;
+
+import org.candlepin.async.AsyncJob;
+import org.candlepin.async.JobExecutionContext;
+import org.candlepin.async.JobExecutionException;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.model.PoolCurator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+
+
+
+/**
+ * The ReservedQuantityRepairJob periodically recalculates the consumed quantity of pools holding
+ * quantities reserved by binds which were neither consumed nor released, such as when the node
+ * performing the bind crashed between committing the reservation and completing the bind. Only
+ * pools which have not been updated for the configured grace period are recalculated, so that
+ * reservations of binds still in progress are left untouched.
+ */
+public class ReservedQuantityRepairJob implements AsyncJob {
+    private static final Logger log = LoggerFactory.getLogger(ReservedQuantityRepairJob.class);
+
+    public static final String JOB_KEY = "ReservedQuantityRepairJob";
+    public static final String JOB_NAME = "Reserved Quantity Repair";
+
+    // Every hour, at half past
+    public static final String DEFAULT_SCHEDULE = "0 30 0/1 * * ?";
+
+    // Must be longer than the longest running bind
+    public static final String CFG_GRACE_PERIOD = "grace_period_in_minutes";
+    public static final int DEFAULT_GRACE_PERIOD = 60;
+
+    private final Configuration config;
+    private final PoolCurator poolCurator;
+
+    @Inject
+    public ReservedQuantityRepairJob(Configuration config, PoolCurator poolCurator) {
+        this.config = Objects.requireNonNull(config);
+        this.poolCurator = Objects.requireNonNull(poolCurator);
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        if (!this.config.getBoolean(ConfigProperties.BIND_QUANTITY_RESERVATION)) {
+            context.setJobResult("Quantity reservation is disabled; no pools were checked.");
+            return;
+        }
+
+        int gracePeriod = this.config.getInt(ConfigProperties.jobConfig(JOB_KEY, CFG_GRACE_PERIOD));
+        if (gracePeriod < 1) {
+            String errmsg = String.format("Invalid value for the grace period, must be a positive integer: %s",
+                gracePeriod);
+
+            log.error(errmsg);
+            throw new JobExecutionException(errmsg, true);
+        }
+
+        Instant updatedBefore = Instant.now().minus(gracePeriod, ChronoUnit.MINUTES);
+        int repaired = this.poolCurator.recalculateConsumedForStalePools(Date.from(updatedBefore));
+
+        String outcome;
+
+        if (repaired > 0) {
+            outcome = String.format("Recalculated the consumed quantity of %d pools.", repaired);
+            log.warn(outcome);
+        }
+        else {
+            outcome = "No pools needed their consumed quantity recalculated.";
+            log.debug(outcome);
+        }
+
+        context.setJobResult(outcome);
+    }
+}
@@ -38,8 +38,14 @@ public class ActiveMQContextListener {
     private static  Logger log = LoggerFactory.getLogger(ActiveMQContextListener.class);
 
     private ArtemisMessageSource messageSource;
+    private EventPublisher eventPublisher;
 
     public void contextDestroyed(Injector injector) {
+        // Flush any committed events before tearing down the broker connections
+        if (this.eventPublisher != null) {
+            this.eventPublisher.shutdown();
+        }
+
         if (this.messageSource != null) {
             this.messageSource.shutDown();
         }
@@ -68,6 +74,10 @@ public class ActiveMQContextListener {
         // Initialize the ActiveMQ status monitor so that client sessions can be established
         // if the broker is active.
         activeMQStatusMonitor.initialize();
+
+        // Start the background event publisher, if enabled
+        this.eventPublisher = injector.getInstance(EventPublisher.class);
+        this.eventPublisher.start();
     }
 
     /**
@@ -50,18 +50,32 @@ public class DefaultEventMessageReceiver extends EventMessageReceiver {
             log.debug("ActiveMQ message {} acknowledged for listener: {}", msg.getMessageID(), listener);
 
             // Process the message via our EventListener framework.
-            if (msg.getType() == ClientMessage.TEXT_TYPE) {
-                SimpleString sstr = msg.getBodyBuffer().readNullableSimpleString();
-                if (sstr != null) {
-                    body = sstr.toString();
-                }
+            Event event;
+            EventFormat format = EventFormat.fromContentType(
+                msg.getStringProperty(EventFormat.CONTENT_TYPE_KEY));
+
+            if (format.isBinary()) {
+                byte[] payload = new byte[msg.getBodyBuffer().readableBytes()];
+                msg.getBodyBuffer().readBytes(payload);
+
+                event = format.decode(payload);
+                body = event.toString();
             }
             else {
-                body = msg.getBodyBuffer().readString();
+                if (msg.getType() == ClientMessage.TEXT_TYPE) {
+                    SimpleString sstr = msg.getBodyBuffer().readNullableSimpleString();
+                    if (sstr != null) {
+                        body = sstr.toString();
+                    }
+                }
+                else {
+                    body = msg.getBodyBuffer().readString();
+                }
+
+                event = mapper.readValue(body, Event.class);
             }
 
             log.debug("Got event: {}", body);
-            Event event = mapper.readValue(body, Event.class);
             listener.onEvent(event);
 
             log.debug("Message listener {} processed message: {}: SUCCESS", listener, msg.getMessageID());
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import org.candlepin.util.ObjectMapperFactory;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+
+
+/**
+ * The EventFormat enum defines the encodings which may be used for event message bodies. JSON is the
+ * default and is sent as a text message for compatibility with existing consumers. The binary formats
+ * are sent as byte messages, with the content type of the body stored in the
+ * {@link #CONTENT_TYPE_KEY} message property so consumers can decode them accordingly.
+ */
+public enum EventFormat {
+    JSON("application/json", ObjectMapperFactory::getObjectMapper),
+    SMILE("application/x-jackson-smile", ObjectMapperFactory::getSmileObjectMapper),
+    CBOR("application/cbor", ObjectMapperFactory::getCborObjectMapper);
+
+    /** The message property containing the content type of the event body */
+    public static final String CONTENT_TYPE_KEY = "EVENT_CONTENT_TYPE";
+
+    private final String contentType;
+    private final Supplier<ObjectMapper> mapperSupplier;
+    private volatile ObjectMapper mapper;
+
+    EventFormat(String contentType, Supplier<ObjectMapper> mapperSupplier) {
+        this.contentType = contentType;
+        this.mapperSupplier = mapperSupplier;
+    }
+
+    /**
+     * Fetches the MIME content type of event bodies encoded with this format.
+     *
+     * @return
+     *  the content type of this format
+     */
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    /**
+     * Checks whether or not this format produces binary (non-text) message bodies.
+     *
+     * @return
+     *  true if this format is a binary format; false otherwise
+     */
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * Fetches the object mapper used to encode and decode events in this format. The mapper is built
+     * on first use with Candlepin's standard mapper configuration.
+     *
+     * @return
+     *  the object mapper for this format
+     */
+    public ObjectMapper getMapper() {
+        ObjectMapper result = this.mapper;
+
+        if (result == null) {
+            synchronized (this) {
+                result = this.mapper;
+                if (result == null) {
+                    result = this.mapperSupplier.get();
+                    this.mapper = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Encodes the given event in this format.
+     *
+     * @param event
+     *  the event to encode
+     *
+     * @return
+     *  the encoded event
+     */
+    public byte[] encode(Event event) {
+        return this.getMapper().writeValueAsBytes(event);
+    }
+
+    /**
+     * Decodes an event encoded in this format.
+     *
+     * @param payload
+     *  the encoded event
+     *
+     * @return
+     *  the decoded event
+     */
+    public Event decode(byte[] payload) {
+        return this.getMapper().readValue(payload, Event.class);
+    }
+
+    /**
+     * Resolves the format with the given name, ignoring case.
+     *
+     * @param name
+     *  the name of the format to resolve
+     *
+     * @throws IllegalArgumentException
+     *  if the name does not match any known format
+     *
+     * @return
+     *  the matching event format
+     */
+    public static EventFormat fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return JSON;
+        }
+
+        return EventFormat.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Resolves the format with the given content type. Messages without a content type predate the
+     * binary formats and are always JSON.
+     *
+     * @param contentType
+     *  the content type of an event message body
+     *
+     * @throws IllegalArgumentException
+     *  if the content type does not match any known format
+     *
+     * @return
+     *  the matching event format
+     */
+    public static EventFormat fromContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return JSON;
+        }
+
+        for (EventFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown event content type: " + contentType);
+    }
+}
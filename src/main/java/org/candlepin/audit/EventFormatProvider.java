@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+
+import com.google.inject.Provider;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * Provides the {@link EventFormat} configured for event message bodies. The configured format is
+ * resolved and validated once, so an invalid format fails at startup rather than on every request
+ * which sends events.
+ */
+@Singleton
+public class EventFormatProvider implements Provider<EventFormat> {
+
+    private final EventFormat format;
+
+    @Inject
+    public EventFormatProvider(Configuration config) {
+        String name = config.getString(ConfigProperties.AUDIT_EVENT_FORMAT);
+
+        try {
+            this.format = EventFormat.fromName(name);
+        }
+        catch (IllegalArgumentException e) {
+            String msg = String.format("Invalid value for %s: %s; must be one of JSON, SMILE or CBOR",
+                ConfigProperties.AUDIT_EVENT_FORMAT, name);
+
+            throw new ConfigurationException(msg, e);
+        }
+    }
+
+    @Override
+    public EventFormat get() {
+        return this.format;
+    }
+
+}
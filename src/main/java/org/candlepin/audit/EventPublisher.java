@@ -0,0 +1,676 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import org.candlepin.async.impl.ActiveMQSessionFactory;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The EventPublisher is responsible for delivering committed events to the message broker off of the
+ * request thread. Events are handed off by the {@link EventSinkImpl} once the request or job which
+ * generated them has completed successfully, and a single background thread then serializes and sends
+ * them in batches, each batch using a single transacted broker session.
+ * <p>
+ * The queue of pending events is bounded. When it fills up, the configured {@link OverflowPolicy}
+ * determines whether the committing thread waits, drops the events, or spills them to disk to be
+ * replayed once the publisher has caught up.
+ * <p>
+ * When asynchronous publishing is disabled, this object is inert and the EventSinkImpl sends events
+ * directly at commit time, as it always has.
+ */
+@Singleton
+public class EventPublisher {
+    private static final Logger log = LoggerFactory.getLogger(EventPublisher.class);
+
+    private static final String SPILL_FILE_SUFFIX = ".spill";
+    private static final String SPILL_TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Header of spill files recording the format of each spilled event. Spill files without it hold
+     * JSON events only; being negative, the header is never mistaken for the length of such an event.
+     */
+    private static final int SPILL_FILE_HEADER = 0xCEF5_0001;
+    private static final long POLL_INTERVAL = 1000; // milliseconds
+    private static final long SHUTDOWN_TIMEOUT = 30000; // milliseconds
+
+    /**
+     * Defines how committed events are handled when the publisher queue has no room for them
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait up to the configured offer timeout for room in the queue; if there is still no room,
+         * send the events on the committing thread. No events are lost, but commit latency may grow.
+         */
+        BLOCK,
+
+        /** Discard events which do not fit in the queue. Commit latency is never affected. */
+        DROP,
+
+        /**
+         * Write events which do not fit in the queue to the spill directory. Spilled events are
+         * replayed, in order, once the publisher is idle.
+         */
+        SPILL
+    }
+
+    /**
+     * A point-in-time snapshot of the publisher's delivery counters.
+     *
+     * @param enqueued
+     *  the number of events accepted into the publisher queue
+     *
+     * @param published
+     *  the number of events committed to the broker by the publisher
+     *
+     * @param batches
+     *  the number of transacted batches committed to the broker
+     *
+     * @param dropped
+     *  the number of events discarded due to overflow
+     *
+     * @param spilled
+     *  the number of events written to the spill directory
+     *
+     * @param replayed
+     *  the number of spilled events subsequently delivered to the broker
+     *
+     * @param sentInline
+     *  the number of events sent on the committing thread after the queue remained full
+     *
+     * @param failed
+     *  the number of events which could not be serialized or delivered
+     *
+     * @param pending
+     *  the number of events currently waiting in the publisher queue
+     */
+    public record Stats(long enqueued, long published, long batches, long dropped, long spilled,
+        long replayed, long sentInline, long failed, int pending) {
+    }
+
+    private final ActiveMQSessionFactory sessionFactory;
+    private final ObjectMapper mapper;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeout;
+    private final Path spillDir;
+    private final EventFormat format;
+    private final BlockingQueue<Event> queue;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder sentInline = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong spillSequence = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @Inject
+    public EventPublisher(Configuration config, ActiveMQSessionFactory sessionFactory, ObjectMapper mapper,
+        EventFormat format) {
+
+        this.sessionFactory = sessionFactory;
+        this.mapper = mapper;
+
+        this.enabled = config.getBoolean(ConfigProperties.AUDIT_PUBLISHER_ASYNC_ENABLED);
+        this.batchSize = config.getInt(ConfigProperties.AUDIT_PUBLISHER_BATCH_SIZE);
+        this.offerTimeout = config.getLong(ConfigProperties.AUDIT_PUBLISHER_OFFER_TIMEOUT);
+        this.spillDir = Paths.get(config.getString(ConfigProperties.AUDIT_PUBLISHER_SPILL_DIR));
+        this.format = Objects.requireNonNull(format);
+        this.overflowPolicy = OverflowPolicy.valueOf(
+            config.getString(ConfigProperties.AUDIT_PUBLISHER_OVERFLOW_POLICY).toUpperCase(Locale.ROOT));
+
+        this.queue = new ArrayBlockingQueue<>(config.getInt(ConfigProperties.AUDIT_PUBLISHER_QUEUE_SIZE));
+    }
+
+    /**
+     * Checks whether or not asynchronous publishing has been enabled. When this returns false, events
+     * should not be handed to this publisher.
+     *
+     * @return
+     *  true if asynchronous event publishing is enabled; false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Starts the background publishing thread. Any events left in the spill directory by a previous
+     * run will be replayed once the publisher is idle. If asynchronous publishing is disabled, this
+     * method does nothing.
+     */
+    public synchronized void start() {
+        if (!this.enabled || this.running) {
+            return;
+        }
+
+        if (this.overflowPolicy == OverflowPolicy.SPILL) {
+            try {
+                Files.createDirectories(this.spillDir);
+            }
+            catch (IOException e) {
+                throw new IllegalStateException("Unable to create event spill directory: " + this.spillDir, e);
+            }
+        }
+
+        this.running = true;
+        this.worker = new Thread(this::run, "candlepin-event-publisher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+
+        log.info("Asynchronous event publisher started; batch size: {}, overflow policy: {}",
+            this.batchSize, this.overflowPolicy);
+    }
+
+    /**
+     * Stops the background publishing thread, waiting a short time for any events remaining in the
+     * queue to be delivered. Events which cannot be delivered before the timeout are spilled if the
+     * SPILL policy is in effect, or dropped otherwise.
+     */
+    public synchronized void shutdown() {
+        if (!this.running) {
+            return;
+        }
+
+        this.running = false;
+
+        try {
+            this.worker.join(SHUTDOWN_TIMEOUT);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Event> remaining = new ArrayList<>();
+        this.queue.drainTo(remaining);
+
+        if (!remaining.isEmpty()) {
+            log.warn("Event publisher shut down with {} undelivered events", remaining.size());
+            this.overflow(remaining, false);
+        }
+
+        log.info("Asynchronous event publisher stopped: {}", this.getStats());
+    }
+
+    /**
+     * Hands the given committed events to the publisher. Events are queued in the order provided; if
+     * the queue fills up, the remaining events are handled according to the configured overflow policy.
+     *
+     * @param events
+     *  the committed events to publish
+     */
+    public void publish(Collection<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        if (!this.running) {
+            // Not started (or already shut down); don't strand the events in the queue.
+            this.overflow(new ArrayList<>(events), true);
+            return;
+        }
+
+        List<Event> overflow = null;
+        for (Event event : events) {
+            if (overflow != null) {
+                overflow.add(event);
+                continue;
+            }
+
+            if (this.offer(event)) {
+                this.enqueued.increment();
+            }
+            else {
+                overflow = new ArrayList<>();
+                overflow.add(event);
+            }
+        }
+
+        if (overflow != null) {
+            log.warn("Event publisher queue full; applying {} policy to {} events",
+                this.overflowPolicy, overflow.size());
+
+            this.overflow(overflow, true);
+        }
+    }
+
+    /**
+     * Fetches a snapshot of the publisher's delivery counters.
+     *
+     * @return
+     *  a Stats instance representing the current state of this publisher
+     */
+    public Stats getStats() {
+        return new Stats(this.enqueued.sum(), this.published.sum(), this.batches.sum(), this.dropped.sum(),
+            this.spilled.sum(), this.replayed.sum(), this.sentInline.sum(), this.failed.sum(),
+            this.queue.size());
+    }
+
+    private boolean offer(Event event) {
+        if (this.overflowPolicy != OverflowPolicy.BLOCK) {
+            return this.queue.offer(event);
+        }
+
+        try {
+            return this.queue.offer(event, this.offerTimeout, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void overflow(List<Event> events, boolean allowInline) {
+        if (this.overflowPolicy == OverflowPolicy.SPILL) {
+            this.spill(events);
+        }
+        else if (this.overflowPolicy == OverflowPolicy.BLOCK && allowInline) {
+            this.sendInline(events);
+        }
+        else {
+            log.warn("Dropping {} events", events.size());
+            this.dropped.add(events.size());
+        }
+    }
+
+    private void sendInline(List<Event> events) {
+        List<OutboundMessage> messages = this.serialize(events);
+
+        try {
+            this.send(messages);
+            this.sentInline.add(messages.size());
+        }
+        catch (Exception e) {
+            log.error("Unable to send events to the broker", e);
+            this.failed.add(messages.size());
+        }
+    }
+
+    /**
+     * Main loop of the publishing thread. Waits for events to arrive, then drains and sends them in
+     * batches. Spilled events are replayed whenever the queue is idle.
+     */
+    private void run() {
+        List<Event> batch = new ArrayList<>(this.batchSize);
+
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                Event first = this.queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (this.running) {
+                        this.replaySpilledEvents();
+                    }
+
+                    continue;
+                }
+
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+
+                this.publishBatch(batch);
+            }
+            catch (InterruptedException e) {
+                log.warn("Event publisher interrupted");
+                Thread.currentThread().interrupt();
+                break;
+            }
+            catch (Exception e) {
+                // Never let the publisher thread die on an unexpected error
+                log.error("Unexpected exception in event publisher", e);
+            }
+            finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publishBatch(List<Event> batch) {
+        List<OutboundMessage> messages = this.serialize(batch);
+
+        try {
+            this.send(messages);
+
+            this.published.add(messages.size());
+            this.batches.increment();
+            log.debug("Published batch of {} events", messages.size());
+        }
+        catch (Exception e) {
+            log.error("Unable to publish batch of {} events", messages.size(), e);
+
+            if (this.overflowPolicy == OverflowPolicy.SPILL) {
+                this.spill(batch);
+            }
+            else {
+                this.failed.add(messages.size());
+            }
+        }
+    }
+
+    private List<OutboundMessage> serialize(List<Event> events) {
+        List<OutboundMessage> messages = new ArrayList<>(events.size());
+
+        for (Event event : events) {
+            try {
+                messages.add(new OutboundMessage(encode(this.mapper, this.format, event), this.format,
+                    event.getType(), event.getTarget()));
+            }
+            catch (Exception e) {
+                log.error("Unable to serialize event: {}", event, e);
+                this.failed.increment();
+            }
+        }
+
+        return messages;
+    }
+
+    /**
+     * Sends the given messages to the broker in a single transacted session.
+     */
+    private void send(List<OutboundMessage> messages) throws Exception {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try (ClientSession session = this.sessionFactory.getEgressSession(true);
+            ClientProducer producer = session.createProducer(MessageAddress.DEFAULT_EVENT_MESSAGE_ADDRESS)) {
+
+            try {
+                for (OutboundMessage outbound : messages) {
+                    producer.send(buildMessage(session, outbound.payload(), outbound.format(),
+                        outbound.type(), outbound.target()));
+                }
+
+                session.commit();
+            }
+            catch (Exception e) {
+                session.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Encodes the given event in the specified format. JSON is encoded with the provided mapper, rather
+     * than the format's own, so the injected mapper's configuration continues to apply to JSON events.
+     *
+     * @param mapper
+     *  the mapper to use for JSON encoding
+     *
+     * @param format
+     *  the format in which to encode the event
+     *
+     * @param event
+     *  the event to encode
+     *
+     * @return
+     *  the encoded event
+     */
+    static byte[] encode(ObjectMapper mapper, EventFormat format, Event event) {
+        if (format.isBinary()) {
+            return format.encode(event);
+        }
+
+        return mapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a durable broker message for the given encoded event. JSON events are sent as text
+     * messages; binary events are sent as byte messages with their content type set in the
+     * {@link EventFormat#CONTENT_TYPE_KEY} property.
+     *
+     * @param session
+     *  the session with which to create the message
+     *
+     * @param payload
+     *  the encoded event
+     *
+     * @param format
+     *  the format in which the event was encoded
+     *
+     * @param type
+     *  the type of the event, or null if the type is not known
+     *
+     * @param target
+     *  the target of the event, or null if the target is not known
+     *
+     * @return
+     *  a new client message containing the serialized event
+     */
+    static ClientMessage buildMessage(ClientSession session, byte[] payload, EventFormat format,
+        Event.Type type, Event.Target target) {
+
+        ClientMessage message;
+        if (format.isBinary()) {
+            message = session.createMessage(ClientMessage.BYTES_TYPE, true);
+            message.getBodyBuffer().writeBytes(payload);
+            message.putStringProperty(EventFormat.CONTENT_TYPE_KEY, format.getContentType());
+        }
+        else {
+            message = session.createMessage(ClientMessage.TEXT_TYPE, true);
+            message.getBodyBuffer()
+                .writeNullableSimpleString(SimpleString.of(new String(payload, StandardCharsets.UTF_8)));
+        }
+
+        // Set the event type and target if provided
+        if (type != null) {
+            message.putStringProperty(EventSinkImpl.EVENT_TYPE_KEY, type.name());
+        }
+
+        if (target != null) {
+            message.putStringProperty(EventSinkImpl.EVENT_TARGET_KEY, target.name());
+        }
+
+        return message;
+    }
+
+    /**
+     * Writes the given events to a new file in the spill directory. The file is written under a
+     * temporary name and moved into place once complete, so a partially written file is never replayed.
+     */
+    private void spill(List<Event> events) {
+        String name = String.format("events-%d-%06d", System.currentTimeMillis(),
+            this.spillSequence.incrementAndGet());
+
+        Path temp = this.spillDir.resolve(name + SPILL_TEMP_SUFFIX);
+        Path target = this.spillDir.resolve(name + SPILL_FILE_SUFFIX);
+
+        int count = 0;
+        try {
+            try (OutputStream ostream = Files.newOutputStream(temp);
+                DataOutputStream output = new DataOutputStream(ostream)) {
+
+                output.writeInt(SPILL_FILE_HEADER);
+                for (OutboundMessage message : this.serialize(events)) {
+                    output.writeUTF(message.format().name());
+                    output.writeInt(message.payload().length);
+                    output.write(message.payload());
+                    ++count;
+                }
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            this.spilled.add(count);
+
+            log.debug("Spilled {} events to {}", count, target);
+        }
+        catch (IOException e) {
+            log.error("Unable to spill {} events to {}", events.size(), this.spillDir, e);
+            this.failed.add(events.size());
+        }
+    }
+
+    /**
+     * Replays any events in the spill directory, oldest first. Each file is deleted only once all of
+     * its events have been committed to the broker.
+     */
+    private void replaySpilledEvents() {
+        if (this.overflowPolicy != OverflowPolicy.SPILL || !Files.isDirectory(this.spillDir)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(this.spillDir)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SPILL_FILE_SUFFIX))
+                .sorted()
+                .toList();
+        }
+        catch (IOException e) {
+            log.error("Unable to list event spill directory: {}", this.spillDir, e);
+            return;
+        }
+
+        for (Path file : files) {
+            // Stop replaying as soon as live events show up; they take priority.
+            if (!this.running || !this.queue.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<OutboundMessage> messages = this.readSpillFile(file);
+                for (int offset = 0; offset < messages.size(); offset += this.batchSize) {
+                    this.send(messages.subList(offset, Math.min(offset + this.batchSize, messages.size())));
+                }
+
+                Files.delete(file);
+                this.replayed.add(messages.size());
+
+                log.info("Replayed {} spilled events from {}", messages.size(), file);
+            }
+            catch (Exception e) {
+                // Leave the file in place; we'll retry on the next idle cycle.
+                log.error("Unable to replay spilled events from {}", file, e);
+                return;
+            }
+        }
+    }
+
+    private List<OutboundMessage> readSpillFile(Path file) throws IOException {
+        List<OutboundMessage> messages = new ArrayList<>();
+
+        try (InputStream istream = Files.newInputStream(file);
+            DataInputStream input = new DataInputStream(istream)) {
+
+            int header;
+            try {
+                header = input.readInt();
+            }
+            catch (EOFException e) {
+                return messages;
+            }
+
+            if (header != SPILL_FILE_HEADER) {
+                // Spill file written before event formats were recorded; the header is the length of
+                // its first JSON event
+                this.readLegacySpillFile(input, header, messages);
+                return messages;
+            }
+
+            while (true) {
+                EventFormat format;
+                try {
+                    format = EventFormat.valueOf(input.readUTF());
+                }
+                catch (EOFException e) {
+                    break;
+                }
+
+                byte[] payload = new byte[input.readInt()];
+                input.readFully(payload);
+
+                // Spilled events may predate a format change, so use the format they were written in
+                messages.add(this.toOutboundMessage(payload, format));
+            }
+        }
+
+        return messages;
+    }
+
+    private void readLegacySpillFile(DataInputStream input, int length, List<OutboundMessage> messages)
+        throws IOException {
+
+        while (true) {
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+
+            messages.add(this.toOutboundMessage(payload, EventFormat.JSON));
+
+            try {
+                length = input.readInt();
+            }
+            catch (EOFException e) {
+                break;
+            }
+        }
+    }
+
+    private OutboundMessage toOutboundMessage(byte[] payload, EventFormat format) {
+        Event event = format.isBinary() ?
+            format.decode(payload) :
+            this.mapper.readValue(payload, Event.class);
+
+        return new OutboundMessage(payload, format, event.getType(), event.getTarget());
+    }
+
+    /**
+     * A serialized event, ready to be sent to the broker
+     */
+    private record OutboundMessage(byte[] payload, EventFormat format, Event.Type type,
+        Event.Target target) {
+    }
+}
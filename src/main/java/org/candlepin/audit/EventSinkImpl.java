@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import tools.jackson.databind.ObjectMapper;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -50,6 +51,10 @@ import jakarta.inject.Inject;
  * sending of events on successful job or API request, as well as rollback if either fails.
  *
  * An single instance of this object will be created per request/job.
+ *
+ * When asynchronous publishing is enabled, queued events are held in memory until the request or job
+ * completes, and are then handed to the {@link EventPublisher} to be serialized and sent off of the
+ * request thread.
  */
 @CandlepinRequestScoped
 public class EventSinkImpl implements EventSink {
@@ -67,10 +72,14 @@ public class EventSinkImpl implements EventSink {
     private ActiveMQSessionFactory sessionFactory;
     private EventMessageSender messageSender;
 
+    private EventPublisher publisher;
+    private EventFormat format;
+    private List<Event> pendingEvents;
+
     @Inject
     public EventSinkImpl(EventFilter eventFilter, EventFactory eventFactory,
         ObjectMapper mapper, Configuration config, ActiveMQSessionFactory sessionFactory,
-        CandlepinModeManager modeManager) {
+        CandlepinModeManager modeManager, EventPublisher publisher, EventFormat format) {
 
         this.eventFactory = eventFactory;
         this.mapper = mapper;
@@ -78,6 +87,8 @@ public class EventSinkImpl implements EventSink {
         this.modeManager = modeManager;
         this.config = config;
         this.sessionFactory = sessionFactory;
+        this.publisher = publisher;
+        this.format = format;
     }
 
     // FIXME This method really does not belong here. It should probably be moved
@@ -128,6 +139,17 @@ public class EventSinkImpl implements EventSink {
 
         log.debug("Queuing event: {}", event);
 
+        // Serialization and delivery are deferred to the publisher once we know the request or job
+        // completed successfully.
+        if (this.publisher.isEnabled()) {
+            if (this.pendingEvents == null) {
+                this.pendingEvents = new ArrayList<>();
+            }
+
+            this.pendingEvents.add(event);
+            return;
+        }
+
         try {
             // Lazily initialize the message sender when the first
             // message gets queued.
@@ -135,7 +157,8 @@ public class EventSinkImpl implements EventSink {
                 messageSender = new EventMessageSender(this.sessionFactory);
             }
 
-            messageSender.queueMessage(mapper.writeValueAsString(event), event.getType(), event.getTarget());
+            byte[] payload = EventPublisher.encode(this.mapper, this.format, event);
+            messageSender.queueMessage(payload, event.getType(), event.getTarget());
         }
         catch (Exception e) {
             log.error("Error while trying to send event", e);
@@ -153,7 +176,17 @@ public class EventSinkImpl implements EventSink {
             log.debug("No events to send.");
             return;
         }
-        messageSender.sendMessages();
+
+        if (pendingEvents != null) {
+            List<Event> events = pendingEvents;
+            pendingEvents = null;
+
+            publisher.publish(events);
+        }
+
+        if (messageSender != null) {
+            messageSender.sendMessages();
+        }
     }
 
     @Override
@@ -162,11 +195,19 @@ public class EventSinkImpl implements EventSink {
             log.debug("No events to roll back.");
             return;
         }
-        messageSender.cancelMessages();
+
+        if (pendingEvents != null) {
+            log.warn("Discarding {} pending events.", pendingEvents.size());
+            pendingEvents = null;
+        }
+
+        if (messageSender != null) {
+            messageSender.cancelMessages();
+        }
     }
 
     private boolean hasQueuedMessages() {
-        return messageSender != null;
+        return messageSender != null || pendingEvents != null;
     }
 
     public void emitConsumerCreated(Consumer newConsumer) {
@@ -262,7 +303,7 @@ public class EventSinkImpl implements EventSink {
             log.debug("Created new message sender.");
         }
 
-        public void queueMessage(String eventString, Event.Type type, Event.Target target)
+        public void queueMessage(byte[] payload, Event.Type type, Event.Target target)
             throws ActiveMQException {
             if (session.isClosed()) {
                 try {
@@ -275,17 +316,7 @@ public class EventSinkImpl implements EventSink {
                 }
             }
 
-            ClientMessage message = session.createMessage(ClientMessage.TEXT_TYPE, true);
-            message.getBodyBuffer().writeNullableSimpleString(SimpleString.of(eventString));
-
-            // Set the event type and target if provided
-            if (type != null) {
-                message.putStringProperty(EVENT_TYPE_KEY, type.name());
-            }
-
-            if (target != null) {
-                message.putStringProperty(EVENT_TARGET_KEY, target.name());
-            }
+            ClientMessage message = EventPublisher.buildMessage(session, payload, format, type, target);
 
             // NOTE: not actually sent until we commit the session.
             producer.send(message);
@@ -78,6 +78,11 @@ public class BindChain {
     }
 
     private void lock(BindContext context) {
+        if (context.reservePools()) {
+            log.debug("Reserved pool quantities");
+            return;
+        }
+
         log.debug("Requesting locks");
         context.lockPools();
         log.debug("Successfully achieved locks");
@@ -106,7 +111,16 @@ public class BindChain {
     public Collection<Entitlement> run() throws EntitlementRefusedException {
         if (preProcess(context)) {
             lock(context);
-            if (execute(context)) {
+
+            boolean executed = false;
+            try {
+                executed = execute(context);
+            }
+            finally {
+                context.completeReservation(executed);
+            }
+
+            if (executed) {
                 return context.getEntitlementMap().values();
             }
         }
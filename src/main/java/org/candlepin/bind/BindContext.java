@@ -14,6 +14,8 @@
  */
 package org.candlepin.bind;
 
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
 import org.candlepin.model.Consumer;
 import org.candlepin.model.ConsumerCurator;
 import org.candlepin.model.ConsumerType;
@@ -24,17 +26,30 @@ import org.candlepin.model.OwnerCurator;
 import org.candlepin.model.Pool;
 import org.candlepin.model.PoolCurator;
 import org.candlepin.model.PoolQuantity;
+import org.candlepin.model.Product;
 import org.candlepin.policy.EntitlementRefusedException;
 import org.candlepin.util.Util;
 
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xnap.commons.i18n.I18n;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
 
 
 
@@ -48,6 +63,8 @@ import jakarta.inject.Inject;
  * one call per entity type.
  */
 public class BindContext {
+    private static final Logger log = LoggerFactory.getLogger(BindContext.class);
+
     private Consumer consumer;
     private Owner owner;
     private Consumer lockedConsumer;
@@ -62,6 +79,11 @@ public class BindContext {
     private ConsumerTypeCurator consumerTypeCurator;
     private OwnerCurator ownerCurator;
     private I18n i18n;
+    private Configuration config;
+    private QuantityReservationBatcher reservationBatcher;
+    private DeferredPoolLocks deferredPoolLocks;
+    private Map<String, Integer> reservedQuantities;
+    private boolean reservationReleased = false;
 
     @Inject
     public BindContext(PoolCurator poolCurator,
@@ -69,6 +91,9 @@ public class BindContext {
         ConsumerTypeCurator consumerTypeCurator,
         OwnerCurator ownerCurator,
         I18n i18n,
+        Configuration config,
+        QuantityReservationBatcher reservationBatcher,
+        DeferredPoolLocks deferredPoolLocks,
         Consumer consumer,
         Map<String, Integer> quantities) {
 
@@ -77,6 +102,9 @@ public class BindContext {
         this.consumerTypeCurator = consumerTypeCurator;
         this.ownerCurator = ownerCurator;
         this.i18n = i18n;
+        this.config = config;
+        this.reservationBatcher = reservationBatcher;
+        this.deferredPoolLocks = deferredPoolLocks;
         this.consumer = consumer;
         this.quantities = quantities;
     }
@@ -123,16 +151,191 @@ public class BindContext {
     }
 
     /**
-     * locks the pools and replaces the existing entities in poolQuantities.
+     * locks the pools and replaces the existing entities in poolQuantities. Any pools for which the
+     * current request deferred locking are locked along with them, in the same pass.
      */
     public void lockPools() {
-        Collection<Pool> pools = poolCurator.lockAndLoad(poolQuantities.keySet());
+        Set<String> poolIds = new HashSet<>(this.deferredPoolLocks.take());
+        poolIds.addAll(poolQuantities.keySet());
+
+        List<Pool> pools = new ArrayList<>();
+        for (Pool pool : poolCurator.lockAndLoad(poolIds)) {
+            if (poolQuantities.containsKey(pool.getId())) {
+                pools.add(pool);
+            }
+        }
+
         this.poolCurator.refresh(pools);
         for (Pool pool : pools) {
             poolQuantities.get(pool.getId()).setPool(pool);
         }
     }
 
+    /**
+     * Attempts to reserve the requested quantities of the pools in place of locking them, such that
+     * concurrent binds against the same pools are not serialized on the pool rows for the duration
+     * of the bind. Quantities are never reserved for binds by manifest consumers, or for pools which
+     * are stacked, create or are bonus pools, or are already locked by the current transaction. In
+     * such cases, or when a pool does not have enough quantity available, the pools must be locked
+     * with {@link #lockPools()} instead, leaving the rules to refuse the bind where needed.
+     * <p>
+     * Once reserved, the consumed quantity of the pools is reloaded from the database, and already
+     * includes the reserved quantities, which must not be added to it again by the bind. Reserved
+     * pools are read-only until the reservation is completed with {@link #completeReservation(boolean)},
+     * so that the pools are not written by the bind. Reserved quantities are released should the
+     * current transaction be rolled back.
+     *
+     * @return
+     *  true if the quantities were reserved; false if the pools must be locked instead
+     */
+    public boolean reservePools() {
+        if (!this.config.getBoolean(ConfigProperties.BIND_QUANTITY_RESERVATION)) {
+            return false;
+        }
+
+        Session session = this.poolCurator.currentSession();
+        Transaction transaction = session.getTransaction();
+        if (transaction == null || transaction.getStatus() != TransactionStatus.ACTIVE ||
+            this.getConsumerType().isManifest()) {
+
+            return false;
+        }
+
+        Map<String, Integer> reservation = new HashMap<>();
+        for (PoolQuantity poolQuantity : this.poolQuantities.values()) {
+            Pool pool = poolQuantity.getPool();
+            if (poolQuantity.getQuantity() < 1 || !this.isReservable(session, pool)) {
+                return false;
+            }
+
+            reservation.put(pool.getId(), poolQuantity.getQuantity());
+        }
+
+        if (reservation.isEmpty()) {
+            return false;
+        }
+
+        try {
+            int timeout = this.config.getInt(ConfigProperties.BIND_QUANTITY_RESERVATION_TIMEOUT);
+            if (!this.reservationBatcher.reserve(reservation, timeout)) {
+                log.debug("Insufficient quantity to reserve for pools {}; locking pools", reservation.keySet());
+                return false;
+            }
+        }
+        catch (PersistenceException e) {
+            log.warn("Unable to reserve quantity for pools {}; locking pools", reservation.keySet(), e);
+            return false;
+        }
+
+        this.reservedQuantities = reservation;
+        transaction.registerSynchronization(new ReservationSynchronizer());
+
+        List<Pool> pools = new ArrayList<>();
+        for (PoolQuantity poolQuantity : this.poolQuantities.values()) {
+            session.setReadOnly(poolQuantity.getPool(), true);
+            pools.add(poolQuantity.getPool());
+        }
+
+        // The reservation was committed in a separate transaction, leaving the consumed quantity of
+        // the loaded pools outdated
+        this.poolCurator.reloadQuantities(pools);
+
+        return true;
+    }
+
+    private boolean isReservable(Session session, Pool pool) {
+        return isReservable(pool) &&
+            session.contains(pool) &&
+            session.getLockMode(pool) != LockModeType.PESSIMISTIC_WRITE;
+    }
+
+    /**
+     * Checks if the quantity bound from the given pool may be reserved rather than the pool being
+     * locked. The quantity of stacked pools, and of pools which create or are bonus pools, is never
+     * reserved.
+     *
+     * @param pool
+     *  the pool to check
+     *
+     * @return
+     *  true if the quantity bound from the pool may be reserved; false otherwise
+     */
+    public static boolean isReservable(Pool pool) {
+        return !pool.isStacked() &&
+            !pool.hasMergedAttribute(Product.Attributes.VIRT_LIMIT) &&
+            !pool.hasAttribute(Pool.Attributes.DERIVED_POOL);
+    }
+
+    /**
+     * Checks if the quantities of the pools were reserved by {@link #reservePools()}, rather than the
+     * pools being locked.
+     *
+     * @return
+     *  true if the quantities of the pools were reserved; false otherwise
+     */
+    public boolean isReserved() {
+        return this.reservedQuantities != null;
+    }
+
+    /**
+     * Completes the reservation of the pool quantities, if any, making the pools modifiable again. If
+     * the reserved quantities were not consumed by the bind, they are released immediately.
+     *
+     * @param consumed
+     *  whether or not the reserved quantities were consumed by the bind
+     */
+    public void completeReservation(boolean consumed) {
+        if (!this.isReserved()) {
+            return;
+        }
+
+        Session session = this.poolCurator.currentSession();
+        for (PoolQuantity poolQuantity : this.poolQuantities.values()) {
+            if (session.contains(poolQuantity.getPool())) {
+                session.setReadOnly(poolQuantity.getPool(), false);
+            }
+        }
+
+        if (!consumed) {
+            this.releaseReservation();
+        }
+    }
+
+    private void releaseReservation() {
+        if (!this.isReserved() || this.reservationReleased) {
+            return;
+        }
+
+        this.reservationReleased = true;
+
+        try {
+            this.poolCurator.releaseQuantities(this.reservedQuantities);
+            log.debug("Released reserved quantity for pools {}", this.reservedQuantities.keySet());
+        }
+        catch (PersistenceException e) {
+            // The consumed quantity of the pools stays inflated until it is recalculated from their
+            // entitlements by the ReservedQuantityRepairJob
+            log.error("Unable to release reserved quantity for pools: {}", this.reservedQuantities, e);
+        }
+    }
+
+    /**
+     * Releases reserved quantities when the transaction consuming them is rolled back
+     */
+    private class ReservationSynchronizer implements Synchronization {
+        @Override
+        public void beforeCompletion() {
+            // Intentionally left empty
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED) {
+                releaseReservation();
+            }
+        }
+    }
+
     public Consumer getLockedConsumer() {
         if (lockedConsumer == null) {
             lockedConsumer = consumerCurator.lock(consumer);
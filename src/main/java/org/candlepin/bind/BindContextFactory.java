@@ -14,6 +14,7 @@
  */
 package org.candlepin.bind;
 
+import org.candlepin.config.Configuration;
 import org.candlepin.model.Consumer;
 import org.candlepin.model.ConsumerCurator;
 import org.candlepin.model.ConsumerTypeCurator;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 
 
 
@@ -36,15 +38,22 @@ public class BindContextFactory {
     private final ConsumerTypeCurator consumerTypeCurator;
     private final OwnerCurator ownerCurator;
     private final I18n i18n;
+    private final Configuration config;
+    private final QuantityReservationBatcher reservationBatcher;
+    private final Provider<DeferredPoolLocks> deferredPoolLocksProvider;
 
     @Inject
     public BindContextFactory(PoolCurator poolCurator, ConsumerCurator consumerCurator,
-        ConsumerTypeCurator consumerTypeCurator, OwnerCurator ownerCurator, I18n i18n) {
+        ConsumerTypeCurator consumerTypeCurator, OwnerCurator ownerCurator, I18n i18n, Configuration config,
+        QuantityReservationBatcher reservationBatcher, Provider<DeferredPoolLocks> deferredPoolLocksProvider) {
         this.poolCurator = Objects.requireNonNull(poolCurator);
         this.consumerCurator = Objects.requireNonNull(consumerCurator);
         this.consumerTypeCurator = Objects.requireNonNull(consumerTypeCurator);
         this.ownerCurator = Objects.requireNonNull(ownerCurator);
         this.i18n = Objects.requireNonNull(i18n);
+        this.config = Objects.requireNonNull(config);
+        this.reservationBatcher = Objects.requireNonNull(reservationBatcher);
+        this.deferredPoolLocksProvider = Objects.requireNonNull(deferredPoolLocksProvider);
     }
 
     public BindContext create(Consumer consumer, Map<String, Integer> quantities) {
@@ -54,6 +63,9 @@ public class BindContextFactory {
             consumerTypeCurator,
             ownerCurator,
             i18n,
+            config,
+            reservationBatcher,
+            deferredPoolLocksProvider.get(),
             consumer,
             quantities);
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.bind;
+
+import org.candlepin.guice.CandlepinRequestScoped;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+
+
+/**
+ * Tracks the pools which a request binds without locking them up front, as their bound quantity is
+ * expected to be reserved rather than locked. Should a bind of the request have to lock its pools
+ * instead, every tracked pool is locked along with them in a single pass in pool ID order, so that
+ * concurrent requests binding the same pools still acquire their locks in the same order.
+ */
+@CandlepinRequestScoped
+public class DeferredPoolLocks {
+
+    private final Set<String> poolIds = new HashSet<>();
+
+    /**
+     * Adds the given pools to the pools for which locking was deferred
+     *
+     * @param poolIds
+     *  the IDs of the pools for which locking was deferred
+     */
+    public void defer(Collection<String> poolIds) {
+        this.poolIds.addAll(poolIds);
+    }
+
+    /**
+     * Retrieves and clears the pools for which locking was deferred, which must then be locked by
+     * the caller.
+     *
+     * @return
+     *  the IDs of the pools for which locking was deferred
+     */
+    public Set<String> take() {
+        Set<String> deferred = Set.copyOf(this.poolIds);
+        this.poolIds.clear();
+
+        return deferred;
+    }
+
+    /**
+     * Clears the pools for which locking was deferred, once the binds of the request they were
+     * deferred for are complete.
+     */
+    public void clear() {
+        this.poolIds.clear();
+    }
+}
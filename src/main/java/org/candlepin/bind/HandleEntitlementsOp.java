@@ -82,7 +82,10 @@ public class HandleEntitlementsOp implements BindOperation {
             ent.setConsumer(consumer);
             ent.setOwner(pool.getOwner());
 
-            pool.setConsumed(pool.getConsumed() + quantity);
+            // Reserved quantities are already included in the consumed quantity of the pool
+            if (!context.isReserved()) {
+                pool.setConsumed(pool.getConsumed() + quantity);
+            }
 
             if (ctype.isManifest()) {
                 pool.setExported(pool.getExported() + quantity);
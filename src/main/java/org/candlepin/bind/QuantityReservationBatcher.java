@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.bind;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.model.PoolCurator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.persistence.PersistenceException;
+
+
+
+/**
+ * The QuantityReservationBatcher reserves the quantities of concurrent binds against the same set of
+ * pools together. A bind requesting a reservation for a set of pools while no other reservation
+ * against the same pools is in progress reserves its quantity at once. Otherwise, the first bind to
+ * request a reservation holds a batch open, for up to the batch window, while other reservations
+ * against the same pools are in progress, collecting the reservations requested by other binds in
+ * the meantime, then reserves their combined quantities with a single update of each pool on behalf
+ * of all of them. Should the pools not have enough quantity available for every bind of the batch,
+ * the reservations are retried one bind at a time, so that as many binds as possible succeed.
+ * <p>
+ * Only the quantity reservations are shared between binds; everything else a bind does happens in
+ * the transaction of its own request.
+ */
+@Singleton
+public class QuantityReservationBatcher {
+    private static final Logger log = LoggerFactory.getLogger(QuantityReservationBatcher.class);
+
+    private final PoolCurator poolCurator;
+    private final long window;
+    private final int maxSize;
+    private final Map<Set<String>, Batch> batches = new ConcurrentHashMap<>();
+    private final Map<Set<String>, Integer> inProgress = new ConcurrentHashMap<>();
+
+    /**
+     * A reservation requested by a single bind
+     */
+    private static class Request {
+        private final Map<String, Integer> quantities;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        public Request(Map<String, Integer> quantities) {
+            this.quantities = quantities;
+        }
+    }
+
+    /**
+     * The reservations collected for a set of pools during a batch window
+     */
+    private static class Batch {
+        private final List<Request> requests = new ArrayList<>();
+        private boolean closed = false;
+
+        public synchronized int add(Request request, int maxSize) {
+            if (this.closed) {
+                return -1;
+            }
+
+            this.requests.add(request);
+            this.notifyAll();
+
+            return this.requests.size() - 1;
+        }
+
+        /**
+         * Waits until the batch is full, the window elapses, or no reservation outside of the batch
+         * remains in progress, as reported by the given function.
+         */
+        public synchronized void await(long window, int maxSize, IntSupplier inProgress) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(window);
+            long remaining = deadline - System.nanoTime();
+
+            while (this.requests.size() < maxSize && remaining > 0 &&
+                inProgress.getAsInt() > this.requests.size()) {
+
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                remaining = deadline - System.nanoTime();
+            }
+        }
+
+        public synchronized void wake() {
+            this.notifyAll();
+        }
+
+        public synchronized List<Request> close() {
+            this.closed = true;
+            return List.copyOf(this.requests);
+        }
+    }
+
+    @Inject
+    public QuantityReservationBatcher(Configuration config, PoolCurator poolCurator) {
+        this.poolCurator = Objects.requireNonNull(poolCurator);
+        this.window = config.getInt(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_WINDOW);
+        this.maxSize = config.getInt(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_SIZE);
+    }
+
+    /**
+     * Reserves the given quantities of the specified pools, as described by
+     * {@link PoolCurator#reserveQuantities(Map, int)}, batching the reservation with those of
+     * concurrent binds against the same set of pools. The reservation is made at once if no other
+     * reservation against the same pools is in progress.
+     *
+     * @param quantities
+     *  a mapping of pool IDs to the quantity to reserve from the pool
+     *
+     * @param timeout
+     *  the maximum time, in seconds, to wait for each pool update
+     *
+     * @throws PersistenceException
+     *  if the quantities could not be reserved, such as when the timeout is exceeded
+     *
+     * @return
+     *  true if the quantities were reserved; false if any of the pools does not exist or does not have
+     *  enough quantity available
+     */
+    public boolean reserve(Map<String, Integer> quantities, int timeout) {
+        if (this.window <= 0 || this.maxSize < 2) {
+            return this.poolCurator.reserveQuantities(quantities, timeout);
+        }
+
+        Set<String> poolIds = Set.copyOf(quantities.keySet());
+        Request request = new Request(Map.copyOf(quantities));
+
+        this.inProgress.merge(poolIds, 1, Integer::sum);
+
+        try {
+            int position;
+            Batch batch;
+
+            do {
+                batch = this.batches.computeIfAbsent(poolIds, key -> new Batch());
+                position = batch.add(request, this.maxSize);
+            }
+            while (position < 0);
+
+            if (position == 0) {
+                this.lead(poolIds, batch, timeout);
+            }
+
+            return this.await(request);
+        }
+        finally {
+            this.inProgress.computeIfPresent(poolIds, (key, count) -> count > 1 ? count - 1 : null);
+
+            // Let a batch held open for this reservation proceed
+            Batch next = this.batches.get(poolIds);
+            if (next != null) {
+                next.wake();
+            }
+        }
+    }
+
+    private void lead(Set<String> poolIds, Batch batch, int timeout) {
+        // Only hold the batch open while other reservations against the same pools are in progress,
+        // either queued to join the batch or being made ahead of it
+        batch.await(this.window, this.maxSize, () -> this.inProgress.getOrDefault(poolIds, 0));
+
+        this.batches.remove(poolIds, batch);
+        List<Request> requests = batch.close();
+
+        try {
+            this.execute(requests, timeout);
+        }
+        catch (RuntimeException e) {
+            requests.forEach(request -> request.result.completeExceptionally(e));
+        }
+        finally {
+            // Ensure no bind is left waiting on an unexpected error
+            PersistenceException error = new PersistenceException("Quantity reservation was not completed");
+            requests.forEach(request -> request.result.completeExceptionally(error));
+        }
+    }
+
+    private void execute(List<Request> requests, int timeout) {
+        if (requests.size() > 1) {
+            Map<String, Integer> combined = new HashMap<>();
+            for (Request request : requests) {
+                request.quantities.forEach((poolId, quantity) -> combined.merge(poolId, quantity, Integer::sum));
+            }
+
+            if (this.poolCurator.reserveQuantities(combined, timeout)) {
+                log.debug("Reserved quantity for {} binds against pools {}", requests.size(), combined.keySet());
+                requests.forEach(request -> request.result.complete(true));
+                return;
+            }
+
+            log.debug("Insufficient quantity to reserve for {} binds; reserving individually", requests.size());
+        }
+
+        for (Request request : requests) {
+            request.result.complete(this.poolCurator.reserveQuantities(request.quantities, timeout));
+        }
+    }
+
+    private boolean await(Request request) {
+        try {
+            return request.result.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            // Release the reservation should it still be made on our behalf
+            request.result.thenAccept(reserved -> {
+                if (reserved) {
+                    this.poolCurator.releaseQuantities(request.quantities);
+                }
+            });
+
+            throw new PersistenceException("Interrupted while awaiting quantity reservation", e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new PersistenceException("Unable to reserve quantity", e.getCause());
+        }
+    }
+
+}
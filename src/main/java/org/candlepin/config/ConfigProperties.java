@@ -24,6 +24,7 @@ import org.candlepin.async.tasks.ImportRecordCleanerJob;
 import org.candlepin.async.tasks.InactiveConsumerCleanerJob;
 import org.candlepin.async.tasks.JobCleaner;
 import org.candlepin.async.tasks.ManifestCleanerJob;
+import org.candlepin.async.tasks.ReservedQuantityRepairJob;
 import org.candlepin.async.tasks.RevokeEntitlementsJob;
 import org.candlepin.async.tasks.UnmappedGuestEntitlementCleanerJob;
 import org.candlepin.config.validation.ConfigurationValidator;
@@ -32,11 +33,13 @@ import org.candlepin.config.validation.StringConfigurationValidator;
 import org.candlepin.database.MigrationManagementLevel;
 import org.candlepin.model.AnonymousCloudConsumer;
 import org.candlepin.pki.SchemeReader;
+import org.candlepin.sync.file.ManifestFileServiceProvider;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Defines a map of default properties used to prepopulate the {@link Configuration}.
@@ -121,6 +124,45 @@ public class ConfigProperties {
      */
     public static final String AUDIT_FILTER_DEFAULT_POLICY = "candlepin.audit.filter.policy";
 
+    /**
+     * Enables asynchronous event publishing. When enabled, events queued during a request or job are
+     * handed off to a background publisher on commit, which serializes and sends them to the broker in
+     * batches rather than on the request thread.
+     */
+    public static final String AUDIT_PUBLISHER_ASYNC_ENABLED = "candlepin.audit.publisher.async.enabled";
+    /**
+     * The maximum number of committed events which may be waiting on the background publisher
+     */
+    public static final String AUDIT_PUBLISHER_QUEUE_SIZE = "candlepin.audit.publisher.queue_size";
+    /**
+     * The maximum number of events sent to the broker in a single transacted session
+     */
+    public static final String AUDIT_PUBLISHER_BATCH_SIZE = "candlepin.audit.publisher.batch_size";
+    /**
+     * What to do with committed events when the publisher queue is full. Can be set to BLOCK, DROP or
+     * SPILL. See EventPublisher.OverflowPolicy for details.
+     */
+    public static final String AUDIT_PUBLISHER_OVERFLOW_POLICY = "candlepin.audit.publisher.overflow_policy";
+    /**
+     * How long (in milliseconds) a committing thread will wait for space in the publisher queue
+     * before applying the overflow fallback.
+     */
+    public static final String AUDIT_PUBLISHER_OFFER_TIMEOUT = "candlepin.audit.publisher.offer_timeout";
+    /**
+     * Directory in which events are spilled when the SPILL overflow policy is in effect, or when a
+     * batch could not be delivered to the broker. Spilled events are replayed once the publisher is idle.
+     */
+    public static final String AUDIT_PUBLISHER_SPILL_DIR = "candlepin.audit.publisher.spill_dir";
+
+    /**
+     * The encoding used for event message bodies. Can be set to JSON, SMILE or CBOR. JSON bodies are
+     * sent as text messages, as they always have been; binary bodies are sent as byte messages with
+     * their content type in the EVENT_CONTENT_TYPE message property. See EventFormat. Spilled events
+     * record the format they were written in, so the format may be changed while spilled events are
+     * pending replay.
+     */
+    public static final String AUDIT_EVENT_FORMAT = "candlepin.audit.event_format";
+
     public static final String PRETTY_PRINT = "candlepin.pretty_print";
     public static final String ACTIVATION_DEBUG_PREFIX = "candlepin.subscription.activation.debug_prefix";
 
@@ -182,6 +224,95 @@ public class ConfigProperties {
     public static final String DB_MAX_CONNECTION_ATTEMPTS = "candlepin.db.max_connection_attempts";
     public static final String DB_CONNECTION_RETRY_INTERVAL = "candlepin.db.retry_interval";
 
+    /**
+     *  Whether or not the statements issued by each request and job are tracked, making query
+     *  statistics for each endpoint and job available through the admin API.
+     */
+    public static final String DB_QUERY_STATS_ENABLED = "candlepin.db.query_stats.enabled";
+
+    /**
+     *  The number of times an identical statement may be issued by a single request or job before the
+     *  request or job is flagged for repeating it; such statements are typically issued by lazily
+     *  loading an association separately for each of many entities.
+     */
+    public static final String DB_QUERY_STATS_REPEAT_THRESHOLD = "candlepin.db.query_stats.repeat_threshold";
+
+    /**
+     *  The number of statements a request or job must issue to be logged along with its query
+     *  statistics. Setting this to 0 disables logging.
+     */
+    public static final String DB_QUERY_STATS_LOG_THRESHOLD = "candlepin.db.query_stats.log_threshold";
+
+    /**
+     *  Whether or not requests to read-only endpoints are served by the read replica database. The
+     *  replica is configured with the same connection pool settings as the primary database.
+     */
+    public static final String DB_REPLICA_ENABLED = "candlepin.db.replica.enabled";
+
+    /**
+     *  The JDBC URL of the read replica database
+     */
+    public static final String DB_REPLICA_URL = "candlepin.db.replica.url";
+
+    /**
+     *  The username used to connect to the read replica database. If not set, the username of the
+     *  primary database is used.
+     */
+    public static final String DB_REPLICA_USERNAME = "candlepin.db.replica.username";
+
+    /**
+     *  The password used to connect to the read replica database. If not set, the password of the
+     *  primary database is used.
+     */
+    public static final String DB_REPLICA_PASSWORD = "candlepin.db.replica.password";
+
+    /**
+     *  The maximum replication lag of the read replica, in seconds. While the replica lags further
+     *  behind the primary database, or cannot be reached, reads are served by the primary database.
+     */
+    public static final String DB_REPLICA_MAX_LAG = "candlepin.db.replica.max_lag";
+
+    /**
+     *  The interval between checks of the replication lag and availability of the read replica, in
+     *  seconds
+     */
+    public static final String DB_REPLICA_CHECK_INTERVAL = "candlepin.db.replica.check_interval";
+
+    /**
+     *  The query returning the replication lag of the read replica in seconds, run against the
+     *  replica. The default query is specific to PostgreSQL. Setting this to an empty value disables
+     *  the lag check, only checking the availability of the replica.
+     */
+    public static final String DB_REPLICA_LAG_QUERY = "candlepin.db.replica.lag_query";
+
+    // Metrics
+    /**
+     *  Whether or not request and job durations are recorded and metrics are made available in the
+     *  Prometheus text format through the admin API
+     */
+    public static final String METRICS_ENABLED = "candlepin.metrics.enabled";
+
+    /**
+     *  The upper bounds of the buckets of the request duration histograms, as a list of durations in
+     *  seconds, in ascending order
+     */
+    public static final String METRICS_BUCKETS = "candlepin.metrics.buckets";
+
+    // Startup
+    /**
+     *  Whether or not independent subsystems, such as the rules, messaging and resource method
+     *  scanning, are initialized concurrently at startup. When disabled, the subsystems are initialized
+     *  one at a time.
+     */
+    public static final String STARTUP_PARALLEL_INIT = "candlepin.startup.parallel_init";
+
+    // Rules
+    /**
+     *  Directory in which the rules, once compiled, are kept so that later starts and rules reloads can
+     *  load the compiled rules rather than compiling them again. An empty value disables the cache.
+     */
+    public static final String RULES_COMPILED_CACHE_DIR = "candlepin.rules.compiled_cache_dir";
+
     // Cache
     public static final String CACHE_JMX_STATS = "cache.jmx.statistics";
     public static final String CACHE_CONFIG_FILE_URI = JPA_CONFIG_PREFIX + "hibernate.javax.cache.uri";
@@ -189,12 +320,115 @@ public class ConfigProperties {
     public static final String CACHE_ANON_CERT_CONTENT_MAX_ENTRIES =
         "candlepin.cache.anonymous.cert.content.max_entries";
 
+    /**
+     *  The maximum total size, in bytes, of the serialized products retained between manifest
+     *  exports. Setting this to 0 disables the export cache.
+     */
+    public static final String CACHE_EXPORT_MAX_BYTES = "candlepin.cache.export.max_bytes";
+
+    /**
+     *  The maximum number of organizations for which a snapshot of their active content is retained.
+     *  Setting this to 0 disables the active content cache.
+     */
+    public static final String CACHE_ACTIVE_CONTENT_MAX_ENTRIES = "candlepin.cache.active_content.max_entries";
+
+    /**
+     *  The maximum age, in milliseconds, of an organization's active content snapshot; bounds the time
+     *  a snapshot is reused across changes to the active content which do not update the organization's
+     *  content timestamp, such as pools starting or expiring.
+     */
+    public static final String CACHE_ACTIVE_CONTENT_TTL = "candlepin.cache.active_content.ttl";
+
+    /**
+     *  The maximum number of organizations for which an index of their pools is retained for
+     *  selecting autobind candidate pools. Setting this to 0 disables the autobind pool index.
+     */
+    public static final String CACHE_AUTOBIND_POOLS_MAX_ENTRIES = "candlepin.cache.autobind_pools.max_entries";
+
+    /**
+     *  The maximum age, in milliseconds, of an organization's autobind pool index; bounds the time an
+     *  index is reused across pool changes which are not reflected by the organization's pool version.
+     */
+    public static final String CACHE_AUTOBIND_POOLS_TTL = "candlepin.cache.autobind_pools.ttl";
+
+    // Compliance
+    /**
+     *  The engine used to calculate compliance status; either "js" to run the compliance functions of
+     *  the rules file, or "native" to use the native implementation of the same rules.
+     */
+    public static final String COMPLIANCE_ENGINE = "candlepin.compliance.engine";
+
+    /**
+     *  The percentage of compliance calculations, from 0 to 100, which are also run with the engine
+     *  that is not configured, logging any difference between the results of the two engines.
+     */
+    public static final String COMPLIANCE_SHADOW_PERCENTAGE = "candlepin.compliance.shadow_percentage";
+
+    /**
+     *  The number of threads used to run the compliance functions of the rules file when calculating
+     *  the compliance status of many consumers at once. Statuses are calculated on the requesting
+     *  thread when set to 1.
+     */
+    public static final String COMPLIANCE_BULK_THREADS = "candlepin.compliance.bulk_threads";
+
+    // Bind
+    /**
+     *  Whether or not the quantity consumed by a bind is reserved with a conditional update committed
+     *  in its own short transaction, rather than by locking the bound pools for the duration of the
+     *  bind. Binds against stacked pools, pools creating bonus pools, or by manifest consumers always
+     *  lock the pools. Reserving binds briefly use a second database connection, which should be
+     *  accounted for in the size of the connection pool.
+     *  <p>
+     *  A reservation is committed before the bind consuming it, and is released if the bind fails. If
+     *  Candlepin stops between the two commits, such as when the process is killed, the reservation is
+     *  never released and the consumed quantity of the pools remains inflated. The
+     *  ReservedQuantityRepairJob periodically recalculates the consumed quantity of such pools from
+     *  their entitlements, once they have not been updated for its configured grace period.
+     */
+    public static final String BIND_QUANTITY_RESERVATION = "candlepin.bind.quantity_reservation";
+
+    /**
+     *  The maximum time, in seconds, to wait for a quantity reservation before falling back to locking
+     *  the bound pools
+     */
+    public static final String BIND_QUANTITY_RESERVATION_TIMEOUT = "candlepin.bind.quantity_reservation.timeout";
+
+    /**
+     *  The maximum time, in milliseconds, for which quantity reservations of concurrent binds against
+     *  the same set of pools are collected, to be reserved together with a single update of each pool.
+     *  Reservations are only collected while other reservations against the same pools are in
+     *  progress; an uncontended reservation is made at once. Setting this to 0 disables batching,
+     *  reserving the quantity of each bind separately.
+     */
+    public static final String BIND_QUANTITY_RESERVATION_BATCH_WINDOW =
+        "candlepin.bind.quantity_reservation.batch_window";
+
+    /**
+     *  The maximum number of binds whose quantity reservations are batched together
+     */
+    public static final String BIND_QUANTITY_RESERVATION_BATCH_SIZE =
+        "candlepin.bind.quantity_reservation.batch_size";
+
     // Paging
     public static final String PAGING_DEFAULT_PAGE_SIZE = "candlepin.paging.default_page_size";
     public static final String PAGING_MAX_PAGE_SIZE = "candlepin.paging.max_page_size";
 
     public static final String SYNC_WORK_DIR = "candlepin.sync.work_dir";
 
+    /**
+     *  The number of threads used to parse the entries of a manifest during import. Parsing is
+     *  performed on the importing thread when set to 1.
+     */
+    public static final String SYNC_IMPORT_PARSE_THREADS = "candlepin.sync.import.parse_threads";
+
+    /**
+     *  Where stored manifest archives are kept; either "db" to store archives in the database, or
+     *  "filesystem" to store archives in the manifest storage directory with only their metadata in
+     *  the database.
+     */
+    public static final String SYNC_MANIFEST_STORAGE_TYPE = "candlepin.sync.manifest_storage.type";
+    public static final String SYNC_MANIFEST_STORAGE_DIR = "candlepin.sync.manifest_storage.dir";
+
     /**
      *  Controls which facts will be stored by Candlepin -- facts with keys that do not match this
      *  value will be discarded.
@@ -380,6 +614,7 @@ public class ConfigProperties {
         ImportRecordCleanerJob.JOB_KEY,
         JobCleaner.JOB_KEY,
         ManifestCleanerJob.JOB_KEY,
+        ReservedQuantityRepairJob.JOB_KEY,
         UnmappedGuestEntitlementCleanerJob.JOB_KEY,
         InactiveConsumerCleanerJob.JOB_KEY
     };
@@ -451,6 +686,28 @@ public class ConfigProperties {
             // Database connection
             this.put(DB_CONNECTION_RETRY_INTERVAL, "5"); // seconds
             this.put(DB_MAX_CONNECTION_ATTEMPTS, "3");
+            this.put(DB_QUERY_STATS_ENABLED, "false");
+            this.put(DB_QUERY_STATS_REPEAT_THRESHOLD, "10");
+            this.put(DB_QUERY_STATS_LOG_THRESHOLD, "0");
+            this.put(DB_REPLICA_ENABLED, "false");
+            this.put(DB_REPLICA_URL, "");
+            this.put(DB_REPLICA_USERNAME, "");
+            this.put(DB_REPLICA_PASSWORD, "");
+            this.put(DB_REPLICA_MAX_LAG, "30"); // seconds
+            this.put(DB_REPLICA_CHECK_INTERVAL, "10"); // seconds
+            this.put(DB_REPLICA_LAG_QUERY, "SELECT CASE WHEN pg_last_wal_receive_lsn() = " +
+                "pg_last_wal_replay_lsn() THEN 0 ELSE EXTRACT(EPOCH FROM now() - " +
+                "pg_last_xact_replay_timestamp()) END");
+
+            // Metrics
+            this.put(METRICS_ENABLED, "true");
+            this.put(METRICS_BUCKETS, "0.005,0.01,0.025,0.05,0.1,0.25,0.5,1,2.5,5,10,30,60");
+
+            // Startup
+            this.put(STARTUP_PARALLEL_INIT, "true");
+
+            // Rules
+            this.put(RULES_COMPILED_CACHE_DIR, "/var/cache/candlepin/rules");
 
             this.put(JWT_ISSUER, "Candlepin");
             this.put(JWT_TOKEN_TTL, "600"); // seconds
@@ -509,9 +766,20 @@ public class ConfigProperties {
             this.put(AUDIT_FILTER_DO_FILTER, "");
             this.put(AUDIT_FILTER_DEFAULT_POLICY, "DO_FILTER");
 
+            this.put(AUDIT_PUBLISHER_ASYNC_ENABLED, "false");
+            this.put(AUDIT_PUBLISHER_QUEUE_SIZE, "10000");
+            this.put(AUDIT_PUBLISHER_BATCH_SIZE, "500");
+            this.put(AUDIT_PUBLISHER_OVERFLOW_POLICY, "BLOCK");
+            this.put(AUDIT_PUBLISHER_OFFER_TIMEOUT, "5000"); // milliseconds
+            this.put(AUDIT_PUBLISHER_SPILL_DIR, "/var/cache/candlepin/events");
+            this.put(AUDIT_EVENT_FORMAT, "JSON");
+
             this.put(PRETTY_PRINT, "false");
 
             this.put(SYNC_WORK_DIR, "/var/cache/candlepin/sync");
+            this.put(SYNC_IMPORT_PARSE_THREADS, "4");
+            this.put(SYNC_MANIFEST_STORAGE_TYPE, ManifestFileServiceProvider.STORAGE_TYPE_DB);
+            this.put(SYNC_MANIFEST_STORAGE_DIR, "/var/lib/candlepin/manifests");
             this.put(CONSUMER_FACTS_MATCHER, ".*");
             this.put(TRUSTED_AUTHENTICATION, "false");
             this.put(SSL_AUTHENTICATION, "true");
@@ -535,6 +803,20 @@ public class ConfigProperties {
             this.put(CACHE_CONFIG_FILE_URI, "ehcache.xml");
             this.put(CACHE_ANON_CERT_CONTENT_TTL, "120000"); // milliseconds
             this.put(CACHE_ANON_CERT_CONTENT_MAX_ENTRIES, "10000");
+            this.put(CACHE_EXPORT_MAX_BYTES, "33554432"); // 32 MiB
+            this.put(CACHE_ACTIVE_CONTENT_MAX_ENTRIES, "500");
+            this.put(CACHE_ACTIVE_CONTENT_TTL, "3600000"); // milliseconds
+            this.put(CACHE_AUTOBIND_POOLS_MAX_ENTRIES, "500");
+            this.put(CACHE_AUTOBIND_POOLS_TTL, "600000"); // milliseconds
+
+            this.put(COMPLIANCE_ENGINE, "js");
+            this.put(COMPLIANCE_SHADOW_PERCENTAGE, "0");
+            this.put(COMPLIANCE_BULK_THREADS, "4");
+
+            this.put(BIND_QUANTITY_RESERVATION, "false");
+            this.put(BIND_QUANTITY_RESERVATION_TIMEOUT, "2"); // seconds
+            this.put(BIND_QUANTITY_RESERVATION_BATCH_WINDOW, "0"); // milliseconds
+            this.put(BIND_QUANTITY_RESERVATION_BATCH_SIZE, "50");
 
             this.put(PAGING_DEFAULT_PAGE_SIZE, "10");
             this.put(PAGING_MAX_PAGE_SIZE, "3000");
@@ -656,6 +938,12 @@ public class ConfigProperties {
             this.put(jobConfig(ManifestCleanerJob.JOB_KEY, ManifestCleanerJob.CFG_MAX_AGE_IN_MINUTES),
                 Integer.toString(ManifestCleanerJob.DEFAULT_MAX_AGE_IN_MINUTES));
 
+            // ReservedQuantityRepairJob
+            this.put(jobConfig(ReservedQuantityRepairJob.JOB_KEY, ASYNC_JOBS_JOB_SCHEDULE),
+                ReservedQuantityRepairJob.DEFAULT_SCHEDULE);
+            this.put(jobConfig(ReservedQuantityRepairJob.JOB_KEY, ReservedQuantityRepairJob.CFG_GRACE_PERIOD),
+                Integer.toString(ReservedQuantityRepairJob.DEFAULT_GRACE_PERIOD));
+
             // UnmappedGuestEntitlementCleanerJob
             this.put(jobConfig(UnmappedGuestEntitlementCleanerJob.JOB_KEY, ASYNC_JOBS_JOB_SCHEDULE),
                 UnmappedGuestEntitlementCleanerJob.DEFAULT_SCHEDULE);
@@ -700,6 +988,18 @@ public class ConfigProperties {
             this.add(new IntegerConfigurationValidator(DB_MAX_CONNECTION_ATTEMPTS)
                 .min(1));
 
+            this.add(new IntegerConfigurationValidator(DB_QUERY_STATS_REPEAT_THRESHOLD)
+                .min(2));
+
+            this.add(new IntegerConfigurationValidator(DB_QUERY_STATS_LOG_THRESHOLD)
+                .min(0));
+
+            this.add(new IntegerConfigurationValidator(DB_REPLICA_MAX_LAG)
+                .min(0));
+
+            this.add(new IntegerConfigurationValidator(DB_REPLICA_CHECK_INTERVAL)
+                .min(1));
+
             this.add(new IntegerConfigurationValidator(BULK_SET_CONSUMER_ENV_MAX_CONSUMER_LIMIT)
                 .min(1));
 
@@ -713,6 +1013,35 @@ public class ConfigProperties {
                 .min(1)
                 .max(CERT_MAX_DURATION));
 
+
+            this.add(new IntegerConfigurationValidator(AUDIT_PUBLISHER_QUEUE_SIZE)
+                .min(1));
+
+            this.add(new IntegerConfigurationValidator(AUDIT_PUBLISHER_BATCH_SIZE)
+                .min(1));
+
+            this.add(new IntegerConfigurationValidator(SYNC_IMPORT_PARSE_THREADS)
+                .min(1)
+                .max(64));
+
+            this.add(new IntegerConfigurationValidator(COMPLIANCE_BULK_THREADS)
+                .min(1)
+                .max(64));
+
+            this.add(new IntegerConfigurationValidator(BIND_QUANTITY_RESERVATION_TIMEOUT)
+                .min(1));
+
+            this.add(new IntegerConfigurationValidator(BIND_QUANTITY_RESERVATION_BATCH_WINDOW)
+                .min(0)
+                .max(1000));
+
+            this.add(new IntegerConfigurationValidator(BIND_QUANTITY_RESERVATION_BATCH_SIZE)
+                .min(1));
+
+            this.add(new StringConfigurationValidator(SYNC_MANIFEST_STORAGE_TYPE)
+                .allowedValues(Set.of(ManifestFileServiceProvider.STORAGE_TYPE_DB,
+                    ManifestFileServiceProvider.STORAGE_TYPE_FILESYSTEM)));
+
             this.add(new StringConfigurationValidator(DB_DRIVER_CLASS));
         }
     };
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.controller;
+
+import org.candlepin.audit.Event;
+import org.candlepin.audit.EventFactory;
+import org.candlepin.audit.EventSink;
+import org.candlepin.model.CertSerial;
+import org.candlepin.model.CertificateSerialCurator;
+import org.candlepin.model.ConsumerCurator;
+import org.candlepin.model.ContentAccessCertificateCurator;
+import org.candlepin.model.IdentityCertificateCurator;
+import org.candlepin.model.InactiveConsumerRecord;
+import org.candlepin.util.Transactional;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Streams;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+
+
+/**
+ * Deletes inactive consumers in bulk. The consumers are deleted in chunks, each committed in a
+ * transaction of its own, with every table involved updated by set-based statements rather than
+ * consumer by consumer:
+ * <ul>
+ *  <li>the consumers are locked, and any consumer which has been entitled since it was found to be
+ *      inactive is skipped</li>
+ *  <li>the deleted consumer records are created by a single upsert per block of consumers</li>
+ *  <li>the consumers are deleted by a bulk statement, their facts, guest IDs, installed products and
+ *      other owned rows being removed by cascading foreign keys</li>
+ *  <li>the identity and content access certificates are deleted, and their serials revoked, in bulk</li>
+ * </ul>
+ * A single bulk deletion event is sent for each organization in a chunk, once the chunk is committed,
+ * and the progress of the deletion is logged after each chunk.
+ */
+public class BulkConsumerDeletion {
+    private static final Logger log = LoggerFactory.getLogger(BulkConsumerDeletion.class);
+
+    private final ConsumerCurator consumerCurator;
+    private final IdentityCertificateCurator identityCertificateCurator;
+    private final ContentAccessCertificateCurator contentAccessCertificateCurator;
+    private final CertificateSerialCurator serialCurator;
+    private final EventFactory eventFactory;
+    private final EventSink eventSink;
+
+    @Inject
+    public BulkConsumerDeletion(ConsumerCurator consumerCurator,
+        IdentityCertificateCurator identityCertificateCurator,
+        ContentAccessCertificateCurator contentAccessCertificateCurator,
+        CertificateSerialCurator serialCurator, EventFactory eventFactory, EventSink eventSink) {
+
+        this.consumerCurator = Objects.requireNonNull(consumerCurator);
+        this.identityCertificateCurator = Objects.requireNonNull(identityCertificateCurator);
+        this.contentAccessCertificateCurator = Objects.requireNonNull(contentAccessCertificateCurator);
+        this.serialCurator = Objects.requireNonNull(serialCurator);
+        this.eventFactory = Objects.requireNonNull(eventFactory);
+        this.eventSink = Objects.requireNonNull(eventSink);
+    }
+
+    /**
+     * Deletes the given consumers in chunks of the given size. Consumers which no longer exist, or which
+     * have any entitlements at the time their chunk is deleted, are skipped. If a chunk fails to be
+     * deleted, its transaction is rolled back and the exception is rethrown, leaving the consumers of
+     * any subsequent chunks in place.
+     *
+     * @param consumers
+     *  records of the consumers to delete; cannot be null
+     *
+     * @param chunkSize
+     *  the number of consumers to delete in each transaction; must be positive
+     *
+     * @throws IllegalArgumentException
+     *  if the chunk size is not positive
+     *
+     * @return
+     *  the number of consumers deleted
+     */
+    public int deleteConsumers(List<InactiveConsumerRecord> consumers, int chunkSize) {
+        Objects.requireNonNull(consumers);
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be a positive integer: " + chunkSize);
+        }
+
+        if (consumers.isEmpty()) {
+            return 0;
+        }
+
+        Transactional transaction = new Transactional(this.consumerCurator.getEntityManager())
+            .onCommit(status -> this.eventSink.sendEvents())
+            .onRollback(status -> this.eventSink.rollback());
+
+        int total = consumers.size();
+        int deleted = 0;
+        int processed = 0;
+        long start = System.nanoTime();
+
+        for (List<InactiveConsumerRecord> chunk : Iterables.partition(consumers, chunkSize)) {
+            deleted += transaction.execute(() -> this.deleteChunk(chunk));
+            processed += chunk.size();
+
+            long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Deleted {} of {} consumers ({}%) in {}ms; {} consumers per second", processed, total,
+                processed * 100 / total, elapsed, processed * 1000L / elapsed);
+        }
+
+        return deleted;
+    }
+
+    private int deleteChunk(List<InactiveConsumerRecord> chunk) {
+        // Lock the consumers so they cannot be entitled until they're deleted, and recheck that they're
+        // still without entitlements; a consumer entitled since it was found to be inactive is active.
+        List<String> chunkIds = chunk.stream()
+            .map(InactiveConsumerRecord::consumerId)
+            .toList();
+
+        this.consumerCurator.lockAndLoadIds(chunkIds);
+        Set<String> eligibleIds = this.consumerCurator.getConsumerIdsWithoutEntitlements(chunkIds);
+
+        List<String> consumerIds = new ArrayList<>(chunk.size());
+        List<String> consumerUuids = new ArrayList<>(chunk.size());
+        Map<String, List<String>> orgConsumerMap = new LinkedHashMap<>();
+        Map<String, Boolean> orgAnonymousMap = new LinkedHashMap<>();
+
+        for (InactiveConsumerRecord rec : chunk) {
+            if (!eligibleIds.contains(rec.consumerId())) {
+                log.debug("Skipping deletion of consumer which is no longer inactive: {}", rec.consumerUuid());
+                continue;
+            }
+
+            consumerIds.add(rec.consumerId());
+            consumerUuids.add(rec.consumerUuid());
+
+            orgConsumerMap.computeIfAbsent(rec.ownerKey(), key -> new ArrayList<>())
+                .add(rec.consumerUuid());
+            orgAnonymousMap.putIfAbsent(rec.ownerKey(), Boolean.TRUE.equals(rec.isOwnerAnonymous()));
+        }
+
+        if (consumerIds.isEmpty()) {
+            return 0;
+        }
+
+        // Fetch the certificates and their serials before the consumers referencing them are deleted
+        List<CertSerial> idCertSerials = this.identityCertificateCurator.listCertSerials(consumerUuids);
+        List<CertSerial> caCertSerials = this.contentAccessCertificateCurator.listCertSerials(consumerUuids);
+
+        int deleted = this.consumerCurator.deleteConsumers(consumerIds);
+
+        this.identityCertificateCurator.deleteByIds(idCertSerials.stream().map(CertSerial::certId).toList());
+        this.contentAccessCertificateCurator.deleteByIds(caCertSerials.stream()
+            .map(CertSerial::certId)
+            .toList());
+        this.serialCurator.revokeByIds(Streams.concat(idCertSerials.stream(), caCertSerials.stream())
+            .map(CertSerial::serial)
+            .toList());
+
+        for (Map.Entry<String, List<String>> entry : orgConsumerMap.entrySet()) {
+            Event event = this.eventFactory.bulkConsumerDeletion(entry.getKey(),
+                orgAnonymousMap.get(entry.getKey()), entry.getValue());
+
+            this.eventSink.queueEvent(event);
+        }
+
+        return deleted;
+    }
+
+}
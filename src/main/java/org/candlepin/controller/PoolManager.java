@@ -28,6 +28,7 @@ import org.candlepin.config.Configuration;
 import org.candlepin.controller.refresher.RefreshResult;
 import org.candlepin.controller.refresher.RefreshResult.EntityState;
 import org.candlepin.controller.refresher.RefreshWorker;
+import org.candlepin.controller.util.AutobindPoolIndex;
 import org.candlepin.model.Consumer;
 import org.candlepin.model.ConsumerCurator;
 import org.candlepin.model.ConsumerType;
@@ -42,6 +43,7 @@ import org.candlepin.model.PoolCurator;
 import org.candlepin.model.PoolQualifier;
 import org.candlepin.model.PoolQuantity;
 import org.candlepin.model.Product;
+import org.candlepin.model.QueryArguments;
 import org.candlepin.model.activationkeys.ActivationKey;
 import org.candlepin.paging.Page;
 import org.candlepin.policy.EntitlementRefusedException;
@@ -116,6 +118,7 @@ public class PoolManager {
     private final PoolOpProcessor poolOpProcessor;
     private final PoolConverter poolConverter;
     private final PoolService poolService;
+    private final AutobindPoolIndex autobindPoolIndex;
     private final boolean isStandalone;
 
     @Inject
@@ -139,7 +142,8 @@ public class PoolManager {
         BindChainFactory bindChainFactory,
         Provider<RefreshWorker> refreshWorkerProvider,
         PoolOpProcessor poolOpProcessor,
-        PoolConverter poolConverter) {
+        PoolConverter poolConverter,
+        AutobindPoolIndex autobindPoolIndex) {
 
         this.poolCurator = Objects.requireNonNull(poolCurator);
         this.sink = Objects.requireNonNull(sink);
@@ -160,6 +164,7 @@ public class PoolManager {
         this.poolOpProcessor = Objects.requireNonNull(poolOpProcessor);
         this.poolConverter = Objects.requireNonNull(poolConverter);
         this.poolService = Objects.requireNonNull(poolService);
+        this.autobindPoolIndex = Objects.requireNonNull(autobindPoolIndex);
         this.isStandalone = config.getBoolean(ConfigProperties.STANDALONE);
     }
 
@@ -559,6 +564,7 @@ public class PoolManager {
         Set<Pool> poolsToRegenEnts = new HashSet<>();
         List<Pool> poolsQtyUpdated = new LinkedList<>();
         Set<String> entitlementsToRegen = new HashSet<>();
+        Set<String> revisedOwnerIds = new HashSet<>();
 
         // Get our list of pool IDs so we can check which of them still exist in the DB...
         for (PoolUpdate update : updatedPools) {
@@ -600,6 +606,12 @@ public class PoolManager {
                 poolsToRegenEnts.add(existingPool);
             }
 
+            // dates or products changed in place. signal the change to the autobind pool indexes
+            if ((updatedPool.getDatesChanged() || updatedPool.getProductsChanged() ||
+                updatedPool.getProductAttributesChanged()) && existingPool.getOwnerId() != null) {
+                revisedOwnerIds.add(existingPool.getOwnerId());
+            }
+
             // Build event for this update...
             EventBuilder builder = poolEvents.get(existingPool.getId());
             if (builder != null) {
@@ -611,6 +623,8 @@ public class PoolManager {
             }
         }
 
+        this.ownerCurator.incrementPoolRevision(revisedOwnerIds);
+
         // Check if we need to execute the revocation plan
         if (!poolsQtyUpdated.isEmpty()) {
             this.revokeEntitlementsFromOverflowingPools(poolsQtyUpdated);
@@ -1225,6 +1239,36 @@ public class PoolManager {
         return false;
     }
 
+    /**
+     * Looks up the pools of the owner which may be used to autobind the consumer, so only those pools
+     * need to be loaded and checked against the rules.
+     *
+     * @return
+     *  the IDs of the candidate pools, or null if every pool of the owner must be considered
+     */
+    private Set<String> findCandidatePoolIds(Consumer consumer, Collection<String> productIds,
+        ComplianceStatus compliance, String ownerId, Collection<String> fromPools) {
+
+        if (!this.autobindPoolIndex.isEnabled() || ownerId == null) {
+            return null;
+        }
+
+        Set<String> candidates = this.autobindPoolIndex.findCandidatePoolIds(ownerId, productIds,
+            compliance.getPartialStacks().keySet(), consumer.getAddOns(), consumer.getRole());
+
+        if (fromPools != null && !fromPools.isEmpty()) {
+            candidates.retainAll(fromPools);
+        }
+
+        // Too many candidates to look up by ID; fall back to considering every pool
+        if (candidates.size() > QueryArguments.COLLECTION_SIZE_LIMIT) {
+            return null;
+        }
+
+        log.debug("Found {} candidate pools for autobind: {}", candidates.size(), candidates);
+        return candidates;
+    }
+
     public List<PoolQuantity> getBestPools(Consumer consumer, Collection<String> productIds, Date entitleDate,
         String ownerId, String serviceLevelOverride, Collection<String> fromPools)
         throws EntitlementRefusedException {
@@ -1236,16 +1280,6 @@ public class PoolManager {
             activePoolDate = new Date();
         }
 
-        PoolQualifier qualifier = new PoolQualifier()
-            .addIds(fromPools)
-            .setOwnerId(ownerId)
-            .setConsumer(consumer)
-            .setActiveOn(activePoolDate);
-
-        List<Pool> allOwnerPools = this.listAvailableEntitlementPools(qualifier)
-            .getPageData();
-        List<Pool> filteredPools = new LinkedList<>();
-
         // We have to check compliance status here so we can replace an empty
         // array of product IDs with the array the consumer actually needs. (i.e. during
         // a healing request)
@@ -1261,6 +1295,22 @@ public class PoolManager {
 
         log.debug("Attempting for products on date: {}: {}", entitleDate, productIds);
 
+        // Only consider the pools which can cover what the consumer requires, when they are known
+        Set<String> candidatePoolIds = this.findCandidatePoolIds(consumer, productIds, compliance, ownerId,
+            fromPools);
+
+        PoolQualifier qualifier = new PoolQualifier()
+            .addIds(candidatePoolIds != null ? candidatePoolIds : fromPools)
+            .setOwnerId(ownerId)
+            .setConsumer(consumer)
+            .setActiveOn(activePoolDate);
+
+        List<Pool> allOwnerPools = candidatePoolIds == null || !candidatePoolIds.isEmpty() ?
+            this.listAvailableEntitlementPools(qualifier).getPageData() :
+            new ArrayList<>();
+
+        List<Pool> filteredPools = new LinkedList<>();
+
         // Bulk fetch our provided product IDs so we're not hitting the DB several times
         // for this lookup.
         Map<String, Set<String>> providedProductIds = this.poolCurator
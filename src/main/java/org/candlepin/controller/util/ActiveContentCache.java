@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.controller.util;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.model.ContentCurator;
+import org.candlepin.model.Owner;
+import org.candlepin.model.ProductContent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The ActiveContentCache retains a snapshot of the active content of each organization, as returned
+ * by {@link ContentCurator#getActiveContentByOwner(String)}, so the active content does not need to
+ * be fetched again each time a content access payload is built for a consumer of the organization.
+ * <p>
+ * Snapshots are versioned by the content update timestamp of their organization. A snapshot is
+ * rebuilt, once, the first time it is requested after the organization's content has been updated,
+ * such as by a refresh, a manifest import or a content change, and is otherwise shared by every
+ * payload built for the organization, regardless of its environments. Since the active content
+ * changes as the organization's pools start and end, a snapshot is likewise rebuilt once the earliest
+ * start or end date of its pools following the time it was built has passed.
+ * <p>
+ * The content held by snapshots is detached from the persistence context, and must not be modified.
+ */
+@Singleton
+public class ActiveContentCache {
+    private static final Logger log = LoggerFactory.getLogger(ActiveContentCache.class);
+
+    /**
+     * An immutable snapshot of the active content of an organization.
+     *
+     * @param ownerId
+     *  the ID of the organization owning the content
+     *
+     * @param version
+     *  the content update timestamp of the organization, in milliseconds, when the snapshot was built
+     *
+     * @param content
+     *  the active content of the organization, mapped by content ID
+     *
+     * @param expiration
+     *  the date after which the snapshot must be rebuilt: the earliest start or end date of the pools
+     *  of the organization following the time the snapshot was built, or the end of the configured
+     *  time to live, whichever comes first
+     *
+     * @param buildTime
+     *  the time taken to build the snapshot
+     */
+    public record Snapshot(String ownerId, long version, Map<String, ProductContent> content,
+        Date expiration, Duration buildTime) {
+
+        /**
+         * Checks if this snapshot still reflects the active content of its organization at the given
+         * time, based on the content update timestamp of the organization and the start and end dates
+         * of its pools.
+         *
+         * @param version
+         *  the current content update timestamp of the organization, in milliseconds
+         *
+         * @param now
+         *  the current time, in milliseconds
+         *
+         * @return
+         *  true if this snapshot is current; false otherwise
+         */
+        public boolean isCurrent(long version, long now) {
+            return this.version == version && this.expiration.getTime() > now;
+        }
+
+        /**
+         * Fetches the number of content in this snapshot
+         *
+         * @return
+         *  the number of content in this snapshot
+         */
+        public int size() {
+            return this.content.size();
+        }
+    }
+
+    /**
+     * Statistics about the usage of the cache.
+     *
+     * @param hits
+     *  the number of requests served by an existing snapshot
+     *
+     * @param builds
+     *  the number of snapshots built
+     *
+     * @param totalBuildTime
+     *  the total time spent building snapshots
+     *
+     * @param snapshots
+     *  the number of snapshots currently cached
+     *
+     * @param content
+     *  the total number of content held by the cached snapshots
+     */
+    public record Statistics(long hits, long builds, Duration totalBuildTime, long snapshots, long content) {
+    }
+
+    private final ContentCurator contentCurator;
+    private final Cache<String, Snapshot> snapshots;
+    private final long ttl;
+
+    private final LongAdder hits;
+    private final LongAdder builds;
+    private final LongAdder buildNanos;
+
+    @Inject
+    public ActiveContentCache(Configuration config, ContentCurator contentCurator) {
+        this.contentCurator = Objects.requireNonNull(contentCurator);
+
+        long maxEntries = config.getLong(ConfigProperties.CACHE_ACTIVE_CONTENT_MAX_ENTRIES);
+        if (maxEntries < 0) {
+            String msg = ConfigProperties.CACHE_ACTIVE_CONTENT_MAX_ENTRIES +
+                " must be larger than or equal to 0";
+            throw new ConfigurationException(msg);
+        }
+
+        long ttl = config.getLong(ConfigProperties.CACHE_ACTIVE_CONTENT_TTL);
+        if (ttl <= 0) {
+            String msg = ConfigProperties.CACHE_ACTIVE_CONTENT_TTL + " value must be larger than 0";
+            throw new ConfigurationException(msg);
+        }
+
+        this.ttl = ttl;
+        this.snapshots = maxEntries > 0 ?
+            Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new SnapshotExpiry())
+                .build() :
+            null;
+
+        this.hits = new LongAdder();
+        this.builds = new LongAdder();
+        this.buildNanos = new LongAdder();
+    }
+
+    /**
+     * Fetches the active content of the given organization, mapped by content ID. Content mapped to
+     * multiple active products is included once, and is enabled if it is enabled for any of them.
+     * The returned map is unmodifiable and may be shared with other callers.
+     *
+     * @param owner
+     *  the organization for which to fetch the active content; cannot be null
+     *
+     * @throws IllegalArgumentException
+     *  if owner is null
+     *
+     * @return
+     *  an unmodifiable map of the active content of the given organization
+     */
+    public Map<String, ProductContent> getActiveContent(Owner owner) {
+        return this.getSnapshot(owner).content();
+    }
+
+    /**
+     * Fetches the active content snapshot of the given organization, building a new snapshot if the
+     * cached snapshot is missing, or predates the latest content update of the organization.
+     *
+     * @param owner
+     *  the organization for which to fetch the active content snapshot; cannot be null
+     *
+     * @throws IllegalArgumentException
+     *  if owner is null
+     *
+     * @return
+     *  the current active content snapshot of the given organization
+     */
+    public Snapshot getSnapshot(Owner owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("owner is null");
+        }
+
+        long version = owner.getLastContentUpdate().getTime();
+        long now = System.currentTimeMillis();
+
+        if (this.snapshots == null) {
+            return this.buildSnapshot(owner.getId(), version);
+        }
+
+        Snapshot snapshot = this.snapshots.getIfPresent(owner.getId());
+        if (snapshot != null && snapshot.isCurrent(version, now)) {
+            this.hits.increment();
+            return snapshot;
+        }
+
+        // Rebuild the snapshot within the computation so concurrent requests for the same
+        // organization wait for a single rebuild rather than each running the query
+        return this.snapshots.asMap().compute(owner.getId(), (id, existing) -> {
+            if (existing != null && existing.isCurrent(version, now)) {
+                this.hits.increment();
+                return existing;
+            }
+
+            return this.buildSnapshot(id, version);
+        });
+    }
+
+    private Snapshot buildSnapshot(String ownerId, long version) {
+        long start = System.nanoTime();
+
+        // Fetch the next pool start or end date first, so a pool starting or ending while the content
+        // is being fetched expires the snapshot rather than going unnoticed
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + this.ttl);
+
+        Date boundary = this.contentCurator.getActiveContentExpirationByOwner(ownerId, now);
+        if (boundary != null && boundary.before(expiration)) {
+            expiration = boundary;
+        }
+
+        Map<String, ProductContent> content = new HashMap<>();
+        for (ProductContent pc : this.contentCurator.getActiveContentByOwner(ownerId)) {
+            content.merge(pc.getContent().getId(), pc,
+                (v1, v2) -> new ProductContent(v2.getContent(), v1.isEnabled() || v2.isEnabled()));
+        }
+
+        // Detach the content from the current persistence context, so snapshots can be safely shared
+        content.replaceAll((id, pc) -> new ProductContent(pc.getContent().clone(), pc.isEnabled()));
+
+        Duration buildTime = Duration.ofNanos(System.nanoTime() - start);
+        this.builds.increment();
+        this.buildNanos.add(buildTime.toNanos());
+
+        log.info("Built active content snapshot for owner {}: {} content in {} ms", ownerId, content.size(),
+            buildTime.toMillis());
+
+        return new Snapshot(ownerId, version, Collections.unmodifiableMap(content), expiration, buildTime);
+    }
+
+    /**
+     * Expires snapshots on their expiration date. Reading a snapshot, or replacing it with itself,
+     * does not extend its lifetime.
+     */
+    private static class SnapshotExpiry implements Expiry<String, Snapshot> {
+        @Override
+        public long expireAfterCreate(String ownerId, Snapshot snapshot, long currentTime) {
+            long remaining = snapshot.expiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String ownerId, Snapshot snapshot, long currentTime,
+            long currentDuration) {
+
+            return this.expireAfterCreate(ownerId, snapshot, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String ownerId, Snapshot snapshot, long currentTime,
+            long currentDuration) {
+
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Discards the cached active content snapshot of the given organization, if present.
+     *
+     * @param ownerId
+     *  the ID of the organization for which to discard the snapshot
+     */
+    public void invalidate(String ownerId) {
+        if (this.snapshots != null && ownerId != null) {
+            this.snapshots.invalidate(ownerId);
+        }
+    }
+
+    /**
+     * Discards every cached active content snapshot.
+     */
+    public void invalidateAll() {
+        if (this.snapshots != null) {
+            this.snapshots.invalidateAll();
+        }
+    }
+
+    /**
+     * Fetches statistics about the usage of this cache, including the time spent building snapshots
+     * and the amount of content held by the cached snapshots.
+     *
+     * @return
+     *  the current statistics of this cache
+     */
+    public Statistics getStatistics() {
+        long snapshotCount = 0;
+        long contentCount = 0;
+
+        if (this.snapshots != null) {
+            for (Snapshot snapshot : this.snapshots.asMap().values()) {
+                ++snapshotCount;
+                contentCount += snapshot.size();
+            }
+        }
+
+        return new Statistics(this.hits.sum(), this.builds.sum(), Duration.ofNanos(this.buildNanos.sum()),
+            snapshotCount, contentCount);
+    }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.controller.util;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.model.PoolCurator;
+import org.candlepin.model.PoolSummary;
+import org.candlepin.model.Product;
+import org.candlepin.util.Util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The AutobindPoolIndex retains, for each organization, an index of its pools by the products they
+ * provide, their stacking ID, and the add-ons and roles of their products, so autobind only needs to
+ * load and run the rules against the pools which can cover what a consumer requires, rather than
+ * every pool of the organization.
+ * <p>
+ * Indexes are versioned by the pool version of their organization, as returned by
+ * {@link PoolCurator#getPoolVersionByOwner(String)}. An index is rebuilt, once, the first time it is
+ * requested after a pool of the organization is created or deleted, a pool is updated in place or the
+ * product of one of its pools is updated; consuming pools does not invalidate the index.
+ * <p>
+ * The index only narrows the candidate pools. Candidate pools are still loaded and filtered as
+ * before, so a stale index can only cause a pool to be missed, never an unusable pool to be bound.
+ */
+@Singleton
+public class AutobindPoolIndex {
+    private static final Logger log = LoggerFactory.getLogger(AutobindPoolIndex.class);
+
+    private static final List<String> INDEXED_ATTRIBUTES = List.of(Product.Attributes.STACKING_ID,
+        Product.Attributes.ADDONS, Product.Attributes.ROLES);
+
+    /**
+     * An index of the pools of an organization.
+     *
+     * @param ownerId
+     *  the ID of the organization owning the pools
+     *
+     * @param version
+     *  the pool version of the organization when the index was built
+     *
+     * @param pools
+     *  summaries of the indexed pools, mapped by pool ID
+     *
+     * @param byProduct
+     *  the IDs of the pools providing each product, including the pools' own products
+     *
+     * @param byStack
+     *  the IDs of the pools of each stacking ID
+     *
+     * @param byAddon
+     *  the IDs of the pools of each lower-case add-on
+     *
+     * @param byRole
+     *  the IDs of the pools of each lower-case role
+     */
+    public record Snapshot(String ownerId, String version, Map<String, PoolSummary> pools,
+        Map<String, Set<String>> byProduct, Map<String, Set<String>> byStack,
+        Map<String, Set<String>> byAddon, Map<String, Set<String>> byRole) {
+
+        /**
+         * Fetches the number of pools in this index
+         *
+         * @return
+         *  the number of pools in this index
+         */
+        public int size() {
+            return this.pools.size();
+        }
+    }
+
+    private final PoolCurator poolCurator;
+    private final Cache<String, Snapshot> snapshots;
+
+    @Inject
+    public AutobindPoolIndex(Configuration config, PoolCurator poolCurator) {
+        this.poolCurator = Objects.requireNonNull(poolCurator);
+
+        long maxEntries = config.getLong(ConfigProperties.CACHE_AUTOBIND_POOLS_MAX_ENTRIES);
+        if (maxEntries < 0) {
+            String msg = ConfigProperties.CACHE_AUTOBIND_POOLS_MAX_ENTRIES +
+                " must be larger than or equal to 0";
+            throw new ConfigurationException(msg);
+        }
+
+        long ttl = config.getLong(ConfigProperties.CACHE_AUTOBIND_POOLS_TTL);
+        if (ttl <= 0) {
+            String msg = ConfigProperties.CACHE_AUTOBIND_POOLS_TTL + " value must be larger than 0";
+            throw new ConfigurationException(msg);
+        }
+
+        this.snapshots = maxEntries > 0 ?
+            Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build() :
+            null;
+    }
+
+    /**
+     * Checks whether or not the index is enabled. When disabled, candidate pools cannot be looked up
+     * and every pool of the organization must be considered.
+     *
+     * @return
+     *  true if the index is enabled; false otherwise
+     */
+    public boolean isEnabled() {
+        return this.snapshots != null;
+    }
+
+    /**
+     * Fetches the pool index of the given organization, building a new index if the cached index is
+     * missing, or predates the latest pool changes of the organization.
+     *
+     * @param ownerId
+     *  the ID of the organization for which to fetch the pool index; cannot be null
+     *
+     * @throws IllegalArgumentException
+     *  if ownerId is null
+     *
+     * @throws IllegalStateException
+     *  if the index is disabled
+     *
+     * @return
+     *  the current pool index of the given organization
+     */
+    public Snapshot getSnapshot(String ownerId) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("ownerId is null");
+        }
+
+        if (this.snapshots == null) {
+            throw new IllegalStateException("autobind pool index is disabled");
+        }
+
+        String version = this.poolCurator.getPoolVersionByOwner(ownerId);
+
+        Snapshot snapshot = this.snapshots.getIfPresent(ownerId);
+        if (snapshot != null && Objects.equals(snapshot.version(), version)) {
+            return snapshot;
+        }
+
+        // Rebuild the index within the computation so concurrent requests for the same organization
+        // wait for a single rebuild rather than each running the queries
+        return this.snapshots.asMap().compute(ownerId, (id, existing) -> {
+            if (existing != null && Objects.equals(existing.version(), version)) {
+                return existing;
+            }
+
+            return this.buildSnapshot(id, version);
+        });
+    }
+
+    private Snapshot buildSnapshot(String ownerId, String version) {
+        long start = System.nanoTime();
+
+        Map<String, PoolSummary> pools = new HashMap<>();
+        Map<String, Set<String>> byProduct = new HashMap<>();
+        Map<String, Set<String>> byStack = new HashMap<>();
+        Map<String, Set<String>> byAddon = new HashMap<>();
+        Map<String, Set<String>> byRole = new HashMap<>();
+
+        for (PoolSummary pool : this.poolCurator.getPoolSummariesByOwner(ownerId, INDEXED_ATTRIBUTES)) {
+            String poolId = pool.poolId();
+            pools.put(poolId, pool);
+
+            addEntry(byProduct, pool.productId(), poolId);
+            pool.providedProductIds().forEach(pid -> addEntry(byProduct, pid, poolId));
+
+            Map<String, String> attributes = pool.productAttributes();
+            addEntry(byStack, attributes.get(Product.Attributes.STACKING_ID), poolId);
+            Util.toList(attributes.get(Product.Attributes.ADDONS))
+                .forEach(addon -> addEntry(byAddon, toKey(addon), poolId));
+            Util.toList(attributes.get(Product.Attributes.ROLES))
+                .forEach(role -> addEntry(byRole, toKey(role), poolId));
+        }
+
+        log.info("Built autobind pool index for owner {}: {} pools in {} ms", ownerId, pools.size(),
+            Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+        return new Snapshot(ownerId, version, Collections.unmodifiableMap(pools), byProduct, byStack,
+            byAddon, byRole);
+    }
+
+    private static void addEntry(Map<String, Set<String>> index, String key, String poolId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(poolId);
+        }
+    }
+
+    private static String toKey(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Looks up the IDs of the pools of the given organization which may be used to autobind a
+     * consumer: pools providing any of the given products, pools of any of the given stacks, and
+     * pools whose products list any of the consumer's add-ons or its role. Pool dates are not checked
+     * here; they are left to the query loading the candidate pools.
+     *
+     * @param ownerId
+     *  the ID of the organization owning the pools; cannot be null
+     *
+     * @param productIds
+     *  the IDs of the products to cover
+     *
+     * @param stackIds
+     *  the IDs of the stacks to complete
+     *
+     * @param addons
+     *  the add-ons of the consumer
+     *
+     * @param role
+     *  the role of the consumer
+     *
+     * @throws IllegalArgumentException
+     *  if ownerId is null
+     *
+     * @return
+     *  a mutable set containing the IDs of the candidate pools
+     */
+    public Set<String> findCandidatePoolIds(String ownerId, Collection<String> productIds,
+        Collection<String> stackIds, Collection<String> addons, String role) {
+
+        Snapshot snapshot = this.getSnapshot(ownerId);
+
+        Set<String> candidates = new HashSet<>();
+        lookup(snapshot.byProduct(), productIds, false, candidates);
+        lookup(snapshot.byStack(), stackIds, false, candidates);
+        lookup(snapshot.byAddon(), addons, true, candidates);
+        lookup(snapshot.byRole(), role != null ? List.of(role) : null, true, candidates);
+
+        return candidates;
+    }
+
+    private static void lookup(Map<String, Set<String>> index, Collection<String> keys, boolean normalize,
+        Set<String> output) {
+
+        if (keys == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            Set<String> poolIds = index.get(normalize ? toKey(key) : key);
+            if (poolIds != null) {
+                output.addAll(poolIds);
+            }
+        }
+    }
+
+    /**
+     * Discards the cached pool index of the given organization, if present.
+     *
+     * @param ownerId
+     *  the ID of the organization for which to discard the index
+     */
+    public void invalidate(String ownerId) {
+        if (this.snapshots != null && ownerId != null) {
+            this.snapshots.invalidate(ownerId);
+        }
+    }
+
+    /**
+     * Discards every cached pool index.
+     */
+    public void invalidateAll() {
+        if (this.snapshots != null) {
+            this.snapshots.invalidateAll();
+        }
+    }
+
+    /**
+     * Fetches the hit and miss statistics of the cached pool indexes.
+     *
+     * @return
+     *  the statistics of the cached pool indexes, or empty statistics if the index is disabled
+     */
+    public CacheStats getStats() {
+        return this.snapshots != null ? this.snapshots.stats() : CacheStats.empty();
+    }
+
+}
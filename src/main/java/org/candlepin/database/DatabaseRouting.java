@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.database;
+
+
+
+/**
+ * Tracks whether the unit of work running on the current thread only reads from the database, and
+ * may therefore be served by the read replica database.
+ * <p>
+ * The database used by a unit of work is selected when its session acquires a connection, so the unit
+ * of work must be marked read-only before it issues its first statement, and remains on the database
+ * selected then for as long as the connection is held.
+ */
+public final class DatabaseRouting {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    private DatabaseRouting() {
+        // static methods only
+    }
+
+    /**
+     * Marks the unit of work running on the current thread as read-only, or not.
+     *
+     * @param readOnly
+     *  whether or not the unit of work only reads from the database
+     */
+    public static void setReadOnly(boolean readOnly) {
+        if (readOnly) {
+            READ_ONLY.set(Boolean.TRUE);
+        }
+        else {
+            READ_ONLY.remove();
+        }
+    }
+
+    /**
+     * Checks if the unit of work running on the current thread is read-only.
+     *
+     * @return
+     *  true if the unit of work only reads from the database; false otherwise
+     */
+    public static boolean isReadOnly() {
+        return READ_ONLY.get() != null;
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.database;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+
+import org.hibernate.c3p0.internal.C3P0ConnectionProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+
+/**
+ * A Hibernate connection provider routing the connections of read-only units of work to a read
+ * replica database, and all other connections to the primary database. Both databases are accessed
+ * through their own connection pool, configured with the connection pool settings of the primary
+ * database.
+ * <p>
+ * The replication lag and availability of the replica are checked periodically. While the replica
+ * lags too far behind the primary database, or cannot be reached, read-only units of work are served
+ * by the primary database instead. Connections to the replica are read-only, so a unit of work
+ * wrongly marked read-only fails rather than writing to the replica.
+ *
+ * @see DatabaseRouting
+ */
+public class ReplicaConnectionProvider implements ConnectionProvider, Configurable, Stoppable,
+    ServiceRegistryAwareService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaConnectionProvider.class);
+
+    private final ConnectionProvider primary;
+    private final ConnectionProvider replica;
+    private final Map<String, Object> replicaSettings;
+    private final double maxLag;
+    private final long checkInterval;
+    private final String lagQuery;
+
+    private final Set<Connection> replicaConnections;
+    private final AtomicLong nextCheck;
+    private volatile boolean replicaUsable;
+
+    /**
+     * Creates a new connection provider connecting to the primary database and the read replica
+     * database specified by the given configuration.
+     *
+     * @param config
+     *  the configuration to use to connect to the read replica database
+     *
+     * @throws ConfigurationException
+     *  if the read replica database is not configured
+     */
+    public ReplicaConnectionProvider(Configuration config) {
+        this(config, new C3P0ConnectionProvider(), new C3P0ConnectionProvider());
+    }
+
+    ReplicaConnectionProvider(Configuration config, ConnectionProvider primary, ConnectionProvider replica) {
+        this.primary = Objects.requireNonNull(primary);
+        this.replica = Objects.requireNonNull(replica);
+
+        String url = config.getString(ConfigProperties.DB_REPLICA_URL);
+        if (url == null || url.isBlank()) {
+            throw new ConfigurationException(ConfigProperties.DB_REPLICA_URL +
+                " must be set when the read replica is enabled");
+        }
+
+        this.replicaSettings = new HashMap<>();
+        this.replicaSettings.put(AvailableSettings.URL, url);
+        this.replicaSettings.put(AvailableSettings.JAKARTA_JDBC_URL, url);
+
+        String username = config.getString(ConfigProperties.DB_REPLICA_USERNAME);
+        if (username != null && !username.isBlank()) {
+            this.replicaSettings.put(AvailableSettings.USER, username);
+            this.replicaSettings.put(AvailableSettings.JAKARTA_JDBC_USER, username);
+        }
+
+        String password = config.getString(ConfigProperties.DB_REPLICA_PASSWORD);
+        if (password != null && !password.isEmpty()) {
+            this.replicaSettings.put(AvailableSettings.PASS, password);
+            this.replicaSettings.put(AvailableSettings.JAKARTA_JDBC_PASSWORD, password);
+        }
+
+        this.maxLag = config.getInt(ConfigProperties.DB_REPLICA_MAX_LAG);
+        this.checkInterval = TimeUnit.SECONDS.toNanos(config.getInt(ConfigProperties.DB_REPLICA_CHECK_INTERVAL));
+
+        String query = config.getString(ConfigProperties.DB_REPLICA_LAG_QUERY);
+        this.lagQuery = query != null && !query.isBlank() ? query : null;
+
+        this.replicaConnections = ConcurrentHashMap.newKeySet();
+        this.nextCheck = new AtomicLong(System.nanoTime());
+        this.replicaUsable = false;
+    }
+
+    @Override
+    public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+        if (this.primary instanceof ServiceRegistryAwareService service) {
+            service.injectServices(serviceRegistry);
+        }
+
+        if (this.replica instanceof ServiceRegistryAwareService service) {
+            service.injectServices(serviceRegistry);
+        }
+    }
+
+    @Override
+    public void configure(Map<String, Object> settings) {
+        if (this.primary instanceof Configurable configurable) {
+            configurable.configure(settings);
+        }
+
+        if (this.replica instanceof Configurable configurable) {
+            Map<String, Object> merged = new HashMap<>(settings);
+            merged.putAll(this.replicaSettings);
+
+            configurable.configure(merged);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (this.replica instanceof Stoppable stoppable) {
+            stoppable.stop();
+        }
+
+        if (this.primary instanceof Stoppable stoppable) {
+            stoppable.stop();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (DatabaseRouting.isReadOnly()) {
+            Connection connection = this.getReplicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+
+        return this.primary.getConnection();
+    }
+
+    /**
+     * Fetches a connection to the replica, checking the replica first if it is due to be checked.
+     *
+     * @return
+     *  a read-only connection to the replica, or null if the replica is not usable
+     */
+    private Connection getReplicaConnection() {
+        // Only a single thread checks the replica; others use the outcome of the previous check
+        long checkTime = this.nextCheck.get();
+        boolean check = System.nanoTime() - checkTime >= 0 &&
+            this.nextCheck.compareAndSet(checkTime, System.nanoTime() + this.checkInterval);
+
+        if (!check && !this.replicaUsable) {
+            return null;
+        }
+
+        Connection connection = null;
+        try {
+            connection = this.replica.getConnection();
+
+            if (check) {
+                this.setReplicaUsable(this.checkLag(connection));
+
+                if (!this.replicaUsable) {
+                    this.replica.closeConnection(connection);
+                    return null;
+                }
+            }
+
+            connection.setReadOnly(true);
+            this.replicaConnections.add(connection);
+
+            return connection;
+        }
+        catch (SQLException e) {
+            log.warn("Unable to connect to the read replica database; reading from the primary database", e);
+            this.setReplicaUsable(false);
+
+            if (connection != null) {
+                try {
+                    this.replica.closeConnection(connection);
+                }
+                catch (SQLException ce) {
+                    log.debug("Unable to close read replica connection", ce);
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private boolean checkLag(Connection connection) throws SQLException {
+        if (this.lagQuery == null) {
+            return true;
+        }
+
+        try (Statement statement = connection.createStatement();
+            ResultSet result = statement.executeQuery(this.lagQuery)) {
+
+            // A null lag is reported when the replica is not replicating, in which case it is treated
+            // as being up to date
+            double lag = result.next() ? result.getDouble(1) : 0;
+
+            if (lag > this.maxLag) {
+                log.warn("Read replica database is {} seconds behind the primary database; reading from " +
+                    "the primary database", lag);
+                return false;
+            }
+
+            return true;
+        }
+    }
+
+    private void setReplicaUsable(boolean usable) {
+        if (usable != this.replicaUsable) {
+            log.info("Read replica database is {}", usable ? "available" : "unavailable");
+            this.replicaUsable = usable;
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        if (this.replicaConnections.remove(connection)) {
+            this.replica.closeConnection(connection);
+        }
+        else {
+            this.primary.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return this.primary.supportsAggressiveRelease() && this.replica.supportsAggressiveRelease();
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this) || this.primary.isUnwrappableAs(unwrapType);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return unwrapType.isInstance(this) ? unwrapType.cast(this) : this.primary.unwrap(unwrapType);
+    }
+
+}
@@ -38,6 +38,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * The ConsumerArrayElementTranslator provides translation from Consumer model objects to
@@ -47,10 +48,17 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
 
     protected ConsumerTypeCurator consumerTypeCurator;
     private OwnerCurator ownerCurator;
+    private final Predicate<String> attributeFilter;
 
     public ConsumerArrayElementTranslator(ConsumerTypeCurator consumerTypeCurator,
         OwnerCurator ownerCurator) {
 
+        this(consumerTypeCurator, ownerCurator, attribute -> true);
+    }
+
+    private ConsumerArrayElementTranslator(ConsumerTypeCurator consumerTypeCurator,
+        OwnerCurator ownerCurator, Predicate<String> attributeFilter) {
+
         if (consumerTypeCurator == null) {
             throw new IllegalArgumentException("ConsumerTypeCurator is null");
         }
@@ -59,8 +67,32 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
             throw new IllegalArgumentException("OwnerCurator is null");
         }
 
+        if (attributeFilter == null) {
+            throw new IllegalArgumentException("attributeFilter is null");
+        }
+
         this.ownerCurator = ownerCurator;
         this.consumerTypeCurator = consumerTypeCurator;
+        this.attributeFilter = attributeFilter;
+    }
+
+    /**
+     * Creates a copy of this translator which only populates the nested objects and collections
+     * accepted by the given attribute filter, avoiding loading data which will not be rendered.
+     * The filter receives the name of the DTO attribute to populate, such as "installedProducts".
+     *
+     * @param attributeFilter
+     *  a predicate returning true for the attributes to populate
+     *
+     * @throws IllegalArgumentException
+     *  if attributeFilter is null
+     *
+     * @return
+     *  a translator populating only the attributes accepted by the given filter
+     */
+    public ConsumerArrayElementTranslator withAttributeFilter(Predicate<String> attributeFilter) {
+        return new ConsumerArrayElementTranslator(this.consumerTypeCurator, this.ownerCurator,
+            attributeFilter);
     }
 
     /**
@@ -110,19 +142,28 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
             .role(source.getRole())
             .usage(source.getUsage())
             .systemPurposeStatus(source.getSystemPurposeStatus())
-            .addOns(source.getAddOns())
             .serviceType(source.getServiceType())
             .entitlementCount(source.getEntitlementCount())
             .lastCheckin(Util.toDateTime(source.getLastCheckin()))
             .canActivate(source.isCanActivate())
-            .contentTags(source.getContentTags())
             .autoheal(source.isAutoheal())
-            .annotations(source.getAnnotations())
             .contentAccessMode(source.getContentAccessMode())
             .created(Util.toDateTime(source.getCreated()))
             .updated(Util.toDateTime(source.getUpdated()))
             .href(source.getUuid() != null ? String.format("/consumers/%s", source.getUuid()) : null);
 
+        if (this.attributeFilter.test("addOns")) {
+            dest.addOns(source.getAddOns());
+        }
+
+        if (this.attributeFilter.test("contentTags")) {
+            dest.contentTags(source.getContentTags());
+        }
+
+        if (this.attributeFilter.test("annotations")) {
+            dest.annotations(source.getAnnotations());
+        }
+
         Release release = source.getReleaseVer();
         if (release != null) {
             ReleaseVerDTO releaseDTO = new ReleaseVerDTO().releaseVer(release.getReleaseVer());
@@ -131,12 +172,15 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
 
         // Process nested objects if we have a ModelTranslator to use to the translation...
         if (translator != null) {
-            if (StringUtils.isNotEmpty(source.getOwnerId())) {
+            if (StringUtils.isNotEmpty(source.getOwnerId()) && this.attributeFilter.test("owner")) {
                 Owner owner = ownerCurator.findOwnerById(source.getOwnerId());
                 dest.setOwner(owner != null ? translator.translate(owner, NestedOwnerDTO.class) : null);
             }
 
-            Set<ConsumerInstalledProduct> installedProducts = source.getInstalledProducts();
+            Set<ConsumerInstalledProduct> installedProducts = this.attributeFilter.test("installedProducts") ?
+                source.getInstalledProducts() :
+                null;
+
             if (installedProducts != null) {
                 ObjectTranslator<ConsumerInstalledProduct, ConsumerInstalledProductDTO> cipTranslator =
                     translator.findTranslatorByClass(ConsumerInstalledProduct.class,
@@ -153,7 +197,10 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
                 dest.setInstalledProducts(ips);
             }
 
-            Set<ConsumerCapability> capabilities = source.getCapabilities();
+            Set<ConsumerCapability> capabilities = this.attributeFilter.test("capabilities") ?
+                source.getCapabilities() :
+                null;
+
             if (capabilities != null) {
                 Set<CapabilityDTO> capabilitiesDTO = new HashSet<>();
                 ObjectTranslator<ConsumerCapability, CapabilityDTO> capabilityTranslator =
@@ -171,7 +218,7 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
             }
 
             // Temporary measure to maintain API compatibility
-            if (source.getTypeId() != null) {
+            if (source.getTypeId() != null && this.attributeFilter.test("type")) {
                 ConsumerType ctype = this.consumerTypeCurator.getConsumerType(source);
                 dest.setType(translator.translate(ctype, ConsumerTypeDTO.class));
             }
@@ -182,7 +229,9 @@ public class ConsumerArrayElementTranslator implements ObjectTranslator<Consumer
             //This will put in the property so that the virtWho instances won't error
             dest.setGuestIds(new ArrayList<>());
 
-            dest.setHypervisorId(translator.translate(source.getHypervisorId(), HypervisorIdDTO.class));
+            if (this.attributeFilter.test("hypervisorId")) {
+                dest.setHypervisorId(translator.translate(source.getHypervisorId(), HypervisorIdDTO.class));
+            }
         }
         else {
             dest.setReleaseVer(null);
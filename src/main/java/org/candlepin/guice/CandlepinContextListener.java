@@ -27,14 +27,17 @@ import org.candlepin.liquibase.LiquibaseConnectionGenerator;
 import org.candlepin.logging.LoggerContextListener;
 import org.candlepin.logging.LoggingConfigurator;
 import org.candlepin.messaging.CPMContextListener;
+import org.candlepin.policy.js.JsRunnerProvider;
 import org.candlepin.resteasy.MethodLocator;
 import org.candlepin.resteasy.ResourceLocatorMap;
+import org.candlepin.util.function.CheckedRunnable;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Injector;
 import com.google.inject.Module;
 import com.google.inject.Stage;
 import com.google.inject.persist.PersistService;
+import com.google.inject.persist.UnitOfWork;
 import com.google.inject.util.Modules;
 
 import io.smallrye.config.PropertiesConfigSource;
@@ -52,11 +55,18 @@ import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import jakarta.servlet.ServletContext;
@@ -121,6 +131,10 @@ public class CandlepinContextListener extends GuiceResteasyBootstrapServletConte
 
     private Injector injector;
 
+    // The time taken, in milliseconds, by each step of the startup
+    private Map<String, Long> startupTimes = new LinkedHashMap<>();
+    private long injectorStartTime;
+
     @Override
     public synchronized void contextInitialized(ServletContextEvent sce) {
         if (this.state != ListenerState.UNINITIALIZED) {
@@ -128,6 +142,7 @@ public class CandlepinContextListener extends GuiceResteasyBootstrapServletConte
         }
 
         try {
+            long startTime = System.nanoTime();
             log.info("Candlepin initializing context.");
 
             initializeTranslations();
@@ -143,13 +158,19 @@ public class CandlepinContextListener extends GuiceResteasyBootstrapServletConte
             setCapabilities(config);
             log.debug("Candlepin stored config on context.");
 
+            long databaseStartTime = System.nanoTime();
             initializeDatabase();
+            this.startupTimes.put("database", elapsedMillis(databaseStartTime));
 
             // set things up BEFORE calling the super class' initialize method.
+            this.injectorStartTime = System.nanoTime();
             super.contextInitialized(sce);
 
+            this.startupTimes.put("total", elapsedMillis(startTime));
+            this.injector.getInstance(StartupReport.class).setTimes(this.startupTimes);
+
             this.state = ListenerState.INITIALIZED;
-            log.info("Candlepin context initialized.");
+            log.info("Candlepin context initialized; startup times (ms): {}", this.startupTimes);
         }
         catch (RuntimeException e) {
             log.error("Unexpected exception occurred during initialization", e);
@@ -170,23 +191,64 @@ public class CandlepinContextListener extends GuiceResteasyBootstrapServletConte
     }
 
     private void initializeSubsystems(Injector injector) throws Exception {
-        MethodLocator methodLocator = injector.getInstance(MethodLocator.class);
-        methodLocator.init();
+        this.startupTimes.put("injector", elapsedMillis(this.injectorStartTime));
 
+        MethodLocator methodLocator = injector.getInstance(MethodLocator.class);
         ResourceLocatorMap map = injector.getInstance(ResourceLocatorMap.class);
-        map.init();
+        JsRunnerProvider jsRunnerProvider = injector.getInstance(JsRunnerProvider.class);
+        UnitOfWork unitOfWork = injector.getInstance(UnitOfWork.class);
 
-        // make sure our session factory is initialized before we attempt to start something
-        // that relies upon it
         this.cpmContextListener = injector.getInstance(CPMContextListener.class);
-        this.cpmContextListener.initialize(injector);
+        this.jobManager = injector.getInstance(JobManager.class);
+
+        // Subsystems which do not depend upon one another are initialized concurrently. Each
+        // subsystem is initialized within its own unit of work, as the initialization threads are
+        // discarded once startup completes.
+        SubsystemInitializer initializer = new SubsystemInitializer()
+            .add("method_locator", methodLocator::init)
+            .add("resource_locator_map", map::init, "method_locator")
+            .add("rules", inUnitOfWork(unitOfWork, jsRunnerProvider::compileRules))
+            .add("caches", () -> this.initializeCaches(injector))
+            // make sure our session factory is initialized before we attempt to start something
+            // that relies upon it
+            .add("messaging", inUnitOfWork(unitOfWork, () -> this.cpmContextListener.initialize(injector)));
 
         if (config.getBoolean(ACTIVEMQ_ENABLED)) {
             // If Artemis can not be started candlepin will not start.
             activeMQContextListener = injector.getInstance(ActiveMQContextListener.class);
-            activeMQContextListener.contextInitialized(injector);
+            initializer.add("events", inUnitOfWork(unitOfWork,
+                () -> activeMQContextListener.contextInitialized(injector)), "messaging");
         }
 
+        // Setup the job manager once everything jobs may rely upon is available
+        String[] jobDependencies = config.getBoolean(ACTIVEMQ_ENABLED) ?
+            new String[] { "messaging", "rules", "events" } :
+            new String[] { "messaging", "rules" };
+
+        initializer.add("jobs", inUnitOfWork(unitOfWork, () -> {
+            this.jobManager.initialize();
+            this.jobManager.start();
+        }), jobDependencies);
+
+        int threads = config.getBoolean(ConfigProperties.STARTUP_PARALLEL_INIT) ?
+            Math.max(2, Runtime.getRuntime().availableProcessors()) :
+            1;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new StartupThreadFactory());
+        try {
+            this.startupTimes.putAll(initializer.initialize(executor));
+        }
+        finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        loggerListener = injector.getInstance(LoggerContextListener.class);
+
+        this.injector = injector;
+    }
+
+    private void initializeCaches(Injector injector) {
         if (config.getBoolean(ConfigProperties.CACHE_JMX_STATS)) {
             CacheManager cacheManager = injector.getInstance(CacheManager.class);
             cacheManager.getCacheNames().forEach(cacheName -> {
@@ -195,15 +257,40 @@ public class CandlepinContextListener extends GuiceResteasyBootstrapServletConte
                 cacheManager.enableStatistics(cacheName, true);
             });
         }
+    }
 
-        // Setup the job manager
-        this.jobManager = injector.getInstance(JobManager.class);
-        this.jobManager.initialize();
-        this.jobManager.start();
+    private static CheckedRunnable<Exception> inUnitOfWork(UnitOfWork unitOfWork,
+        CheckedRunnable<Exception> task) {
 
-        loggerListener = injector.getInstance(LoggerContextListener.class);
+        return () -> {
+            unitOfWork.begin();
+            try {
+                task.run();
+            }
+            finally {
+                unitOfWork.end();
+            }
+        };
+    }
 
-        this.injector = injector;
+    private static long elapsedMillis(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Thread factory creating named daemon threads for initializing subsystems at startup.
+     */
+    private static class StartupThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                String.format("startup-worker-%d", this.threadCounter.incrementAndGet()));
+            thread.setDaemon(true);
+
+            return thread;
+        }
     }
 
     @Override
@@ -37,11 +37,15 @@ import org.candlepin.async.tasks.RefreshPoolsForProductJob;
 import org.candlepin.async.tasks.RefreshPoolsJob;
 import org.candlepin.async.tasks.RegenEnvEntitlementCertsJob;
 import org.candlepin.async.tasks.RegenProductEntitlementCertsJob;
+import org.candlepin.async.tasks.ReservedQuantityRepairJob;
 import org.candlepin.async.tasks.RevokeEntitlementsJob;
 import org.candlepin.async.tasks.UndoImportsJob;
 import org.candlepin.async.tasks.UnmappedGuestEntitlementCleanerJob;
 import org.candlepin.audit.ArtemisMessageSource;
 import org.candlepin.audit.ArtemisMessageSourceReceiverFactory;
+import org.candlepin.audit.EventFormat;
+import org.candlepin.audit.EventFormatProvider;
+import org.candlepin.audit.EventPublisher;
 import org.candlepin.audit.EventSink;
 import org.candlepin.audit.EventSinkImpl;
 import org.candlepin.audit.MessageSource;
@@ -56,6 +60,7 @@ import org.candlepin.cache.JCacheManagerProvider;
 import org.candlepin.config.ConfigProperties;
 import org.candlepin.config.Configuration;
 import org.candlepin.config.ConfigurationPrefixes;
+import org.candlepin.controller.BulkConsumerDeletion;
 import org.candlepin.controller.ConsumerMigration;
 import org.candlepin.controller.Entitler;
 import org.candlepin.controller.OwnerManager;
@@ -65,6 +70,9 @@ import org.candlepin.controller.RefresherFactory;
 import org.candlepin.controller.ScheduledExecutorServiceProvider;
 import org.candlepin.controller.SuspendModeTransitioner;
 import org.candlepin.controller.mode.CandlepinModeManager;
+import org.candlepin.controller.util.ActiveContentCache;
+import org.candlepin.controller.util.AutobindPoolIndex;
+import org.candlepin.database.ReplicaConnectionProvider;
 import org.candlepin.dto.ModelTranslator;
 import org.candlepin.dto.StandardTranslator;
 import org.candlepin.exceptions.mappers.BadRequestExceptionMapper;
@@ -87,6 +95,8 @@ import org.candlepin.exceptions.mappers.ServiceExceptionMapper;
 import org.candlepin.exceptions.mappers.ValidationExceptionMapper;
 import org.candlepin.exceptions.mappers.WebApplicationExceptionMapper;
 import org.candlepin.exceptions.mappers.WriterExceptionMapper;
+import org.candlepin.hibernate.QueryTrackingSessionListener;
+import org.candlepin.hibernate.QueryTrackingStatementInspector;
 import org.candlepin.messaging.CPMContextListener;
 import org.candlepin.messaging.CPMSessionFactory;
 import org.candlepin.messaging.impl.artemis.ArtemisContextListener;
@@ -94,6 +104,10 @@ import org.candlepin.messaging.impl.artemis.ArtemisSessionFactory;
 import org.candlepin.messaging.impl.artemis.ArtemisUtil;
 import org.candlepin.messaging.impl.noop.NoopContextListener;
 import org.candlepin.messaging.impl.noop.NoopSessionFactory;
+import org.candlepin.metrics.EventPublisherMetricsCollector;
+import org.candlepin.metrics.MetricsCollector;
+import org.candlepin.metrics.MetricsRegistry;
+import org.candlepin.metrics.ServerMetricsCollector;
 import org.candlepin.pki.CertificateReader;
 import org.candlepin.pki.CryptoManager;
 import org.candlepin.pki.OidUtil;
@@ -116,6 +130,9 @@ import org.candlepin.policy.SystemPurposeComplianceRules;
 import org.candlepin.policy.js.JsRunner;
 import org.candlepin.policy.js.JsRunnerProvider;
 import org.candlepin.policy.js.RulesObjectMapper;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
+import org.candlepin.policy.js.compliance.ComplianceSettings;
+import org.candlepin.policy.js.compliance.ComplianceSettingsProvider;
 import org.candlepin.policy.js.entitlement.Enforcer;
 import org.candlepin.policy.js.entitlement.EntitlementRules;
 import org.candlepin.policy.js.entitlement.EntitlementRulesTranslator;
@@ -162,7 +179,10 @@ import org.candlepin.resteasy.filter.CandlepinSuspendModeFilter;
 import org.candlepin.resteasy.filter.ConsumerCheckInFilter;
 import org.candlepin.resteasy.filter.DynamicJsonFilter;
 import org.candlepin.resteasy.filter.LinkHeaderResponseFilter;
+import org.candlepin.resteasy.filter.MetricsFilter;
 import org.candlepin.resteasy.filter.PageRequestFilter;
+import org.candlepin.resteasy.filter.QueryStatisticsFilter;
+import org.candlepin.resteasy.filter.ReadOnlyRoutingFilter;
 import org.candlepin.resteasy.filter.SecurityHoleAuthorizationFilter;
 import org.candlepin.resteasy.filter.StoreFactory;
 import org.candlepin.resteasy.filter.SuperAdminAuthorizationFilter;
@@ -173,6 +193,7 @@ import org.candlepin.service.impl.DefaultUniqueIdGenerator;
 import org.candlepin.service.impl.HypervisorUpdateAction;
 import org.candlepin.sync.ConsumerExporter;
 import org.candlepin.sync.ConsumerTypeExporter;
+import org.candlepin.sync.ExportCache;
 import org.candlepin.sync.Exporter;
 import org.candlepin.sync.MetaExporter;
 import org.candlepin.sync.RulesExporter;
@@ -195,6 +216,7 @@ import com.google.inject.persist.jpa.JpaPersistModule;
 import com.google.inject.persist.jpa.JpaPersistOptions;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.validator.HibernateValidator;
 import org.quartz.SchedulerFactory;
 import org.quartz.impl.StdSchedulerFactory;
@@ -247,6 +269,7 @@ public class CandlepinModule extends AbstractModule {
         bind(PoolManager.class);
         bind(PoolService.class);
         bind(ConsumerMigration.class);
+        bind(BulkConsumerDeletion.class);
         bind(RefresherFactory.class);
         bind(CandlepinModeManager.class).asEagerSingleton();
         bind(SuspendModeTransitioner.class).asEagerSingleton();
@@ -283,6 +306,8 @@ public class CandlepinModule extends AbstractModule {
         bind(Principal.class).toProvider(PrincipalProvider.class);
         bind(JsRunnerProvider.class).asEagerSingleton();
         bind(JsRunner.class).toProvider(JsRunnerProvider.class);
+        bind(ComplianceSettings.class).toProvider(ComplianceSettingsProvider.class).asEagerSingleton();
+        bind(BulkComplianceCalculator.class);
         bind(SyncUtils.class).asEagerSingleton();
         bind(ObjectMapperFactory.class).asEagerSingleton();
         bind(ObjectMapper.class).toProvider(ObjectMapperFactory.class).asEagerSingleton();
@@ -302,6 +327,10 @@ public class CandlepinModule extends AbstractModule {
         parserBinder.addBinding().to(AzureProviderFactParser.class);
         parserBinder.addBinding().to(GCPProviderFactParser.class);
 
+        Multibinder<MetricsCollector> metricsBinder = Multibinder.newSetBinder(binder(), MetricsCollector.class);
+        metricsBinder.addBinding().to(ServerMetricsCollector.class);
+        bind(MetricsRegistry.class);
+
         // Configure model translators
         this.configureModelTranslator();
     }
@@ -324,6 +353,8 @@ public class CandlepinModule extends AbstractModule {
 
         // Tier-2 generators
         bind(X509ExtensionUtil.class);
+        bind(ActiveContentCache.class);
+        bind(AutobindPoolIndex.class);
 
         bind(AnonymousCertificateGenerator.class);
         bind(EntitlementCertificateGenerator.class);
@@ -411,6 +442,18 @@ public class CandlepinModule extends AbstractModule {
             jpaProperties.put(key, entry.getValue());
         }
 
+        // Hook the statement tracking into Hibernate when tracking the statements of requests and jobs
+        if (config.getBoolean(ConfigProperties.DB_QUERY_STATS_ENABLED)) {
+            jpaProperties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR,
+                QueryTrackingStatementInspector.class.getName());
+            jpaProperties.putIfAbsent(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                QueryTrackingSessionListener.class.getName());
+        }
+
+        if (config.getBoolean(ConfigProperties.DB_REPLICA_ENABLED)) {
+            jpaProperties.put(AvailableSettings.CONNECTION_PROVIDER, new ReplicaConnectionProvider(config));
+        }
+
         // As of Guice 6.0, UnitOfWork is no longer automatically started upon fetching the
         // EntityManager. This option restores that behavior.
         JpaPersistOptions jpaOptions = JpaPersistOptions.builder()
@@ -459,6 +502,21 @@ public class CandlepinModule extends AbstractModule {
             bind(CandlepinSuspendModeFilter.class);
         }
 
+        // Only track the statements issued by requests if configured to do so
+        if (this.config.getBoolean(ConfigProperties.DB_QUERY_STATS_ENABLED)) {
+            bind(QueryStatisticsFilter.class);
+        }
+
+        // Only record request durations if configured to do so
+        if (this.config.getBoolean(ConfigProperties.METRICS_ENABLED)) {
+            bind(MetricsFilter.class);
+        }
+
+        // Only route read-only requests to the read replica if configured to do so
+        if (this.config.getBoolean(ConfigProperties.DB_REPLICA_ENABLED)) {
+            bind(ReadOnlyRoutingFilter.class);
+        }
+
         bindConstant().annotatedWith(Names.named("PREFIX_APIURL_KEY")).to(ConfigProperties.PREFIX_APIURL);
     }
 
@@ -486,6 +544,7 @@ public class CandlepinModule extends AbstractModule {
         JobManager.registerJob(RegenEnvEntitlementCertsJob.JOB_KEY, RegenEnvEntitlementCertsJob.class);
         JobManager.registerJob(RegenProductEntitlementCertsJob.JOB_KEY,
             RegenProductEntitlementCertsJob.class);
+        JobManager.registerJob(ReservedQuantityRepairJob.JOB_KEY, ReservedQuantityRepairJob.class);
         JobManager.registerJob(UndoImportsJob.JOB_KEY, UndoImportsJob.class);
         JobManager.registerJob(UnmappedGuestEntitlementCleanerJob.JOB_KEY,
             UnmappedGuestEntitlementCleanerJob.class);
@@ -497,6 +556,7 @@ public class CandlepinModule extends AbstractModule {
 
     private void configureExporter() {
         bind(Exporter.class);
+        bind(ExportCache.class);
         bind(MetaExporter.class);
         bind(ConsumerTypeExporter.class);
         bind(ConsumerExporter.class);
@@ -509,6 +569,11 @@ public class CandlepinModule extends AbstractModule {
             bind(MessageSource.class).to(ArtemisMessageSource.class);
             bind(MessageSourceReceiverFactory.class).to(ArtemisMessageSourceReceiverFactory.class);
             bind(EventSink.class).to(EventSinkImpl.class);
+            bind(EventFormat.class).toProvider(EventFormatProvider.class);
+            bind(EventPublisher.class);
+
+            Multibinder.newSetBinder(binder(), MetricsCollector.class)
+                .addBinding().to(EventPublisherMetricsCollector.class);
         }
         else {
             bind(EventSink.class).to(NoopEventSinkImpl.class);
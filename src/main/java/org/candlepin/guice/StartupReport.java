@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.guice;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The StartupReport holds the time taken to initialize each of Candlepin's subsystems at startup,
+ * as recorded by the {@link CandlepinContextListener}.
+ */
+@Singleton
+public class StartupReport {
+
+    private volatile Map<String, Long> times = Map.of();
+
+    /**
+     * Sets the time, in milliseconds, taken to initialize each subsystem.
+     *
+     * @param times
+     *  a mapping of subsystem names to the time taken to initialize them; cannot be null
+     */
+    public void setTimes(Map<String, Long> times) {
+        this.times = Collections.unmodifiableMap(new LinkedHashMap<>(times));
+    }
+
+    /**
+     * Fetches the time, in milliseconds, taken to initialize each subsystem, in the order the
+     * subsystems were initialized. If startup has not yet completed, this method returns an empty
+     * map.
+     *
+     * @return
+     *  an unmodifiable mapping of subsystem names to the time taken to initialize them
+     */
+    public Map<String, Long> getTimes() {
+        return this.times;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.guice;
+
+import org.candlepin.util.function.CheckedRunnable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * The SubsystemInitializer initializes a graph of subsystems, starting each subsystem as soon as
+ * the subsystems it depends upon have been initialized. Subsystems which do not depend upon one
+ * another are initialized concurrently, limited only by the executor used to run them.
+ * <p>
+ * Subsystems must be added after the subsystems they depend upon, which prevents dependency
+ * cycles. The time taken to initialize each subsystem is recorded and reported once all of the
+ * subsystems have been initialized.
+ */
+public class SubsystemInitializer {
+    private static final Logger log = LoggerFactory.getLogger(SubsystemInitializer.class);
+
+    /**
+     * A subsystem to initialize, and the names of the subsystems it depends upon
+     */
+    private static class Subsystem {
+        private final String name;
+        private final CheckedRunnable<Exception> task;
+        private final List<String> dependencies;
+
+        public Subsystem(String name, CheckedRunnable<Exception> task, List<String> dependencies) {
+            this.name = name;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final Map<String, Subsystem> subsystems = new LinkedHashMap<>();
+
+    /**
+     * Adds a subsystem to be initialized by the given task once all of its dependencies have been
+     * initialized.
+     *
+     * @param name
+     *  the name of the subsystem; cannot be null and must be unique
+     *
+     * @param task
+     *  the task initializing the subsystem; cannot be null
+     *
+     * @param dependencies
+     *  the names of the previously added subsystems which must be initialized before this subsystem
+     *
+     * @throws IllegalArgumentException
+     *  if the name is already in use, or a dependency has not been added
+     *
+     * @return
+     *  a reference to this initializer
+     */
+    public SubsystemInitializer add(String name, CheckedRunnable<Exception> task, String... dependencies) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(task);
+
+        if (this.subsystems.containsKey(name)) {
+            throw new IllegalArgumentException("subsystem already added: " + name);
+        }
+
+        for (String dependency : dependencies) {
+            if (!this.subsystems.containsKey(dependency)) {
+                throw new IllegalArgumentException("subsystem \"" + name + "\" depends upon unknown " +
+                    "subsystem: " + dependency);
+            }
+        }
+
+        this.subsystems.put(name, new Subsystem(name, task, List.of(dependencies)));
+        return this;
+    }
+
+    /**
+     * Initializes the subsystems with the given executor, blocking until every subsystem has been
+     * initialized or has failed. Subsystems depending upon a subsystem which failed to initialize are
+     * not initialized.
+     *
+     * @param executor
+     *  the executor to run the initialization tasks; cannot be null
+     *
+     * @throws Exception
+     *  the exception thrown by a subsystem which failed to initialize
+     *
+     * @return
+     *  a mapping of subsystem names to the time, in milliseconds, taken to initialize them, in the
+     *  order in which the subsystems were added
+     */
+    public Map<String, Long> initialize(Executor executor) throws Exception {
+        Objects.requireNonNull(executor);
+
+        Map<String, Long> times = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+        for (Subsystem subsystem : this.subsystems.values()) {
+            CompletableFuture<?>[] dependencies = subsystem.dependencies.stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+
+            CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                .thenRunAsync(CheckedRunnable.rethrow(() -> this.run(subsystem, times)), executor);
+
+            futures.put(subsystem.name, future);
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .join();
+        }
+        catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+
+            throw (Error) cause;
+        }
+
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        this.subsystems.keySet().forEach(name -> ordered.put(name, times.get(name)));
+
+        return Collections.unmodifiableMap(ordered);
+    }
+
+    private void run(Subsystem subsystem, Map<String, Long> times) throws Exception {
+        log.debug("Initializing subsystem: {}", subsystem.name);
+        long start = System.nanoTime();
+
+        subsystem.task.run();
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        times.put(subsystem.name, elapsed);
+
+        log.info("Initialized subsystem {} in {}ms", subsystem.name, elapsed);
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.hibernate;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.dto.api.server.v1.QueryStatisticsDTO;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+
+
+
+/**
+ * The QueryStatistics aggregate the statements issued by each endpoint and job, to find the units of
+ * work which issue an excessive number of statements, or repeat an identical statement many times as
+ * happens when an association is lazily loaded for each of many entities.
+ * <p>
+ * Statements are only tracked when enabled by the {@link ConfigProperties#DB_QUERY_STATS_ENABLED}
+ * configuration; otherwise beginning and ending a unit of work does nothing. As the statements of a
+ * unit of work are not mapped to the rows they return, the number of loaded rows is approximated by
+ * the number of entities held by the persistence context when the unit of work ends.
+ */
+@Singleton
+public class QueryStatistics {
+    private static final Logger log = LoggerFactory.getLogger(QueryStatistics.class);
+
+    /** The maximum number of distinct units of work for which statistics are retained */
+    private static final int MAX_UNITS = 1000;
+
+    /** The maximum length of the repeated statements retained in the statistics */
+    private static final int MAX_STATEMENT_LENGTH = 512;
+
+    /**
+     * The statistics of a single endpoint or job.
+     */
+    private static class UnitStatistics {
+        private final String name;
+        private long invocations;
+        private long statements;
+        private long maxStatements;
+        private long executionTime;
+        private long entities;
+        private long maxEntities;
+        private long repeatedStatementInvocations;
+        private long maxStatementRepeats;
+        private String repeatedStatement;
+
+        public UnitStatistics(String name) {
+            this.name = name;
+        }
+
+        public synchronized void record(QueryTracker tracker, long entityCount, int repeatThreshold) {
+            ++this.invocations;
+            this.statements += tracker.getStatementCount();
+            this.maxStatements = Math.max(this.maxStatements, tracker.getStatementCount());
+            this.executionTime += tracker.getExecutionTime();
+
+            if (entityCount >= 0) {
+                this.entities += entityCount;
+                this.maxEntities = Math.max(this.maxEntities, entityCount);
+            }
+
+            Map.Entry<String, Integer> repeated = tracker.getMostRepeatedStatement();
+            if (repeated != null) {
+                if (repeated.getValue() >= repeatThreshold) {
+                    ++this.repeatedStatementInvocations;
+                }
+
+                if (repeated.getValue() > this.maxStatementRepeats) {
+                    this.maxStatementRepeats = repeated.getValue();
+                    this.repeatedStatement = truncate(repeated.getKey());
+                }
+            }
+        }
+
+        public synchronized QueryStatisticsDTO toDTO() {
+            return new QueryStatisticsDTO()
+                .name(this.name)
+                .invocations(this.invocations)
+                .statements(this.statements)
+                .maxStatements(this.maxStatements)
+                .executionTime(this.executionTime)
+                .entities(this.entities)
+                .maxEntities(this.maxEntities)
+                .repeatedStatementInvocations(this.repeatedStatementInvocations)
+                .maxStatementRepeats(this.maxStatementRepeats)
+                .repeatedStatement(this.repeatedStatement);
+        }
+    }
+
+    private final Provider<EntityManager> entityManagerProvider;
+    private final boolean enabled;
+    private final int repeatThreshold;
+    private final int logThreshold;
+    private final ConcurrentMap<String, UnitStatistics> units;
+
+    @Inject
+    public QueryStatistics(Configuration config, Provider<EntityManager> entityManagerProvider) {
+        this.entityManagerProvider = Objects.requireNonNull(entityManagerProvider);
+
+        this.enabled = config.getBoolean(ConfigProperties.DB_QUERY_STATS_ENABLED);
+        this.repeatThreshold = config.getInt(ConfigProperties.DB_QUERY_STATS_REPEAT_THRESHOLD);
+        this.logThreshold = config.getInt(ConfigProperties.DB_QUERY_STATS_LOG_THRESHOLD);
+        this.units = new ConcurrentHashMap<>();
+    }
+
+    private static String truncate(String statement) {
+        return statement.length() > MAX_STATEMENT_LENGTH ?
+            statement.substring(0, MAX_STATEMENT_LENGTH) + "..." :
+            statement;
+    }
+
+    /**
+     * Checks if the statements of units of work are tracked.
+     *
+     * @return
+     *  true if statements are tracked; false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Begins tracking the statements issued by the current thread for the given unit of work. If
+     * statement tracking is disabled, this method does nothing.
+     *
+     * @param name
+     *  the name of the endpoint or job to which the statements are attributed
+     */
+    public void begin(String name) {
+        if (this.enabled && name != null) {
+            QueryTracker.start(name);
+        }
+    }
+
+    /**
+     * Ends tracking the statements issued by the current thread, adding them to the statistics of the
+     * unit of work for which tracking began. If the current thread is not tracked, this method does
+     * nothing.
+     */
+    public void end() {
+        QueryTracker tracker = QueryTracker.stop();
+        if (tracker == null) {
+            return;
+        }
+
+        long entityCount = this.countEntities();
+
+        UnitStatistics stats = this.units.get(tracker.getName());
+        if (stats == null && this.units.size() < MAX_UNITS) {
+            stats = this.units.computeIfAbsent(tracker.getName(), UnitStatistics::new);
+        }
+
+        if (stats != null) {
+            stats.record(tracker, entityCount, this.repeatThreshold);
+        }
+
+        if (this.logThreshold > 0 && tracker.getStatementCount() >= this.logThreshold) {
+            Map.Entry<String, Integer> repeated = tracker.getMostRepeatedStatement();
+
+            log.warn("{} issued {} statements taking {}ms and loaded {} entities; most repeated statement " +
+                "({} times): {}", tracker.getName(), tracker.getStatementCount(), tracker.getExecutionTime(),
+                entityCount, repeated.getValue(), truncate(repeated.getKey()));
+        }
+    }
+
+    private long countEntities() {
+        try {
+            EntityManager entityManager = this.entityManagerProvider.get();
+
+            return entityManager.isOpen() ?
+                entityManager.unwrap(Session.class).getStatistics().getEntityCount() :
+                -1;
+        }
+        catch (RuntimeException e) {
+            log.debug("Unable to count the entities of the current persistence context", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Fetches the statistics of every tracked endpoint and job, ordered by the number of statements
+     * they issued, descending.
+     *
+     * @return
+     *  a list containing the statistics of every tracked endpoint and job
+     */
+    public List<QueryStatisticsDTO> getStatistics() {
+        return this.units.values()
+            .stream()
+            .map(UnitStatistics::toDTO)
+            .sorted(Comparator.comparing(QueryStatisticsDTO::getStatements).reversed())
+            .toList();
+    }
+
+}
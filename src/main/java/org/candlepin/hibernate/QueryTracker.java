@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.hibernate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Tracks the statements issued by the current thread during a unit of work, such as a request or a
+ * job. Statements are reported by the {@link QueryTrackingStatementInspector} and the
+ * {@link QueryTrackingSessionListener}; as Hibernate instantiates these itself, the tracker of a unit
+ * of work is bound to the thread running it rather than injected. Statements issued by threads without
+ * a tracker are ignored.
+ */
+public final class QueryTracker {
+
+    /** The maximum number of distinct statements counted by a tracker to detect repeated statements */
+    private static final int MAX_DISTINCT_STATEMENTS = 1000;
+
+    private static final ThreadLocal<QueryTracker> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Map<String, Integer> statementCounts;
+    private int statements;
+    private long executionNanos;
+
+    private QueryTracker(String name) {
+        this.name = name;
+        this.statementCounts = new HashMap<>();
+    }
+
+    /**
+     * Starts tracking the statements issued by the current thread, replacing any tracker already bound
+     * to it.
+     *
+     * @param name
+     *  the name of the unit of work to track
+     *
+     * @return
+     *  the tracker bound to the current thread
+     */
+    public static QueryTracker start(String name) {
+        QueryTracker tracker = new QueryTracker(name);
+        CURRENT.set(tracker);
+
+        return tracker;
+    }
+
+    /**
+     * Stops tracking the statements issued by the current thread.
+     *
+     * @return
+     *  the tracker which was bound to the current thread, or null if the thread was not tracked
+     */
+    public static QueryTracker stop() {
+        QueryTracker tracker = CURRENT.get();
+        CURRENT.remove();
+
+        return tracker;
+    }
+
+    /**
+     * Fetches the tracker bound to the current thread.
+     *
+     * @return
+     *  the tracker bound to the current thread, or null if the thread is not tracked
+     */
+    public static QueryTracker current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records a statement about to be issued by the current thread.
+     *
+     * @param sql
+     *  the SQL of the statement
+     */
+    static void statementPrepared(String sql) {
+        QueryTracker tracker = CURRENT.get();
+        if (tracker == null || sql == null) {
+            return;
+        }
+
+        ++tracker.statements;
+
+        if (tracker.statementCounts.size() < MAX_DISTINCT_STATEMENTS ||
+            tracker.statementCounts.containsKey(sql)) {
+            tracker.statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Records the time taken by the database to execute a statement issued by the current thread.
+     *
+     * @param nanos
+     *  the execution time of the statement, in nanoseconds
+     */
+    static void statementExecuted(long nanos) {
+        QueryTracker tracker = CURRENT.get();
+        if (tracker != null) {
+            tracker.executionNanos += nanos;
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return
+     *  the number of statements issued during the unit of work
+     */
+    public int getStatementCount() {
+        return this.statements;
+    }
+
+    /**
+     * @return
+     *  the total time taken by the database to execute the statements of the unit of work, in
+     *  milliseconds
+     */
+    public long getExecutionTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.executionNanos);
+    }
+
+    /**
+     * Fetches the statement issued the most times during the unit of work.
+     *
+     * @return
+     *  the most repeated statement and the number of times it was issued, or null if no statements
+     *  were issued
+     */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return this.statementCounts.entrySet()
+            .stream()
+            .max(Map.Entry.comparingByValue())
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+            .orElse(null);
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.hibernate;
+
+import org.hibernate.SessionEventListener;
+
+
+
+/**
+ * Reports the time taken by the database to execute each statement and batch to the
+ * {@link QueryTracker} of the current thread. Hibernate creates a listener for each session.
+ */
+public class QueryTrackingSessionListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        this.executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryTracker.statementExecuted(System.nanoTime() - this.executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        this.executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryTracker.statementExecuted(System.nanoTime() - this.executionStart);
+    }
+
+}
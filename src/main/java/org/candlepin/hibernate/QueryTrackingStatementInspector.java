@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.hibernate;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+
+
+/**
+ * Reports each statement Hibernate prepares to the {@link QueryTracker} of the current thread,
+ * leaving the statement unchanged.
+ */
+public class QueryTrackingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryTracker.statementPrepared(sql);
+        return sql;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import org.candlepin.audit.EventPublisher;
+
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+
+
+
+/**
+ * Collects the counters of the asynchronous {@link EventPublisher}: the events handed to it and what
+ * became of them, the batches sent, and the events still waiting to be published. Only registered when
+ * messaging is enabled.
+ */
+public class EventPublisherMetricsCollector implements MetricsCollector {
+
+    private final EventPublisher publisher;
+
+    @Inject
+    public EventPublisherMetricsCollector(EventPublisher publisher) {
+        this.publisher = Objects.requireNonNull(publisher);
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        EventPublisher.Stats stats = this.publisher.getStats();
+
+        writer.family("candlepin_events_total", MetricsWriter.COUNTER,
+            "The number of events handled by the event publisher, by outcome");
+        writer.sample("candlepin_events_total", stats.enqueued(), "result", "enqueued");
+        writer.sample("candlepin_events_total", stats.published(), "result", "published");
+        writer.sample("candlepin_events_total", stats.dropped(), "result", "dropped");
+        writer.sample("candlepin_events_total", stats.spilled(), "result", "spilled");
+        writer.sample("candlepin_events_total", stats.replayed(), "result", "replayed");
+        writer.sample("candlepin_events_total", stats.sentInline(), "result", "sent_inline");
+        writer.sample("candlepin_events_total", stats.failed(), "result", "failed");
+
+        writer.family("candlepin_event_batches_total", MetricsWriter.COUNTER,
+            "The number of batches of events sent by the event publisher");
+        writer.sample("candlepin_event_batches_total", stats.batches());
+
+        writer.family("candlepin_events_pending", MetricsWriter.GAUGE,
+            "The number of events queued and waiting to be published");
+        writer.sample("candlepin_events_pending", stats.pending());
+    }
+
+}
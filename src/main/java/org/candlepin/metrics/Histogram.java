@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+
+/**
+ * A histogram of durations, counting the observed durations falling within each of a fixed set of
+ * buckets. Observations are recorded without locking, so the histogram may be updated concurrently
+ * by any number of threads.
+ */
+public final class Histogram {
+
+    private final long[] bounds;
+    private final LongAdder[] counts;
+    private final LongAdder sum;
+
+    /**
+     * Creates a new histogram with the given bucket bounds.
+     *
+     * @param bounds
+     *  the inclusive upper bounds of the buckets, in nanoseconds, in ascending order
+     */
+    Histogram(long[] bounds) {
+        this.bounds = bounds;
+        this.counts = new LongAdder[bounds.length + 1];
+        this.sum = new LongAdder();
+
+        for (int i = 0; i < this.counts.length; ++i) {
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records an observed duration.
+     *
+     * @param nanos
+     *  the observed duration, in nanoseconds
+     */
+    public void observe(long nanos) {
+        int index = Arrays.binarySearch(this.bounds, nanos);
+
+        this.counts[index >= 0 ? index : -index - 1].increment();
+        this.sum.add(nanos);
+    }
+
+    /**
+     * Fetches the cumulative number of observations of each bucket, with the last element holding the
+     * total number of observations.
+     *
+     * @return
+     *  an array containing the cumulative number of observations of each bucket
+     */
+    public long[] getCumulativeCounts() {
+        long[] output = new long[this.counts.length];
+        long total = 0;
+
+        for (int i = 0; i < output.length; ++i) {
+            total += this.counts[i].sum();
+            output[i] = total;
+        }
+
+        return output;
+    }
+
+    /**
+     * @return
+     *  the sum of the observed durations, in seconds
+     */
+    public double getSum() {
+        return (double) this.sum.sum() / TimeUnit.SECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+
+
+/**
+ * A source of metrics which are only collected when the metrics are requested, such as the current
+ * state of a resource.
+ */
+public interface MetricsCollector {
+
+    /**
+     * Writes the current values of the metrics of this collector.
+     *
+     * @param writer
+     *  the writer to which the metrics are written
+     */
+    void collect(MetricsWriter writer);
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The MetricsRegistry holds the histograms recorded by Candlepin, such as the durations of requests
+ * and jobs, and renders them along with the metrics of the registered {@link MetricsCollector}s in
+ * the Prometheus text exposition format.
+ * <p>
+ * Histograms are recorded without locking. When metrics are disabled by the
+ * {@link ConfigProperties#METRICS_ENABLED} configuration, observations are discarded and no metrics
+ * are collected.
+ */
+@Singleton
+public class MetricsRegistry {
+    private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    /** The maximum number of label combinations recorded by each histogram family */
+    private static final int MAX_SERIES = 2000;
+
+    /**
+     * A family of histograms sharing a name and buckets, holding a histogram for each combination of
+     * label values.
+     */
+    public static final class HistogramFamily {
+        private final String name;
+        private final String help;
+        private final double[] buckets;
+        private final long[] bounds;
+        private final String[] labelNames;
+        private final boolean enabled;
+        private final ConcurrentMap<List<String>, Histogram> series;
+
+        private HistogramFamily(String name, String help, double[] buckets, String[] labelNames,
+            boolean enabled) {
+
+            this.name = name;
+            this.help = help;
+            this.buckets = buckets;
+            this.bounds = Arrays.stream(buckets)
+                .mapToLong(bucket -> (long) (bucket * TimeUnit.SECONDS.toNanos(1)))
+                .toArray();
+            this.labelNames = labelNames;
+            this.enabled = enabled;
+            this.series = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Records an observed duration in the histogram of the given label values.
+         *
+         * @param nanos
+         *  the observed duration, in nanoseconds
+         *
+         * @param labelValues
+         *  the values of the labels of this family, in the order of the label names
+         */
+        public void observe(long nanos, String... labelValues) {
+            if (!this.enabled || labelValues.length != this.labelNames.length) {
+                return;
+            }
+
+            List<String> key = List.of(labelValues);
+
+            Histogram histogram = this.series.get(key);
+            if (histogram == null) {
+                if (this.series.size() >= MAX_SERIES) {
+                    return;
+                }
+
+                histogram = this.series.computeIfAbsent(key, k -> new Histogram(this.bounds));
+            }
+
+            histogram.observe(nanos);
+        }
+
+        private void write(MetricsWriter writer) {
+            writer.family(this.name, MetricsWriter.HISTOGRAM, this.help);
+
+            for (Map.Entry<List<String>, Histogram> entry : this.series.entrySet()) {
+                String[] labels = new String[this.labelNames.length * 2 + 2];
+                for (int i = 0; i < this.labelNames.length; ++i) {
+                    labels[i * 2] = this.labelNames[i];
+                    labels[i * 2 + 1] = entry.getKey().get(i);
+                }
+
+                Histogram histogram = entry.getValue();
+                long[] counts = histogram.getCumulativeCounts();
+
+                labels[labels.length - 2] = "le";
+                for (int i = 0; i < counts.length; ++i) {
+                    labels[labels.length - 1] = i < this.buckets.length ?
+                        Double.toString(this.buckets[i]) :
+                        "+Inf";
+
+                    writer.sample(this.name + "_bucket", counts[i], labels);
+                }
+
+                String[] seriesLabels = Arrays.copyOf(labels, labels.length - 2);
+                writer.sample(this.name + "_sum", histogram.getSum(), seriesLabels);
+                writer.sample(this.name + "_count", counts[counts.length - 1], seriesLabels);
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final double[] defaultBuckets;
+    private final Set<MetricsCollector> collectors;
+    private final ConcurrentMap<String, HistogramFamily> families;
+
+    @Inject
+    public MetricsRegistry(Configuration config, Set<MetricsCollector> collectors) {
+        this.collectors = Objects.requireNonNull(collectors);
+        this.enabled = config.getBoolean(ConfigProperties.METRICS_ENABLED);
+        this.defaultBuckets = parseBuckets(config.getList(ConfigProperties.METRICS_BUCKETS));
+        this.families = new ConcurrentSkipListMap<>();
+    }
+
+    private static double[] parseBuckets(List<String> values) {
+        try {
+            double[] buckets = values.stream()
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+
+            for (int i = 0; i < buckets.length; ++i) {
+                if (!(buckets[i] > 0) || Double.isInfinite(buckets[i]) ||
+                    (i > 0 && buckets[i] <= buckets[i - 1])) {
+                    throw new IllegalArgumentException("invalid bucket: " + buckets[i]);
+                }
+            }
+
+            return buckets;
+        }
+        catch (IllegalArgumentException e) {
+            String msg = ConfigProperties.METRICS_BUCKETS +
+                " must be a list of positive, ascending durations in seconds";
+            throw new ConfigurationException(msg, e);
+        }
+    }
+
+    /**
+     * Checks if metrics are recorded.
+     *
+     * @return
+     *  true if metrics are recorded; false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Fetches the histogram family of the given name using the configured buckets, creating it if it
+     * does not yet exist.
+     *
+     * @param name
+     *  the name of the histogram family
+     *
+     * @param help
+     *  a description of the histogram family
+     *
+     * @param labelNames
+     *  the names of the labels of the histograms of the family
+     *
+     * @return
+     *  the histogram family of the given name
+     */
+    public HistogramFamily histogram(String name, String help, String... labelNames) {
+        return this.histogram(name, help, this.defaultBuckets, labelNames);
+    }
+
+    /**
+     * Fetches the histogram family of the given name, creating it with the given buckets if it does not
+     * yet exist.
+     *
+     * @param name
+     *  the name of the histogram family
+     *
+     * @param help
+     *  a description of the histogram family
+     *
+     * @param buckets
+     *  the inclusive upper bounds of the buckets of the histograms, in seconds, in ascending order
+     *
+     * @param labelNames
+     *  the names of the labels of the histograms of the family
+     *
+     * @return
+     *  the histogram family of the given name
+     */
+    public HistogramFamily histogram(String name, String help, double[] buckets, String... labelNames) {
+        return this.families.computeIfAbsent(name,
+            key -> new HistogramFamily(name, help, buckets.clone(), labelNames.clone(), this.enabled));
+    }
+
+    /**
+     * Renders the recorded histograms and the metrics of the registered collectors in the Prometheus
+     * text exposition format.
+     *
+     * @return
+     *  the current metrics, in the Prometheus text exposition format
+     */
+    public String scrape() {
+        MetricsWriter writer = new MetricsWriter();
+        if (!this.enabled) {
+            return writer.toString();
+        }
+
+        this.families.values()
+            .forEach(family -> family.write(writer));
+
+        for (MetricsCollector collector : this.collectors) {
+            try {
+                collector.collect(writer);
+            }
+            catch (RuntimeException e) {
+                log.warn("Unable to collect metrics from collector: {}", collector.getClass().getName(), e);
+            }
+        }
+
+        return writer.toString();
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+
+
+/**
+ * Writes metrics in the Prometheus text exposition format.
+ */
+public class MetricsWriter {
+
+    /** The type of metrics which only ever increase */
+    public static final String COUNTER = "counter";
+
+    /** The type of metrics which may increase and decrease */
+    public static final String GAUGE = "gauge";
+
+    /** The type of histogram metrics */
+    public static final String HISTOGRAM = "histogram";
+
+    private final StringBuilder builder;
+
+    public MetricsWriter() {
+        this.builder = new StringBuilder();
+    }
+
+    /**
+     * Writes the description of a metric, which must precede its samples.
+     *
+     * @param name
+     *  the name of the metric
+     *
+     * @param type
+     *  the type of the metric
+     *
+     * @param help
+     *  a description of the metric
+     *
+     * @return
+     *  a reference to this writer
+     */
+    public MetricsWriter family(String name, String type, String help) {
+        this.builder.append("# HELP ").append(name).append(' ')
+            .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        this.builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+
+        return this;
+    }
+
+    /**
+     * Writes a sample of a metric.
+     *
+     * @param name
+     *  the name of the sample
+     *
+     * @param value
+     *  the value of the sample
+     *
+     * @param labels
+     *  the labels of the sample, as alternating label names and values
+     *
+     * @return
+     *  a reference to this writer
+     */
+    public MetricsWriter sample(String name, double value, String... labels) {
+        this.builder.append(name);
+
+        if (labels.length > 0) {
+            this.builder.append('{');
+
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    this.builder.append(',');
+                }
+
+                this.builder.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+            }
+
+            this.builder.append('}');
+        }
+
+        this.builder.append(' ').append(format(value)).append('\n');
+        return this;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        return value.replace("\\", "\\\\")
+            .replace("\"", "\\\"")
+            .replace("\n", "\\n");
+    }
+
+    /**
+     * Formats a value as expected by the exposition format.
+     *
+     * @param value
+     *  the value to format
+     *
+     * @return
+     *  the formatted value
+     */
+    static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ?
+            Long.toString((long) value) :
+            Double.toString(value);
+    }
+
+    @Override
+    public String toString() {
+        return this.builder.toString();
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import org.candlepin.audit.EventSink;
+import org.candlepin.controller.util.ActiveContentCache;
+import org.candlepin.controller.util.AutobindPoolIndex;
+import org.candlepin.dto.api.server.v1.QueueStatus;
+import org.candlepin.guice.StartupReport;
+import org.candlepin.policy.js.JsRunnerProvider;
+import org.candlepin.sync.ExportCache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mchange.v2.c3p0.C3P0Registry;
+import com.mchange.v2.c3p0.PooledDataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+
+
+/**
+ * Collects the current state of the resources used by Candlepin: the database connection pools, the
+ * application caches, the rules execution scopes, and the event queues; along with the time taken to
+ * initialize each subsystem at startup.
+ */
+public class ServerMetricsCollector implements MetricsCollector {
+    private static final Logger log = LoggerFactory.getLogger(ServerMetricsCollector.class);
+
+    private final Provider<EventSink> eventSinkProvider;
+    private final ActiveContentCache activeContentCache;
+    private final AutobindPoolIndex autobindPoolIndex;
+    private final ExportCache exportCache;
+    private final JsRunnerProvider jsRunnerProvider;
+    private final StartupReport startupReport;
+
+    @Inject
+    public ServerMetricsCollector(Provider<EventSink> eventSinkProvider, ActiveContentCache activeContentCache,
+        AutobindPoolIndex autobindPoolIndex, ExportCache exportCache, JsRunnerProvider jsRunnerProvider,
+        StartupReport startupReport) {
+
+        this.eventSinkProvider = Objects.requireNonNull(eventSinkProvider);
+        this.activeContentCache = Objects.requireNonNull(activeContentCache);
+        this.autobindPoolIndex = Objects.requireNonNull(autobindPoolIndex);
+        this.exportCache = Objects.requireNonNull(exportCache);
+        this.jsRunnerProvider = Objects.requireNonNull(jsRunnerProvider);
+        this.startupReport = Objects.requireNonNull(startupReport);
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        this.collectConnectionPools(writer);
+        this.collectCaches(writer);
+        this.collectRulesScopes(writer);
+        this.collectQueues(writer);
+        this.collectStartupTimes(writer);
+    }
+
+    private void collectConnectionPools(MetricsWriter writer) {
+        writer.family("candlepin_db_pool_connections", MetricsWriter.GAUGE,
+            "The number of connections held by each database connection pool");
+
+        for (Object source : C3P0Registry.getPooledDataSources()) {
+            if (source instanceof PooledDataSource pool) {
+                try {
+                    String name = pool.getDataSourceName();
+
+                    writer.sample("candlepin_db_pool_connections", pool.getNumBusyConnectionsAllUsers(),
+                        "pool", name, "state", "busy");
+                    writer.sample("candlepin_db_pool_connections", pool.getNumIdleConnectionsAllUsers(),
+                        "pool", name, "state", "idle");
+                }
+                catch (SQLException e) {
+                    log.debug("Unable to read the state of connection pool: {}", pool, e);
+                }
+            }
+        }
+    }
+
+    private void collectCaches(MetricsWriter writer) {
+        ActiveContentCache.Statistics activeContent = this.activeContentCache.getStatistics();
+        CacheStats autobindPools = this.autobindPoolIndex.getStats();
+        CacheStats exports = this.exportCache.getStats();
+
+        writer.family("candlepin_cache_hits_total", MetricsWriter.COUNTER,
+            "The number of lookups served by each application cache");
+        writer.sample("candlepin_cache_hits_total", activeContent.hits(), "cache", "active_content");
+        writer.sample("candlepin_cache_hits_total", autobindPools.hitCount(), "cache", "autobind_pools");
+        writer.sample("candlepin_cache_hits_total", exports.hitCount(), "cache", "export_products");
+
+        writer.family("candlepin_cache_misses_total", MetricsWriter.COUNTER,
+            "The number of lookups not served by each application cache");
+        writer.sample("candlepin_cache_misses_total", activeContent.builds(), "cache", "active_content");
+        writer.sample("candlepin_cache_misses_total", autobindPools.missCount(), "cache", "autobind_pools");
+        writer.sample("candlepin_cache_misses_total", exports.missCount(), "cache", "export_products");
+    }
+
+    private void collectRulesScopes(MetricsWriter writer) {
+        JsRunnerProvider.ScopeStatistics scopes = this.jsRunnerProvider.getScopeStatistics();
+
+        writer.family("candlepin_rules_scopes_total", MetricsWriter.COUNTER,
+            "The number of rules execution scopes created, and the number of times a scope was reused");
+        writer.sample("candlepin_rules_scopes_total", scopes.created(), "result", "created");
+        writer.sample("candlepin_rules_scopes_total", scopes.reused(), "result", "reused");
+    }
+
+    private void collectQueues(MetricsWriter writer) {
+        List<QueueStatus> queues = this.eventSinkProvider.get().getQueueInfo();
+
+        writer.family("candlepin_queue_pending_messages", MetricsWriter.GAUGE,
+            "The number of messages pending in each event queue");
+
+        for (QueueStatus queue : queues) {
+            writer.sample("candlepin_queue_pending_messages", queue.getPendingMessageCount(),
+                "queue", queue.getQueueName());
+        }
+    }
+
+    private void collectStartupTimes(MetricsWriter writer) {
+        Map<String, Long> times = this.startupReport.getTimes();
+        if (times.isEmpty()) {
+            return;
+        }
+
+        writer.family("candlepin_startup_duration_seconds", MetricsWriter.GAUGE,
+            "The time taken to initialize each subsystem at startup");
+
+        times.forEach((subsystem, millis) ->
+            writer.sample("candlepin_startup_duration_seconds", millis / 1000.0, "subsystem", subsystem));
+    }
+
+}
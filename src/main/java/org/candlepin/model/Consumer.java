@@ -21,6 +21,9 @@ import org.candlepin.model.exceptions.ValueTooLargeException;
 import org.candlepin.service.model.ConsumerInfo;
 import org.candlepin.util.Util;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -30,6 +33,7 @@ import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -44,6 +48,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.Basic;
@@ -96,6 +102,9 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
     /** The maximum allowed length of any string of comma-delimited algorithm OIDs */
     public static final int ALGORITHM_OIDS_MAX_LENGTH = 2048;
 
+    /** The entitled host of a consumer which has no entitlements restricted to a host */
+    public static final String NO_ENTITLED_HOST = "";
+
     /**
      * Commonly used/recognized consumer facts
      */
@@ -275,6 +284,26 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Map<String, String> facts;
 
+    /**
+     * Represents a 256 bit hash digest of the facts last set on this consumer, allowing incoming
+     * facts to be compared against the current facts without loading them.
+     */
+    @Column(name = "facts_hash")
+    @Size(max = 64)
+    private String factsHash;
+
+    /**
+     * The UUID of the host required by every host-restricted entitlement of this consumer, allowing
+     * guest migrations to be detected without loading the entitlements. See getEntitledHost.
+     */
+    @Column(name = "entitled_host")
+    @Size(max = 255)
+    private String entitledHost;
+
+    @Column(name = "guest_ids_hash")
+    @Size(max = 64)
+    private String guestIdsHash;
+
     @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "keypair_id")
     private KeyPairData keyPairData;
@@ -384,6 +413,7 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
         this.autoheal = true;
         this.serviceLevel = "";
         this.entitlementCount = 0L;
+        this.entitledHost = NO_ENTITLED_HOST;
     }
 
     /**
@@ -676,9 +706,151 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
             this.facts.putAll(facts);
         }
 
+        this.factsHash = hashFacts(facts);
         return this;
     }
 
+    /**
+     * Fetches the hash digest of the facts last set on this consumer. If the facts have not been set
+     * since the hash was last invalidated, this method returns null.
+     *
+     * @return
+     *  the hash digest of this consumer's facts, or null if the hash is not known
+     */
+    public String getFactsHash() {
+        return this.factsHash;
+    }
+
+    /**
+     * Fetches the host to which the entitlements of this consumer are restricted. The value is
+     * maintained as entitlements are added to this consumer, and is one of:
+     * <ul>
+     *  <li>{@link #NO_ENTITLED_HOST}, if none of the entitlements are restricted to a host or for
+     *      unmapped guests</li>
+     *  <li>the UUID of a host, if every host-restricted entitlement requires that host and none are
+     *      for unmapped guests</li>
+     *  <li>null, if the entitlements require several hosts, include entitlements for unmapped guests,
+     *      or have not been examined since they were last replaced</li>
+     * </ul>
+     * As removing entitlements never invalidates the value, it may describe entitlements which have
+     * since been removed; it can be relied upon to rule out entitlements requiring other hosts, but not
+     * to find them.
+     *
+     * @return
+     *  the entitled host of this consumer, or null if it is not known
+     */
+    public String getEntitledHost() {
+        return this.entitledHost;
+    }
+
+    /**
+     * Recomputes the entitled host of this consumer from its current entitlements. See
+     * {@link #getEntitledHost()}.
+     *
+     * @return
+     *  a reference to this Consumer instance
+     */
+    public Consumer updateEntitledHost() {
+        this.entitledHost = NO_ENTITLED_HOST;
+
+        if (this.entitlements != null) {
+            for (Entitlement entitlement : this.entitlements) {
+                this.mergeEntitledHost(entitlement);
+            }
+        }
+
+        return this;
+    }
+
+    private void mergeEntitledHost(Entitlement entitlement) {
+        Pool pool = entitlement.getPool();
+        if (pool == null) {
+            this.entitledHost = null;
+            return;
+        }
+
+        String requiredHost = pool.getAttributeValue(Pool.Attributes.REQUIRES_HOST);
+        if (requiredHost != null) {
+            if (NO_ENTITLED_HOST.equals(this.entitledHost)) {
+                this.entitledHost = requiredHost;
+            }
+            else if (!requiredHost.equals(this.entitledHost)) {
+                this.entitledHost = null;
+            }
+        }
+        else if (pool.isUnmappedGuestPool()) {
+            this.entitledHost = null;
+        }
+    }
+
+    /**
+     * Calculates the hash digest of the given facts, as stored by consumers having those facts. The
+     * digest does not depend on the ordering of the facts.
+     *
+     * @param facts
+     *  the facts for which to calculate a hash digest; may be null
+     *
+     * @return
+     *  the hash digest of the given facts
+     */
+    public static String hashFacts(Map<String, String> facts) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        if (facts != null) {
+            // Length prefixes keep the digest of distinct facts from colliding when concatenated
+            for (Entry<String, String> entry : new TreeMap<>(facts).entrySet()) {
+                hasher.putInt(entry.getKey().length())
+                    .putString(entry.getKey(), StandardCharsets.UTF_8);
+
+                if (entry.getValue() != null) {
+                    hasher.putInt(entry.getValue().length())
+                        .putString(entry.getValue(), StandardCharsets.UTF_8);
+                }
+                else {
+                    hasher.putInt(-1);
+                }
+            }
+        }
+
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Replaces the facts of this consumer with the given facts, if they differ from the current
+     * facts. When the hash digest of the current facts is known, the facts are compared by their
+     * digests, without loading the current facts; otherwise the facts are compared directly, and the
+     * digest of the current facts is recorded for subsequent updates.
+     *
+     * @param incomingFacts
+     *  the facts to set on this consumer; cannot be null
+     *
+     * @throws IllegalArgumentException
+     *  if the incoming facts are null
+     *
+     * @return
+     *  true if the facts of this consumer were changed; false otherwise
+     */
+    public boolean updateFacts(Map<String, String> incomingFacts) {
+        if (incomingFacts == null) {
+            throw new IllegalArgumentException("incomingFacts is null");
+        }
+
+        String incomingHash = hashFacts(incomingFacts);
+
+        if (this.factsHash != null) {
+            if (this.factsHash.equals(incomingHash)) {
+                return false;
+            }
+        }
+        else if (this.factsAreEqual(incomingFacts)) {
+            this.factsHash = incomingHash;
+            return false;
+        }
+
+        this.setFacts(incomingFacts);
+        return true;
+    }
+
     /**
      * Fetches this consumer's supported key generation algorithm OIDs. If the algorithm OIDs have not been
      * set, or have since been cleared, this method returns null.
@@ -799,6 +971,10 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
             return false;
         }
 
+        if (this.factsHash != null) {
+            return this.factsHash.equals(hashFacts(otherFacts));
+        }
+
         if (this.getFacts().size() != otherFacts.size()) {
             return false;
         }
@@ -854,6 +1030,8 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
         }
 
         this.facts.put(name, value);
+        this.factsHash = null;
+
         return this;
     }
 
@@ -877,6 +1055,7 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
 
         if (this.facts != null && this.facts.containsKey(name)) {
             this.facts.remove(name);
+            this.factsHash = null;
 
             if (this.checkForCloudProfileFacts(Collections.singletonMap(name, null))) {
                 this.updateRHCloudProfileModified();
@@ -920,6 +1099,7 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
                 .forEach(this.entitlements::add);
         }
 
+        this.entitledHost = null;
         return this;
     }
 
@@ -937,6 +1117,8 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
 
         if (entitlement != null) {
             entitlement.setConsumer(this);
+            this.mergeEntitledHost(entitlement);
+
             return this.entitlements.add(entitlement);
         }
 
@@ -1092,6 +1274,7 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
                 .forEach(this.guestIds::add);
         }
 
+        this.guestIdsHash = null;
         this.updateRHCloudProfileModified();
         return this;
     }
@@ -1109,6 +1292,7 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
         }
 
         if (result) {
+            this.guestIdsHash = null;
             this.updateRHCloudProfileModified();
         }
 
@@ -1129,12 +1313,102 @@ public class Consumer extends AbstractHibernateObject<Consumer> implements Linka
     public boolean removeGuestId(GuestId guestId) {
         boolean result = this.guestIds != null && this.guestIds.remove(guestId);
         if (result) {
+            this.guestIdsHash = null;
             this.updateRHCloudProfileModified();
         }
 
         return result;
     }
 
+    /**
+     * Fetches the hash digest of the guest IDs of this consumer, as last recorded by
+     * {@link #updateGuestIdsHash()}. If the guest IDs have changed since the hash was recorded, this
+     * method returns null.
+     *
+     * @return
+     *  the hash digest of this consumer's guest IDs, or null if the hash is not known
+     */
+    public String getGuestIdsHash() {
+        return this.guestIdsHash;
+    }
+
+    /**
+     * Records the hash digest of the current guest IDs of this consumer, allowing a subsequent report
+     * of the same guest IDs to be detected without loading them.
+     *
+     * @return
+     *  a reference to this Consumer instance
+     */
+    public Consumer updateGuestIdsHash() {
+        this.guestIdsHash = hashGuestIds(this.guestIds);
+        return this;
+    }
+
+    /**
+     * Clears the hash digest of the guest IDs of this consumer. This must be called whenever the guest
+     * IDs are modified without going through this consumer, such as when they are updated or deleted
+     * directly.
+     *
+     * @return
+     *  a reference to this Consumer instance
+     */
+    public Consumer clearGuestIdsHash() {
+        this.guestIdsHash = null;
+        return this;
+    }
+
+    /**
+     * Calculates the hash digest of the given guest IDs, as recorded by consumers having those guest
+     * IDs. As with guest ID equality, the guest IDs are compared without regard to case, along with
+     * their attributes; the digest does not depend on their ordering or on duplicates.
+     *
+     * @param guestIds
+     *  the guest IDs for which to calculate a hash digest; may be null
+     *
+     * @return
+     *  the hash digest of the given guest IDs
+     */
+    public static String hashGuestIds(Collection<GuestId> guestIds) {
+        Set<String> encoded = new TreeSet<>();
+
+        if (guestIds != null) {
+            for (GuestId guestId : guestIds) {
+                if (guestId == null || guestId.getGuestId() == null) {
+                    continue;
+                }
+
+                // Length prefixes keep the encoding of distinct guest IDs from colliding
+                StringBuilder builder = new StringBuilder();
+                String id = guestId.getGuestId().toLowerCase();
+                builder.append(id.length()).append(':').append(id);
+
+                Map<String, String> attributes = guestId.getAttributes();
+                if (attributes != null) {
+                    for (Entry<String, String> entry : new TreeMap<>(attributes).entrySet()) {
+                        builder.append(entry.getKey().length()).append(':').append(entry.getKey());
+
+                        if (entry.getValue() != null) {
+                            builder.append(entry.getValue().length()).append(':').append(entry.getValue());
+                        }
+                        else {
+                            builder.append("-1:");
+                        }
+                    }
+                }
+
+                encoded.add(builder.toString());
+            }
+        }
+
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String value : encoded) {
+            hasher.putInt(value.length())
+                .putString(value, StandardCharsets.UTF_8);
+        }
+
+        return hasher.hash().toString();
+    }
+
     public String getEntitlementStatus() {
         return entitlementStatus;
     }
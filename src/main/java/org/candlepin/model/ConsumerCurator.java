@@ -28,6 +28,7 @@ import com.google.inject.persist.Transactional;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
 import org.slf4j.Logger;
@@ -86,6 +87,16 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
     /** Defines the maximum number of consumer facts that can be provided for a single query */
     public static final int MAX_CONSUMER_FACTS_PER_QUERY = 10;
 
+    /** The consumer collections which can be initialized in bulk when looking up consumers */
+    public static final Set<String> FETCHABLE_COLLECTIONS = Set.of("installedProducts", "capabilities",
+        "addOns", "contentTags");
+
+    /** The JDBC batch size used to flush the changes of consumers updated in bulk */
+    private static final int BULK_UPDATE_JDBC_BATCH_SIZE = 100;
+
+    /** Query hint used to apply an entity graph as a fetch graph */
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
     /** Regular expression used to convert fact expressions to SQL-safe LIKE expressions */
     private static final Pattern FACT_TRANSLATION_REGEX = Pattern.compile("(\\\\?+)([*?]|(?<=\\\\)\\\\)");
 
@@ -102,6 +113,7 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
         private Map<String, Collection<String>> facts;
         private Date checkedInSince;
         private String environmentId;
+        private Collection<String> fetchedCollections;
 
         public ConsumerQueryArguments setOwner(Owner owner) {
             this.owner = owner;
@@ -196,6 +208,35 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
         public String getEnvironmentId() {
             return this.environmentId;
         }
+
+        /**
+         * Sets the collections to initialize in bulk for the consumers fetched by the query. When set,
+         * only the given collections are expected to be accessed on the fetched consumers, and
+         * associations which would otherwise be loaded eagerly with each consumer are left to be
+         * loaded lazily instead. If null, the consumers are loaded with the default fetch plan.
+         *
+         * @param fetchedCollections
+         *  the names of the consumer collections to initialize; must be a subset of
+         *  {@link ConsumerCurator#FETCHABLE_COLLECTIONS}
+         *
+         * @throws IllegalArgumentException
+         *  if any of the given collections cannot be fetched
+         *
+         * @return
+         *  a reference to this query arguments instance
+         */
+        public ConsumerQueryArguments setFetchedCollections(Collection<String> fetchedCollections) {
+            if (fetchedCollections != null && !FETCHABLE_COLLECTIONS.containsAll(fetchedCollections)) {
+                throw new IllegalArgumentException("unsupported collection: " + fetchedCollections);
+            }
+
+            this.fetchedCollections = fetchedCollections;
+            return this;
+        }
+
+        public Collection<String> getFetchedCollections() {
+            return this.fetchedCollections;
+        }
     }
 
     private final EntitlementCurator entitlementCurator;
@@ -780,6 +821,10 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
     }
 
     /**
+     * Updates the given consumers. When flushed, the changes to the consumers and their collections,
+     * such as the guest ID rows inserted and deleted by a guest ID update, are sent to the database in
+     * JDBC batches rather than one statement at a time.
+     *
      * @param consumers
      *     consumers to update
      * @param flush
@@ -790,7 +835,20 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
     public Set<Consumer> bulkUpdate(Set<Consumer> consumers, boolean flush) {
         Set<Consumer> toReturn = new HashSet<>();
         for (Consumer toUpdate : consumers) {
-            toReturn.add(update(toUpdate, flush));
+            toReturn.add(update(toUpdate, false));
+        }
+
+        if (flush) {
+            Session session = this.currentSession();
+            Integer batchSize = session.getJdbcBatchSize();
+
+            try {
+                session.setJdbcBatchSize(BULK_UPDATE_JDBC_BATCH_SIZE);
+                this.flush();
+            }
+            finally {
+                session.setJdbcBatchSize(batchSize);
+            }
         }
 
         return toReturn;
@@ -1172,6 +1230,40 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
             .getResultList();
     }
 
+    /**
+     * Fetches the IDs of the given consumers which exist and have no entitlements. Used to recheck that
+     * consumers previously found to be inactive still qualify for deletion, as a consumer may have been
+     * entitled since. To prevent the consumers from being entitled between this check and their
+     * deletion, they should be locked beforehand.
+     *
+     * @param consumerIds
+     *  the IDs of the consumers to check
+     *
+     * @return
+     *  the IDs of the given consumers which have no entitlements
+     */
+    public Set<String> getConsumerIdsWithoutEntitlements(Collection<String> consumerIds) {
+        if (consumerIds == null || consumerIds.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        String jpql = """
+            SELECT c.id FROM Consumer c
+            WHERE c.id IN (:consumerIds)
+                AND NOT EXISTS (SELECT e.id FROM Entitlement e WHERE e.consumer.id = c.id)
+            """;
+
+        TypedQuery<String> query = this.getEntityManager()
+            .createQuery(jpql, String.class);
+
+        Set<String> ids = new HashSet<>();
+        for (List<String> block : this.partition(consumerIds)) {
+            ids.addAll(query.setParameter("consumerIds", block).getResultList());
+        }
+
+        return ids;
+    }
+
     public List<Consumer> getHypervisorsBulk(String ownerId, Collection<String> hypervisorIds) {
         return this.getHypervisorsBulk(ownerId, hypervisorIds, null);
     }
@@ -1454,6 +1546,8 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
         TypedQuery<Consumer> query = this.getEntityManager()
             .createQuery(criteriaQuery);
 
+        Collection<String> fetchedCollections = null;
+
         if (queryArgs != null) {
             Integer offset = queryArgs.getOffset();
             if (offset != null && offset > 0) {
@@ -1464,9 +1558,107 @@ public class ConsumerCurator extends AbstractHibernateCurator<Consumer> {
             if (limit != null && limit > 0) {
                 query.setMaxResults(limit);
             }
+
+            fetchedCollections = queryArgs.getFetchedCollections();
         }
 
-        return query.getResultList();
+        if (fetchedCollections == null) {
+            return query.getResultList();
+        }
+
+        // An empty fetch graph leaves every association to be loaded lazily, avoiding loading data
+        // such as the identity certificate when it won't be used.
+        query.setHint(FETCH_GRAPH_HINT, this.getEntityManager().createEntityGraph(Consumer.class));
+
+        List<Consumer> consumers = query.getResultList();
+        for (String collection : fetchedCollections) {
+            this.initializeCollection(consumers, collection);
+        }
+
+        return consumers;
+    }
+
+    /**
+     * Initializes the given collection on each of the provided consumers using a single query per
+     * block of consumers, rather than lazily loading it separately for each consumer.
+     *
+     * @param consumers
+     *  the consumers on which to initialize the collection; must be managed by the current
+     *  persistence context
+     *
+     * @param collection
+     *  the name of the collection to initialize; must be one of the fetchable collections
+     */
+    private void initializeCollection(List<Consumer> consumers, String collection) {
+        if (consumers.isEmpty() || !FETCHABLE_COLLECTIONS.contains(collection)) {
+            return;
+        }
+
+        // Impl note: fetching the collection for consumers already in the persistence context
+        // initializes the collection on the existing instances.
+        String jpql = "SELECT c FROM Consumer c LEFT JOIN FETCH c." + collection + " WHERE c.id IN (:ids)";
+
+        List<String> ids = consumers.stream()
+            .map(Consumer::getId)
+            .toList();
+
+        this.fetchByConsumerIds(jpql, ids);
+    }
+
+    /**
+     * Initializes the data used to calculate the compliance status of the given consumers: their
+     * entitlements along with the pools and products of those entitlements, the attributes and
+     * provided products of those products, and the installed products and guest IDs of the consumers.
+     * Each is loaded with a single query per block of consumers, rather than lazily loading it
+     * separately for each consumer.
+     *
+     * @param consumers
+     *  the consumers for which to initialize compliance data; must be managed by the current
+     *  persistence context
+     */
+    public void initializeComplianceData(Collection<Consumer> consumers) {
+        if (consumers == null || consumers.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = consumers.stream()
+            .map(Consumer::getId)
+            .filter(Objects::nonNull)
+            .toList();
+
+        this.fetchByConsumerIds("SELECT DISTINCT c FROM Consumer c LEFT JOIN FETCH c.entitlements e " +
+            "LEFT JOIN FETCH e.pool p LEFT JOIN FETCH p.product WHERE c.id IN (:ids)", ids);
+
+        this.fetchByConsumerIds("SELECT DISTINCT prod FROM Entitlement e JOIN e.pool p JOIN p.product prod " +
+            "LEFT JOIN FETCH prod.attributes WHERE e.consumer.id IN (:ids)", ids);
+
+        this.fetchByConsumerIds("SELECT DISTINCT prod FROM Entitlement e JOIN e.pool p JOIN p.product prod " +
+            "LEFT JOIN FETCH prod.providedProducts WHERE e.consumer.id IN (:ids)", ids);
+
+        this.fetchByConsumerIds("SELECT DISTINCT c FROM Consumer c LEFT JOIN FETCH c.installedProducts " +
+            "WHERE c.id IN (:ids)", ids);
+
+        this.fetchByConsumerIds("SELECT DISTINCT c FROM Consumer c LEFT JOIN FETCH c.guestIds " +
+            "WHERE c.id IN (:ids)", ids);
+    }
+
+    /**
+     * Runs the given fetch query for each block of the given consumer IDs, for the side effect of
+     * initializing the fetched associations on the entities in the persistence context. The query
+     * must accept the consumer IDs as the "ids" parameter.
+     */
+    private void fetchByConsumerIds(String jpql, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Query query = this.getEntityManager()
+            .createQuery(jpql);
+
+        for (List<String> block : this.partition(ids)) {
+            query.setParameter("ids", block)
+                .getResultList();
+        }
     }
 
     /**
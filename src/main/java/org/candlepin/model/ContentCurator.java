@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -756,6 +757,43 @@ public class ContentCurator extends AbstractHibernateCurator<Content> {
             .getResultList();
     }
 
+    /**
+     * Fetches the date on which the active content of the given owner may next change as a result of
+     * one of its pools starting or ending: the earliest start date of the owner's pools which have yet
+     * to start, or end date of its pools which have yet to end, after the given date. If none of the
+     * owner's pools start or end after the given date, this method returns null.
+     *
+     * @param ownerId
+     *  The ID of the owner for which to fetch the date
+     *
+     * @param date
+     *  The date after which to look for pool start and end dates; cannot be null
+     *
+     * @throws IllegalArgumentException
+     *  if date is null
+     *
+     * @return
+     *  the date on which the active content of the given owner may next change, or null if its pools
+     *  do not start or end after the given date
+     */
+    public Date getActiveContentExpirationByOwner(String ownerId, Date date) {
+        if (date == null) {
+            throw new IllegalArgumentException("date is null");
+        }
+
+        // Pools yet to start become active on their start date; every other pool becomes inactive once
+        // its end date passes
+        String jpql = "SELECT MIN(CASE WHEN pool.startDate > :date THEN pool.startDate ELSE pool.endDate END) " +
+            "FROM Pool pool " +
+            "WHERE pool.owner.id = :owner_id AND pool.endDate >= :date";
+
+        return this.getEntityManager()
+            .createQuery(jpql, Date.class)
+            .setParameter("owner_id", ownerId)
+            .setParameter("date", date)
+            .getSingleResult();
+    }
+
     /**
      * Fetches the required product IDs for the contents specified by the collection of content UUIDs.
      * The required product IDs will be returned as a mapping of content UUID to required product ID
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.sql.Blob;
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.List;
 
 import jakarta.inject.Singleton;
 import jakarta.persistence.Query;
@@ -69,6 +70,35 @@ public class ManifestFileRecordCurator extends AbstractHibernateCurator<Manifest
         return manifestFileRecord;
     }
 
+    /**
+     * Creates a record for a manifest file whose data is stored outside of the database.
+     *
+     * @param type
+     *  the type of operation the file is being stored for
+     *
+     * @param filename
+     *  the name of the stored file
+     *
+     * @param principalName
+     *  the name of the principal who uploaded the file
+     *
+     * @param targetId
+     *  the ID of the target entity of the operation
+     *
+     * @return
+     *  the persisted manifest file record
+     */
+    @Transactional
+    public ManifestFileRecord createRecord(ManifestFileType type, String filename, String principalName,
+        String targetId) {
+
+        ManifestFileRecord manifestFileRecord =
+            new ManifestFileRecord(type, filename, principalName, targetId, null);
+        this.getEntityManager().persist(manifestFileRecord);
+
+        return manifestFileRecord;
+    }
+
     private Blob createBlob(File fileToStore) throws IOException {
         byte[] fileBytes = new byte[(int) fileToStore.length()];
         try (FileInputStream inputStream = new FileInputStream(fileToStore)) {
@@ -90,6 +120,47 @@ public class ManifestFileRecordCurator extends AbstractHibernateCurator<Manifest
         return q.executeUpdate();
     }
 
+    /**
+     * Lists the IDs of the manifest file records created before the given expiry date.
+     *
+     * @param expiryDate
+     *  the expiry date to check against
+     *
+     * @return
+     *  a list of IDs of expired manifest file records
+     */
+    public List<String> listExpiredIds(Date expiryDate) {
+        String jpql = String.format("SELECT r.id FROM %s r WHERE r.created < :expiry", QUERY_CLASS_NAME);
+
+        return this.getEntityManager()
+            .createQuery(jpql, String.class)
+            .setParameter("expiry", expiryDate)
+            .getResultList();
+    }
+
+    /**
+     * Lists the IDs of the manifest file records matching the given type and target ID.
+     *
+     * @param type
+     *  the type of the manifest file records
+     *
+     * @param targetId
+     *  the ID of the target entity of the manifest file records
+     *
+     * @return
+     *  a list of IDs of matching manifest file records
+     */
+    public List<String> listMatchingIds(ManifestFileType type, String targetId) {
+        String jpql = String.format("SELECT r.id FROM %s r WHERE r.type = :type AND r.targetId = :target",
+            QUERY_CLASS_NAME);
+
+        return this.getEntityManager()
+            .createQuery(jpql, String.class)
+            .setParameter("type", type)
+            .setParameter("target", targetId)
+            .getResultList();
+    }
+
     public int deleteMatching(ManifestFileType type, String targetId) {
         String queryString = String.format("delete from %s r where r.type=:type and r.targetId=:target",
             QUERY_CLASS_NAME);
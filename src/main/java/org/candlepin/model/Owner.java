@@ -147,6 +147,13 @@ public class Owner extends AbstractHibernateObject<Owner>
     @Column(name = "last_content_update", nullable = true)
     private Date lastContentUpdate;
 
+    /**
+     * Incremented whenever the dates or products of this org's pools are updated in place. Only ever
+     * written by {@link OwnerCurator#incrementPoolRevision}.
+     */
+    @Column(name = "pool_revision", insertable = false, updatable = false)
+    private long poolRevision;
+
     @Column(name = "anonymous", nullable = true)
     private Boolean anonymous;
 
@@ -595,6 +602,16 @@ public class Owner extends AbstractHibernateObject<Owner>
         return this.setLastContentUpdate(new Date());
     }
 
+    /**
+     * Fetches the revision of this organization's pools, which is incremented whenever the dates or
+     * products of its pools are updated in place.
+     *
+     * @return the pool revision of this organization
+     */
+    public long getPoolRevision() {
+        return this.poolRevision;
+    }
+
     public boolean getAnonymous() {
         return this.anonymous == null ? false : anonymous;
     }
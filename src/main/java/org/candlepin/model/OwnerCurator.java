@@ -471,6 +471,36 @@ public class OwnerCurator extends AbstractHibernateCurator<Owner> {
         return count;
     }
 
+    /**
+     * Increments the pool revision of the given owners, signaling that the dates or products of one or
+     * more of their pools were updated in place.
+     *
+     * @param ownerIds
+     *  A collection of IDs of the owners for which to increment the pool revision
+     *
+     * @return
+     *  the number of rows updated by this method
+     */
+    public int incrementPoolRevision(Collection<String> ownerIds) {
+        if (ownerIds == null || ownerIds.isEmpty()) {
+            return 0;
+        }
+
+        String jpql = "UPDATE Owner SET poolRevision = poolRevision + 1 WHERE id IN (:owner_ids)";
+
+        // Order the IDs so concurrent updates lock the rows in the same order
+        Query query = this.getEntityManager()
+            .createQuery(jpql);
+
+        int count = 0;
+        for (List<String> block : this.partition(new TreeSet<>(ownerIds))) {
+            count += query.setParameter("owner_ids", block)
+                .executeUpdate();
+        }
+
+        return count;
+    }
+
     private Predicate inPredicate(CriteriaBuilder cb, Expression<String> path, Collection<String> values) {
         CriteriaBuilder.In<String> in = cb.in(path);
         for (String value : values) {
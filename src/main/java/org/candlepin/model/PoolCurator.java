@@ -39,6 +39,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -46,7 +47,9 @@ import java.util.stream.Collectors;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
 import jakarta.persistence.PersistenceUnitUtil;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
@@ -1643,6 +1646,174 @@ public class PoolCurator extends AbstractHibernateCurator<Pool> {
             .executeUpdate();
     }
 
+    /**
+     * Reserves the given quantities of the specified pools by incrementing their consumed quantity
+     * with a conditional update, which only succeeds while a pool has enough quantity available.
+     * The updates are performed and committed in a separate, short transaction, such that the pool
+     * rows are only locked for the duration of the updates rather than for the remainder of the
+     * calling transaction. Either all of the given quantities are reserved, or none are.
+     * <p></p>
+     * Note that this operation does not update any fetched or cached Pool objects, and reserved
+     * quantities are not released should the calling transaction be rolled back. Quantities which
+     * are not consumed must be released with {@link #releaseQuantities(Map)}.
+     *
+     * @param quantities
+     *  a mapping of pool IDs to the quantity to reserve from the pool
+     *
+     * @param timeout
+     *  the maximum time, in seconds, to wait for each pool update
+     *
+     * @throws PersistenceException
+     *  if the quantities could not be reserved, such as when the timeout is exceeded
+     *
+     * @return
+     *  true if the quantities were reserved; false if any of the pools does not exist or does not have
+     *  enough quantity available
+     */
+    public boolean reserveQuantities(Map<String, Integer> quantities, int timeout) {
+        String jpql = """
+            UPDATE Pool p
+            SET p.consumed = coalesce(p.consumed, 0) + :quantity, p.updated = :updated
+            WHERE p.id = :pool_id
+            AND (p.quantity < 0 OR coalesce(p.consumed, 0) + :quantity <= p.quantity)""";
+
+        return this.updateQuantities(jpql, quantities, timeout);
+    }
+
+    /**
+     * Releases quantities previously reserved with {@link #reserveQuantities(Map, int)}, by
+     * decrementing the consumed quantity of the specified pools in a separate transaction.
+     *
+     * @param quantities
+     *  a mapping of pool IDs to the quantity to release to the pool
+     *
+     * @throws PersistenceException
+     *  if the quantities could not be released
+     */
+    public void releaseQuantities(Map<String, Integer> quantities) {
+        String jpql = """
+            UPDATE Pool p
+            SET p.consumed = coalesce(p.consumed, 0) - :quantity, p.updated = :updated
+            WHERE p.id = :pool_id""";
+
+        this.updateQuantities(jpql, quantities, 0);
+    }
+
+    /**
+     * Reloads the consumed quantity and last update time of the given pools from their latest
+     * committed state, such as after reserving quantities with {@link #reserveQuantities(Map, int)}.
+     * The state is read in a separate transaction, as the calling transaction may not see changes
+     * committed after it first read the pools, depending on its isolation level. No other state of
+     * the pools is reloaded.
+     *
+     * @param pools
+     *  the pools for which to reload the consumed quantity
+     */
+    public void reloadQuantities(Collection<Pool> pools) {
+        if (pools == null || pools.isEmpty()) {
+            return;
+        }
+
+        Map<String, Pool> poolMap = pools.stream()
+            .collect(Collectors.toMap(Pool::getId, Function.identity(), (lhs, rhs) -> lhs));
+
+        String jpql = "SELECT p.id, p.consumed, p.updated FROM Pool p WHERE p.id IN (:pool_ids)";
+
+        EntityManager entityManager = this.getEntityManager()
+            .getEntityManagerFactory()
+            .createEntityManager();
+
+        try {
+            for (List<String> block : Iterables.partition(poolMap.keySet(), this.getInBlockSize())) {
+                List<Object[]> rows = entityManager.createQuery(jpql, Object[].class)
+                    .setParameter("pool_ids", block)
+                    .getResultList();
+
+                for (Object[] row : rows) {
+                    poolMap.get((String) row[0])
+                        .setConsumed((Long) row[1])
+                        .setUpdated((Date) row[2]);
+                }
+            }
+        }
+        finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Recalculates the consumed quantity of the pools which were last updated before the given
+     * date, and whose consumed quantity does not match the quantity of their entitlements. Such
+     * pools hold quantities reserved with {@link #reserveQuantities(Map, int)} which were never
+     * consumed nor released, such as when the node reserving them crashed in the meantime.
+     * <p></p>
+     * As every reservation and release updates the pool, pools with reservations still in progress
+     * are not recalculated, provided the given date is earlier than the start of the longest
+     * running bind.
+     *
+     * @param updatedBefore
+     *  the date before which pools must have been last updated to be recalculated
+     *
+     * @return
+     *  the number of pools for which the consumed quantity was recalculated
+     */
+    @Transactional
+    public int recalculateConsumedForStalePools(Date updatedBefore) {
+        String jpql = """
+            UPDATE Pool p
+            SET p.consumed = coalesce((SELECT sum(e.quantity) FROM Entitlement e WHERE e.pool.id = p.id), 0),
+                p.updated = :updated
+            WHERE p.updated < :updated_before
+            AND coalesce(p.consumed, 0) <>
+                coalesce((SELECT sum(e.quantity) FROM Entitlement e WHERE e.pool.id = p.id), 0)""";
+
+        return this.getEntityManager()
+            .createQuery(jpql)
+            .setParameter("updated", new Date())
+            .setParameter("updated_before", updatedBefore)
+            .executeUpdate();
+    }
+
+    private boolean updateQuantities(String jpql, Map<String, Integer> quantities, int timeout) {
+        EntityManager entityManager = this.getEntityManager()
+            .getEntityManagerFactory()
+            .createEntityManager();
+
+        EntityTransaction transaction = entityManager.getTransaction();
+        Date updated = new Date();
+
+        try {
+            transaction.begin();
+
+            // Update the pools in a deterministic order to avoid deadlocks between concurrent updates
+            for (Map.Entry<String, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+                Query query = entityManager.createQuery(jpql)
+                    .setParameter("pool_id", entry.getKey())
+                    .setParameter("quantity", entry.getValue().longValue())
+                    .setParameter("updated", updated);
+
+                if (timeout > 0) {
+                    query.setHint("jakarta.persistence.query.timeout", timeout * 1000);
+                }
+
+                if (query.executeUpdate() == 0) {
+                    transaction.rollback();
+                    return false;
+                }
+            }
+
+            transaction.commit();
+            return true;
+        }
+        finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            entityManager.close();
+        }
+    }
+
     public void markCertificatesDirtyForPoolsWithProducts(Owner owner, Collection<String> productIds) {
         for (List<String> batch : Iterables.partition(productIds, getInBlockSize())) {
             markCertificatesDirtyForPoolsWithNormalProducts(owner, batch);
@@ -2133,4 +2304,99 @@ public class PoolCurator extends AbstractHibernateCurator<Pool> {
         return count;
     }
 
+    /**
+     * Fetches summaries of every pool of the given owner, including the IDs of the products provided
+     * by each pool's product and the requested attributes of each pool's product. Pools are not
+     * filtered by date.
+     *
+     * @param ownerId
+     *  the ID of the owner for which to fetch pool summaries
+     *
+     * @param attributes
+     *  the names of the product attributes to include in the summaries
+     *
+     * @return
+     *  a list of summaries of the pools of the given owner
+     */
+    public List<PoolSummary> getPoolSummariesByOwner(String ownerId, Collection<String> attributes) {
+        if (ownerId == null) {
+            return new ArrayList<>();
+        }
+
+        String poolJpql = "SELECT pool.id, prod.id, pool.quantity " +
+            "FROM Pool pool JOIN pool.product prod " +
+            "WHERE pool.owner.id = :owner_id";
+
+        String providedJpql = "SELECT pool.id, provided.id " +
+            "FROM Pool pool JOIN pool.product prod JOIN prod.providedProducts provided " +
+            "WHERE pool.owner.id = :owner_id";
+
+        String attributeJpql = "SELECT pool.id, KEY(attr), VALUE(attr) " +
+            "FROM Pool pool JOIN pool.product prod JOIN prod.attributes attr " +
+            "WHERE pool.owner.id = :owner_id AND KEY(attr) IN (:attributes)";
+
+        Map<String, Set<String>> providedProductIds = new HashMap<>();
+        this.getEntityManager()
+            .createQuery(providedJpql, Object[].class)
+            .setParameter("owner_id", ownerId)
+            .getResultList()
+            .forEach(row -> providedProductIds.computeIfAbsent((String) row[0], key -> new HashSet<>())
+                .add((String) row[1]));
+
+        Map<String, Map<String, String>> productAttributes = new HashMap<>();
+        if (attributes != null && !attributes.isEmpty()) {
+            this.getEntityManager()
+                .createQuery(attributeJpql, Object[].class)
+                .setParameter("owner_id", ownerId)
+                .setParameter("attributes", attributes)
+                .getResultList()
+                .forEach(row -> productAttributes.computeIfAbsent((String) row[0], key -> new HashMap<>())
+                    .put((String) row[1], (String) row[2]));
+        }
+
+        List<PoolSummary> output = new ArrayList<>();
+        for (Object[] row : this.getEntityManager()
+            .createQuery(poolJpql, Object[].class)
+            .setParameter("owner_id", ownerId)
+            .getResultList()) {
+
+            String poolId = (String) row[0];
+            output.add(new PoolSummary(poolId, (String) row[1], (Long) row[2],
+                providedProductIds.getOrDefault(poolId, Set.of()),
+                productAttributes.getOrDefault(poolId, Map.of())));
+        }
+
+        return output;
+    }
+
+    /**
+     * Fetches a version stamp of the pools of the given owner. The stamp changes whenever a pool is
+     * created for or deleted from the owner, the dates or product of any of the owner's pools are
+     * updated in place, or the product of any of the owner's pools is updated; it does not change as
+     * pools are consumed.
+     *
+     * @param ownerId
+     *  the ID of the owner for which to fetch the version stamp
+     *
+     * @return
+     *  the version stamp of the pools of the given owner
+     */
+    public String getPoolVersionByOwner(String ownerId) {
+        String jpql = "SELECT COUNT(pool), MAX(pool.created), MAX(prod.updated), " +
+            "(SELECT owner.poolRevision FROM Owner owner WHERE owner.id = :owner_id) " +
+            "FROM Pool pool JOIN pool.product prod " +
+            "WHERE pool.owner.id = :owner_id";
+
+        Object[] row = this.getEntityManager()
+            .createQuery(jpql, Object[].class)
+            .setParameter("owner_id", ownerId)
+            .getSingleResult();
+
+        return String.format("%s:%s:%s:%s", row[0], toTime((Date) row[1]), toTime((Date) row[2]), row[3]);
+    }
+
+    private static Long toTime(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.model;
+
+import java.util.Map;
+import java.util.Set;
+
+
+
+/**
+ * A lightweight summary of a pool, carrying only the details needed to determine which products and
+ * stacks a pool can cover, without loading the pool and its product.
+ *
+ * @param poolId
+ *  The ID of the pool
+ *
+ * @param productId
+ *  The ID of the pool's product
+ *
+ * @param quantity
+ *  The quantity of the pool
+ *
+ * @param providedProductIds
+ *  The IDs of the products provided by the pool's product
+ *
+ * @param productAttributes
+ *  The requested attributes of the pool's product
+ */
+public record PoolSummary(
+    String poolId,
+    String productId,
+    Long quantity,
+    Set<String> providedProductIds,
+    Map<String, String> productAttributes
+) {}
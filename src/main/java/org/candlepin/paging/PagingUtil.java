@@ -23,10 +23,14 @@ import org.candlepin.model.exceptions.InvalidOrderKeyException;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.xnap.commons.i18n.I18n;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.stream.Stream;
 
 
@@ -40,6 +44,12 @@ import java.util.stream.Stream;
  */
 public class PagingUtil<T> {
 
+    /**
+     * The minimum ratio of the element count to the number of elements required to render the requested
+     * page at which the leading elements are selected with a bounded heap rather than a full sort
+     */
+    private static final int TOP_K_SELECTION_RATIO = 4;
+
     private final Configuration config;
     private final I18n i18n;
     private final FieldComparatorFactory<T> comparatorFactory;
@@ -144,16 +154,26 @@ public class PagingUtil<T> {
             comparator = comparator.reversed();
         }
 
-        stream = stream.sorted(comparator);
-
         // Paging
         if (pageRequest.isPaging()) {
             int page = pageRequest.getPage();
             int pageSize = pageRequest.getPerPage();
             int offset = (page - 1) * pageSize;
+            long limit = (long) page * pageSize;
 
-            stream = stream.skip(offset)
-                .limit(pageSize);
+            // Impl note:
+            // When only a small leading portion of the elements is requested, selecting those with a
+            // bounded heap avoids sorting the entire stream to discard most of it afterward.
+            if (limit > 0 && limit * TOP_K_SELECTION_RATIO <= count) {
+                stream = selectLeading(stream, comparator, (int) limit)
+                    .stream()
+                    .skip(offset);
+            }
+            else {
+                stream = stream.sorted(comparator)
+                    .skip(offset)
+                    .limit(pageSize);
+            }
 
             // Create a page object for the link header response
             Page<T> contextPage = new Page<T>()
@@ -163,10 +183,72 @@ public class PagingUtil<T> {
             // Note: we don't need to (nor should we) store the page data in the page
             ResteasyContext.pushContext(Page.class, contextPage);
         }
+        else {
+            stream = stream.sorted(comparator);
+        }
 
         return stream;
     }
 
+    /**
+     * Selects the given number of leading elements of the stream in the order defined by the given
+     * comparator, using a heap bounded to the number of elements to select. Elements comparing equal
+     * retain their encounter order, such that the result is identical to the leading elements of
+     * the stream once sorted.
+     *
+     * @param stream
+     *  the stream from which to select elements
+     *
+     * @param comparator
+     *  the comparator defining the order of the elements
+     *
+     * @param limit
+     *  the number of elements to select; must be positive
+     *
+     * @return
+     *  a list containing up to the given number of leading elements of the stream, in sorted order
+     */
+    static <E> List<E> selectLeading(Stream<E> stream, Comparator<? super E> comparator, int limit) {
+        Comparator<RankedElement<E>> order = Comparator
+            .<RankedElement<E>, E>comparing(RankedElement::element, comparator)
+            .thenComparingLong(RankedElement::index);
+
+        // The heap is ordered in reverse, such that its head is the last of the selected elements
+        PriorityQueue<RankedElement<E>> heap = new PriorityQueue<>(limit, order.reversed());
+
+        Iterator<E> iterator = stream.iterator();
+        long index = 0;
+
+        while (iterator.hasNext()) {
+            E element = iterator.next();
+
+            // Since every later element has a higher index, it only displaces the head of the heap if
+            // it sorts strictly before it
+            if (heap.size() < limit) {
+                heap.add(new RankedElement<>(element, index));
+            }
+            else if (comparator.compare(element, heap.peek().element()) < 0) {
+                heap.poll();
+                heap.add(new RankedElement<>(element, index));
+            }
+
+            ++index;
+        }
+
+        List<RankedElement<E>> selected = new ArrayList<>(heap);
+        selected.sort(order);
+
+        return selected.stream()
+            .map(RankedElement::element)
+            .toList();
+    }
+
+    /**
+     * An element selected from a stream, along with its position in the stream
+     */
+    private record RankedElement<E>(E element, long index) {
+    }
+
     /**
      * Converts the given collection to a stream, with any paging in the request context applied.
      * If the request does not define any paging information, this method returns the a stream
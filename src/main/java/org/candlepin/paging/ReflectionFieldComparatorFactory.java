@@ -14,10 +14,20 @@
  */
 package org.candlepin.paging;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 
@@ -25,15 +35,33 @@ import java.util.function.Function;
 /**
  * A field comparator factory which uses reflection against a specified class to build comparators
  * from arbitrary field names.
+ * <p>
+ * Accessor methods are resolved through reflection only once per class and field name. Where
+ * possible, the resolved accessor is compiled into a lambda using the {@link LambdaMetafactory},
+ * allowing comparisons to invoke it directly rather than through {@link Method#invoke}.
  *
  * @param <T>
  *  the class type for which this factory's mapping logic applies
  */
 public class ReflectionFieldComparatorFactory<T> implements FieldComparatorFactory<T> {
+    private static final Logger log = LoggerFactory.getLogger(ReflectionFieldComparatorFactory.class);
 
     /** A collection of prefixes to apply when mapping field names to accessors */
     private static final List<String> METHOD_NAME_PREFIXES = List.of("get", "is", "has");
 
+    /**
+     * Extractor functions resolved for each class, keyed by field name. Field names come from client
+     * requests, so only field names which could be resolved are cached, bounding each map by the
+     * number of accessors of its class.
+     */
+    private static final ClassValue<Map<String, Function<Object, Object>>> EXTRACTORS =
+        new ClassValue<>() {
+            @Override
+            protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
     private final Class<T> type;
     private final String defaultSortField;
 
@@ -73,7 +101,7 @@ public class ReflectionFieldComparatorFactory<T> implements FieldComparatorFacto
      * @return
      *  a method name candidate using the given prefix and field name
      */
-    private String buildMethodNameCandidate(String prefix, String fieldName) {
+    private static String buildMethodNameCandidate(String prefix, String fieldName) {
         StringBuilder builder = new StringBuilder(prefix)
             .append(fieldName.substring(0, 1).toUpperCase());
 
@@ -84,6 +112,85 @@ public class ReflectionFieldComparatorFactory<T> implements FieldComparatorFacto
         return builder.toString();
     }
 
+    /**
+     * Resolves the accessor method of the given type that best matches the given field name, and
+     * compiles it into an extractor function. If a matching method cannot be found, this method
+     * returns null.
+     *
+     * @param type
+     *  the type on which to resolve the accessor method
+     *
+     * @param fieldName
+     *  the name of the field for which to resolve an accessor method
+     *
+     * @return
+     *  the extractor function for the specified field name, or null if the field name could not be
+     *  mapped to an accessor method
+     */
+    private static Function<Object, Object> resolveExtractor(Class<?> type, String fieldName) {
+        for (String prefix : METHOD_NAME_PREFIXES) {
+            String candidate = buildMethodNameCandidate(prefix, fieldName);
+
+            try {
+                Method method = type.getMethod(candidate);
+                Class<?> returnType = method.getReturnType();
+
+                if (returnType == null || !Comparable.class.isAssignableFrom(returnType)) {
+                    throw new NoSuchMethodException("incomparable return type: " + returnType);
+                }
+
+                return compileExtractor(method);
+            }
+            catch (NoSuchMethodException e) {
+                // Intentionally left empty
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compiles the given accessor method into an extractor function. If the method cannot be
+     * accessed through a method handle, such as a public method declared on a class that is not
+     * publicly accessible, this method falls back to a function invoking it through reflection.
+     *
+     * @param method
+     *  the accessor method to compile
+     *
+     * @return
+     *  an extractor function invoking the given accessor method
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileExtractor(Method method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                handle.type().wrap())
+                .getTarget()
+                .invokeExact();
+        }
+        catch (IllegalAccessException | LambdaConversionException | LinkageError e) {
+            log.debug("Unable to compile accessor {}; falling back to reflection", method, e);
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException("Unable to compile accessor: " + method, e);
+        }
+
+        return (Object instance) -> {
+            try {
+                return method.invoke(instance);
+            }
+            catch (InvocationTargetException | IllegalAccessException e) {
+                throw new RuntimeException(e); // This shouldn't happen... probably.
+            }
+        };
+    }
+
     /**
      * Gets the extractor function from the underlying type that best matches the given field name.
      * The extractor function must be a public method that requires zero parameters, have a return
@@ -104,38 +211,17 @@ public class ReflectionFieldComparatorFactory<T> implements FieldComparatorFacto
      *  an extractor function for the specified field name, or null if the field name could not be
      *  mapped to an accessor method on the underlying type
      */
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     private Function<? super T, Comparable<? super Comparable>> getExtractorFunction(String fieldName) {
         if (fieldName == null || fieldName.isBlank()) {
             return null;
         }
 
-        for (String prefix : METHOD_NAME_PREFIXES) {
-            String candidate = this.buildMethodNameCandidate(prefix, fieldName);
-
-            try {
-                Method method = this.type.getMethod(candidate);
-                Class<?> returnType = method.getReturnType();
-
-                if (returnType == null || !Comparable.class.isAssignableFrom(returnType)) {
-                    throw new NoSuchMethodException("incomparable return type: " + returnType);
-                }
+        // Unresolvable field names are not cached, as computeIfAbsent does not map null results
+        Function<Object, Object> extractor = EXTRACTORS.get(this.type)
+            .computeIfAbsent(fieldName, name -> resolveExtractor(this.type, name));
 
-                return (T instance) -> {
-                    try {
-                        return (Comparable<? super Comparable>) method.invoke(instance);
-                    }
-                    catch (InvocationTargetException | IllegalAccessException e) {
-                        throw new RuntimeException(e); // This shouldn't happen... probably.
-                    }
-                };
-            }
-            catch (NoSuchMethodException e) {
-                // Intentionally left empty
-            }
-        }
-
-        return null;
+        return extractor != null ? (Function) extractor : null;
     }
 
     /**
@@ -16,6 +16,7 @@ package org.candlepin.pki;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -107,8 +108,8 @@ public interface SignatureValidator {
     SignatureValidator forSignature(byte[] signature);
 
     // TODO:
-    // When additional certificate logic is removed and replaced with proper cert chaining and trusts, add
-    // a validate overload for InputStream, and possibly remove/deprecate the validate for File
+    // When additional certificate logic is removed and replaced with proper cert chaining and trusts,
+    // possibly remove/deprecate the validate for File in favor of the InputStream overload
 
     /**
      * Attempts to validate the data within the given file against the configured signature, using the
@@ -134,6 +135,31 @@ public interface SignatureValidator {
      */
     boolean validate(File file) throws IOException;
 
+    /**
+     * Attempts to validate the data read from the given stream against the configured signature, using the
+     * scheme-provided certificates and keys, falling back to any additional certificates this validator may
+     * be configured to use should validation with the scheme's certificate fail. The stream is read to its
+     * end, but is not closed by this method. If this validator has not been configured with a signature, or
+     * the provided stream is null, this method throws an exception.
+     *
+     * @param istream
+     *  a stream providing the data to validate against the configured signature. Cannot be null.
+     *
+     * @throws IllegalStateException
+     *  if this validator has not been configured with a signature
+     *
+     * @throws IllegalArgumentException
+     *  if the given stream is null
+     *
+     * @throws IOException
+     *  if an IOException occurs while reading from the given stream
+     *
+     * @return
+     *  true if the signature of the data read from the stream matches the configured signature; false
+     *  otherwise
+     */
+    boolean validate(InputStream istream) throws IOException;
+
     /**
      * Attempts to validate the given data against the configured signature, using the scheme-provided
      * certificates and keys, falling back to any additional certificates this validator may be configured to
@@ -14,12 +14,12 @@
  */
 package org.candlepin.pki.certs;
 
+import org.candlepin.controller.util.ActiveContentCache;
 import org.candlepin.controller.util.ContentPathBuilder;
 import org.candlepin.controller.util.PromotedContent;
 import org.candlepin.model.Consumer;
 import org.candlepin.model.ContentAccessPayload;
 import org.candlepin.model.ContentAccessPayloadCurator;
-import org.candlepin.model.ContentCurator;
 import org.candlepin.model.Environment;
 import org.candlepin.model.Owner;
 import org.candlepin.model.Pool;
@@ -45,7 +45,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,7 +65,7 @@ public class ContentAccessPayloadBuilder {
     private final CryptoManager cryptoManager;
     private final EntitlementPayloadGenerator entitlementPayloadGenerator;
     private final X509V3ExtensionUtil v3ExtensionUtil;
-    private final ContentCurator contentCurator;
+    private final ActiveContentCache activeContentCache;
     private final ContentAccessPayloadCurator contentAccessPayloadCurator;
 
     // Collected builder state
@@ -79,13 +78,13 @@ public class ContentAccessPayloadBuilder {
         CryptoManager cryptoManager,
         EntitlementPayloadGenerator entitlementPayloadGenerator,
         X509V3ExtensionUtil v3ExtensionUtil,
-        ContentCurator contentCurator,
+        ActiveContentCache activeContentCache,
         ContentAccessPayloadCurator contentAccessPayloadCurator) {
 
         this.cryptoManager = Objects.requireNonNull(cryptoManager);
         this.entitlementPayloadGenerator = Objects.requireNonNull(entitlementPayloadGenerator);
         this.v3ExtensionUtil = Objects.requireNonNull(v3ExtensionUtil);
-        this.contentCurator = Objects.requireNonNull(contentCurator);
+        this.activeContentCache = Objects.requireNonNull(activeContentCache);
         this.contentAccessPayloadCurator = Objects.requireNonNull(contentAccessPayloadCurator);
     }
 
@@ -194,12 +193,7 @@ public class ContentAccessPayloadBuilder {
         ContentPathBuilder contentPathBuilder = ContentPathBuilder.from(this.owner, environments);
         PromotedContent promotedContent = new PromotedContent(contentPathBuilder).withAll(environments);
 
-        Function<ProductContent, String> cidFetcher = pcinfo -> pcinfo.getContent().getId();
-        Map<String, ProductContent> ownerContent = this.contentCurator
-            .getActiveContentByOwner(this.owner.getId())
-            .stream()
-            .collect(Collectors.toMap(cidFetcher, Function.identity(),
-                (v1, v2) -> new ProductContent(v2.getContent(), v1.isEnabled() || v2.isEnabled())));
+        Map<String, ProductContent> ownerContent = this.activeContentCache.getActiveContent(this.owner);
 
         byte[] payload = this.generateContentAccessPayload(timestamp, ownerContent, promotedContent);
         byte[] signature = this.cryptoManager.getSigner(this.scheme)
@@ -14,8 +14,8 @@
  */
 package org.candlepin.pki.certs;
 
+import org.candlepin.controller.util.ActiveContentCache;
 import org.candlepin.model.ContentAccessPayloadCurator;
-import org.candlepin.model.ContentCurator;
 import org.candlepin.pki.CryptoManager;
 import org.candlepin.util.X509V3ExtensionUtil;
 
@@ -34,7 +34,7 @@ public class ContentAccessPayloadBuilderProvider implements Provider<ContentAcce
     private final CryptoManager cryptoManager;
     private final EntitlementPayloadGenerator entitlementPayloadGenerator;
     private final X509V3ExtensionUtil v3ExtensionUtil;
-    private final ContentCurator contentCurator;
+    private final ActiveContentCache activeContentCache;
     private final ContentAccessPayloadCurator contentAccessPayloadCurator;
 
     @Inject
@@ -42,20 +42,20 @@ public class ContentAccessPayloadBuilderProvider implements Provider<ContentAcce
         CryptoManager cryptoManager,
         EntitlementPayloadGenerator entitlementPayloadGenerator,
         X509V3ExtensionUtil v3ExtensionUtil,
-        ContentCurator contentCurator,
+        ActiveContentCache activeContentCache,
         ContentAccessPayloadCurator contentAccessPayloadCurator) {
 
         this.cryptoManager = Objects.requireNonNull(cryptoManager);
         this.entitlementPayloadGenerator = Objects.requireNonNull(entitlementPayloadGenerator);
         this.v3ExtensionUtil = Objects.requireNonNull(v3ExtensionUtil);
-        this.contentCurator = Objects.requireNonNull(contentCurator);
+        this.activeContentCache = Objects.requireNonNull(activeContentCache);
         this.contentAccessPayloadCurator = Objects.requireNonNull(contentAccessPayloadCurator);
     }
 
     @Override
     public ContentAccessPayloadBuilder get() {
         return new ContentAccessPayloadBuilder(this.cryptoManager, this.entitlementPayloadGenerator,
-            this.v3ExtensionUtil, this.contentCurator, this.contentAccessPayloadCurator);
+            this.v3ExtensionUtil, this.activeContentCache, this.contentAccessPayloadCurator);
     }
 
 }
@@ -30,8 +30,10 @@ import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
 import java.security.SignatureException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -161,33 +163,59 @@ public class JcaSignatureValidator implements SignatureValidator {
         return this;
     }
 
-    private <E extends Exception> boolean performValidation(SignatureUpdater<E> updater) throws E {
+    private void checkSignatureConfigured() {
         if (this.signature == null || this.signature.length < 1) {
             throw new IllegalStateException("signature has not yet been configured");
         }
+    }
+
+    /**
+     * Builds a Signature instance initialized for verification with the given certificate. If the
+     * certificate cannot be used to validate signatures with the configured algorithm, this method
+     * returns null.
+     *
+     * @param certificate
+     *  the certificate to initialize the verifier with; cannot be null
+     *
+     * @return
+     *  a Signature instance initialized for verification, or null if the certificate is not usable
+     */
+    private Signature initVerifier(X509Certificate certificate) throws NoSuchAlgorithmException {
+        // Verify this cert can be used for digital signatures. If the cert doesn't define key usage
+        // or this method otherwise returns null, treat it as permissive.
+        boolean[] usages = certificate.getKeyUsage();
+        if (usages != null && !usages[DIGITAL_SIGNATURE_USAGE_BIT]) {
+            return null;
+        }
+
+        try {
+            Signature verifier = Signature.getInstance(this.signatureAlgorithm, this.securityProvider);
+            verifier.initVerify(certificate);
+
+            return verifier;
+        }
+        catch (InvalidKeyException e) {
+            // Key and cert don't match signature scheme. Move on to next cert
+            log.debug("Certificate not usable for signature validation with algorithm: <cert: {}>, {}",
+                certificate.getSerialNumber(), this.signatureAlgorithm);
+            return null;
+        }
+    }
+
+    private <E extends Exception> boolean performValidation(SignatureUpdater<E> updater) throws E {
+        this.checkSignatureConfigured();
 
         CheckedPredicate<X509Certificate, E> predicate = certificate -> {
             try {
-                // Verify this cert can be used for digital signatures. If the cert doesn't define key usage
-                // or this method otherwise returns null, treat it as permissive.
-                boolean[] usages = certificate.getKeyUsage();
-                if (usages != null && !usages[DIGITAL_SIGNATURE_USAGE_BIT]) {
+                Signature verifier = this.initVerifier(certificate);
+                if (verifier == null) {
                     return false;
                 }
 
-                Signature verifier = Signature.getInstance(this.signatureAlgorithm, this.securityProvider);
-                verifier.initVerify(certificate);
-
                 updater.update(verifier);
 
                 return verifier.verify(this.signature);
             }
-            catch (InvalidKeyException e) {
-                // Key and cert don't match signature scheme. Move on to next cert
-                log.debug("Certificate not usable for signature validation with algorithm: <cert: {}>, {}",
-                    certificate.getSerialNumber(), this.signatureAlgorithm);
-                return false;
-            }
             catch (java.security.SignatureException | NoSuchAlgorithmException e) {
                 throw new org.candlepin.pki.SignatureException(
                     "Unexpected exception occurred while verifying signature", e);
@@ -220,6 +248,48 @@ public class JcaSignatureValidator implements SignatureValidator {
         return this.performValidation(updater);
     }
 
+    @Override
+    public boolean validate(InputStream istream) throws IOException {
+        if (istream == null) {
+            throw new IllegalArgumentException("istream is null");
+        }
+
+        this.checkSignatureConfigured();
+
+        try {
+            // A stream can only be read once, so rather than trying each certificate in turn, we update a
+            // verifier for every usable certificate in a single pass over the data.
+            List<Signature> verifiers = new ArrayList<>();
+            for (X509Certificate certificate : this.certificates) {
+                Signature verifier = this.initVerifier(certificate);
+                if (verifier != null) {
+                    verifiers.add(verifier);
+                }
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            while ((read = istream.read(buffer)) != -1) {
+                for (Signature verifier : verifiers) {
+                    verifier.update(buffer, 0, read);
+                }
+            }
+
+            for (Signature verifier : verifiers) {
+                if (verifier.verify(this.signature)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+        catch (java.security.SignatureException | NoSuchAlgorithmException e) {
+            throw new org.candlepin.pki.SignatureException(
+                "Unexpected exception occurred while verifying signature", e);
+        }
+    }
+
     @Override
     public boolean validate(byte[] data) {
         SignatureUpdater<RuntimeException> updater = verifier -> {
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+
+import com.google.common.hash.Hashing;
+
+import org.mozilla.javascript.CompilerEnvirons;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.GeneratedClassLoader;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.optimizer.ClassCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The CompiledRulesCache compiles the rules to Java classes, and keeps the compiled classes in the
+ * configured cache directory so that later starts and rules reloads can define the classes from the
+ * cache rather than compiling the rules again.
+ * <p>
+ * Compiled rules are keyed by a hash of the rules source, the Rhino version and the optimization
+ * level used to compile them. Should no compiled rules exist for the key, or should the cached rules
+ * fail to load, the rules are compiled from source and the cache is replaced.
+ */
+@Singleton
+public class CompiledRulesCache {
+    private static final Logger log = LoggerFactory.getLogger(CompiledRulesCache.class);
+
+    /** Identifies compiled rules files; to be changed along with the file format */
+    private static final int FILE_MAGIC = 0x43505231;
+    private static final String FILE_SUFFIX = ".rules";
+    private static final String CLASS_PREFIX = "org.candlepin.policy.js.gen.rules_";
+
+    private final Path directory;
+
+    @Inject
+    public CompiledRulesCache(Configuration config) {
+        String directory = config.getString(ConfigProperties.RULES_COMPILED_CACHE_DIR);
+        this.directory = directory != null && !directory.isBlank() ? Paths.get(directory) : null;
+    }
+
+    /**
+     * Compiles the given rules source, loading the compiled rules from the cache if they have
+     * previously been compiled. If the cache is disabled, the rules are always compiled from source.
+     *
+     * @param context
+     *  the Rhino context with which to compile the rules; cannot be null
+     *
+     * @param source
+     *  the rules source to compile; cannot be null
+     *
+     * @return
+     *  the compiled rules
+     */
+    public Script compile(Context context, String source) {
+        if (this.directory == null) {
+            return context.compileString(source, "rules", 1, null);
+        }
+
+        String key = this.getKey(context, source);
+
+        Script script = this.load(context, key);
+        if (script != null) {
+            log.info("Loaded compiled rules from cache: {}", key);
+            return script;
+        }
+
+        CompilerEnvirons environment = new CompilerEnvirons();
+        environment.initFromContext(context);
+
+        Object[] classes = new ClassCompiler(environment)
+            .compileToClassFiles(source, "rules", 1, CLASS_PREFIX + key);
+
+        script = this.define(context, classes, CLASS_PREFIX + key);
+        this.store(key, classes);
+
+        return script;
+    }
+
+    /**
+     * Builds the key of the compiled form of the given rules source.
+     *
+     * @param context
+     *  the Rhino context with which the rules are compiled
+     *
+     * @param source
+     *  the rules source
+     *
+     * @return
+     *  the key of the compiled rules
+     */
+    @SuppressWarnings("deprecation")
+    String getKey(Context context, String source) {
+        return Hashing.sha256().newHasher()
+            .putInt(FILE_MAGIC)
+            .putString(String.valueOf(context.getImplementationVersion()), StandardCharsets.UTF_8)
+            .putInt(context.getOptimizationLevel())
+            .putString(source, StandardCharsets.UTF_8)
+            .hash()
+            .toString();
+    }
+
+    /**
+     * Loads the compiled rules for the given key from the cache.
+     *
+     * @param context
+     *  the Rhino context with which to define the compiled rules
+     *
+     * @param key
+     *  the key of the compiled rules
+     *
+     * @return
+     *  the compiled rules, or null if the cache does not hold valid compiled rules for the key
+     */
+    Script load(Context context, String key) {
+        Path file = this.directory.resolve(key + FILE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != FILE_MAGIC || !key.equals(input.readUTF())) {
+                log.warn("Compiled rules do not match the expected rules; compiling from source: {}", file);
+                return null;
+            }
+
+            Object[] classes = new Object[input.readInt() * 2];
+            for (int i = 0; i < classes.length; i += 2) {
+                classes[i] = input.readUTF();
+
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                classes[i + 1] = bytes;
+            }
+
+            return this.define(context, classes, CLASS_PREFIX + key);
+        }
+        catch (IOException | RuntimeException | LinkageError e) {
+            log.warn("Unable to load compiled rules; compiling from source: {}", file, e);
+            return null;
+        }
+    }
+
+    private Script define(Context context, Object[] classes, String mainClassName) {
+        GeneratedClassLoader loader = context.createClassLoader(context.getApplicationClassLoader());
+        Class<?> mainClass = null;
+
+        for (int i = 0; i < classes.length; i += 2) {
+            String name = (String) classes[i];
+
+            Class<?> definedClass = loader.defineClass(name, (byte[]) classes[i + 1]);
+            loader.linkClass(definedClass);
+
+            if (mainClassName.equals(name)) {
+                mainClass = definedClass;
+            }
+        }
+
+        if (mainClass == null) {
+            throw new IllegalStateException("Compiled rules do not contain the class: " + mainClassName);
+        }
+
+        try {
+            return (Script) mainClass.getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate compiled rules", e);
+        }
+    }
+
+    private void store(String key, Object[] classes) {
+        Path file = this.directory.resolve(key + FILE_SUFFIX);
+
+        try {
+            Files.createDirectories(this.directory);
+
+            // Write to a temporary file first, so a concurrent load never reads a partial file
+            Path temp = Files.createTempFile(this.directory, key, ".tmp");
+            try {
+                try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+
+                    output.writeInt(FILE_MAGIC);
+                    output.writeUTF(key);
+                    output.writeInt(classes.length / 2);
+
+                    for (int i = 0; i < classes.length; i += 2) {
+                        byte[] bytes = (byte[]) classes[i + 1];
+
+                        output.writeUTF((String) classes[i]);
+                        output.writeInt(bytes.length);
+                        output.write(bytes);
+                    }
+                }
+
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally {
+                Files.deleteIfExists(temp);
+            }
+
+            log.info("Stored compiled rules in cache: {}", file);
+        }
+        catch (IOException e) {
+            log.warn("Unable to store compiled rules in cache: {}", file, e);
+            return;
+        }
+
+        // Remove the compiled forms of previous rules
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                .filter(path -> !path.equals(file))
+                .forEach(path -> {
+                    try {
+                        Files.deleteIfExists(path);
+                    }
+                    catch (IOException e) {
+                        log.debug("Unable to remove compiled rules: {}", path, e);
+                    }
+                });
+        }
+        catch (IOException e) {
+            log.debug("Unable to list compiled rules in cache: {}", this.directory, e);
+        }
+    }
+
+}
@@ -24,6 +24,8 @@ import org.mozilla.javascript.Wrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
 /**
  * JsRunner - Responsible for running the javascript rules methods in all
  * namespaces.
@@ -36,11 +38,25 @@ public class JsRunner {
     private Object rulesNameSpace;
     private String namespace;
     private Scriptable scope;
+    private Map<String, Object> namespaces;
 
     private boolean initialized = false;
 
     public JsRunner(Scriptable scope) {
+        this(scope, null);
+    }
+
+    /**
+     * Creates a runner sharing the given map of initialized rules namespaces with the other runners
+     * of the same scope, so that each namespace is only initialized once per scope.
+     *
+     * @param scope the scope in which to run the rules
+     * @param namespaces the namespaces initialized in the scope, or null to initialize the
+     *        namespaces of each runner separately
+     */
+    public JsRunner(Scriptable scope, Map<String, Object> namespaces) {
         this.scope = scope;
+        this.namespaces = namespaces;
     }
 
     /**
@@ -54,6 +70,11 @@ public class JsRunner {
     public void init(String namespace) {
         this.namespace = namespace;
 
+        if (!initialized && this.namespaces != null && this.namespaces.containsKey(namespace)) {
+            this.rulesNameSpace = this.namespaces.get(namespace);
+            this.initialized = true;
+        }
+
         if (!initialized) {
 
             Context context = Context.enter();
@@ -62,6 +83,10 @@ public class JsRunner {
                 this.rulesNameSpace = unwrapReturnValue(((Function) func)
                     .call(context, scope, scope, Context.emptyArgs));
 
+                if (this.namespaces != null) {
+                    this.namespaces.put(namespace, this.rulesNameSpace);
+                }
+
                 this.initialized = true;
             }
             catch (RhinoException ex) {
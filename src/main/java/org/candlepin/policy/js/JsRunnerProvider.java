@@ -29,8 +29,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Date;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jakarta.inject.Inject;
 
@@ -38,14 +41,22 @@ import jakarta.inject.Inject;
  * Reads/compiles our javascript rules and the standard js objects only
  * once across the JVM lifetime (and whenever the rules require a recompile), and creates
  * lightweight execution scopes per thread/request.
+ * <p>
+ * Each thread reuses a single execution scope for as long as the compiled rules remain the same,
+ * resetting it whenever it is first used by a new request. The runners provided to a thread must
+ * therefore not be used by other threads; runners to be used by other threads should be fetched
+ * with {@link #getIsolated()}.
  */
 public class JsRunnerProvider implements Provider<JsRunner> {
     private static Logger log = LoggerFactory.getLogger(JsRunnerProvider.class);
 
     private RulesCurator rulesCurator;
     private Provider<JsRunnerRequestCache> cacheProvider;
+    private CompiledRulesCache compiledRulesCache;
     private Script script;
-    private Scriptable scope;
+
+    // The sealed scope holding the compiled rules; replaced whenever the rules are recompiled
+    private volatile Scriptable scope;
     /**
      * This date is basically a version of the rules that this
      * JSRunnerProvider compiled. Note that in clustered environment,
@@ -59,8 +70,53 @@ public class JsRunnerProvider implements Provider<JsRunner> {
     private String rulesVersion;
     private RulesSourceEnum rulesSource;
 
-    // Use this lock to access script, scope and updated
-    private ReadWriteLock scriptLock = new ReentrantReadWriteLock();
+    // Use this lock to compile the rules and update script, scope and updated
+    private Lock scriptLock = new ReentrantLock();
+
+    private final ThreadLocal<PooledScope> pooledScopes = new ThreadLocal<>();
+    private final LongAdder scopesCreated = new LongAdder();
+    private final LongAdder scopesReused = new LongAdder();
+
+    /**
+     * Statistics about the reuse of execution scopes.
+     *
+     * @param created
+     *  the number of execution scopes created
+     *
+     * @param reused
+     *  the number of times an existing execution scope was reused
+     */
+    public record ScopeStatistics(long created, long reused) {
+    }
+
+    /**
+     * An execution scope reused by a thread, along with the rules namespaces initialized in it
+     */
+    private static class PooledScope {
+        private final Scriptable rulesScope;
+        private final Scriptable scope;
+        private final Map<String, Object> namespaces = new HashMap<>();
+        private JsRunnerRequestCache request;
+
+        public PooledScope(Scriptable rulesScope, Scriptable scope) {
+            this.rulesScope = rulesScope;
+            this.scope = scope;
+        }
+
+        /**
+         * Removes the variables set in this scope by previous requests
+         */
+        public void reset() {
+            for (Object id : this.scope.getIds()) {
+                if (id instanceof String name) {
+                    this.scope.delete(name);
+                }
+                else if (id instanceof Number index) {
+                    this.scope.delete(index.intValue());
+                }
+            }
+        }
+    }
 
     /**
      * DynamicScopeContextFactory - replace the standard rhino context factory with one that
@@ -82,20 +138,31 @@ public class JsRunnerProvider implements Provider<JsRunner> {
         ContextFactory.initGlobal(new DynamicScopeContextFactory());
     }
 
-    @Inject
     public JsRunnerProvider(RulesCurator rulesCurator, Provider<JsRunnerRequestCache> cacheProvider) {
+        this(rulesCurator, cacheProvider, null);
+    }
+
+    /**
+     * Creates a new JsRunnerProvider which loads previously compiled rules from the given cache. If
+     * the cache is null, the rules are compiled from source.
+     */
+    @Inject
+    public JsRunnerProvider(RulesCurator rulesCurator, Provider<JsRunnerRequestCache> cacheProvider,
+        CompiledRulesCache compiledRulesCache) {
+
         this.rulesCurator = rulesCurator;
         this.cacheProvider = cacheProvider;
+        this.compiledRulesCache = compiledRulesCache;
 
-        log.debug("Compiling rules for initial load");
+        // The rules are compiled on first use, or ahead of time by the context listener, which
+        // compiles them alongside the initialization of other subsystems at startup.
         this.rulesCurator.updateDbRules();
-        this.compileRules();
     }
 
     /**
      * These are the expensive operations (initStandardObjects and compileReader/exec).
      *  We do them once here, and define this provider as a singleton, so it's only
-     *  done at provider creation or whenever rules are refreshed.
+     *  done at startup or whenever rules are refreshed.
      *
      */
     public void compileRules() {
@@ -103,9 +170,9 @@ public class JsRunnerProvider implements Provider<JsRunner> {
     }
 
     public void compileRules(boolean forceRefresh) {
-        scriptLock.writeLock().lock();
+        scriptLock.lock();
         try {
-            // Check to see if we need to recompile. we do this inside the write lock
+            // Check to see if we need to recompile. we do this inside the lock
             // just to avoid race conditions where we might double compile
             Date newUpdated = rulesCurator.getUpdated();
             if (!forceRefresh && newUpdated.equals(this.currentRulesUpdated)) {
@@ -116,15 +183,19 @@ public class JsRunnerProvider implements Provider<JsRunner> {
 
             Context context = Context.enter();
             context.setOptimizationLevel(9);
-            scope = context.initStandardObjects(null, true);
+            Scriptable scope = context.initStandardObjects(null, true);
             try {
                 Rules rules = rulesCurator.getRules();
                 rulesVersion = rules.getVersion();
                 rulesSource = rules.getRulesSource();
-                script = context.compileString(
-                    rules.getRules(), "rules", 1, null);
+                script = this.compiledRulesCache != null ?
+                    this.compiledRulesCache.compile(context, rules.getRules()) :
+                    context.compileString(rules.getRules(), "rules", 1, null);
                 script.exec(context, scope);
                 ((ScriptableObject) scope).sealObject();
+
+                // Publish the scope only once sealed, as runners are created without locking
+                this.scope = scope;
                 this.currentRulesUpdated = newUpdated;
             }
             finally {
@@ -132,44 +203,90 @@ public class JsRunnerProvider implements Provider<JsRunner> {
             }
         }
         finally {
-            scriptLock.writeLock().unlock();
+            scriptLock.unlock();
         }
     }
 
     public JsRunner get() {
+        JsRunnerRequestCache cache = cacheProvider.get();
+        Scriptable rulesScope = this.getRulesScope(cache);
+
+        /*
+         * Reuse this thread's javascript scope for the JsRules, based on the preinitialized
+         * global one (which contains our js rules), creating it anew whenever the rules change.
+         */
+        PooledScope pooled = this.pooledScopes.get();
+        if (pooled == null || pooled.rulesScope != rulesScope) {
+            pooled = new PooledScope(rulesScope, this.createScope(rulesScope));
+            this.pooledScopes.set(pooled);
+        }
+        else {
+            // Variables set by a previous request must not be visible to this one
+            if (pooled.request != cache) {
+                pooled.reset();
+            }
+
+            this.scopesReused.increment();
+        }
+
+        pooled.request = cache;
+        return new JsRunner(pooled.scope, pooled.namespaces);
+    }
+
+    /**
+     * Creates a runner with an execution scope of its own, which, unlike the runners provided by
+     * {@link #get()}, may be used by a thread other than the current thread.
+     *
+     * @return
+     *  a new runner with an execution scope of its own
+     */
+    public JsRunner getIsolated() {
+        Scriptable rulesScope = this.getRulesScope(cacheProvider.get());
+        return new JsRunner(this.createScope(rulesScope));
+    }
+
+    /**
+     * Fetches the statistics about the reuse of execution scopes by this provider.
+     *
+     * @return
+     *  the statistics about the reuse of execution scopes
+     */
+    public ScopeStatistics getScopeStatistics() {
+        return new ScopeStatistics(this.scopesCreated.sum(), this.scopesReused.sum());
+    }
+
+    private Scriptable getRulesScope(JsRunnerRequestCache cache) {
         /**
          * Even though JsRunnerProvider is singleton, the
          * following cache is being retrieved fresh for
          * every new HTTP Request
          */
-        JsRunnerRequestCache cache = cacheProvider.get();
         Date updated = cache.getUpdated();
         if (updated == null) {
             updated = rulesCurator.getUpdated();
             cache.setUpdated(updated);
         }
-        /*
-         * Create a new thread/request local javascript scope for the JsRules,
-         * based on the preinitialized global one (which contains our js rules).
-         */
-        // Avoid a write lock if we can
+
         if (!updated.equals(this.currentRulesUpdated)) {
             compileRules();
         }
-        Scriptable rulesScope;
-        scriptLock.readLock().lock();
+
+        return this.scope;
+    }
+
+    private Scriptable createScope(Scriptable rulesScope) {
+        Context context = Context.enter();
         try {
-            Context context = Context.enter();
-            rulesScope = context.newObject(scope);
-            rulesScope.setPrototype(scope);
-            rulesScope.setParentScope(null);
-            Context.exit();
+            Scriptable scope = context.newObject(rulesScope);
+            scope.setPrototype(rulesScope);
+            scope.setParentScope(null);
+
+            this.scopesCreated.increment();
+            return scope;
         }
         finally {
-            scriptLock.readLock().unlock();
+            Context.exit();
         }
-
-        return new JsRunner(rulesScope);
     }
 
     public String getRulesVersion() {
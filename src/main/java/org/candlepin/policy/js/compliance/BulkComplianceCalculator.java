@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.dto.rules.v1.ComplianceStatusDTO;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerCurator;
+import org.candlepin.model.Entitlement;
+import org.candlepin.policy.js.JsRunner;
+import org.candlepin.policy.js.JsRunnerProvider;
+import org.candlepin.policy.js.JsonJsContext;
+import org.candlepin.policy.js.RuleExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * Calculates the current compliance status of many consumers at once.
+ * <p>
+ * The data used to calculate compliance is loaded for all of the consumers with a handful of batched
+ * queries, and the arguments of the compliance functions of the rules file are translated on the
+ * requesting thread. The compliance functions are then run on a bounded pool of worker threads, each
+ * with its own rules scope, after which the statuses are completed and applied to the consumers back on
+ * the requesting thread, so the worker threads never touch the persistence context.
+ */
+@Singleton
+public class BulkComplianceCalculator {
+    private static final Logger log = LoggerFactory.getLogger(BulkComplianceCalculator.class);
+
+    private final ConsumerCurator consumerCurator;
+    private final Provider<ComplianceRules> rulesProvider;
+    private final JsRunnerProvider jsRunnerProvider;
+    private final int threads;
+    private final ExecutorService executor;
+
+    @Inject
+    public BulkComplianceCalculator(Configuration config, ConsumerCurator consumerCurator,
+        Provider<ComplianceRules> rulesProvider, JsRunnerProvider jsRunnerProvider) {
+
+        this.consumerCurator = Objects.requireNonNull(consumerCurator);
+        this.rulesProvider = Objects.requireNonNull(rulesProvider);
+        this.jsRunnerProvider = Objects.requireNonNull(jsRunnerProvider);
+
+        this.threads = config.getInt(ConfigProperties.COMPLIANCE_BULK_THREADS);
+        if (this.threads < 1) {
+            throw new ConfigurationException(ConfigProperties.COMPLIANCE_BULK_THREADS +
+                " must be a positive integer: " + this.threads);
+        }
+
+        this.executor = this.threads > 1 ?
+            Executors.newFixedThreadPool(this.threads, new WorkerThreadFactory()) :
+            null;
+    }
+
+    /**
+     * Calculates the current compliance status of each of the given consumers, applying the status to
+     * the consumer as {@link ComplianceRules#getStatus(Consumer)} does when calculating current
+     * compliance.
+     *
+     * @param consumers
+     *  the consumers for which to calculate compliance status; must be managed by the current
+     *  persistence context
+     *
+     * @throws RuleExecutionException
+     *  if the compliance status of any consumer cannot be calculated
+     *
+     * @return
+     *  a list containing the compliance status of each consumer, in the order of the given consumers
+     */
+    public List<ComplianceStatus> getStatuses(List<Consumer> consumers) {
+        if (consumers == null || consumers.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        this.consumerCurator.initializeComplianceData(consumers);
+
+        ComplianceRules rules = this.rulesProvider.get();
+        ComplianceStatus[] statuses = new ComplianceStatus[consumers.size()];
+
+        // The native engine does not benefit from running outside of the persistence context
+        if (this.executor == null || !rules.isJsEngine()) {
+            for (int i = 0; i < consumers.size(); ++i) {
+                statuses[i] = rules.getStatus(consumers.get(i), null);
+            }
+
+            return Arrays.asList(statuses);
+        }
+
+        Date date = new Date();
+        List<PendingStatus> pending = new ArrayList<>();
+
+        for (int i = 0; i < consumers.size(); ++i) {
+            Consumer consumer = consumers.get(i);
+            rules.updateEntsOnStart(consumer);
+
+            statuses[i] = rules.getFixedStatus(consumer, true);
+            if (statuses[i] == null) {
+                List<Entitlement> entitlements = consumer.getEntitlements() != null ?
+                    List.copyOf(consumer.getEntitlements()) :
+                    List.of();
+
+                JsonJsContext args = rules.buildJsContext(consumer, entitlements, date, true, false);
+                pending.add(new PendingStatus(i, consumer, entitlements, args));
+            }
+        }
+
+        List<ComplianceStatusDTO> results = this.runJsStatuses(rules, pending);
+
+        for (int i = 0; i < pending.size(); ++i) {
+            PendingStatus entry = pending.get(i);
+            ComplianceStatus status = rules.toStatus(results.get(i), entry.entitlements());
+
+            statuses[entry.index()] = rules.completeStatus(entry.consumer(), entry.entitlements(), date,
+                true, false, status, true, true);
+        }
+
+        log.debug("Calculated compliance status of {} consumers, {} with the rules file",
+            consumers.size(), pending.size());
+
+        return Arrays.asList(statuses);
+    }
+
+    /**
+     * Runs the compliance status function of the rules file for each of the pending statuses on the
+     * worker pool, returning the results in the order of the pending statuses. Each running task
+     * borrows one of the rules scopes created for this call, so no scope is used concurrently.
+     */
+    private List<ComplianceStatusDTO> runJsStatuses(ComplianceRules rules, List<PendingStatus> pending) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        // Rules scopes must be created on the requesting thread, each isolated from the scope reused
+        // by the requesting thread, as they are used by the worker threads
+        int scopes = Math.min(this.threads, pending.size());
+        BlockingQueue<JsRunner> runners = new ArrayBlockingQueue<>(scopes);
+        for (int i = 0; i < scopes; ++i) {
+            JsRunner runner = this.jsRunnerProvider.getIsolated();
+            runner.init(ComplianceRules.NAMESPACE);
+
+            runners.add(runner);
+        }
+
+        List<Future<ComplianceStatusDTO>> futures = new ArrayList<>(pending.size());
+        try {
+            for (PendingStatus entry : pending) {
+                futures.add(this.executor.submit(() -> {
+                    JsRunner runner = runners.take();
+
+                    try {
+                        return rules.runJsStatus(runner, entry.args());
+                    }
+                    finally {
+                        runners.add(runner);
+                    }
+                }));
+            }
+
+            List<ComplianceStatusDTO> results = new ArrayList<>(pending.size());
+            for (Future<ComplianceStatusDTO> future : futures) {
+                results.add(this.collect(future));
+            }
+
+            return results;
+        }
+        finally {
+            // Stop any remaining work if a calculation failed
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private ComplianceStatusDTO collect(Future<ComplianceStatusDTO> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuleExecutionException(e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            if (cause instanceof Error error) {
+                throw error;
+            }
+
+            throw new RuleExecutionException(cause);
+        }
+    }
+
+    /**
+     * A consumer whose compliance status is awaiting the result of the rules file, and the translated
+     * arguments of the compliance status function.
+     */
+    private record PendingStatus(int index, Consumer consumer, List<Entitlement> entitlements,
+        JsonJsContext args) {
+    }
+
+    /**
+     * Thread factory creating named daemon threads for the compliance worker pool.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                String.format("compliance-worker-%d", this.threadCounter.incrementAndGet()));
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+
+}
@@ -46,9 +46,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,10 +63,49 @@ import jakarta.inject.Inject;
  * ComplianceRules
  *
  * A class used to check consumer compliance status.
+ * <p>
+ * Compliance is calculated either by the compliance functions of the rules file or by the
+ * {@link NativeComplianceEngine}, as selected by the compliance engine configuration. A configurable
+ * percentage of calculations is also run with the other engine, logging any difference between the
+ * results of the two engines.
  */
 public class ComplianceRules {
     private static final Logger log = LoggerFactory.getLogger(ComplianceRules.class);
 
+    /** The namespace of the compliance functions of the rules file */
+    static final String NAMESPACE = "compliance_name_space";
+
+    /**
+     * The engines available to calculate compliance
+     */
+    public enum Engine {
+        /** Calculates compliance with the compliance functions of the rules file */
+        JS,
+
+        /** Calculates compliance with the native implementation of the rules */
+        NATIVE;
+
+        /**
+         * Resolves the engine with the given name, ignoring case.
+         *
+         * @param name
+         *  the name of the engine to resolve
+         *
+         * @throws IllegalArgumentException
+         *  if no engine has the given name
+         *
+         * @return
+         *  the engine with the given name
+         */
+        public static Engine fromName(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is null");
+            }
+
+            return Engine.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
     private final JsRunner jsRules;
     private final EntitlementCurator entCurator;
     private final StatusReasonMessageGenerator generator;
@@ -72,12 +114,15 @@ public class ComplianceRules {
     private final ConsumerTypeCurator consumerTypeCurator;
     private final RulesObjectMapper mapper;
     private final ModelTranslator translator;
+    private final NativeComplianceEngine nativeEngine;
+    private final Engine engine;
+    private final int shadowPercentage;
 
     @Inject
     public ComplianceRules(JsRunner jsRules, EntitlementCurator entCurator,
         StatusReasonMessageGenerator generator, EventSink eventSink, ConsumerCurator consumerCurator,
         ConsumerTypeCurator consumerTypeCurator, RulesObjectMapper mapper,
-        ModelTranslator translator) {
+        ModelTranslator translator, ComplianceSettings settings, NativeComplianceEngine nativeEngine) {
 
         this.jsRules = Objects.requireNonNull(jsRules);
         this.entCurator = Objects.requireNonNull(entCurator);
@@ -87,8 +132,13 @@ public class ComplianceRules {
         this.consumerTypeCurator = Objects.requireNonNull(consumerTypeCurator);
         this.mapper = Objects.requireNonNull(mapper);
         this.translator = Objects.requireNonNull(translator);
+        this.nativeEngine = Objects.requireNonNull(nativeEngine);
 
-        jsRules.init("compliance_name_space");
+        Objects.requireNonNull(settings);
+        this.engine = settings.engine();
+        this.shadowPercentage = settings.shadowPercentage();
+
+        jsRules.init(NAMESPACE);
     }
 
     /**
@@ -168,15 +218,38 @@ public class ComplianceRules {
             updateEntsOnStart(consumer);
         }
 
-        Stream<EntitlementDTO> entStream = Stream.concat(
+        ComplianceStatus fixedStatus = this.getFixedStatus(consumer, updateConsumer);
+        if (fixedStatus != null) {
+            return fixedStatus;
+        }
+
+        List<Entitlement> entitlements = Stream.concat(
             newEntitlements != null ? newEntitlements.stream() : Stream.empty(),
             consumer.getEntitlements() != null ? consumer.getEntitlements().stream() : Stream.empty())
-            .map(this.translator.getStreamMapper(Entitlement.class, EntitlementDTO.class));
+            .toList();
 
-        Stream<GuestIdDTO> guestIdStream = consumer.getGuestIds() == null ? Stream.empty() :
-            consumer.getGuestIds().stream()
-                .map(this.translator.getStreamMapper(GuestId.class, GuestIdDTO.class));
+        ComplianceStatus status;
+        if (this.engine == Engine.NATIVE) {
+            status = this.nativeEngine.getStatus(consumer, entitlements, date, calculateCompliantUntil,
+                calculateProductComplianceDateRanges);
+        }
+        else {
+            status = this.getJsStatus(consumer, entitlements, date, calculateCompliantUntil,
+                calculateProductComplianceDateRanges);
+        }
 
+        return this.completeStatus(consumer, entitlements, date, calculateCompliantUntil,
+            calculateProductComplianceDateRanges, status, updateConsumer, currentCompliance);
+    }
+
+    /**
+     * Fetches the status of a consumer whose compliance is not calculated: consumers of owners using
+     * simple content access, whose status is disabled, and distributors.
+     *
+     * @return
+     *  the fixed status of the consumer, or null if its compliance status should be calculated
+     */
+    ComplianceStatus getFixedStatus(Consumer consumer, boolean updateConsumer) {
         // Status can only be 'disabled' when in golden ticket mode
         if (consumer.getOwner() != null && consumer.getOwner().isUsingSimpleContentAccess()) {
             ComplianceStatus cs = new ComplianceStatus(new Date());
@@ -192,38 +265,176 @@ public class ComplianceRules {
             return new ComplianceStatus(new Date());
         }
 
+        return null;
+    }
+
+    /**
+     * Completes a calculated compliance status: runs the shadow calculation, sets the messages of the
+     * status reasons, and applies current compliance to the consumer.
+     */
+    ComplianceStatus completeStatus(Consumer consumer, List<Entitlement> entitlements, Date date,
+        boolean calculateCompliantUntil, boolean calculateProductComplianceDateRanges,
+        ComplianceStatus status, boolean updateConsumer, boolean currentCompliance) {
+
+        if (this.isShadowed()) {
+            this.shadowStatus(consumer, entitlements, date, calculateCompliantUntil,
+                calculateProductComplianceDateRanges, status);
+        }
+
+        try {
+            for (ComplianceReason reason : status.getReasons()) {
+                generator.setMessage(consumer, reason, status.getDate());
+            }
+
+            if (currentCompliance) {
+                applyStatus(consumer, status, updateConsumer);
+            }
+
+            return status;
+        }
+        catch (Exception e) {
+            throw new RuleExecutionException(e);
+        }
+    }
+
+    /**
+     * Calculates the compliance status of the consumer with the compliance functions of the rules
+     * file.
+     */
+    private ComplianceStatus getJsStatus(Consumer consumer, List<Entitlement> entitlements, Date date,
+        boolean calculateCompliantUntil, boolean calculateProductComplianceDateRanges) {
+
+        JsonJsContext args = this.buildJsContext(consumer, entitlements, date, calculateCompliantUntil,
+            calculateProductComplianceDateRanges);
+
+        return this.toStatus(this.runJsStatus(this.jsRules, args), entitlements);
+    }
+
+    /**
+     * Checks whether or not compliance is calculated with the compliance functions of the rules file.
+     */
+    boolean isJsEngine() {
+        return this.engine == Engine.JS;
+    }
+
+    /**
+     * Builds the arguments of the compliance status function of the rules file. The consumer and its
+     * entitlements are translated immediately, so the returned context does not depend on the
+     * persistence context and may be used to run the function on any thread.
+     */
+    @SuppressWarnings("checkstyle:indentation")
+    JsonJsContext buildJsContext(Consumer consumer, List<Entitlement> entitlements, Date date,
+        boolean calculateCompliantUntil, boolean calculateProductComplianceDateRanges) {
+
+        List<EntitlementDTO> entitlementDTOs = entitlements.stream()
+            .map(this.translator.getStreamMapper(Entitlement.class, EntitlementDTO.class))
+            .toList();
+
+        List<GuestIdDTO> guestIdDTOs = consumer.getGuestIds() == null ? List.of() :
+            consumer.getGuestIds().stream()
+                .map(this.translator.getStreamMapper(GuestId.class, GuestIdDTO.class))
+                .toList();
+
         JsonJsContext args = new JsonJsContext(mapper);
         args.put("consumer", this.translator.translate(consumer, ConsumerDTO.class));
-        args.put("entitlements", entStream);
+        args.put("entitlements", entitlementDTOs);
         args.put("ondate", date);
         args.put("calculateCompliantUntil", calculateCompliantUntil);
         args.put("calculateProductComplianceDateRanges", calculateProductComplianceDateRanges);
         args.put("log", log, false);
-        args.put("guestIds", guestIdStream);
+        args.put("guestIds", guestIdDTOs);
+
+        return args;
+    }
+
+    /**
+     * Runs the compliance status function of the rules file with the given runner. The runner must
+     * have been initialized to the compliance namespace, and must not be used concurrently.
+     */
+    ComplianceStatusDTO runJsStatus(JsRunner runner, JsonJsContext args) {
+        String json = runner.runJsFunction(String.class, "get_status", args);
+
+        try {
+            return mapper.toObject(json, ComplianceStatusDTO.class);
+        }
+        catch (Exception e) {
+            throw new RuleExecutionException(e);
+        }
+    }
 
-        // Convert the JSON returned into a ComplianceStatus object:
-        String json = jsRules.runJsFunction(String.class, "get_status", args);
+    /**
+     * Converts the status returned by the compliance status function of the rules file into a
+     * ComplianceStatus object.
+     */
+    ComplianceStatus toStatus(ComplianceStatusDTO statusDTO, List<Entitlement> entitlements) {
         try {
-            ComplianceStatusDTO statusDTO = mapper.toObject(json, ComplianceStatusDTO.class);
             ComplianceStatus status = new ComplianceStatus();
-            Set<Entitlement> allEntitlements = Stream.concat(
-                newEntitlements != null ? newEntitlements.stream() : Stream.empty(),
-                consumer.getEntitlements() != null ? consumer.getEntitlements().stream() : Stream.empty())
-                .collect(Collectors.toSet());
-            populateEntity(status, statusDTO, allEntitlements);
+            populateEntity(status, statusDTO, new HashSet<>(entitlements));
 
-            for (ComplianceReason reason : status.getReasons()) {
-                generator.setMessage(consumer, reason, status.getDate());
+            return status;
+        }
+        catch (Exception e) {
+            throw new RuleExecutionException(e);
+        }
+    }
+
+    /**
+     * Checks whether or not the current calculation should also be run with the engine which is not
+     * configured.
+     */
+    private boolean isShadowed() {
+        return this.shadowPercentage > 0 &&
+            (this.shadowPercentage >= 100 || ThreadLocalRandom.current().nextInt(100) < this.shadowPercentage);
+    }
+
+    /**
+     * Calculates the compliance status of the consumer with the engine which is not configured, and
+     * logs any difference from the status calculated by the configured engine. Failures of the other
+     * engine are logged and never affect the calculated status.
+     */
+    private void shadowStatus(Consumer consumer, List<Entitlement> entitlements, Date date,
+        boolean calculateCompliantUntil, boolean calculateProductComplianceDateRanges,
+        ComplianceStatus status) {
+
+        try {
+            List<String> differences;
+            if (this.engine == Engine.NATIVE) {
+                ComplianceStatus jsStatus = this.getJsStatus(consumer, entitlements, date,
+                    calculateCompliantUntil, calculateProductComplianceDateRanges);
+
+                differences = ComplianceStatusDiff.compare(jsStatus, status);
             }
+            else {
+                ComplianceStatus nativeStatus = this.nativeEngine.getStatus(consumer, entitlements, date,
+                    calculateCompliantUntil, calculateProductComplianceDateRanges);
 
-            if (currentCompliance) {
-                applyStatus(consumer, status, updateConsumer);
+                differences = ComplianceStatusDiff.compare(status, nativeStatus);
             }
 
-            return status;
+            if (!differences.isEmpty()) {
+                log.warn("Compliance engines disagree on the status of consumer {} on {}: {}",
+                    consumer.getUuid(), date, differences);
+            }
         }
         catch (Exception e) {
-            throw new RuleExecutionException(e);
+            log.warn("Unable to calculate the shadow compliance status of consumer {}", consumer.getUuid(), e);
+        }
+    }
+
+    /**
+     * Runs the given check with the engine which is not configured, and logs any difference from the
+     * result of the configured engine.
+     */
+    private void shadowCheck(String check, Consumer consumer, boolean result, BooleanSupplier shadow) {
+        try {
+            boolean shadowResult = shadow.getAsBoolean();
+            if (shadowResult != result) {
+                log.warn("Compliance engines disagree on the {} check of consumer {}: {} engine={}, shadow={}",
+                    check, consumer.getUuid(), this.engine, result, shadowResult);
+            }
+        }
+        catch (Exception e) {
+            log.warn("Unable to run the shadow {} check of consumer {}", check, consumer.getUuid(), e);
         }
     }
 
@@ -256,8 +467,22 @@ public class ComplianceRules {
         }
     }
 
-    @SuppressWarnings("checkstyle:indentation")
     public boolean isStackCompliant(Consumer consumer, String stackId, List<Entitlement> entsToConsider) {
+        boolean compliant = this.engine == Engine.NATIVE ?
+            this.nativeEngine.isStackCompliant(consumer, stackId, entsToConsider) :
+            this.isJsStackCompliant(consumer, stackId, entsToConsider);
+
+        if (this.isShadowed()) {
+            this.shadowCheck("stack compliance", consumer, compliant, () -> this.engine == Engine.NATIVE ?
+                this.isJsStackCompliant(consumer, stackId, entsToConsider) :
+                this.nativeEngine.isStackCompliant(consumer, stackId, entsToConsider));
+        }
+
+        return compliant;
+    }
+
+    @SuppressWarnings("checkstyle:indentation")
+    private boolean isJsStackCompliant(Consumer consumer, String stackId, List<Entitlement> entsToConsider) {
         Stream<EntitlementDTO> entStream = entsToConsider == null ? Stream.empty() :
             entsToConsider.stream()
                 .map(this.translator.getStreamMapper(Entitlement.class, EntitlementDTO.class));
@@ -276,10 +501,24 @@ public class ComplianceRules {
         return jsRules.runJsFunction(Boolean.class, "is_stack_compliant", args);
     }
 
-    @SuppressWarnings("checkstyle:indentation")
     public boolean isEntitlementCompliant(Consumer consumer, Entitlement ent, Date onDate) {
         List<Entitlement> ents = entCurator.listByConsumerAndDate(consumer, onDate);
 
+        boolean compliant = this.engine == Engine.NATIVE ?
+            this.nativeEngine.isEntitlementCompliant(consumer, ent, ents) :
+            this.isJsEntitlementCompliant(consumer, ent, ents);
+
+        if (this.isShadowed()) {
+            this.shadowCheck("entitlement compliance", consumer, compliant, () -> this.engine == Engine.NATIVE ?
+                this.isJsEntitlementCompliant(consumer, ent, ents) :
+                this.nativeEngine.isEntitlementCompliant(consumer, ent, ents));
+        }
+
+        return compliant;
+    }
+
+    @SuppressWarnings("checkstyle:indentation")
+    private boolean isJsEntitlementCompliant(Consumer consumer, Entitlement ent, List<Entitlement> ents) {
         Stream<EntitlementDTO> entStream = ents == null ? Stream.empty() :
             ents.stream().map(this.translator.getStreamMapper(Entitlement.class, EntitlementDTO.class));
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+
+import com.google.inject.Provider;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * Provides the {@link ComplianceSettings} configured for compliance calculations. The configured
+ * engine and shadow percentage are resolved and validated once, so an invalid value fails at startup
+ * rather than on every compliance calculation.
+ */
+@Singleton
+public class ComplianceSettingsProvider implements Provider<ComplianceSettings> {
+
+    private final ComplianceSettings settings;
+
+    @Inject
+    public ComplianceSettingsProvider(Configuration config) {
+        String engineName = config.getString(ConfigProperties.COMPLIANCE_ENGINE);
+
+        ComplianceRules.Engine engine;
+        try {
+            engine = ComplianceRules.Engine.fromName(engineName);
+        }
+        catch (IllegalArgumentException e) {
+            String msg = String.format("Invalid value for %s: %s; must be one of JS or NATIVE",
+                ConfigProperties.COMPLIANCE_ENGINE, engineName);
+
+            throw new ConfigurationException(msg, e);
+        }
+
+        int shadowPercentage = config.getInt(ConfigProperties.COMPLIANCE_SHADOW_PERCENTAGE);
+        if (shadowPercentage < 0 || shadowPercentage > 100) {
+            throw new ConfigurationException(ConfigProperties.COMPLIANCE_SHADOW_PERCENTAGE +
+                " must be between 0 and 100: " + shadowPercentage);
+        }
+
+        this.settings = new ComplianceSettings(engine, shadowPercentage);
+    }
+
+    @Override
+    public ComplianceSettings get() {
+        return this.settings;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import org.candlepin.dto.api.server.v1.DateRange;
+import org.candlepin.model.Entitlement;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+
+/**
+ * Compares the compliance statuses calculated by the two compliance engines for the same consumer,
+ * listing every difference between the two. Entitlements are compared by ID, as the statuses of the
+ * two engines do not share entitlement instances, and reason messages are ignored, as they are
+ * generated after the status is calculated.
+ */
+final class ComplianceStatusDiff {
+
+    private ComplianceStatusDiff() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Lists the differences between the compliance status calculated by the rules and the status
+     * calculated by the native engine.
+     *
+     * @param jsStatus
+     *  the compliance status calculated by the rules
+     *
+     * @param nativeStatus
+     *  the compliance status calculated by the native engine
+     *
+     * @return
+     *  a list describing each difference between the two statuses; empty if the statuses are
+     *  equivalent
+     */
+    static List<String> compare(ComplianceStatus jsStatus, ComplianceStatus nativeStatus) {
+        List<String> differences = new ArrayList<>();
+
+        compare(differences, "status", jsStatus.getStatus(), nativeStatus.getStatus());
+        compare(differences, "non-compliant products", new TreeSet<>(jsStatus.getNonCompliantProducts()),
+            new TreeSet<>(nativeStatus.getNonCompliantProducts()));
+        compare(differences, "compliant products", entitlementIds(jsStatus.getCompliantProducts()),
+            entitlementIds(nativeStatus.getCompliantProducts()));
+        compare(differences, "partially compliant products",
+            entitlementIds(jsStatus.getPartiallyCompliantProducts()),
+            entitlementIds(nativeStatus.getPartiallyCompliantProducts()));
+        compare(differences, "partial stacks", entitlementIds(jsStatus.getPartialStacks()),
+            entitlementIds(nativeStatus.getPartialStacks()));
+        compare(differences, "reasons", reasons(jsStatus.getReasons()), reasons(nativeStatus.getReasons()));
+        compare(differences, "compliant until", instant(jsStatus.getCompliantUntil()),
+            instant(nativeStatus.getCompliantUntil()));
+        compare(differences, "product compliance date ranges",
+            dateRanges(jsStatus.getProductComplianceDateRanges()),
+            dateRanges(nativeStatus.getProductComplianceDateRanges()));
+
+        return differences;
+    }
+
+    private static void compare(List<String> differences, String field, Object jsValue, Object nativeValue) {
+        if (!Objects.equals(jsValue, nativeValue)) {
+            differences.add(String.format("%s: js=%s, native=%s", field, jsValue, nativeValue));
+        }
+    }
+
+    private static Map<String, Set<String>> entitlementIds(Map<String, Set<Entitlement>> source) {
+        Map<String, Set<String>> output = new TreeMap<>();
+        if (source != null) {
+            source.forEach((key, entitlements) -> {
+                Set<String> ids = new TreeSet<>();
+                if (entitlements != null) {
+                    entitlements.stream()
+                        .filter(Objects::nonNull)
+                        .map(Entitlement::getId)
+                        .forEach(ids::add);
+                }
+
+                output.put(key, ids);
+            });
+        }
+
+        return output;
+    }
+
+    private static List<String> reasons(Collection<ComplianceReason> reasons) {
+        List<String> output = new ArrayList<>();
+        if (reasons != null) {
+            for (ComplianceReason reason : reasons) {
+                Map<String, String> attributes = reason.getAttributes() != null ?
+                    new TreeMap<>(reason.getAttributes()) :
+                    Map.of();
+
+                output.add(reason.getKey() + attributes);
+            }
+        }
+
+        output.sort(null);
+        return output;
+    }
+
+    private static Map<String, List<Instant>> dateRanges(Map<String, DateRange> ranges) {
+        Map<String, List<Instant>> output = new TreeMap<>();
+        if (ranges != null) {
+            ranges.forEach((pid, range) -> output.put(pid, range == null ? null :
+                Arrays.asList(instant(range.getStartDate()), instant(range.getEndDate()))));
+        }
+
+        return output;
+    }
+
+    private static Instant instant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static Instant instant(OffsetDateTime date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+}
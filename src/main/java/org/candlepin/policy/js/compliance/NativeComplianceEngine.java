@@ -0,0 +1,1190 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import org.candlepin.dto.api.server.v1.DateRange;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerInstalledProduct;
+import org.candlepin.model.ConsumerType;
+import org.candlepin.model.ConsumerTypeCurator;
+import org.candlepin.model.Entitlement;
+import org.candlepin.model.GuestId;
+import org.candlepin.model.Pool;
+import org.candlepin.model.Product;
+import org.candlepin.util.Util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import jakarta.inject.Inject;
+
+
+
+/**
+ * A native implementation of the compliance namespace of the rules file, which calculates the
+ * compliance status of a consumer directly from its entitlements rather than by executing the rules
+ * in the JavaScript engine.
+ * <p>
+ * The calculations mirror those of the rules: stacking, the sockets, cores, RAM, vCPU and storage
+ * band limits, architecture restrictions, guest limits, unmapped guest entitlements, and the
+ * compliant-until and product compliance date range calculations. Attribute and fact values are
+ * coerced the same way the rules coerce them, so both implementations arrive at the same status,
+ * reasons and dates for the same input. Any change to the compliance namespace of the rules must be
+ * reflected here.
+ */
+public class NativeComplianceEngine {
+    private static final Logger log = LoggerFactory.getLogger(NativeComplianceEngine.class);
+
+    private static final String STORAGE_BAND_ATTRIBUTE = "storage_band";
+
+    private static final String GUEST_VIRT_WHO_TYPE = "virtWhoType";
+    private static final String GUEST_ACTIVE = "active";
+    private static final String LIBVIRT = "libvirt";
+
+    private static final String SOURCE_STACK = "STACK";
+    private static final String SOURCE_ENTITLEMENT = "ENTITLEMENT";
+
+    /** Attributes checked when determining the coverage of a physical consumer */
+    private static final List<String> PHYSICAL_ATTRIBUTES = List.of(Product.Attributes.SOCKETS,
+        Product.Attributes.CORES, Product.Attributes.RAM, Product.Attributes.ARCHITECTURE,
+        Product.Attributes.GUEST_LIMIT, STORAGE_BAND_ATTRIBUTE);
+
+    /** Attributes checked when determining the coverage of a virtual guest */
+    private static final List<String> VIRT_ATTRIBUTES = List.of(Product.Attributes.VCPU,
+        Product.Attributes.RAM, Product.Attributes.ARCHITECTURE, Product.Attributes.GUEST_LIMIT,
+        STORAGE_BAND_ATTRIBUTE);
+
+    /** Attributes which are not checked for guests using host restricted pools */
+    private static final Set<String> UNCHECKED_WHEN_HOST_RESTRICTED = Set.of(Product.Attributes.RAM,
+        Product.Attributes.VCPU);
+
+    /** The consumer facts compared against each product attribute */
+    private static final Map<String, String> ATTRIBUTE_FACTS = Map.of(
+        Product.Attributes.SOCKETS, Consumer.Facts.CPU_SOCKETS,
+        Product.Attributes.CORES, Consumer.Facts.CPU_CORES_PER_SOCKET,
+        Product.Attributes.ARCHITECTURE, Consumer.Facts.ARCHITECTURE,
+        Product.Attributes.RAM, Consumer.Facts.MEMORY_MEMTOTAL,
+        Product.Attributes.VCPU, Consumer.Facts.CPU_CORES_PER_SOCKET,
+        STORAGE_BAND_ATTRIBUTE, Consumer.Facts.BAND_STORAGE_USAGE);
+
+    private static final Pattern DECIMAL_LITERAL =
+        Pattern.compile("[+-]?(?:(?:\\d+\\.?\\d*|\\.\\d+)(?:[eE][+-]?\\d+)?|Infinity)");
+
+    private final ConsumerTypeCurator consumerTypeCurator;
+
+    @Inject
+    public NativeComplianceEngine(ConsumerTypeCurator consumerTypeCurator) {
+        this.consumerTypeCurator = Objects.requireNonNull(consumerTypeCurator);
+    }
+
+    /**
+     * Calculates the compliance status of the given consumer on the given date. The reasons of the
+     * returned status carry their reason key as their message; translated messages are left to the
+     * caller.
+     *
+     * @param consumer
+     *  the consumer for which to calculate the compliance status
+     *
+     * @param entitlements
+     *  the entitlements to consider, typically the consumer's entitlements
+     *
+     * @param date
+     *  the date on which to check the compliance status
+     *
+     * @param calculateCompliantUntil
+     *  whether or not to calculate the date until which the consumer remains compliant
+     *
+     * @param calculateProductComplianceDateRanges
+     *  whether or not to calculate the compliance date ranges of each installed product
+     *
+     * @throws IllegalArgumentException
+     *  if consumer or date is null
+     *
+     * @return
+     *  the compliance status of the consumer on the given date
+     */
+    public ComplianceStatus getStatus(Consumer consumer, Collection<Entitlement> entitlements, Date date,
+        boolean calculateCompliantUntil, boolean calculateProductComplianceDateRanges) {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer is null");
+        }
+
+        if (date == null) {
+            throw new IllegalArgumentException("date is null");
+        }
+
+        ConsumerView cview = new ConsumerView(consumer);
+        List<EntitlementView> eviews = this.buildViews(cview, entitlements);
+        long ondate = date.getTime();
+
+        DateStatus status = this.getStatusOnDate(cview, eviews, ondate);
+
+        ComplianceStatus output = new ComplianceStatus(date);
+        status.nonCompliantProducts.forEach(output::addNonCompliantProduct);
+        status.compliantProducts.forEach((pid, ents) -> ents
+            .forEach(ent -> output.addCompliantProduct(pid, ent.entitlement)));
+        status.partiallyCompliantProducts.forEach((pid, ents) -> ents
+            .forEach(ent -> output.addPartiallyCompliantProduct(pid, ent.entitlement)));
+        status.partialStacks.forEach((stackId, ents) -> ents
+            .forEach(ent -> output.addPartialStack(stackId, ent.entitlement)));
+        output.setReasons(new HashSet<>(status.reasons));
+
+        if (status.isCompliant() && calculateCompliantUntil && !eviews.isEmpty()) {
+            Long compliantUntil = this.getCompliantUntil(cview, eviews, ondate);
+            output.setCompliantUntil(compliantUntil != null ? new Date(compliantUntil) : null);
+        }
+
+        if (status.isPartiallyCompliant() && calculateProductComplianceDateRanges && !eviews.isEmpty()) {
+            this.getProductComplianceDateRanges(cview, eviews, ondate, status)
+                .forEach(output::addProductComplianceDateRange);
+        }
+
+        return output;
+    }
+
+    /**
+     * Checks whether or not the given entitlements cover the consumer for the specified stack.
+     *
+     * @param consumer
+     *  the consumer to check
+     *
+     * @param stackId
+     *  the ID of the stack to check
+     *
+     * @param entitlements
+     *  the entitlements to consider
+     *
+     * @return
+     *  true if the stack covers the consumer; false otherwise
+     */
+    public boolean isStackCompliant(Consumer consumer, String stackId, Collection<Entitlement> entitlements) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer is null");
+        }
+
+        ConsumerView cview = new ConsumerView(consumer);
+        List<EntitlementView> eviews = this.buildViews(cview, entitlements);
+
+        return this.getStackCoverage(cview, stackId, eviews).isEmpty();
+    }
+
+    /**
+     * Checks whether or not the given entitlement covers the consumer on its own.
+     *
+     * @param consumer
+     *  the consumer to check
+     *
+     * @param entitlement
+     *  the entitlement to check
+     *
+     * @param entitlements
+     *  the entitlements of the consumer, used to resolve attributes which apply across all of the
+     *  consumer's entitlements, such as the guest limit
+     *
+     * @return
+     *  true if the entitlement covers the consumer; false otherwise
+     */
+    public boolean isEntitlementCompliant(Consumer consumer, Entitlement entitlement,
+        Collection<Entitlement> entitlements) {
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer is null");
+        }
+
+        if (entitlement == null) {
+            throw new IllegalArgumentException("entitlement is null");
+        }
+
+        ConsumerView cview = new ConsumerView(consumer);
+        List<EntitlementView> eviews = this.buildViews(cview, entitlements);
+
+        return this.getEntitlementCoverage(cview, new EntitlementView(cview, entitlement), eviews).isEmpty();
+    }
+
+    private List<EntitlementView> buildViews(ConsumerView consumer, Collection<Entitlement> entitlements) {
+        if (entitlements == null) {
+            return List.of();
+        }
+
+        List<EntitlementView> views = new ArrayList<>(entitlements.size());
+        for (Entitlement entitlement : entitlements) {
+            views.add(new EntitlementView(consumer, entitlement));
+        }
+
+        return views;
+    }
+
+    /**
+     * Checks the compliance status of the consumer on the given date. Mirrors the
+     * getComplianceStatusOnDate function of the rules.
+     */
+    private DateStatus getStatusOnDate(ConsumerView consumer, List<EntitlementView> entitlements, long ondate) {
+        DateStatus status = new DateStatus();
+
+        // Track the stacks we've already checked to save some time
+        Set<String> compliantStackIds = new HashSet<>();
+        Set<String> nonCompliantStackIds = new HashSet<>();
+
+        List<EntitlementView> entitlementsOnDate = new ArrayList<>();
+        for (EntitlementView entitlement : entitlements) {
+            if (entitlement.startDate <= ondate && entitlement.endDate >= ondate) {
+                entitlementsOnDate.add(entitlement);
+            }
+        }
+
+        for (EntitlementView entitlement : entitlementsOnDate) {
+            List<String> relevantProductIds = new ArrayList<>();
+            for (String pid : consumer.installedProductIds) {
+                if (entitlement.provides(pid)) {
+                    relevantProductIds.add(pid);
+                }
+            }
+
+            boolean partiallyStacked = false;
+
+            if (entitlement.stacked) {
+                String stackId = entitlement.stackId;
+
+                if (nonCompliantStackIds.contains(stackId)) {
+                    partiallyStacked = true;
+                    status.addPartialStack(stackId, entitlement);
+                }
+                else if (!compliantStackIds.contains(stackId)) {
+                    List<ComplianceReason> reasons = this.getStackCoverage(consumer, stackId,
+                        entitlementsOnDate);
+
+                    if (!reasons.isEmpty()) {
+                        partiallyStacked = true;
+                        status.addPartialStack(stackId, entitlement);
+                        nonCompliantStackIds.add(stackId);
+                        status.reasons.addAll(reasons);
+                    }
+                    else {
+                        compliantStackIds.add(stackId);
+                    }
+                }
+            }
+
+            // An unstacked entitlement which does not cover the consumer makes it partially compliant,
+            // even if it does not provide any installed products
+            List<ComplianceReason> entitlementReasons = null;
+            if (!entitlement.stacked) {
+                entitlementReasons = this.getEntitlementCoverage(consumer, entitlement, entitlementsOnDate);
+
+                if (relevantProductIds.isEmpty()) {
+                    status.reasons.addAll(entitlementReasons);
+                }
+            }
+
+            // Entitlements from pools for unmapped guests can only ever make the consumer partially
+            // compliant
+            if ("true".equalsIgnoreCase(entitlement.getAttributeString(Pool.Attributes.UNMAPPED_GUESTS_ONLY))) {
+                status.reasons.add(buildUnmappedEntitlementReason(entitlement.id));
+            }
+
+            for (String pid : relevantProductIds) {
+                if (partiallyStacked) {
+                    status.addPartiallyCompliantProduct(pid, entitlement);
+                }
+                else if (entitlementReasons != null && !entitlementReasons.isEmpty()) {
+                    // The rules add the entitlement's reasons once for every product it provides
+                    status.addPartiallyCompliantProduct(pid, entitlement);
+                    entitlementReasons.forEach(reason -> status.reasons.add(copyReason(reason)));
+                }
+                else {
+                    status.addCompliantProduct(pid, entitlement);
+                }
+            }
+        }
+
+        // Products provided by a regular entitlement are compliant, even if they are also provided by a
+        // partial stack. The stack itself remains in the partial stacks, as it should be repaired.
+        status.partiallyCompliantProducts.keySet().removeAll(status.compliantProducts.keySet());
+
+        for (String pid : consumer.installedProductIds) {
+            if (!status.compliantProducts.containsKey(pid) &&
+                !status.partiallyCompliantProducts.containsKey(pid)) {
+
+                status.nonCompliantProducts.add(pid);
+                status.reasons.add(buildInstalledProductReason(pid));
+            }
+        }
+
+        return status;
+    }
+
+    /**
+     * Determines the date until which the consumer remains compliant, or null if the consumer remains
+     * compliant beyond the end of its entitlements. Mirrors the determineCompliantUntilDate function of
+     * the rules.
+     */
+    private Long getCompliantUntil(ConsumerView consumer, List<EntitlementView> entitlements, long startDate) {
+        if (consumer.installedProductIds.isEmpty()) {
+            return null;
+        }
+
+        List<Long> dates = new ArrayList<>();
+        for (EntitlementView entitlement : entitlements) {
+            for (String pid : consumer.installedProductIds) {
+                if (entitlement.provides(pid)) {
+                    dates.add(entitlement.endDate);
+                    break;
+                }
+            }
+        }
+
+        Collections.sort(dates);
+
+        long lastDate = startDate;
+        for (long date : dates) {
+            // Ignore past dates and duplicates
+            if (date <= lastDate) {
+                continue;
+            }
+
+            // Check whether we're still compliant a second after the end date. As in the rules, dates
+            // within that second are skipped as well.
+            lastDate = date + 1000;
+
+            if (!this.getStatusOnDate(consumer, entitlements, lastDate).isCompliant()) {
+                return lastDate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Determines the date ranges over which each compliant or partially compliant product retains its
+     * current compliance. Mirrors the getProductComplianceDateRanges function of the rules.
+     */
+    @SuppressWarnings("checkstyle:methodlength")
+    private Map<String, DateRange> getProductComplianceDateRanges(ConsumerView consumer,
+        List<EntitlementView> entitlements, long ondate, DateStatus current) {
+
+        if (consumer.installedProductIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> dates = new ArrayList<>();
+        for (EntitlementView entitlement : entitlements) {
+            dates.add(entitlement.startDate);
+            dates.add(entitlement.endDate);
+        }
+
+        Collections.sort(dates);
+        int dateCount = dates.size();
+
+        // Find the first date in the future. The current status is at least partially compliant, so
+        // at least one entitlement has started by now.
+        int nextDate = -1;
+        for (int i = dateCount - 1; i >= 0; --i) {
+            if (dates.get(i) <= ondate) {
+                nextDate = i + 1;
+                break;
+            }
+        }
+
+        List<String> pids = new ArrayList<>();
+        for (String pid : consumer.installedProductIds) {
+            if (!current.nonCompliantProducts.contains(pid)) {
+                pids.add(pid);
+            }
+        }
+
+        Map<String, Long> startDates = new HashMap<>();
+        Map<String, Long> endDates = new HashMap<>();
+
+        if (!pids.isEmpty() && nextDate >= 0) {
+            // Find start dates
+            long lastValidDate = ondate;
+
+            for (int i = nextDate - 1; i >= 0 && startDates.size() < pids.size(); --i) {
+                // As in the rules, a millisecond is added to the date to move just outside the range of
+                // the entitlement from which an end date came, to avoid bridging gaps in coverage.
+                DateStatus status = this.getStatusOnDate(consumer, entitlements, dates.get(i) + 1);
+
+                for (String pid : pids) {
+                    if (!startDates.containsKey(pid) && (status.nonCompliantProducts.contains(pid) ||
+                        (current.isCompliant(pid) && !status.isCompliant(pid)) ||
+                        (current.isPartiallyCompliant(pid) && !status.isPartiallyCompliant(pid)))) {
+
+                        startDates.put(pid, lastValidDate);
+                    }
+                }
+
+                lastValidDate = dates.get(i);
+            }
+
+            // Find end dates
+            for (int i = nextDate; i < dateCount && endDates.size() < pids.size(); ++i) {
+                DateStatus status = this.getStatusOnDate(consumer, entitlements, dates.get(i) + 1);
+
+                for (String pid : pids) {
+                    if (!endDates.containsKey(pid) && (status.nonCompliantProducts.contains(pid) ||
+                        (current.isCompliant(pid) && !status.isCompliant(pid)) ||
+                        (current.isPartiallyCompliant(pid) && !status.isPartiallyCompliant(pid) &&
+                        !status.isCompliant(pid)))) {
+
+                        endDates.put(pid, dates.get(i));
+                    }
+                }
+            }
+        }
+
+        // Products which remained valid through the ends of our date ranges use the extremes
+        Map<String, DateRange> ranges = new HashMap<>();
+        for (String pid : pids) {
+            DateRange range = new DateRange();
+            range.setStartDate(Util.toDateTime(new Date(startDates.getOrDefault(pid, dates.get(0)))));
+            range.setEndDate(Util.toDateTime(new Date(endDates.getOrDefault(pid, dates.get(dateCount - 1)))));
+
+            ranges.put(pid, range);
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Determines the reasons the entitlements of the given stack do not cover the consumer. Mirrors
+     * the getStackCoverage function of the rules' compliance namespace.
+     */
+    private List<ComplianceReason> getStackCoverage(ConsumerView consumer, String stackId,
+        List<EntitlementView> entitlements) {
+
+        CoverageTracker tracker = new CoverageTracker(consumer, stackId);
+
+        for (EntitlementView entitlement : entitlements) {
+            if (entitlement.stacked && Objects.equals(stackId, entitlement.stackId)) {
+                tracker.addEntitlement(entitlement);
+            }
+        }
+
+        return this.getCoverage(tracker, entitlements);
+    }
+
+    /**
+     * Determines the reasons the given entitlement does not cover the consumer on its own. Mirrors the
+     * getEntitlementCoverage function of the rules.
+     */
+    private List<ComplianceReason> getEntitlementCoverage(ConsumerView consumer, EntitlementView entitlement,
+        List<EntitlementView> entitlements) {
+
+        CoverageTracker tracker = new CoverageTracker(consumer, null);
+        tracker.addEntitlement(entitlement);
+
+        return this.getCoverage(tracker, entitlements);
+    }
+
+    /**
+     * Checks the values accumulated by the tracker against the consumer, returning the reasons for
+     * each attribute which is not covered. An empty list indicates the consumer is covered.
+     */
+    private List<ComplianceReason> getCoverage(CoverageTracker tracker, List<EntitlementView> entitlements) {
+        ConsumerView consumer = tracker.consumer;
+
+        // Global attributes are determined from all of the entitlements rather than the tracked ones
+        if (tracker.enforces(Product.Attributes.GUEST_LIMIT)) {
+            tracker.accumulated.put(Product.Attributes.GUEST_LIMIT, getGuestLimit(entitlements));
+        }
+
+        List<ComplianceReason> reasons = new ArrayList<>();
+
+        for (String attribute : consumer.complianceAttributes) {
+            if (!tracker.enforces(attribute)) {
+                continue;
+            }
+
+            ComplianceReason reason = switch (attribute) {
+                case Product.Attributes.ARCHITECTURE -> this.checkArchitecture(tracker);
+                case Product.Attributes.GUEST_LIMIT -> this.checkGuestLimit(tracker);
+                default -> this.checkQuantity(tracker, attribute);
+            };
+
+            if (reason != null) {
+                reasons.add(reason);
+            }
+        }
+
+        return reasons;
+    }
+
+    private ComplianceReason checkArchitecture(CoverageTracker tracker) {
+        ConsumerView consumer = tracker.consumer;
+        String consumerArch = consumer.facts.get(Consumer.Facts.ARCHITECTURE);
+
+        @SuppressWarnings("unchecked")
+        List<String> supportedArches = (List<String>) tracker.accumulated.get(Product.Attributes.ARCHITECTURE);
+
+        for (String arches : supportedArches) {
+            if (!this.architectureMatches(arches, consumerArch, consumer)) {
+                return buildReason(Product.Attributes.ARCHITECTURE, tracker, consumerArch, arches);
+            }
+        }
+
+        return null;
+    }
+
+    private boolean architectureMatches(String productArches, String consumerArch, ConsumerView consumer) {
+        // Non-system consumers without an architecture fact are covered regardless of the product's
+        // architecture
+        if ((consumerArch == null || consumerArch.isEmpty()) &&
+            !ConsumerType.ConsumerTypeEnum.SYSTEM.getLabel().equals(consumer.getTypeLabel())) {
+            return true;
+        }
+
+        if (productArches == null) {
+            return true;
+        }
+
+        List<String> supported = new ArrayList<>(List.of(productArches.toUpperCase(Locale.ROOT).split(",", -1)));
+
+        // If x86 is supported, all of its variants are as well
+        if (supported.contains("X86")) {
+            supported.add("I386");
+            supported.add("I586");
+            supported.add("I686");
+        }
+
+        return supported.contains("ALL") || (consumerArch != null && !consumerArch.isEmpty() &&
+            supported.contains(consumerArch.toUpperCase(Locale.ROOT)));
+    }
+
+    private ComplianceReason checkGuestLimit(CoverageTracker tracker) {
+        double guests = tracker.consumer.activeGuestCount;
+        Object limit = tracker.accumulated.get(Product.Attributes.GUEST_LIMIT);
+
+        // A guest limit of -1 is unlimited
+        boolean covered = (limit instanceof Double value && value == -1) || parseInt(limit) >= guests;
+
+        return covered ? null : buildReason(Product.Attributes.GUEST_LIMIT, tracker, guests, limit);
+    }
+
+    private ComplianceReason checkQuantity(CoverageTracker tracker, String attribute) {
+        Object consumerValue = tracker.consumer.getFactValue(attribute);
+        Object coveredValue = tracker.accumulated.get(attribute);
+
+        boolean covered = parseInt(coveredValue) >= toNumber(consumerValue);
+
+        return covered ? null : buildReason(attribute, tracker, consumerValue, coveredValue);
+    }
+
+    /**
+     * Determines the guest limit provided by a set of entitlements: unlimited (-1) if any entitlement
+     * provides an unlimited guest limit, the largest of the limits otherwise, or null if none of the
+     * entitlements carry a guest limit.
+     */
+    private static Double getGuestLimit(List<EntitlementView> entitlements) {
+        Double limit = null;
+
+        for (EntitlementView entitlement : entitlements) {
+            Object value = entitlement.getProductAttribute(Product.Attributes.GUEST_LIMIT);
+            if (value == null) {
+                continue;
+            }
+
+            if (limit == null) {
+                limit = 0.0;
+            }
+
+            double parsed = parseInt(value);
+            if (parsed == -1) {
+                return parsed;
+            }
+
+            if (parsed > limit) {
+                limit = parsed;
+            }
+        }
+
+        return limit;
+    }
+
+    private static ComplianceReason buildReason(String attribute, CoverageTracker tracker, Object has,
+        Object covered) {
+
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(ComplianceReason.Attributes.PRESENT, toJsonString(has));
+        attributes.put(ComplianceReason.Attributes.COVERED, toJsonString(covered));
+        attributes.put(SOURCE_STACK.equals(tracker.type) ? ComplianceReason.Attributes.STACKING_ID :
+            ComplianceReason.Attributes.ENTITLEMENT_ID, tracker.id);
+
+        return buildReason(attribute.toUpperCase(Locale.ROOT), attributes);
+    }
+
+    private static ComplianceReason buildInstalledProductReason(String productId) {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(ComplianceReason.Attributes.PRODUCT_ID, productId);
+
+        return buildReason(ComplianceReason.ReasonKeys.NOT_COVERED, attributes);
+    }
+
+    private static ComplianceReason buildUnmappedEntitlementReason(String entitlementId) {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(ComplianceReason.Attributes.ENTITLEMENT_ID, entitlementId);
+
+        return buildReason(ComplianceReason.ReasonKeys.UNMAPPED_GUEST, attributes);
+    }
+
+    private static ComplianceReason buildReason(String key, Map<String, String> attributes) {
+        ComplianceReason reason = new ComplianceReason();
+        reason.setKey(key);
+        reason.setMessage(key);
+        reason.setAttributes(attributes);
+
+        return reason;
+    }
+
+    private static ComplianceReason copyReason(ComplianceReason reason) {
+        return buildReason(reason.getKey(), new HashMap<>(reason.getAttributes()));
+    }
+
+    // The rules operate on loosely typed values; the following methods apply the same coercions the
+    // rules apply to attribute and fact values, so values such as "4GB", "" or "0x10" are treated the
+    // same way by both implementations. Numeric values are represented as doubles.
+
+    /**
+     * Converts the given value to a number the way JavaScript's parseInt does: leading whitespace is
+     * ignored, a leading integer is parsed, and NaN is returned if there is none.
+     */
+    static double parseInt(Object value) {
+        if (value instanceof Double number) {
+            if (number.isNaN() || number.isInfinite()) {
+                return Double.NaN;
+            }
+
+            value = formatNumber(number);
+        }
+
+        if (!(value instanceof String str)) {
+            return Double.NaN;
+        }
+
+        int idx = skipWhitespace(str, 0);
+        double sign = 1;
+
+        if (idx < str.length() && (str.charAt(idx) == '-' || str.charAt(idx) == '+')) {
+            sign = str.charAt(idx) == '-' ? -1 : 1;
+            ++idx;
+        }
+
+        int radix = 10;
+        if (str.startsWith("0x", idx) || str.startsWith("0X", idx)) {
+            radix = 16;
+            idx += 2;
+        }
+
+        double result = 0;
+        int start = idx;
+
+        for (; idx < str.length(); ++idx) {
+            int digit = Character.digit(str.charAt(idx), radix);
+            if (digit < 0 || str.charAt(idx) > 'z') {
+                break;
+            }
+
+            result = result * radix + digit;
+        }
+
+        return idx > start ? sign * result : Double.NaN;
+    }
+
+    /**
+     * Converts the given value to a number the way JavaScript converts the operands of arithmetic and
+     * relational operators.
+     */
+    static double toNumber(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof Double number) {
+            return number;
+        }
+
+        String str = value.toString();
+        int start = skipWhitespace(str, 0);
+        int end = str.length();
+
+        while (end > start && isWhitespace(str.charAt(end - 1))) {
+            --end;
+        }
+
+        str = str.substring(start, end);
+
+        if (str.isEmpty()) {
+            return 0;
+        }
+
+        if (str.startsWith("0x") || str.startsWith("0X")) {
+            double result = 0;
+
+            for (int idx = 2; idx < str.length(); ++idx) {
+                int digit = Character.digit(str.charAt(idx), 16);
+                if (digit < 0 || str.charAt(idx) > 'z') {
+                    return Double.NaN;
+                }
+
+                result = result * 16 + digit;
+            }
+
+            return str.length() > 2 ? result : Double.NaN;
+        }
+
+        return DECIMAL_LITERAL.matcher(str).matches() ? Double.parseDouble(str) : Double.NaN;
+    }
+
+    /**
+     * Converts the given value to a 32-bit integer the way JavaScript's bitwise operators do.
+     */
+    static double toInt32(Object value) {
+        double number = value instanceof Double ? (Double) value : 0;
+        return Double.isNaN(number) || Double.isInfinite(number) ? 0 : (int) (long) number;
+    }
+
+    /**
+     * Formats the given number the way JavaScript converts numbers to strings.
+     */
+    static String formatNumber(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Infinity" : "-Infinity";
+        }
+
+        if (value == 0) {
+            return "0";
+        }
+
+        // The shortest representation which uniquely identifies the value, as in JavaScript
+        BigDecimal decimal = new BigDecimal(Double.toString(value)).stripTrailingZeros();
+        double magnitude = Math.abs(value);
+
+        if (magnitude >= 1e-6 && magnitude < 1e21) {
+            return decimal.toPlainString();
+        }
+
+        String digits = decimal.unscaledValue().abs().toString();
+        int exponent = digits.length() - 1 - decimal.scale();
+
+        StringBuilder builder = new StringBuilder();
+        if (value < 0) {
+            builder.append('-');
+        }
+
+        builder.append(digits.charAt(0));
+        if (digits.length() > 1) {
+            builder.append('.').append(digits, 1, digits.length());
+        }
+
+        return builder.append('e')
+            .append(exponent < 0 ? '-' : '+')
+            .append(Math.abs(exponent))
+            .toString();
+    }
+
+    /**
+     * Converts the given value to the string it would be read as after being serialized to JSON by
+     * the rules; non-finite numbers are serialized as null.
+     */
+    private static String toJsonString(Object value) {
+        if (value instanceof Double number) {
+            return number.isNaN() || number.isInfinite() ? null : formatNumber(number);
+        }
+
+        return value != null ? value.toString() : null;
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value instanceof Double number) {
+            return number != 0 && !number.isNaN();
+        }
+
+        return value != null && !value.toString().isEmpty();
+    }
+
+    private static int skipWhitespace(String str, int idx) {
+        while (idx < str.length() && isWhitespace(str.charAt(idx))) {
+            ++idx;
+        }
+
+        return idx;
+    }
+
+    private static boolean isWhitespace(char chr) {
+        return chr == '\t' || chr == '\n' || chr == '\u000B' || chr == '\f' || chr == '\r' || chr == '\uFEFF' ||
+            Character.isSpaceChar(chr);
+    }
+
+    /**
+     * The consumer data used by the compliance calculations
+     */
+    private final class ConsumerView {
+        private final Consumer consumer;
+        private final Map<String, String> facts;
+        private final boolean guest;
+        private final List<String> complianceAttributes;
+        private final Set<String> installedProductIds;
+        private final int activeGuestCount;
+
+        private String typeLabel;
+        private boolean typeResolved;
+
+        private ConsumerView(Consumer consumer) {
+            this.consumer = consumer;
+            this.facts = consumer.getFacts() != null ? consumer.getFacts() : Map.of();
+            this.guest = "true".equalsIgnoreCase(this.facts.get(Consumer.Facts.VIRT_IS_GUEST));
+            this.complianceAttributes = this.guest ? VIRT_ATTRIBUTES : PHYSICAL_ATTRIBUTES;
+
+            this.installedProductIds = new LinkedHashSet<>();
+            if (consumer.getInstalledProducts() != null) {
+                for (ConsumerInstalledProduct installed : consumer.getInstalledProducts()) {
+                    if (installed != null && installed.getProductId() != null) {
+                        this.installedProductIds.add(installed.getProductId());
+                    }
+                }
+            }
+
+            int active = 0;
+            if (consumer.getGuestIds() != null) {
+                for (GuestId guestId : consumer.getGuestIds()) {
+                    Map<String, String> attributes = guestId.getAttributes();
+
+                    // Only qemu/kvm guests report whether or not they are active
+                    if (attributes != null && LIBVIRT.equals(attributes.get(GUEST_VIRT_WHO_TYPE)) &&
+                        "1".equals(attributes.get(GUEST_ACTIVE))) {
+                        ++active;
+                    }
+                }
+            }
+
+            this.activeGuestCount = active;
+        }
+
+        /**
+         * Fetches the label of the consumer's type. The type is only needed to check the architecture
+         * of consumers which do not report one, so it is looked up on demand.
+         */
+        private String getTypeLabel() {
+            if (!this.typeResolved) {
+                if (this.consumer.getTypeId() != null) {
+                    ConsumerType type = consumerTypeCurator.getConsumerType(this.consumer);
+                    this.typeLabel = type != null ? type.getLabel() : null;
+                }
+
+                this.typeResolved = true;
+            }
+
+            return this.typeLabel;
+        }
+
+        private Object getRawFact(String attribute) {
+            String fact = this.facts.get(ATTRIBUTE_FACTS.get(attribute));
+            return fact != null && !fact.isEmpty() ? fact : (Object) 1.0;
+        }
+
+        /**
+         * Calculates the consumer value compared against the given product attribute
+         */
+        private Object getFactValue(String attribute) {
+            return switch (attribute) {
+                // RAM is reported in kilobytes, but products specify it in gigabytes
+                case Product.Attributes.RAM -> {
+                    double ram = parseInt(this.getRawFact(attribute)) / 1024 / 1024;
+                    yield Double.isNaN(ram) ? ram : Math.floor(ram + 0.5);
+                }
+
+                // Cores are reported per socket
+                case Product.Attributes.CORES ->
+                    toNumber(this.getRawFact(attribute)) * toNumber(this.getFactValue(Product.Attributes.SOCKETS));
+
+                case Product.Attributes.VCPU -> this.getFactValue(Product.Attributes.CORES);
+                case Product.Attributes.GUEST_LIMIT -> (double) this.activeGuestCount;
+                default -> this.getRawFact(attribute);
+            };
+        }
+    }
+
+    /**
+     * An entitlement, along with the pool data used by the compliance calculations
+     */
+    private static final class EntitlementView {
+        private final Entitlement entitlement;
+        private final String id;
+        private final long startDate;
+        private final long endDate;
+        private final double quantity;
+        private final Map<String, String> poolAttributes;
+        private final Map<String, String> productAttributes;
+        private final Set<String> productIds;
+        private final boolean stacked;
+        private final String stackId;
+        private final Double derivedVcpu;
+
+        private EntitlementView(ConsumerView consumer, Entitlement entitlement) {
+            this.entitlement = entitlement;
+            this.id = entitlement.getId();
+            this.startDate = entitlement.getStartDate() != null ? entitlement.getStartDate().getTime() : 0;
+            this.endDate = entitlement.getEndDate() != null ? entitlement.getEndDate().getTime() : 0;
+            this.quantity = entitlement.getQuantity() != null ? entitlement.getQuantity() : 0;
+
+            Pool pool = entitlement.getPool();
+            Product product = pool != null ? pool.getProduct() : null;
+
+            this.poolAttributes = pool != null ? pool.getAttributes() : Map.of();
+            this.productAttributes = product != null ? product.getAttributes() : Map.of();
+
+            this.productIds = new HashSet<>();
+            if (product != null) {
+                this.productIds.add(product.getId());
+
+                if (product.getProvidedProducts() != null) {
+                    for (Product provided : product.getProvidedProducts()) {
+                        this.productIds.add(provided.getId());
+                    }
+                }
+            }
+
+            // Stacking is determined by the presence of the attribute, regardless of its value
+            this.stacked = this.productAttributes.containsKey(Product.Attributes.STACKING_ID);
+            this.stackId = this.stacked ? this.getAttributeIn(this.productAttributes,
+                Product.Attributes.STACKING_ID, this.poolAttributes) : null;
+
+            // Pools without a vCPU limit use their cores limit for guests
+            Double vcpu = null;
+            if (consumer.guest && this.getAttribute(Product.Attributes.VCPU) == null &&
+                !this.poolAttributes.containsKey(Product.Attributes.VCPU)) {
+
+                Object cores = this.getAttribute(Product.Attributes.CORES);
+                if (cores != null) {
+                    double parsed = parseInt(cores);
+
+                    // Like any attribute, a vCPU limit of zero is considered unset
+                    vcpu = parsed != 0 ? parsed : null;
+                }
+            }
+
+            this.derivedVcpu = vcpu;
+        }
+
+        private boolean provides(String productId) {
+            return this.productIds.contains(productId);
+        }
+
+        private Object getPoolAttribute(String name) {
+            String value = findAttribute(this.poolAttributes, name);
+            if (value == null && this.derivedVcpu != null && Product.Attributes.VCPU.equals(name)) {
+                return this.derivedVcpu;
+            }
+
+            return value;
+        }
+
+        private Object getProductOnlyAttribute(String name) {
+            return findAttribute(this.productAttributes, name);
+        }
+
+        /**
+         * Fetches an attribute, preferring the pool's value over the product's
+         */
+        private Object getAttribute(String name) {
+            Object value = this.getPoolAttribute(name);
+            return value != null ? value : this.getProductOnlyAttribute(name);
+        }
+
+        private String getAttributeString(String name) {
+            Object value = this.getAttribute(name);
+            return value != null ? value.toString() : null;
+        }
+
+        /**
+         * Fetches an attribute, preferring the product's value over the pool's
+         */
+        private Object getProductAttribute(String name) {
+            Object value = this.getProductOnlyAttribute(name);
+            return value != null ? value : this.getPoolAttribute(name);
+        }
+
+        private String getAttributeIn(Map<String, String> primary, String name, Map<String, String> fallback) {
+            String value = findAttribute(primary, name);
+            return value != null ? value : findAttribute(fallback, name);
+        }
+
+        /**
+         * Fetches an attribute from the given attributes. As in the rules, an attribute with a value of
+         * zero is considered unset.
+         */
+        private static String findAttribute(Map<String, String> attributes, String name) {
+            String value = attributes.get(name);
+            return "0".equals(value) ? null : value;
+        }
+    }
+
+    /**
+     * Tracks the values accumulated by an entitlement or a stack of entitlements
+     */
+    private static final class CoverageTracker {
+        private final ConsumerView consumer;
+        private final String type;
+        private final Map<String, Object> accumulated;
+
+        private String id;
+        private boolean hasEntitlements;
+        private Object hostRestricted;
+
+        private CoverageTracker(ConsumerView consumer, String stackId) {
+            this.consumer = consumer;
+            this.type = stackId != null ? SOURCE_STACK : SOURCE_ENTITLEMENT;
+            this.id = stackId;
+            this.accumulated = new HashMap<>();
+        }
+
+        /**
+         * Checks whether or not the tracker enforces the given attribute; that is, whether or not any
+         * of its entitlements provide the attribute.
+         */
+        private boolean enforces(String attribute) {
+            // Guests are not subject to RAM or vCPU limits when using host restricted pools
+            if (this.hostRestricted != null && this.consumer.guest &&
+                UNCHECKED_WHEN_HOST_RESTRICTED.contains(attribute)) {
+                return false;
+            }
+
+            return this.accumulated.containsKey(attribute);
+        }
+
+        private void addEntitlement(EntitlementView entitlement) {
+            if (SOURCE_ENTITLEMENT.equals(this.type) && !this.hasEntitlements) {
+                this.id = entitlement.id;
+            }
+
+            this.hasEntitlements = true;
+
+            // Entitlements which are not stacked only count once, regardless of their quantity
+            double quantity = !entitlement.stacked && entitlement.quantity > 1 ? 1 : entitlement.quantity;
+
+            Object hostRestriction = entitlement.getAttribute(Pool.Attributes.REQUIRES_HOST);
+            if (isTruthy(hostRestriction)) {
+                this.hostRestricted = hostRestriction;
+            }
+
+            for (String attribute : this.consumer.complianceAttributes) {
+                Object value = entitlement.getProductAttribute(attribute);
+
+                if (value != null) {
+                    Object current = this.enforces(attribute) ? this.accumulated.get(attribute) : null;
+                    this.accumulated.put(attribute, accumulate(attribute, current, value, entitlement, quantity));
+                }
+            }
+        }
+
+        private static Object accumulate(String attribute, Object current, Object value,
+            EntitlementView entitlement, double quantity) {
+
+            switch (attribute) {
+                case Product.Attributes.ARCHITECTURE: {
+                    // Architectures are accumulated as a list of the comma-separated architectures of
+                    // each entitlement
+                    @SuppressWarnings("unchecked")
+                    List<String> arches = current instanceof List ? (List<String>) current : new ArrayList<>();
+                    arches.add(value.toString());
+                    return arches;
+                }
+
+                case Product.Attributes.SOCKETS: {
+                    // Use the lowest quantity evenly divisible by the instance multiplier
+                    double increment = parseInt(entitlement.getProductAttribute(
+                        Product.Attributes.INSTANCE_MULTIPLIER));
+
+                    if (Double.isNaN(increment) || increment == 0) {
+                        increment = 1;
+                    }
+
+                    double adjusted = quantity - (quantity % increment);
+                    return toInt32(current) + (parseInt(value) * adjusted) / increment;
+                }
+
+                case Product.Attributes.GUEST_LIMIT:
+                    // The value is determined from all of the consumer's entitlements; it only needs to
+                    // be enforced here
+                    return -1.0;
+
+                default:
+                    return toInt32(current) + parseInt(value) * quantity;
+            }
+        }
+    }
+
+    /**
+     * The compliance status of a consumer on a given date, keyed by the entitlement views from which
+     * it was determined
+     */
+    private static final class DateStatus {
+        private final Map<String, List<EntitlementView>> partialStacks = new LinkedHashMap<>();
+        private final Map<String, List<EntitlementView>> partiallyCompliantProducts = new LinkedHashMap<>();
+        private final Map<String, List<EntitlementView>> compliantProducts = new LinkedHashMap<>();
+        private final Set<String> nonCompliantProducts = new LinkedHashSet<>();
+        private final List<ComplianceReason> reasons = new ArrayList<>();
+
+        private void addPartialStack(String stackId, EntitlementView entitlement) {
+            this.partialStacks.computeIfAbsent(stackId, key -> new ArrayList<>()).add(entitlement);
+        }
+
+        private void addPartiallyCompliantProduct(String productId, EntitlementView entitlement) {
+            this.partiallyCompliantProducts.computeIfAbsent(productId, key -> new ArrayList<>())
+                .add(entitlement);
+        }
+
+        private void addCompliantProduct(String productId, EntitlementView entitlement) {
+            this.compliantProducts.computeIfAbsent(productId, key -> new ArrayList<>()).add(entitlement);
+        }
+
+        private boolean isCompliant() {
+            return this.nonCompliantProducts.isEmpty() && this.partiallyCompliantProducts.isEmpty();
+        }
+
+        private boolean isPartiallyCompliant() {
+            return !this.compliantProducts.isEmpty() || !this.partiallyCompliantProducts.isEmpty();
+        }
+
+        private boolean isCompliant(String productId) {
+            return this.compliantProducts.containsKey(productId);
+        }
+
+        private boolean isPartiallyCompliant(String productId) {
+            return this.partiallyCompliantProducts.containsKey(productId);
+        }
+    }
+
+}
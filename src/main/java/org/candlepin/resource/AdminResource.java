@@ -16,7 +16,10 @@ package org.candlepin.resource;
 
 import org.candlepin.audit.EventSink;
 import org.candlepin.auth.SecurityHole;
+import org.candlepin.dto.api.server.v1.QueryStatisticsDTO;
 import org.candlepin.dto.api.server.v1.QueueStatus;
+import org.candlepin.hibernate.QueryStatistics;
+import org.candlepin.metrics.MetricsRegistry;
 import org.candlepin.resource.server.v1.AdminApi;
 
 import org.slf4j.Logger;
@@ -36,10 +39,16 @@ public class AdminResource implements AdminApi {
     private static final Logger log = LoggerFactory.getLogger(AdminResource.class);
 
     private final EventSink sink;
+    private final QueryStatistics queryStatistics;
+    private final MetricsRegistry metricsRegistry;
 
     @Inject
-    public AdminResource(EventSink dispatcher) {
+    public AdminResource(EventSink dispatcher, QueryStatistics queryStatistics,
+        MetricsRegistry metricsRegistry) {
+
         this.sink = Objects.requireNonNull(dispatcher);
+        this.queryStatistics = Objects.requireNonNull(queryStatistics);
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry);
     }
 
     /**
@@ -63,4 +72,14 @@ public class AdminResource implements AdminApi {
     public List<QueueStatus> getQueueStats() {
         return sink.getQueueInfo();
     }
+
+    @Override
+    public List<QueryStatisticsDTO> getQueryStatistics() {
+        return this.queryStatistics.getStatistics();
+    }
+
+    @Override
+    public String getMetrics() {
+        return this.metricsRegistry.scrape();
+    }
 }
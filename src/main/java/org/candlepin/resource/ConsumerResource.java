@@ -133,6 +133,7 @@ import org.candlepin.pki.certs.IdentityCertificateGenerator;
 import org.candlepin.pki.certs.SCACertificateGenerator;
 import org.candlepin.policy.SystemPurposeComplianceRules;
 import org.candlepin.policy.SystemPurposeComplianceStatus;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
 import org.candlepin.policy.js.compliance.ComplianceRules;
 import org.candlepin.policy.js.compliance.ComplianceStatus;
 import org.candlepin.policy.js.compliance.hash.ComplianceFacts;
@@ -144,6 +145,7 @@ import org.candlepin.resource.util.CalculatedAttributesUtil;
 import org.candlepin.resource.util.ConsumerBindUtil;
 import org.candlepin.resource.util.ConsumerCloudDataBuilder;
 import org.candlepin.resource.util.ConsumerEnricher;
+import org.candlepin.resource.util.ConsumerListProjection;
 import org.candlepin.resource.util.ConsumerTypeValidator;
 import org.candlepin.resource.util.EntitlementEnvironmentFilter;
 import org.candlepin.resource.util.EnvironmentUpdates;
@@ -247,6 +249,7 @@ public class ConsumerResource implements ConsumerApi {
     private final ActivationKeyCurator activationKeyCurator;
     private final Entitler entitler;
     private final ComplianceRules complianceRules;
+    private final BulkComplianceCalculator bulkComplianceCalculator;
     private final SystemPurposeComplianceRules systemPurposeComplianceRules;
     private final DeletedConsumerCurator deletedConsumerCurator;
     private final EnvironmentCurator environmentCurator;
@@ -320,7 +323,8 @@ public class ConsumerResource implements ConsumerApi {
         OwnerServiceAdapter ownerService,
         SCACertificateGenerator scaCertificateGenerator,
         AnonymousCertificateGenerator anonymousCertGenerator,
-        ConsumerCloudDataBuilder consumerCloudDataBuilder) {
+        ConsumerCloudDataBuilder consumerCloudDataBuilder,
+        BulkComplianceCalculator bulkComplianceCalculator) {
 
         this.consumerCurator = Objects.requireNonNull(consumerCurator);
         this.consumerTypeCurator = Objects.requireNonNull(consumerTypeCurator);
@@ -366,6 +370,7 @@ public class ConsumerResource implements ConsumerApi {
         this.scaCertificateGenerator = Objects.requireNonNull(scaCertificateGenerator);
         this.anonymousCertGenerator = Objects.requireNonNull(anonymousCertGenerator);
         this.consumerCloudDataBuilder = Objects.requireNonNull(consumerCloudDataBuilder);
+        this.bulkComplianceCalculator = Objects.requireNonNull(bulkComplianceCalculator);
 
         this.entitlementEnvironmentFilter = new EntitlementEnvironmentFilter(
             entitlementCurator, environmentContentCurator);
@@ -728,9 +733,13 @@ public class ConsumerResource implements ConsumerApi {
             }
         }
 
+        // Only load the consumer data which will be rendered in the response
+        ConsumerListProjection projection = ConsumerListProjection.fromRequest();
+        projection.applyTo(queryArgs);
+
         try {
             return this.consumerCurator.findConsumers(queryArgs).stream()
-                .map(this.translator.getStreamMapper(Consumer.class, ConsumerDTOArrayElement.class));
+                .map(projection.getMapper(this.translator));
         }
         catch (InvalidOrderKeyException e) {
             throw new BadRequestException(e.getMessage(), e);
@@ -2082,9 +2091,8 @@ public class ConsumerResource implements ConsumerApi {
             log.debug("Facts not included in this consumer update, skipping update.");
             return false;
         }
-        else if (!existing.factsAreEqual(incomingFacts)) {
-            log.info("Updating facts.");
-            existing.setFacts(incomingFacts);
+        else if (existing.updateFacts(incomingFacts)) {
+            log.info("Updated facts.");
             return true;
         }
         return false;
@@ -2162,9 +2170,20 @@ public class ConsumerResource implements ConsumerApi {
             return;
         }
 
+        if (Consumer.NO_ENTITLED_HOST.equals(guest.getEntitledHost())) {
+            // None of the guest's entitlements are restricted to a host or for unmapped guests
+            return;
+        }
+
         String guestVirtUuid = guest.getFact(Consumer.Facts.VIRT_UUID);
 
         Consumer host = consumerCurator.getHost(guestVirtUuid, guest.getOwnerId());
+        if (host == null || host.getUuid().equals(guest.getEntitledHost())) {
+            // Without a known host nothing is revoked, and if every host-restricted entitlement
+            // requires the current host, the guest has not migrated; either way the entitlements
+            // need not be examined.
+            return;
+        }
 
         // we need to create a list of entitlements to delete before actually
         // deleting, otherwise we are tampering with the loop iterator (BZ #786730)
@@ -2200,6 +2219,10 @@ public class ConsumerResource implements ConsumerApi {
             this.poolService.revokeEntitlement(entitlement);
         }
 
+        // Record the host required by the remaining entitlements, so the next check for this host
+        // can be skipped
+        guest.updateEntitledHost();
+
         if (deletableGuestEntitlements.size() > 0) {
             // auto heal guests after revocations
             boolean hasInstalledProducts = guest.getInstalledProducts() != null &&
@@ -3359,16 +3382,25 @@ public class ConsumerResource implements ConsumerApi {
     public Map<String, ComplianceStatusDTO> getComplianceStatusList(
         @Verify(value = Consumer.class, nullable = true) List<String> uuids) {
 
-        Map<String, ComplianceStatusDTO> results = new HashMap<>();
+        Map<String, ComplianceStatusDTO> results = new LinkedHashMap<>();
 
         if (uuids != null && !uuids.isEmpty()) {
+            Map<String, Consumer> consumerMap = new HashMap<>();
             for (Consumer consumer : consumerCurator.findByUuids(uuids)) {
-                ConsumerType ctype = this.consumerTypeCurator.getConsumerType(consumer);
-                ComplianceStatus status;
+                consumerMap.put(consumer.getUuid(), consumer);
+            }
 
-                status = complianceRules.getStatus(consumer, null);
+            // Return the statuses in the order the consumers were requested
+            List<Consumer> consumers = uuids.stream()
+                .distinct()
+                .map(consumerMap::get)
+                .filter(Objects::nonNull)
+                .toList();
 
-                results.put(consumer.getUuid(), this.translator.translate(status, ComplianceStatusDTO.class));
+            List<ComplianceStatus> statuses = this.bulkComplianceCalculator.getStatuses(consumers);
+            for (int i = 0; i < consumers.size(); ++i) {
+                results.put(consumers.get(i).getUuid(),
+                    this.translator.translate(statuses.get(i), ComplianceStatusDTO.class));
             }
         }
 
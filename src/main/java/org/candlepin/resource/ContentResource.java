@@ -15,6 +15,7 @@
 package org.candlepin.resource;
 
 import org.candlepin.config.Configuration;
+import org.candlepin.database.ReadOnly;
 import org.candlepin.dto.ModelTranslator;
 import org.candlepin.dto.api.server.v1.ContentDTO;
 import org.candlepin.exceptions.BadRequestException;
@@ -177,6 +178,7 @@ public class ContentResource implements ContentApi {
 
     @Override
     @Transactional
+    @ReadOnly
     // GET /contents
     public Stream<ContentDTO> getContents(List<String> ownerKeys, List<String> contentIds,
         List<String> contentLabels, String active, String custom) {
@@ -207,6 +209,7 @@ public class ContentResource implements ContentApi {
 
     @Override
     @Transactional
+    @ReadOnly
     public ContentDTO getContentByUuid(String contentUuid) {
         Content content = this.contentCurator.get(contentUuid);
 
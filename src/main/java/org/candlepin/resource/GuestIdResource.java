@@ -34,19 +34,19 @@ import org.candlepin.model.ConsumerType;
 import org.candlepin.model.ConsumerTypeCurator;
 import org.candlepin.model.GuestId;
 import org.candlepin.model.GuestIdCurator;
-import org.candlepin.model.VirtConsumerMap;
 import org.candlepin.paging.PagingUtilFactory;
 import org.candlepin.resource.server.v1.GuestIdsApi;
 import org.candlepin.resource.util.GuestMigration;
 
 import com.google.inject.persist.Transactional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xnap.commons.i18n.I18n;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import jakarta.inject.Inject;
@@ -55,6 +55,7 @@ import jakarta.inject.Provider;
 
 
 public class GuestIdResource implements GuestIdsApi {
+    private static final Logger log = LoggerFactory.getLogger(GuestIdResource.class);
 
     private final I18n i18n;
     private final EventSink sink;
@@ -130,7 +131,14 @@ public class GuestIdResource implements GuestIdsApi {
         GuestId toUpdate = guestIdCurator.findByGuestIdAndOrg(guestId, consumer.getOwnerId());
         if (toUpdate != null) {
             guestIdEntity.setId(toUpdate.getId());
+
+            // The guest ID may be moved from another consumer, whose guest IDs change as well
+            if (toUpdate.getConsumer() != null) {
+                toUpdate.getConsumer().clearGuestIdsHash();
+            }
         }
+
+        consumer.clearGuestIdsHash();
         guestIdCurator.merge(guestIdEntity);
     }
 
@@ -146,6 +154,7 @@ public class GuestIdResource implements GuestIdsApi {
         }
 
         sink.queueEvent(eventFactory.guestIdDeleted(toDelete));
+        consumer.clearGuestIdsHash();
         guestIdCurator.delete(toDelete);
     }
 
@@ -178,17 +187,18 @@ public class GuestIdResource implements GuestIdsApi {
     public void updateGuests(@Verify(Consumer.class) String consumerUuid, List<GuestIdDTO> guestIdDTOs) {
         Consumer toUpdate = consumerCurator.findByUuid(consumerUuid);
 
+        // Hosts usually report the same guests on every check-in. Compare the reported guest IDs to
+        // the stored ones by their hash before loading or modifying anything.
+        String incomingHash = Consumer.hashGuestIds(this.toGuestIds(guestIdDTOs));
+        if (incomingHash.equals(toUpdate.getGuestIdsHash())) {
+            log.debug("Guest IDs unchanged for consumer: {}", consumerUuid);
+            return;
+        }
+
         // Create a skeleton consumer for consumerResource.performConsumerUpdates
         ConsumerDTO consumer = new ConsumerDTO();
         consumer.setGuestIds(guestIdDTOs);
 
-        Set<String> allGuestIds = new HashSet<>();
-        for (GuestIdDTO gid : consumer.getGuestIds()) {
-            allGuestIds.add(gid.getGuestId());
-        }
-        VirtConsumerMap guestConsumerMap = consumerCurator.getGuestConsumersMap(
-            toUpdate.getOwnerId(), allGuestIds);
-
         GuestMigration guestMigration = migrationProvider.get().buildMigrationManifest(consumer, toUpdate);
 
         // TODO: FIXME: Stop calling into consumer resource to do this work. Move common work to some
@@ -201,6 +211,20 @@ public class GuestIdResource implements GuestIdsApi {
                 consumerCurator.update(toUpdate);
             }
         }
+
+        // Record the hash of the guest IDs now stored, to detect the next unchanged report
+        toUpdate.updateGuestIdsHash();
+    }
+
+    private List<GuestId> toGuestIds(List<GuestIdDTO> guestIdDTOs) {
+        if (guestIdDTOs == null) {
+            return List.of();
+        }
+
+        return guestIdDTOs.stream()
+            .filter(Objects::nonNull)
+            .map(dto -> new GuestId(dto.getGuestId(), null, dto.getAttributes()))
+            .collect(Collectors.toList());
     }
 
     private GuestId validateGuestId(GuestId guest, String guestUuid) {
@@ -115,6 +115,7 @@ import org.candlepin.pki.certs.UeberCertificateGenerator;
 import org.candlepin.resource.server.v1.OwnerApi;
 import org.candlepin.resource.util.AttachedFile;
 import org.candlepin.resource.util.CalculatedAttributesUtil;
+import org.candlepin.resource.util.ConsumerListProjection;
 import org.candlepin.resource.util.ConsumerTypeValidator;
 import org.candlepin.resource.util.KeyValueStringParser;
 import org.candlepin.resource.validation.DTOValidator;
@@ -1248,9 +1249,13 @@ public class OwnerResource implements OwnerApi {
             }
         }
 
+        // Only load the consumer data which will be rendered in the response
+        ConsumerListProjection projection = ConsumerListProjection.fromRequest();
+        projection.applyTo(queryArgs);
+
         try {
             return this.consumerCurator.findConsumers(queryArgs).stream()
-                .map(this.translator.getStreamMapper(Consumer.class, ConsumerDTOArrayElement.class));
+                .map(projection.getMapper(this.translator));
         }
         catch (InvalidOrderKeyException e) {
             throw new BadRequestException(e.getMessage(), e);
@@ -1858,7 +1863,7 @@ public class OwnerResource implements OwnerApi {
         }
 
         return hypervisors.stream()
-            .map(this.translator.getStreamMapper(Consumer.class, ConsumerDTOArrayElement.class));
+            .map(ConsumerListProjection.fromRequest().getMapper(this.translator));
     }
 
     private List<Consumer> listHypervisorsByOwner(Owner owner) {
@@ -20,6 +20,7 @@ import org.candlepin.async.tasks.RefreshPoolsJob;
 import org.candlepin.auth.SecurityHole;
 import org.candlepin.config.ConfigProperties;
 import org.candlepin.config.Configuration;
+import org.candlepin.database.ReadOnly;
 import org.candlepin.dto.ModelTranslator;
 import org.candlepin.dto.api.server.v1.AsyncJobStatusDTO;
 import org.candlepin.dto.api.server.v1.ProductDTO;
@@ -137,6 +138,7 @@ public class ProductResource implements ProductsApi {
 
     @Override
     @Transactional
+    @ReadOnly
     // GET /products
     public Stream<ProductDTO> getProducts(List<String> ownerKeys, List<String> productIds,
         List<String> productNames, String active, String custom) {
@@ -168,6 +170,7 @@ public class ProductResource implements ProductsApi {
     @Override
     @Transactional
     @SecurityHole
+    @ReadOnly
     public ProductDTO getProductByUuid(String productUuid) {
         Product product = this.fetchProduct(productUuid);
         return this.translator.translate(product, ProductDTO.class);
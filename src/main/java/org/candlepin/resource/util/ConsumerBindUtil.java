@@ -14,6 +14,10 @@
  */
 package org.candlepin.resource.util;
 
+import org.candlepin.bind.BindContext;
+import org.candlepin.bind.DeferredPoolLocks;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
 import org.candlepin.controller.AutobindDisabledForOwnerException;
 import org.candlepin.controller.AutobindHypervisorDisabledException;
 import org.candlepin.controller.Entitler;
@@ -24,6 +28,7 @@ import org.candlepin.model.Consumer;
 import org.candlepin.model.ConsumerContentOverride;
 import org.candlepin.model.ConsumerContentOverrideCurator;
 import org.candlepin.model.ConsumerInstalledProduct;
+import org.candlepin.model.ConsumerTypeCurator;
 import org.candlepin.model.Entitlement;
 import org.candlepin.model.Owner;
 import org.candlepin.model.OwnerCurator;
@@ -58,6 +63,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 
 
 
@@ -73,13 +79,17 @@ public class ConsumerBindUtil {
     private QuantityRules quantityRules;
     private ServiceLevelValidator serviceLevelValidator;
     private PoolCurator poolCurator;
+    private ConsumerTypeCurator consumerTypeCurator;
+    private Configuration config;
+    private Provider<DeferredPoolLocks> deferredPoolLocksProvider;
     private static Logger log = LoggerFactory.getLogger(ConsumerBindUtil.class);
 
     @Inject
     public ConsumerBindUtil(Entitler entitler, I18n i18n,
         ConsumerContentOverrideCurator consumerContentOverrideCurator,
         OwnerCurator ownerCurator, QuantityRules quantityRules, ServiceLevelValidator serviceLevelValidator,
-        PoolCurator poolCurator) {
+        PoolCurator poolCurator, ConsumerTypeCurator consumerTypeCurator, Configuration config,
+        Provider<DeferredPoolLocks> deferredPoolLocksProvider) {
         this.entitler = entitler;
         this.i18n = i18n;
         this.consumerContentOverrideCurator = consumerContentOverrideCurator;
@@ -87,27 +97,50 @@ public class ConsumerBindUtil {
         this.quantityRules = quantityRules;
         this.serviceLevelValidator = serviceLevelValidator;
         this.poolCurator = poolCurator;
+        this.consumerTypeCurator = consumerTypeCurator;
+        this.config = config;
+        this.deferredPoolLocksProvider = deferredPoolLocksProvider;
     }
 
     public void handleActivationKeys(Consumer consumer, List<ActivationKey> keys,
         boolean autoattachDisabledForOwner)
         throws AutobindDisabledForOwnerException, AutobindHypervisorDisabledException {
 
-        boolean listSuccess = false;
-        boolean scaEnabledForAny = false;
-        boolean isAutoheal = BooleanUtils.isTrue(consumer.isAutoheal());
-
         // we need to lock all the pools in id order so that it won't deadlock if there are other
         // processes in the same space at the same time. Current code sorts and locks
         // per activation key which can lead to this deadlock when entitlement revocation is
         // occurring on the same pools
-        Set<Pool> akPools = keys.stream()
+        Map<Boolean, Set<Pool>> akPools = keys.stream()
             .filter(Objects::nonNull)
             .flatMap(key -> key.getPools().stream())
             .map(ActivationKeyPool::getPool)
             .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
-        poolCurator.lock(akPools);
+            .collect(Collectors.partitioningBy(pool -> this.isReservable(consumer, pool), Collectors.toSet()));
+        poolCurator.lock(akPools.get(false));
+
+        // Pools whose quantity is expected to be reserved are only locked should a bind have to lock
+        // pools instead, in which case they are all locked at once, still in id order
+        DeferredPoolLocks deferredPoolLocks = this.deferredPoolLocksProvider.get();
+        deferredPoolLocks.defer(akPools.get(true).stream()
+            .map(Pool::getId)
+            .filter(Objects::nonNull)
+            .toList());
+
+        try {
+            this.bindActivationKeys(consumer, keys, autoattachDisabledForOwner);
+        }
+        finally {
+            deferredPoolLocks.clear();
+        }
+    }
+
+    private void bindActivationKeys(Consumer consumer, List<ActivationKey> keys,
+        boolean autoattachDisabledForOwner)
+        throws AutobindDisabledForOwnerException, AutobindHypervisorDisabledException {
+
+        boolean listSuccess = false;
+        boolean scaEnabledForAny = false;
+        boolean isAutoheal = BooleanUtils.isTrue(consumer.isAutoheal());
 
         for (ActivationKey key : keys) {
             boolean keySuccess = true;
@@ -160,6 +193,17 @@ public class ConsumerBindUtil {
         }
     }
 
+    /**
+     * Checks if the quantity bound from the given pool will be reserved rather than the pool being
+     * locked by the bind, in which case the pool is not locked up front, as doing so would serialize
+     * concurrent registrations with the same activation keys on the pool.
+     */
+    private boolean isReservable(Consumer consumer, Pool pool) {
+        return this.config.getBoolean(ConfigProperties.BIND_QUANTITY_RESERVATION) &&
+            BindContext.isReservable(pool) &&
+            !this.consumerTypeCurator.getConsumerType(consumer).isManifest();
+    }
+
     private boolean handleActivationKeyPools(Consumer consumer, ActivationKey key) {
         if (key.getPools().size() == 0) {
             return true;
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.resource.util;
+
+import org.candlepin.dto.ModelTranslator;
+import org.candlepin.dto.ObjectTranslator;
+import org.candlepin.dto.api.server.v1.ConsumerDTOArrayElement;
+import org.candlepin.dto.api.v1.ConsumerArrayElementTranslator;
+import org.candlepin.jackson.DynamicFilterData;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerCurator;
+import org.candlepin.model.ConsumerCurator.ConsumerQueryArguments;
+
+import org.jboss.resteasy.core.ResteasyContext;
+
+import java.util.List;
+import java.util.function.Function;
+
+
+
+/**
+ * Translates the dynamic include and exclude filters of a request into the consumer data which must
+ * be loaded to render a consumer listing. Consumer listings filtered down to a handful of fields can
+ * then skip loading the collections and nested objects which would be pruned from the response
+ * during serialization anyway, while the collections which are rendered are loaded in bulk rather
+ * than separately for each consumer.
+ * <p>
+ * Filtering is applied to the top-level attributes of the listed consumers only, using the same
+ * rules as the serialization-time filtering, such that the rendered output is unaffected.
+ */
+public class ConsumerListProjection {
+
+    private final DynamicFilterData filterData;
+
+    /**
+     * Creates a new projection from the given filter data. If the filter data is null, the
+     * projection includes every attribute.
+     *
+     * @param filterData
+     *  the dynamic filter data of the request, or null if the request does not filter its output
+     */
+    public ConsumerListProjection(DynamicFilterData filterData) {
+        this.filterData = filterData;
+    }
+
+    /**
+     * Creates a new projection from the dynamic filter data of the current request.
+     *
+     * @return
+     *  a projection of the consumer data rendered by the current request
+     */
+    public static ConsumerListProjection fromRequest() {
+        return new ConsumerListProjection(ResteasyContext.getContextData(DynamicFilterData.class));
+    }
+
+    /**
+     * Checks whether or not the given top-level consumer attribute will be rendered.
+     *
+     * @param attribute
+     *  the name of the consumer attribute to check
+     *
+     * @return
+     *  true if the attribute will be rendered; false otherwise
+     */
+    public boolean isIncluded(String attribute) {
+        return this.filterData == null || !this.filterData.isAttributeExcluded(attribute);
+    }
+
+    /**
+     * Applies this projection to the given consumer query arguments, such that only the consumer
+     * collections to be rendered are loaded, in bulk, with the consumers. If the request does not
+     * filter its output, the query arguments are left unmodified.
+     *
+     * @param queryArgs
+     *  the consumer query arguments to update
+     *
+     * @return
+     *  the provided query arguments
+     */
+    public ConsumerQueryArguments applyTo(ConsumerQueryArguments queryArgs) {
+        if (this.filterData != null && queryArgs != null) {
+            List<String> collections = ConsumerCurator.FETCHABLE_COLLECTIONS.stream()
+                .filter(this::isIncluded)
+                .toList();
+
+            queryArgs.setFetchedCollections(collections);
+        }
+
+        return queryArgs;
+    }
+
+    /**
+     * Builds a function translating consumers to consumer array elements, which only populates the
+     * attributes to be rendered. If the request does not filter its output, this method returns the
+     * standard stream mapper of the given translator.
+     *
+     * @param translator
+     *  the model translator to use for translating consumers
+     *
+     * @return
+     *  a function translating consumers to consumer array elements
+     */
+    public Function<Consumer, ConsumerDTOArrayElement> getMapper(ModelTranslator translator) {
+        if (this.filterData != null) {
+            ObjectTranslator<Consumer, ConsumerDTOArrayElement> elementTranslator = translator
+                .findTranslatorByClass(Consumer.class, ConsumerDTOArrayElement.class);
+
+            if (elementTranslator instanceof ConsumerArrayElementTranslator consumerTranslator) {
+                ConsumerArrayElementTranslator filtered = consumerTranslator
+                    .withAttributeFilter(this::isIncluded);
+
+                return consumer -> filtered.translate(translator, consumer);
+            }
+        }
+
+        return translator.getStreamMapper(Consumer.class, ConsumerDTOArrayElement.class);
+    }
+
+}
@@ -106,11 +106,9 @@ public class GuestMigration {
         }
 
         // Check guests that are existing/added.
-        for (GuestId guestId : incomingGuestIds) {
-            if (addedGuests.contains(guestId)) {
-                manifest.addGuestId(guestId);
-                log.debug("New guest ID added: {}", guestId);
-            }
+        for (GuestId guestId : addedGuests) {
+            manifest.addGuestId(guestId);
+            log.debug("New guest ID added: {}", guestId);
         }
 
         migrationPending = removedGuests.size() != 0 || addedGuests.size() != 0;
@@ -148,11 +146,9 @@ public class GuestMigration {
         }
 
         // Check guests that are existing/added.
-        for (GuestId guestId : incoming.getGuestIds()) {
-            if (addedGuests.contains(guestId)) {
-                manifest.addGuestId(guestId);
-                log.debug("New guest ID added: {}", guestId);
-            }
+        for (GuestId guestId : addedGuests) {
+            manifest.addGuestId(guestId);
+            log.debug("New guest ID added: {}", guestId);
         }
 
         migrationPending = removedGuests.size() != 0 || addedGuests.size() != 0;
@@ -160,32 +156,45 @@ public class GuestMigration {
     }
 
     private List<GuestId> getRemovedGuestIds(Consumer existingConsumer, List<GuestId> incomingIds) {
-        List<GuestId> existingGuestIds = existingConsumer.getGuestIds();
-        List<GuestId> removedGuestIds = existingGuestIds != null ?
-            (new ArrayList<>(existingGuestIds)) :
-            (new ArrayList<>());
-
         // The incomingId list is expected to be a *complete* list of guest IDs.  Therefore, any id on our
         // consumer that is not on the list of incoming IDs is an ID that needs to be removed.
-        if (incomingIds != null) {
-            removedGuestIds.removeAll(incomingIds);
-        }
-
-        return removedGuestIds;
+        return difference(existingConsumer.getGuestIds(), incomingIds);
     }
 
     private List<GuestId> getAddedGuestIds(Consumer existingConsumer, List<GuestId> incomingIds) {
-        List<GuestId> existingGuestIds = existingConsumer.getGuestIds();
-        List<GuestId> addedGuestIds = incomingIds != null ?
-            (new ArrayList<>(incomingIds)) :
-            (new ArrayList<>());
-
         // Any id on our list of incoming IDs that's not one of the current IDs should be considered new
-        if (existingGuestIds != null) {
-            addedGuestIds.removeAll(existingGuestIds);
+        return difference(incomingIds, existingConsumer.getGuestIds());
+    }
+
+    /**
+     * Fetches the guest IDs of the source list which are not present in the exclusions, as determined
+     * by guest ID equality. The guest IDs are matched by key, so hosts reporting hundreds of guests
+     * are not compared pairwise.
+     */
+    private static List<GuestId> difference(List<GuestId> source, List<GuestId> exclusions) {
+        List<GuestId> output = source != null ? new ArrayList<>(source) : new ArrayList<>();
+
+        if (exclusions != null && !exclusions.isEmpty() && !output.isEmpty()) {
+            Set<GuestKey> excluded = exclusions.stream()
+                .filter(Objects::nonNull)
+                .map(GuestKey::of)
+                .collect(Collectors.toSet());
+
+            output.removeIf(guestId -> guestId != null && excluded.contains(GuestKey.of(guestId)));
         }
 
-        return addedGuestIds;
+        return output;
+    }
+
+    /**
+     * The fields compared by guest ID equality: the guest ID, without regard to case, and its
+     * attributes.
+     */
+    private record GuestKey(String guestId, Map<String, String> attributes) {
+        public static GuestKey of(GuestId guestId) {
+            String id = guestId.getGuestId() != null ? guestId.getGuestId().toLowerCase() : null;
+            return new GuestKey(id, guestId.getAttributes());
+        }
     }
 
     public String toString() {
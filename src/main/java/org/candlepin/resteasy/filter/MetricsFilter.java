@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.resteasy.filter;
+
+import org.candlepin.metrics.MetricsRegistry;
+import org.candlepin.metrics.MetricsRegistry.HistogramFamily;
+
+import org.jboss.resteasy.core.ResteasyContext;
+
+import java.lang.reflect.Method;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.ext.Provider;
+
+
+
+/**
+ * The MetricsFilter records the duration of each request in a histogram of the resource method
+ * handling it and the response status. The duration covers authentication, authorization and the
+ * resource method itself, but not the serialization of the response entity.
+ */
+@Priority(Priorities.AUTHENTICATION - 1)
+@Provider
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    private static final String START_TIME_PROPERTY = MetricsFilter.class.getName() + ".start";
+
+    private final HistogramFamily requestDurations;
+
+    @Inject
+    public MetricsFilter(MetricsRegistry metricsRegistry) {
+        this.requestDurations = metricsRegistry.histogram("candlepin_request_duration_seconds",
+            "The duration of requests handled by each resource method", "resource", "method", "status");
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_TIME_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        ResourceInfo resourceInfo = ResteasyContext.getContextData(ResourceInfo.class);
+        if (resourceInfo == null || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+
+        if (requestContext.getProperty(START_TIME_PROPERTY) instanceof Long start) {
+            Method method = resourceInfo.getResourceMethod();
+            Class<?> resource = resourceInfo.getResourceClass() != null ?
+                resourceInfo.getResourceClass() :
+                method.getDeclaringClass();
+
+            this.requestDurations.observe(System.nanoTime() - start, resource.getSimpleName(), method.getName(),
+                Integer.toString(responseContext.getStatus()));
+        }
+    }
+}
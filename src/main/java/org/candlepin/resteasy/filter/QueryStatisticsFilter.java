@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.resteasy.filter;
+
+import org.candlepin.hibernate.QueryStatistics;
+
+import org.jboss.resteasy.core.ResteasyContext;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.ext.Provider;
+
+
+
+/**
+ * The QueryStatisticsFilter attributes the statements issued while processing a request to the
+ * resource method handling it. The filter runs before authentication so the statements issued to
+ * authenticate and authorize the request are included; statements issued while serializing the
+ * response entity are not.
+ */
+@Priority(Priorities.AUTHENTICATION - 1)
+@Provider
+public class QueryStatisticsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    private final QueryStatistics queryStatistics;
+
+    @Inject
+    public QueryStatisticsFilter(QueryStatistics queryStatistics) {
+        this.queryStatistics = Objects.requireNonNull(queryStatistics);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        ResourceInfo resourceInfo = ResteasyContext.getContextData(ResourceInfo.class);
+        Method method = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+
+        if (method != null) {
+            this.queryStatistics.begin(String.format("%s %s.%s", requestContext.getMethod(),
+                method.getDeclaringClass().getSimpleName(), method.getName()));
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        this.queryStatistics.end();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.resteasy.filter;
+
+import org.candlepin.auth.UpdateConsumerCheckIn;
+import org.candlepin.database.DatabaseRouting;
+import org.candlepin.database.ReadOnly;
+import org.candlepin.resteasy.AnnotationLocator;
+
+import org.jboss.resteasy.core.ResteasyContext;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.ext.Provider;
+
+
+
+/**
+ * The ReadOnlyRoutingFilter marks requests to resource methods annotated with {@link ReadOnly} as
+ * read-only, allowing them to be served by the read replica database. The filter runs after
+ * authentication and authorization, so that principals and the entities they are authorized against
+ * are always looked up on the primary database, where they are never missing due to replication lag.
+ * Connections are released once the statements issued outside of a transaction complete, so only the
+ * statements of the resource method itself are routed to the replica.
+ * <p>
+ * As the replica may lag behind the primary database, entities read by read-only requests are not
+ * stored in the second-level cache, where they could otherwise replace more recent state.
+ */
+@Priority(Priorities.AUTHORIZATION + 1)
+@Provider
+public class ReadOnlyRoutingFilter implements ContainerRequestFilter {
+    private final AnnotationLocator annotationLocator;
+    private final jakarta.inject.Provider<EntityManager> entityManagerProvider;
+
+    @Inject
+    public ReadOnlyRoutingFilter(AnnotationLocator annotationLocator,
+        jakarta.inject.Provider<EntityManager> entityManagerProvider) {
+
+        this.annotationLocator = Objects.requireNonNull(annotationLocator);
+        this.entityManagerProvider = Objects.requireNonNull(entityManagerProvider);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        ResourceInfo resourceInfo = ResteasyContext.getContextData(ResourceInfo.class);
+        Method method = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+
+        boolean readOnly = method != null &&
+            this.annotationLocator.getAnnotation(method, ReadOnly.class) != null &&
+            this.annotationLocator.getAnnotation(method, UpdateConsumerCheckIn.class) == null;
+
+        DatabaseRouting.setReadOnly(readOnly);
+
+        if (readOnly) {
+            this.entityManagerProvider.get().setCacheStoreMode(CacheStoreMode.BYPASS);
+        }
+    }
+}
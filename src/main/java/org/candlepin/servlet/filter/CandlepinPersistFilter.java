@@ -14,6 +14,8 @@
  */
 package org.candlepin.servlet.filter;
 
+import org.candlepin.database.DatabaseRouting;
+
 import com.google.inject.persist.UnitOfWork;
 
 import java.io.IOException;
@@ -49,6 +51,9 @@ public class CandlepinPersistFilter implements Filter {
         }
         finally {
             unitOfWork.end();
+
+            // Requests marked read-only must not affect the next request served by this thread
+            DatabaseRouting.setReadOnly(false);
         }
     }
 
@@ -42,8 +42,10 @@ public class ConsumerTypeImporter {
 
     public ConsumerType createObject(ObjectMapper mapper, Reader reader)
         throws IOException {
-        ConsumerTypeDTO consumerTypeDTO = mapper.readValue(reader, ConsumerTypeDTO.class);
+        return this.createObject(mapper.readValue(reader, ConsumerTypeDTO.class));
+    }
 
+    public ConsumerType createObject(ConsumerTypeDTO consumerTypeDTO) {
         ConsumerType consumerType = new ConsumerType();
         consumerType.setManifest(
             consumerTypeDTO.isManifest() != null ? consumerTypeDTO.isManifest() : false);
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.model.Content;
+import org.candlepin.model.Product;
+import org.candlepin.model.ProductContent;
+import org.candlepin.util.function.CheckedSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+
+
+/**
+ * The ExportCache retains the serialized form of exported products between manifest exports. Entries
+ * are keyed by a version hash computed from every entity which contributes to the serialized product,
+ * so an unchanged product is serialized once and then reused by every subsequent export referencing
+ * it, while any change to the product, its content or its children results in a new key.
+ * <p>
+ * The cache is bounded by the total size of the serialized data it holds, and may be disabled by
+ * setting its maximum size to zero.
+ */
+@Singleton
+public class ExportCache {
+    private static final Logger log = LoggerFactory.getLogger(ExportCache.class);
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /**
+     * Key for a serialized product; the ID is retained alongside the version hash to keep collisions
+     * between distinct products impossible, rather than merely unlikely.
+     */
+    record ProductKey(String productId, HashCode version) {
+    }
+
+    private final Cache<ProductKey, byte[]> productCache;
+
+    @Inject
+    public ExportCache(Configuration config) {
+        long maxBytes = config.getLong(ConfigProperties.CACHE_EXPORT_MAX_BYTES);
+        if (maxBytes < 0) {
+            String msg = ConfigProperties.CACHE_EXPORT_MAX_BYTES + " must be larger than or equal to 0";
+            throw new ConfigurationException(msg);
+        }
+
+        this.productCache = maxBytes > 0 ?
+            Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ProductKey key, byte[] value) -> value.length)
+                .recordStats()
+                .build() :
+            null;
+    }
+
+    /**
+     * Fetches the serialized form of the given product, using the provided serializer to serialize the
+     * product if the cache does not contain an entry for the current version of the product. Products
+     * which have not yet been persisted are always serialized, and never cached.
+     *
+     * @param product
+     *  the product to fetch the serialized form of
+     *
+     * @param serializer
+     *  the serializer to use to serialize the product on a cache miss
+     *
+     * @throws IOException
+     *  if the product cannot be serialized
+     *
+     * @return
+     *  the serialized product
+     */
+    public byte[] getProduct(Product product, CheckedSupplier<byte[], IOException> serializer)
+        throws IOException {
+
+        HashCode version = this.productCache != null ? productVersion(product) : null;
+        if (version == null) {
+            return serializer.get();
+        }
+
+        ProductKey key = new ProductKey(product.getId(), version);
+
+        byte[] output = this.productCache.getIfPresent(key);
+        if (output == null) {
+            log.debug("Serializing product for export: {}", product.getId());
+
+            output = serializer.get();
+            this.productCache.put(key, output);
+        }
+
+        return output;
+    }
+
+    /**
+     * Clears all entries from this cache.
+     */
+    public void invalidateAll() {
+        if (this.productCache != null) {
+            this.productCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Fetches the hit and miss statistics of this cache.
+     *
+     * @return
+     *  the statistics of this cache, or empty statistics if the cache is disabled
+     */
+    public CacheStats getStats() {
+        return this.productCache != null ? this.productCache.stats() : CacheStats.empty();
+    }
+
+    /**
+     * Computes the version hash of the given product, covering the product itself, its content and,
+     * recursively, its derived and provided products. If the product, or any product or content it
+     * references, has not yet been persisted, this method returns null.
+     * <p>
+     * Unordered collections are hashed in a stable order, such that reloading an unchanged product
+     * always produces the same version.
+     *
+     * @param product
+     *  the product for which to compute a version hash
+     *
+     * @return
+     *  the version hash of the product, or null if the product cannot be versioned
+     */
+    static HashCode productVersion(Product product) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        return putProduct(hasher, product) ? hasher.hash() : null;
+    }
+
+    private static boolean putProduct(Hasher hasher, Product product) {
+        if (!putEntity(hasher, product.getUuid(), product.getUpdated())) {
+            return false;
+        }
+
+        putString(hasher, product.getId());
+        putString(hasher, product.getName());
+        putString(hasher, Objects.toString(product.getMultiplier(), null));
+        putMap(hasher, product.getAttributes());
+        putStrings(hasher, product.getDependentProductIds());
+
+        Collection<ProductContent> productContent = product.getProductContent();
+        if (productContent != null) {
+            for (ProductContent pc : productContent.stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(ProductContent::getContentId, NULLS_FIRST))
+                .toList()) {
+
+                Content content = pc.getContent();
+                if (!putEntity(hasher, content.getUuid(), content.getUpdated())) {
+                    return false;
+                }
+
+                hasher.putBoolean(Boolean.TRUE.equals(pc.isEnabled()));
+                putStrings(hasher, content.getModifiedProductIds());
+            }
+        }
+
+        Product derived = product.getDerivedProduct();
+        hasher.putBoolean(derived != null);
+        if (derived != null && !putProduct(hasher, derived)) {
+            return false;
+        }
+
+        Collection<Product> providedProducts = product.getProvidedProducts();
+        hasher.putInt(providedProducts != null ? providedProducts.size() : -1);
+        if (providedProducts != null) {
+            for (Product provided : providedProducts.stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Product::getId, NULLS_FIRST))
+                .toList()) {
+
+                if (!putProduct(hasher, provided)) {
+                    return false;
+                }
+            }
+        }
+
+        // Terminate the product so adjacent children cannot be confused for one another
+        hasher.putByte((byte) 0);
+        return true;
+    }
+
+    private static boolean putEntity(Hasher hasher, String uuid, Date updated) {
+        if (uuid == null || updated == null) {
+            return false;
+        }
+
+        putString(hasher, uuid);
+        hasher.putLong(updated.getTime());
+        return true;
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(value.length());
+        hasher.putString(value, StandardCharsets.UTF_8);
+    }
+
+    private static void putStrings(Hasher hasher, Collection<String> values) {
+        if (values == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(values.size());
+        values.stream()
+            .sorted(NULLS_FIRST)
+            .forEach(value -> putString(hasher, value));
+    }
+
+    private static void putMap(Hasher hasher, Map<String, String> values) {
+        if (values == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(values.size());
+        new TreeMap<>(values).forEach((key, value) -> {
+            putString(hasher, key);
+            putString(hasher, value);
+        });
+    }
+
+}
@@ -49,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import tools.jackson.databind.ObjectMapper;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -56,6 +57,8 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.cert.CertificateEncodingException;
@@ -101,6 +104,7 @@ public class Exporter {
     private final SCACertificateGenerator scaCertificateGenerator;
     private final SyncUtils syncUtils;
     private final SchemeFileExporter schemeFileExporter;
+    private final ExportCache exportCache;
 
     @Inject
     public Exporter(
@@ -125,7 +129,8 @@ public class Exporter {
         @Named("ExportObjectMapper") ObjectMapper mapper,
         ModelTranslator translator,
         SCACertificateGenerator scaCertificateGenerator,
-        SchemeFileExporter schemeFileExporter) {
+        SchemeFileExporter schemeFileExporter,
+        ExportCache exportCache) {
 
         this.consumerTypeCurator = Objects.requireNonNull(consumerTypeCurator);
         this.meta = Objects.requireNonNull(meta);
@@ -149,6 +154,7 @@ public class Exporter {
         this.translator = Objects.requireNonNull(translator);
         this.scaCertificateGenerator = Objects.requireNonNull(scaCertificateGenerator);
         this.schemeFileExporter = Objects.requireNonNull(schemeFileExporter);
+        this.exportCache = Objects.requireNonNull(exportCache);
     }
 
     /**
@@ -538,17 +544,27 @@ public class Exporter {
             this.collectProducts(pool.getProduct(), productMap);
         }
 
+        // Unchanged products are written from the export cache rather than being translated and
+        // serialized again on every export
+        String path = productDir.getCanonicalPath();
         for (Product product : productMap.values()) {
-            String path = productDir.getCanonicalPath();
-            String productId = product.getId();
+            File file = new File(path, product.getId() + ".json");
+            byte[] serialized = this.exportCache.getProduct(product, () -> this.serializeProduct(product));
 
-            File file = new File(path, productId + ".json");
-            try (FileWriter writer = new FileWriter(file)) {
-                productExporter.export(mapper, writer, product);
-            }
+            Files.write(file.toPath(), serialized);
         }
     }
 
+    private byte[] serializeProduct(Product product) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+            this.productExporter.export(this.mapper, writer, product);
+        }
+
+        return output.toByteArray();
+    }
+
     /**
      * Adds the specified product and all of its children products to the given product map, using
      * products' ID (*not* UUID) as the key in the map. If the specified product is null or does not
@@ -22,6 +22,7 @@ import org.candlepin.dto.manifest.v1.CertificateDTO;
 import org.candlepin.dto.manifest.v1.ConsumerDTO;
 import org.candlepin.dto.manifest.v1.ConsumerTypeDTO;
 import org.candlepin.dto.manifest.v1.DistributorVersionDTO;
+import org.candlepin.dto.manifest.v1.EntitlementDTO;
 import org.candlepin.dto.manifest.v1.ProductDTO;
 import org.candlepin.dto.manifest.v1.SubscriptionDTO;
 import org.candlepin.model.CdnCurator;
@@ -63,17 +64,16 @@ import tools.jackson.databind.ObjectMapper;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -84,8 +84,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -98,10 +98,16 @@ public class Importer {
     /** The signature algorithm to use only when validating legacy manifest signatures. */
     private static final String LEGACY_MANIFEST_SIGNATURE_ALGORITHM = "SHA256withRSA";
 
+    /** The name of the archive within a manifest containing the exported consumer data */
+    private static final String CONSUMER_EXPORT_FILENAME = "consumer_export.zip";
+
+    /** The name of the manifest entry containing the signature of the consumer export */
+    private static final String SIGNATURE_FILENAME = "signature";
+
     /**
      * files we use to perform import
      */
-    enum ImportFile {
+    public enum ImportFile {
         META("meta.json"),
         CONSUMER_TYPE("consumer_types"),
         CONSUMER("consumer.json"),
@@ -218,14 +224,13 @@ public class Importer {
      */
     public ImportRecord loadExport(Owner owner, File archive, ConflictOverrides overrides,
         String uploadedFileName) throws ImporterException {
-        try {
-            return loadFromExportFile(owner, unpackExportFile(archive.getName(),
-                new FileInputStream(archive)), overrides, uploadedFileName);
-        }
-        catch (FileNotFoundException e) {
+
+        if (!archive.isFile()) {
             log.error(String.format("Could not find import archive: %s", archive.getAbsolutePath()));
-            throw new ImporterException(i18n.tr("Uploaded manifest file does not exist."), e);
+            throw new ImporterException(i18n.tr("Uploaded manifest file does not exist."));
         }
+
+        return this.loadFromArchive(owner, archive, archive.getName(), overrides, uploadedFileName);
     }
 
     /**
@@ -250,13 +255,31 @@ public class Importer {
      */
     public ImportRecord loadStoredExport(ManifestFile export, Owner owner, ConflictOverrides overrides,
         String uploadedFileName) throws ImporterException {
+
+        File workDir = null;
         try {
-            return loadFromExportFile(owner, extractFromService(export), overrides,
-                uploadedFileName);
+            workDir = this.syncUtils.makeTempDir("import");
+            File archive = this.copyFromService(export, workDir);
+
+            return this.loadFromArchive(owner, archive, export.getId(), overrides, uploadedFileName);
         }
         catch (ManifestFileServiceException e) {
             throw new ImporterException("Could not load stored manifest file for async import", e);
         }
+        catch (IOException e) {
+            log.error("Unable to copy stored manifest file", e);
+            throw new ImportExtractionException(i18n.tr("Unable to extract export archive"), e);
+        }
+        finally {
+            if (workDir != null) {
+                try {
+                    FileUtils.deleteDirectory(workDir);
+                }
+                catch (IOException e) {
+                    log.error("Failed to delete stored manifest copy", e);
+                }
+            }
+        }
     }
 
     /**
@@ -340,18 +363,26 @@ public class Importer {
     //       Because of this, we make this method transactional.
 
     /**
-     * Pulls the manifest from the {@link ManifestFileService} and unpacks it. The manifest file
-     * is deleted as soon as it is extracted.
+     * Pulls the manifest from the {@link ManifestFileService} and copies it, as-is, into the given
+     * directory. The manifest is not extracted; its contents are read directly from the copied archive.
      *
      * @param export the manifest's file.
-     * @return a {@link File} pointing to the unpacked manifest directory.
+     * @param targetDir the directory in which to store the copy of the manifest.
+     * @return a {@link File} pointing to the copied manifest archive.
      * @throws ManifestFileServiceException
-     * @throws ImporterException
+     * @throws IOException
      */
     @Transactional
-    protected File extractFromService(ManifestFile export)
-        throws ManifestFileServiceException, ImporterException {
-        return unpackExportFile(export.getId(), export.getInputStream());
+    protected File copyFromService(ManifestFile export, File targetDir)
+        throws ManifestFileServiceException, IOException {
+
+        File archive = new File(targetDir, "manifest.zip");
+
+        try (InputStream istream = export.getInputStream()) {
+            Files.copy(istream, archive.toPath());
+        }
+
+        return archive;
     }
 
     /**
@@ -367,7 +398,21 @@ public class Importer {
     protected ExporterMetadata validateMetadata(String type, Owner owner, File meta,
         ConflictOverrides forcedConflicts) throws IOException, ImporterException {
 
-        Meta m = mapper.readValue(meta, Meta.class);
+        return this.validateMetadata(type, owner, mapper.readValue(meta, Meta.class), forcedConflicts);
+    }
+
+    /**
+     * Check to make sure the meta data is newer than the imported data.
+     * @param type ExporterMetadata.TYPE_PER_USER or TYPE_SYSTEM
+     * @param owner Owner in the case of PER_USER
+     * @param m the manifest metadata
+     * @param forcedConflicts Conflicts we will override if encountered
+     * @throws ImporterException thrown if the metadata is invalid.
+     * @return the validated exporter metadata, or null if no previous import exists
+     */
+    protected ExporterMetadata validateMetadata(String type, Owner owner, Meta m,
+        ConflictOverrides forcedConflicts) throws ImporterException {
+
         if (type == null) {
             throw new ImporterException(i18n.tr("Wrong metadata type"));
         }
@@ -425,59 +470,46 @@ public class Importer {
         return lastrun;
     }
 
-    private ImportRecord loadFromExportFile(Owner owner, File exportDir, ConflictOverrides overrides,
-        String uploadedFileName) throws ImporterException {
+    private ImportRecord loadFromArchive(Owner owner, File archive, String archiveName,
+        ConflictOverrides overrides, String uploadedFileName) throws ImporterException {
 
         Map<String, Object> result = new HashMap<>();
-        try {
-            File consumerExport = this.getConsumerExport(exportDir);
-            Optional<Scheme> scheme = this.loadSchemeFromManifest(consumerExport);
+        try (ZipFile zipFile = this.openArchive(archive, archiveName)) {
+            ZipEntry consumerExport = zipFile.getEntry(CONSUMER_EXPORT_FILENAME);
+            if (consumerExport == null) {
+                log.error("Archive file does not contain consumer_export.zip");
+                throw new ImportExtractionException(i18n.tr("The archive does not contain " +
+                    "the required consumer_export.zip file"));
+            }
+
+            // The consumer export must not be parsed until its signature has been verified, so only the
+            // scheme file is read ahead of the verification
+            Optional<Scheme> scheme = this.loadScheme(this.readSchemeFile(zipFile, consumerExport));
 
             if (scheme.isPresent()) {
                 // Use modern "trust cert + validate signature" scheme
-                this.verifySignature(scheme.get(), exportDir, overrides);
+                this.verifySignature(scheme.get(), zipFile, consumerExport, overrides);
             }
             else {
                 // No scheme present in the manifest; fall back to the legacy validation logic where we check
                 // all known schemes and upstream certs
-                this.verifyLegacySignature(exportDir, overrides);
+                this.verifyLegacySignature(zipFile, consumerExport, overrides);
             }
 
-            File consumerExportDir = extractArchive(exportDir, consumerExport.getName(),
-                new FileInputStream(consumerExport));
-
-            Map<String, File> importFiles = new HashMap<>();
-            File[] listFiles = consumerExportDir.listFiles();
-            if (listFiles == null || listFiles.length == 0) {
+            ManifestArchive contents = this.readConsumerExport(zipFile, consumerExport);
+            if (!contents.hasContent()) {
                 throw new ImportExtractionException(
                     i18n.tr("The provided manifest has no content in the exported consumer archive"));
             }
-            for (File file : listFiles) {
-                importFiles.put(file.getName(), file);
-            }
 
-            // Need the rules file as well which is in a nested dir:
-            File rulesFile = new File(consumerExportDir, ImportFile.RULES_FILE.fileName());
-            importFiles.put(ImportFile.RULES_FILE.fileName(), rulesFile);
-
-            List<SubscriptionDTO> importSubs = importObjects(owner, importFiles, overrides);
-            Meta meta = mapper.readValue(importFiles.get(ImportFile.META.fileName()), Meta.class);
+            List<SubscriptionDTO> importSubs = importObjects(owner, contents, overrides);
 
             result.put("subscriptions", importSubs);
-            result.put("meta", meta);
+            result.put("meta", contents.getMeta());
 
             sink.emitImportCreated(owner);
             return recordImportSuccess(owner, result, overrides, uploadedFileName);
         }
-        catch (FileNotFoundException fnfe) {
-            // FIXME: This logic is not correct. We have *at least* two file operations above, loading both
-            // the signature and the manifest itself. We're assuming that only the latter is missing, which
-            // isn't guaranteed to be true.
-
-            log.error("Archive file does not contain consumer_export.zip", fnfe);
-            throw new ImportExtractionException(i18n.tr("The archive does not contain " +
-                "the required consumer_export.zip file"));
-        }
         catch (CertificateException e) {
             log.error("Unable to load upstream certificates to validate manifest", e);
             throw new ImporterException(i18n.tr("Unable to read certificates to validate manifest"),
@@ -495,57 +527,81 @@ public class Importer {
             log.error("Exception caught importing archive", e);
             throw new ImportExtractionException(i18n.tr("Unable to extract export archive"), e, result);
         }
-        finally {
-            if (exportDir != null) {
-                try {
-                    FileUtils.deleteDirectory(exportDir);
-                }
-                catch (IOException e) {
-                    log.error("Failed to delete extracted export", e);
-                }
-            }
-        }
     }
 
-    private Optional<Scheme> loadSchemeFromManifest(File exportDir)
-        throws CertificateException, IOException {
-
-        try (ZipFile zipFile = new ZipFile(exportDir)) {
-            ZipEntry schemeEntry = zipFile.getEntry("export/" + SchemeFile.FILENAME);
-            if (schemeEntry == null) {
-                return Optional.empty();
-            }
+    private ZipFile openArchive(File archive, String archiveName) throws IOException, ImportExtractionException {
+        try {
+            return new ZipFile(archive);
+        }
+        catch (ZipException e) {
+            throw new ImportExtractionException(i18n.tr(
+                "The archive {0} is not a properly compressed file or is empty", archiveName), e);
+        }
+    }
 
-            SchemeFile schemeFile = this.mapper
-                .readValue(zipFile.getInputStream(schemeEntry), SchemeFile.class);
+    /**
+     * Reads the scheme file from the consumer export archive nested within the manifest, without
+     * parsing any of the other exported data. Also verifies that the consumer export is not a malformed
+     * or empty zip file.
+     */
+    private SchemeFile readSchemeFile(ZipFile zipFile, ZipEntry consumerExport)
+        throws IOException, ImportExtractionException {
 
-            byte[] decoded = Base64.getDecoder().decode(schemeFile.certificate());
-            X509Certificate certificate = certificateReader.read(new ByteArrayInputStream(decoded));
+        try (InputStream istream = zipFile.getInputStream(consumerExport)) {
+            return ManifestArchive.readSchemeFile(istream, this.mapper);
+        }
+        catch (ZipException e) {
+            log.error("Unable to read consumer export archive", e);
 
-            return Optional.of(new Scheme.Builder()
-                .setCertificate(certificate)
-                .setName(schemeFile.name())
-                .setKeyAlgorithm(schemeFile.keyAlgorithm())
-                .setSignatureAlgorithm(schemeFile.signatureAlgorithm())
-                .build());
+            throw new ImportExtractionException(i18n.tr(
+                "The archive {0} is not a properly compressed file or is empty", CONSUMER_EXPORT_FILENAME));
         }
     }
 
-    private File getConsumerExport(File exportDir) throws ImportExtractionException {
-        File consumerExport = new File(exportDir, "consumer_export.zip");
+    /**
+     * Reads the contents of the consumer export archive nested within the manifest directly from the
+     * manifest, without extracting either archive. The signature of the consumer export must be verified
+     * before its contents are read.
+     */
+    private ManifestArchive readConsumerExport(ZipFile zipFile, ZipEntry consumerExport)
+        throws IOException, ImportExtractionException {
+
+        ManifestArchive contents = null;
 
-        // Verify that the consumer export is not a malformed zip file
-        try (ZipFile zipFile = new ZipFile(consumerExport)) {
-            return consumerExport;
+        try (InputStream istream = zipFile.getInputStream(consumerExport)) {
+            contents = ManifestArchive.read(istream, this.mapper, this.syncUtils.getImportParseThreads());
         }
-        catch (IOException e) {
+        catch (ZipException e) {
+            log.error("Unable to read consumer export archive", e);
+        }
+
+        // Verify that the consumer export is not a malformed or empty zip file
+        if (contents == null || contents.getEntryCount() == 0) {
             throw new ImportExtractionException(i18n.tr(
-                "The archive {0} is not a properly compressed file or is empty", consumerExport.getName()));
+                "The archive {0} is not a properly compressed file or is empty", CONSUMER_EXPORT_FILENAME));
         }
+
+        return contents;
     }
 
-    private void verifySignature(Scheme scheme, File exportDir, ConflictOverrides overrides)
-        throws ImporterException, IOException, CertificateException {
+    private Optional<Scheme> loadScheme(SchemeFile schemeFile) throws CertificateException {
+        if (schemeFile == null) {
+            return Optional.empty();
+        }
+
+        byte[] decoded = Base64.getDecoder().decode(schemeFile.certificate());
+        X509Certificate certificate = certificateReader.read(new ByteArrayInputStream(decoded));
+
+        return Optional.of(new Scheme.Builder()
+            .setCertificate(certificate)
+            .setName(schemeFile.name())
+            .setKeyAlgorithm(schemeFile.keyAlgorithm())
+            .setSignatureAlgorithm(schemeFile.signatureAlgorithm())
+            .build());
+    }
+
+    private void verifySignature(Scheme scheme, ZipFile zipFile, ZipEntry consumerExport,
+        ConflictOverrides overrides) throws ImporterException, IOException {
 
         // Verify the scheme's certificate is one we trust
         if (!this.cryptoManager.isTrustedCertificate(scheme.certificate())) {
@@ -561,12 +617,14 @@ public class Importer {
         }
 
         // Use the cert to validate our signature
-        byte[] signature = this.loadSignature(exportDir);
-        File consumerExport = new File(exportDir, "consumer_export.zip");
+        byte[] signature = this.loadSignature(zipFile);
+        boolean verifiedSignature;
 
-        boolean verifiedSignature = this.cryptoManager.getSignatureValidator(scheme)
-            .forSignature(signature)
-            .validate(consumerExport);
+        try (InputStream istream = zipFile.getInputStream(consumerExport)) {
+            verifiedSignature = this.cryptoManager.getSignatureValidator(scheme)
+                .forSignature(signature)
+                .validate(istream);
+        }
 
         if (!verifiedSignature) {
             log.warn("Archive signature check failed");
@@ -585,7 +643,7 @@ public class Importer {
         }
     }
 
-    private void verifyLegacySignature(File exportDir, ConflictOverrides overrides)
+    private void verifyLegacySignature(ZipFile zipFile, ZipEntry consumerExport, ConflictOverrides overrides)
         throws ImporterException, IOException, CertificateException {
 
         List<X509Certificate> schemeCerts = this.cryptoManager.getCryptoSchemes()
@@ -595,16 +653,19 @@ public class Importer {
 
         Set<X509Certificate> upstreamCerts = this.cryptoManager.getUpstreamCertificates();
 
-        byte[] signature = this.loadSignature(exportDir);
-        File consumerExport = new File(exportDir, "consumer_export.zip");
+        byte[] signature = this.loadSignature(zipFile);
 
         SignatureValidator validator = new JcaSignatureValidator(this.cryptoManager.getSecurityProvider(),
             LEGACY_MANIFEST_SIGNATURE_ALGORITHM);
 
-        boolean verifiedSignature = validator.withAdditionalCertificates(schemeCerts)
-            .withAdditionalCertificates(upstreamCerts)
-            .forSignature(signature)
-            .validate(consumerExport);
+        boolean verifiedSignature;
+
+        try (InputStream istream = zipFile.getInputStream(consumerExport)) {
+            verifiedSignature = validator.withAdditionalCertificates(schemeCerts)
+                .withAdditionalCertificates(upstreamCerts)
+                .forSignature(signature)
+                .validate(istream);
+        }
 
         if (!verifiedSignature) {
             log.warn("Legacy archive signature check failed");
@@ -623,54 +684,74 @@ public class Importer {
         }
     }
 
-    private byte[] loadSignature(File exportDir) throws IOException, ImportExtractionException {
-        File signatureFile = new File(exportDir, "signature");
-        if (signatureFile.length() == 0) {
+    private byte[] loadSignature(ZipFile zipFile) throws IOException, ImportExtractionException {
+        ZipEntry signatureEntry = zipFile.getEntry(SIGNATURE_FILENAME);
+        byte[] signature = null;
+
+        if (signatureEntry != null) {
+            try (InputStream istream = zipFile.getInputStream(signatureEntry)) {
+                signature = istream.readAllBytes();
+            }
+        }
+
+        if (signature == null || signature.length == 0) {
             throw new ImportExtractionException(
                 i18n.tr("The archive does not contain the required signature file"));
         }
 
-        byte[] signatureBytes = new byte[(int) signatureFile.length()];
-        int offset = 0;
-        int numRead = 0;
-        try (FileInputStream signature = new FileInputStream(signatureFile)) {
-            while (offset < signatureBytes.length && numRead >= 0) {
-                numRead = signature.read(signatureBytes, offset, signatureBytes.length - offset);
-                offset += numRead;
-            }
+        return signature;
+    }
 
-            return signatureBytes;
-        }
+    /**
+     * Imports the objects from a manifest which has been extracted to disk.
+     *
+     * @param owner
+     *  the owner to import the manifest for
+     *
+     * @param importFiles
+     *  the extracted manifest files, mapped by their import file name
+     *
+     * @param overrides
+     *  conflict overrides to override conflicting issues during the import
+     *
+     * @throws IOException
+     *  if the manifest files cannot be read
+     *
+     * @throws ImporterException
+     *  if the manifest cannot be imported
+     *
+     * @return
+     *  the subscriptions imported from the manifest
+     */
+    public List<SubscriptionDTO> importObjects(Owner owner, Map<String, File> importFiles,
+        ConflictOverrides overrides) throws IOException, ImporterException {
+
+        return this.importObjects(owner, new ManifestDirectory(importFiles, this.mapper), overrides);
     }
 
     @SuppressWarnings("checkstyle:methodlength")
     @Transactional(rollbackOn = { IOException.class, ImporterException.class,
         RuntimeException.class, ImportConflictException.class })
     // WARNING: Keep this method public, otherwise @Transactional is ignored:
-    public List<SubscriptionDTO> importObjects(Owner owner, Map<String, File> importFiles,
+    public List<SubscriptionDTO> importObjects(Owner owner, ManifestContents contents,
         ConflictOverrides overrides) throws IOException, ImporterException {
 
         ownerCurator.lock(owner);
 
         log.debug("Importing objects for owner: {}", owner);
 
-        File metadata = importFiles.get(ImportFile.META.fileName());
-        if (metadata == null) {
+        if (!contents.contains(ImportFile.META)) {
             throw new ImporterException(i18n.tr("The archive does not contain the required meta.json file"));
         }
-        File consumerTypes = importFiles.get(ImportFile.CONSUMER_TYPE.fileName());
-        if (consumerTypes == null) {
+        if (!contents.contains(ImportFile.CONSUMER_TYPE)) {
             throw new ImporterException(
                 i18n.tr("The archive does not contain the required consumer_types directory"));
         }
-        File consumerFile = importFiles.get(ImportFile.CONSUMER.fileName());
-        if (consumerFile == null) {
+        if (!contents.contains(ImportFile.CONSUMER)) {
             throw new ImporterException(
                 i18n.tr("The archive does not contain the required consumer.json file"));
         }
-        File products = importFiles.get(ImportFile.PRODUCTS.fileName());
-        File entitlements = importFiles.get(ImportFile.ENTITLEMENTS.fileName());
-        if (products != null && entitlements == null) {
+        if (contents.contains(ImportFile.PRODUCTS) && !contents.contains(ImportFile.ENTITLEMENTS)) {
             throw new ImporterException(
                 i18n.tr("The archive does not contain the required entitlements directory"));
         }
@@ -691,25 +772,24 @@ public class Importer {
         // if desired:
         List<ImportConflictException> conflictExceptions = new LinkedList<>();
 
-        File rules = importFiles.get(ImportFile.RULES_FILE.fileName());
-        importRules(rules, metadata);
+        importRules(contents.getRules());
 
-        importConsumerTypes(consumerTypes.listFiles());
+        importConsumerTypes(contents.getConsumerTypes());
 
-        File distributorVersions = importFiles.get(ImportFile.DISTRIBUTOR_VERSIONS.fileName());
-        if (distributorVersions != null) {
-            importDistributorVersions(distributorVersions.listFiles());
+        if (contents.contains(ImportFile.DISTRIBUTOR_VERSIONS)) {
+            importDistributorVersions(contents.getDistributorVersions());
         }
 
-        File cdns = importFiles.get(ImportFile.CONTENT_DELIVERY_NETWORKS.fileName());
-        if (cdns != null) {
-            importContentDeliveryNetworks(cdns.listFiles());
+        if (contents.contains(ImportFile.CONTENT_DELIVERY_NETWORKS)) {
+            importContentDeliveryNetworks(contents.getContentDeliveryNetworks());
         }
 
+        Meta meta = contents.getMeta();
+
         // per user elements
         try {
             exporterMetadata.add(
-                this.validateMetadata(ExporterMetadata.TYPE_PER_USER, owner, metadata, overrides));
+                this.validateMetadata(ExporterMetadata.TYPE_PER_USER, owner, meta, overrides));
         }
         catch (ImportConflictException e) {
             conflictExceptions.add(e);
@@ -717,15 +797,8 @@ public class Importer {
 
         ConsumerDTO consumer = null;
         try {
-            Meta m = mapper.readValue(metadata, Meta.class);
-            File upstreamFile = importFiles.get(ImportFile.UPSTREAM_CONSUMER.fileName());
-            File[] dafiles = new File[0];
-
-            if (upstreamFile != null) {
-                dafiles = upstreamFile.listFiles();
-            }
-
-            consumer = importConsumer(owner, consumerFile, dafiles, overrides, m);
+            consumer = importConsumer(owner, contents.getConsumer(), contents.getUpstreamConsumerCertificates(),
+                overrides, meta);
         }
         catch (ImportConflictException e) {
             conflictExceptions.add(e);
@@ -751,18 +824,16 @@ public class Importer {
 
         // If the consumer has no entitlements, this products directory will end up empty.
         // This also implies there will be no entitlements to import.
-        Meta meta = mapper.readValue(metadata, Meta.class);
         Map<String, ProductDTO> importedProductsMap;
         List<SubscriptionDTO> importedSubs;
 
         // TODO: If EntitlementImporter is ever updated to be more on-demand like the ProductImporter
         // refactor, update this block/class to not be doing half of the entitlement importing bits.
-        File productsDir = importFiles.get(ImportFile.PRODUCTS.fileName());
-        if (productsDir != null) {
-            ProductImporter productImporter = new ProductImporter(productsDir, this.mapper, this.i18n);
+        if (contents.contains(ImportFile.PRODUCTS)) {
+            ProductImporter productImporter = new ProductImporter(contents.getProducts(), this.i18n);
 
             importedProductsMap = productImporter.importProductMap();
-            importedSubs = this.importEntitlements(owner, importedProductsMap, entitlements.listFiles(),
+            importedSubs = this.importEntitlements(owner, importedProductsMap, contents.getEntitlements(),
                 consumer.getUuid(), meta);
         }
         else {
@@ -784,24 +855,24 @@ public class Importer {
         return importedSubs;
     }
 
-    protected void importRules(File rulesFile, File metadata) throws IOException {
-        try (Reader reader = new FileReader(rulesFile)) {
-            rulesImporter.importObject(reader);
-        }
-        catch (FileNotFoundException e) {
+    protected void importRules(String rules) throws IOException {
+        if (rules == null) {
             log.warn("Skipping rules import, manifest does not contain rules file: {}",
-                ImportFile.RULES_FILE.fileName(), e);
+                ImportFile.RULES_FILE.fileName());
+            return;
+        }
+
+        try (Reader reader = new StringReader(rules)) {
+            rulesImporter.importObject(reader);
         }
     }
 
-    protected void importConsumerTypes(File[] consumerTypes) throws IOException {
+    protected void importConsumerTypes(Collection<ConsumerTypeDTO> consumerTypes) {
         ConsumerTypeImporter importer = new ConsumerTypeImporter(consumerTypeCurator);
         Set<ConsumerType> consumerTypeObjs = new HashSet<>();
 
-        for (File consumerType : consumerTypes) {
-            try (Reader reader = new FileReader(consumerType)) {
-                consumerTypeObjs.add(importer.createObject(mapper, reader));
-            }
+        for (ConsumerTypeDTO consumerType : consumerTypes) {
+            consumerTypeObjs.add(importer.createObject(consumerType));
         }
 
         importer.store(consumerTypeObjs);
@@ -810,66 +881,57 @@ public class Importer {
     protected ConsumerDTO importConsumer(Owner owner, File consumerFile, File[] upstreamConsumer,
         ConflictOverrides forcedConflicts, Meta meta) throws IOException, SyncDataFormatException {
 
+        return this.importConsumer(owner, mapper.readValue(consumerFile, ConsumerDTO.class),
+            ManifestDirectory.readUpstreamCertificates(this.mapper, upstreamConsumer), forcedConflicts, meta);
+    }
+
+    protected ConsumerDTO importConsumer(Owner owner, ConsumerDTO consumer,
+        Collection<CertificateDTO> upstreamCertificates, ConflictOverrides forcedConflicts, Meta meta)
+        throws SyncDataFormatException {
+
         IdentityCertificate idcert = null;
-        for (File uc : upstreamConsumer) {
-            if (uc.getName().endsWith(".json")) {
-                log.debug("Import upstream consumeridentity certificate: {}", uc.getName());
-
-                try (Reader reader = new FileReader(uc)) {
-                    CertificateDTO dtoCert = mapper.readValue(reader, CertificateDTO.class);
-                    idcert = new IdentityCertificate();
-                    ImporterUtils.populateEntity(idcert, dtoCert);
-                    idcert.setId(dtoCert.getId());
-                }
-            }
-            else {
-                log.warn("Extra file found in upstream_consumer directory: {}", uc.getName());
-            }
+        for (CertificateDTO dtoCert : upstreamCertificates) {
+            idcert = new IdentityCertificate();
+            ImporterUtils.populateEntity(idcert, dtoCert);
+            idcert.setId(dtoCert.getId());
         }
 
         ConsumerImporter importer = new ConsumerImporter(ownerCurator, idCertCurator, i18n, csCurator);
-        ConsumerDTO consumer = null;
 
-        try (Reader reader = new FileReader(consumerFile)) {
-            consumer = importer.createObject(mapper, reader);
-            // we can not rely on the actual ConsumerType in the ConsumerDto
-            // because it could have an id not in our database. We need to
-            // stick with the label. Hence we need to lookup the ACTUAL type
-            // by label here before attempting to store the UpstreamConsumer
-            ConsumerType type = consumerTypeCurator.getByLabel(consumer.getType().getLabel());
-            consumer.setType(this.translator.translate(type, ConsumerTypeDTO.class));
-
-            // in older manifests the web app prefix will not
-            // be on the consumer, we can use the one stored in
-            // the metadata
-            if (StringUtils.isEmpty(consumer.getUrlWeb())) {
-                consumer.setUrlWeb(meta.getWebAppPrefix());
-            }
+        // we can not rely on the actual ConsumerType in the ConsumerDto
+        // because it could have an id not in our database. We need to
+        // stick with the label. Hence we need to lookup the ACTUAL type
+        // by label here before attempting to store the UpstreamConsumer
+        ConsumerType type = consumerTypeCurator.getByLabel(consumer.getType().getLabel());
+        consumer.setType(this.translator.translate(type, ConsumerTypeDTO.class));
 
-            importer.store(owner, consumer, forcedConflicts, idcert);
+        // in older manifests the web app prefix will not
+        // be on the consumer, we can use the one stored in
+        // the metadata
+        if (StringUtils.isEmpty(consumer.getUrlWeb())) {
+            consumer.setUrlWeb(meta.getWebAppPrefix());
         }
 
+        importer.store(owner, consumer, forcedConflicts, idcert);
+
         return consumer;
     }
 
     protected List<SubscriptionDTO> importEntitlements(Owner owner,
-        Map<String, ProductDTO> importedProductsMap, File[] entitlementFiles, String consumerUuid, Meta meta)
-        throws IOException, SyncDataFormatException {
+        Map<String, ProductDTO> importedProductsMap, Collection<EntitlementDTO> entitlements,
+        String consumerUuid, Meta meta) throws SyncDataFormatException {
 
         log.debug("Importing entitlements for owner: {}", owner);
 
         List<SubscriptionDTO> subscriptionsToImport = new ArrayList<>();
 
-        if (importedProductsMap != null && entitlementFiles != null) {
+        if (importedProductsMap != null && entitlements != null) {
             EntitlementImporter importer = new EntitlementImporter(cdnCurator, i18n, translator,
                 importedProductsMap);
 
-            for (File entitlement : entitlementFiles) {
-                try (Reader reader = new FileReader(entitlement)) {
-                    log.debug("Importing entitlement from file: {}", entitlement.getName());
-                    subscriptionsToImport.add(
-                        importer.importObject(mapper, reader, owner, consumerUuid, meta));
-                }
+            for (EntitlementDTO entitlement : entitlements) {
+                log.debug("Importing entitlement: {}", entitlement.getId());
+                subscriptionsToImport.add(importer.importObject(entitlement, owner, consumerUuid, meta));
             }
         }
 
@@ -879,80 +941,33 @@ public class Importer {
         return subscriptionsToImport;
     }
 
-    /**
-     * Create a tar.gz archive of the exported directory.
-     *
-     * @param tempDir Directory where Candlepin data was exported.
-     * @return File reference to the new archive tar.gz.
-     */
-    private File extractArchive(File tempDir, String exportFileName, InputStream exportFileStream)
-        throws IOException, ImportExtractionException {
-
-        log.debug("Extracting archive to: {}", tempDir.getAbsolutePath());
-
-        byte[] buf = new byte[1024];
-
-        try (ZipInputStream zipinputstream = new ZipInputStream(exportFileStream)) {
-            ZipEntry zipentry = zipinputstream.getNextEntry();
-
-            if (zipentry == null) {
-                throw new ImportExtractionException(i18n.tr(
-                    "The archive {0} is not a properly compressed file or is empty", exportFileName));
-            }
-
-            while (zipentry != null) {
-                //for each entry to be extracted
-                String entryName = zipentry.getName();
-                log.debug("entryname {}", entryName);
-
-                File newFile = new File(tempDir, entryName).getCanonicalFile();
-
-                // Check if the file is outside of the target directory
-                if (!newFile.getPath().startsWith(tempDir.getCanonicalPath())) {
-                    throw new ImportExtractionException(i18n.tr(
-                        "Entry is outside of the target directory: {0}", entryName));
-                }
-
-                String directory = newFile.getParent();
-                if (directory != null) {
-                    new File(directory).mkdirs();
-                }
-
-                try (FileOutputStream fileoutputstream = new FileOutputStream(newFile)) {
-                    int n;
-                    while ((n = zipinputstream.read(buf, 0, 1024)) > -1) {
-                        fileoutputstream.write(buf, 0, n);
-                    }
-                }
+    protected void importDistributorVersions(File[] versionFiles) throws IOException {
+        List<DistributorVersionDTO> distVers = new ArrayList<>();
 
-                zipinputstream.closeEntry();
-                zipentry = zipinputstream.getNextEntry();
-            }
+        for (File verFile : versionFiles) {
+            distVers.add(mapper.readValue(verFile, DistributorVersionDTO.class));
         }
 
-        return new File(tempDir.getAbsolutePath(), "export");
+        this.importDistributorVersions(distVers);
     }
 
-    protected void importDistributorVersions(File[] versionFiles) throws IOException {
+    protected void importDistributorVersions(Collection<DistributorVersionDTO> versions) {
         DistributorVersionImporter importer = new DistributorVersionImporter(distVerCurator);
         Set<DistributorVersionDTO> distVers = new HashSet<>();
 
-        for (File verFile : versionFiles) {
-            try (Reader reader = new FileReader(verFile)) {
-                distVers.add(importer.createObject(mapper, reader));
-            }
+        for (DistributorVersionDTO version : versions) {
+            distVers.add(importer.createObject(version));
         }
+
         importer.store(distVers);
     }
 
-    protected void importContentDeliveryNetworks(File[] cdnFiles) throws IOException {
+    protected void importContentDeliveryNetworks(Collection<CdnDTO> cdnDTOs) {
         CdnImporter importer = new CdnImporter(cdnCurator);
         Set<CdnDTO> cdns = new HashSet<>();
 
-        for (File cdnFile : cdnFiles) {
-            try (Reader reader = new FileReader(cdnFile)) {
-                cdns.add(importer.createObject(mapper, reader));
-            }
+        for (CdnDTO cdn : cdnDTOs) {
+            cdns.add(importer.createObject(cdn));
         }
 
         importer.store(cdns);
@@ -973,17 +988,4 @@ public class Importer {
         return iup;
     }
 
-    private File unpackExportFile(String fileName, InputStream exportInputStream)
-        throws ImportExtractionException {
-        try {
-            File tmpDir = syncUtils.makeTempDir("import");
-            extractArchive(tmpDir, fileName, exportInputStream);
-            return tmpDir;
-        }
-        catch (IOException e) {
-            log.error("Unable to extract export archive", e);
-            throw new ImportExtractionException(i18n.tr("Unable to extract export archive"), e);
-        }
-    }
-
 }
@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync;
+
+import org.candlepin.dto.manifest.v1.CdnDTO;
+import org.candlepin.dto.manifest.v1.CertificateDTO;
+import org.candlepin.dto.manifest.v1.ConsumerDTO;
+import org.candlepin.dto.manifest.v1.ConsumerTypeDTO;
+import org.candlepin.dto.manifest.v1.DistributorVersionDTO;
+import org.candlepin.dto.manifest.v1.EntitlementDTO;
+import org.candlepin.dto.manifest.v1.ProductDTO;
+import org.candlepin.sync.Importer.ImportFile;
+
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+
+
+/**
+ * ManifestContents implementation which reads the consumer export of a manifest directly from its
+ * archive in a single streaming pass. Each entry is parsed as it is encountered, so the export is never
+ * written to disk and only the parsed objects are retained.
+ * <p>
+ * Decompression is inherently sequential, but parsing is not: when read with more than one parse
+ * thread, each entry is buffered and handed off to a bounded pool for parsing while the archive
+ * continues to be read. Parsed objects are collected in archive order once all entries have been
+ * parsed, so the resulting contents are identical regardless of the number of threads used.
+ */
+class ManifestArchive implements ManifestContents {
+    private static final Logger log = LoggerFactory.getLogger(ManifestArchive.class);
+
+    /** The directory within the consumer export containing the exported data */
+    private static final String EXPORT_DIR = "export/";
+
+    /** The import files which are stored directly in the export directory, rather than as directories */
+    private static final Set<ImportFile> TOP_LEVEL_FILES = EnumSet.of(ImportFile.META, ImportFile.CONSUMER);
+
+    private final Set<ImportFile> presentFiles = EnumSet.noneOf(ImportFile.class);
+
+    private int entryCount;
+    private boolean hasContent;
+
+    private Meta meta;
+    private String rules;
+    private SchemeFile schemeFile;
+    private ConsumerDTO consumer;
+    private final List<ConsumerTypeDTO> consumerTypes = new ArrayList<>();
+    private final List<DistributorVersionDTO> distributorVersions = new ArrayList<>();
+    private final List<CdnDTO> cdns = new ArrayList<>();
+    private final List<CertificateDTO> upstreamCertificates = new ArrayList<>();
+    private final Map<String, ProductDTO> products = new HashMap<>();
+    private final List<EntitlementDTO> entitlements = new ArrayList<>();
+
+    private ManifestArchive() {
+        // Intentionally left empty; instances are created through the read method
+    }
+
+    /**
+     * Reads the contents of a consumer export archive from the given stream. The stream is read to the
+     * end of the archive, but is not closed.
+     *
+     * @param istream
+     *  a stream providing the consumer export archive
+     *
+     * @param mapper
+     *  the object mapper to use to parse the entries of the archive
+     *
+     * @throws IOException
+     *  if the archive cannot be read, or an entry cannot be parsed
+     *
+     * @return
+     *  the contents of the consumer export archive
+     */
+    static ManifestArchive read(InputStream istream, ObjectMapper mapper) throws IOException {
+        return read(istream, mapper, 1);
+    }
+
+    /**
+     * Reads the contents of a consumer export archive from the given stream, parsing its entries on up
+     * to the given number of threads. The stream is read to the end of the archive, but is not closed.
+     *
+     * @param istream
+     *  a stream providing the consumer export archive
+     *
+     * @param mapper
+     *  the object mapper to use to parse the entries of the archive
+     *
+     * @param parseThreads
+     *  the number of threads to use to parse the entries of the archive; if less than two, entries are
+     *  parsed on the calling thread
+     *
+     * @throws IOException
+     *  if the archive cannot be read, or an entry cannot be parsed
+     *
+     * @return
+     *  the contents of the consumer export archive
+     */
+    static ManifestArchive read(InputStream istream, ObjectMapper mapper, int parseThreads)
+        throws IOException {
+
+        ManifestArchive archive = new ManifestArchive();
+
+        try (ZipInputStream zipStream = new ZipInputStream(CloseShieldInputStream.wrap(istream));
+            EntryParser parser = new EntryParser(mapper, parseThreads)) {
+
+            // The parser closes its source when it's done with an entry, which must not close the archive
+            InputStream entryStream = CloseShieldInputStream.wrap(zipStream);
+
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                log.debug("Reading manifest entry: {}", entry.getName());
+
+                archive.entryCount++;
+                archive.readEntry(entry, entryStream, parser);
+
+                zipStream.closeEntry();
+            }
+
+            parser.complete();
+        }
+
+        return archive;
+    }
+
+    /**
+     * Reads the scheme file from a consumer export archive provided by the given stream, without parsing
+     * any other entry of the archive. This allows the scheme used to sign the manifest to be determined,
+     * and the signature verified, before the contents of the archive are parsed. The stream is not
+     * closed.
+     *
+     * @param istream
+     *  a stream providing the consumer export archive
+     *
+     * @param mapper
+     *  the object mapper to use to parse the scheme file
+     *
+     * @throws ZipException
+     *  if the stream does not provide a valid archive, or the archive is empty
+     *
+     * @throws IOException
+     *  if the archive cannot be read, or the scheme file cannot be parsed
+     *
+     * @return
+     *  the scheme file, or null if the archive does not contain a scheme file
+     */
+    static SchemeFile readSchemeFile(InputStream istream, ObjectMapper mapper) throws IOException {
+        try (ZipInputStream zipStream = new ZipInputStream(CloseShieldInputStream.wrap(istream))) {
+            ZipEntry entry = zipStream.getNextEntry();
+            if (entry == null) {
+                throw new ZipException("consumer export archive is not a valid archive or is empty");
+            }
+
+            for (; entry != null; entry = zipStream.getNextEntry()) {
+                if (entry.getName().equals(EXPORT_DIR + SchemeFile.FILENAME)) {
+                    return mapper.readValue(CloseShieldInputStream.wrap(zipStream), SchemeFile.class);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void readEntry(ZipEntry entry, InputStream istream, EntryParser parser) throws IOException {
+        String name = entry.getName();
+        if (!name.startsWith(EXPORT_DIR)) {
+            log.debug("Skipping manifest entry outside of the export directory: {}", name);
+            return;
+        }
+
+        this.hasContent = true;
+
+        String path = name.substring(EXPORT_DIR.length());
+        if (entry.isDirectory() || path.isEmpty()) {
+            return;
+        }
+
+        if (path.equals(SchemeFile.FILENAME)) {
+            parser.parse(istream, SchemeFile.class, value -> this.schemeFile = value);
+            return;
+        }
+
+        if (path.equals(ImportFile.RULES_FILE.fileName())) {
+            this.presentFiles.add(ImportFile.RULES_FILE);
+            this.rules = new String(istream.readAllBytes(), StandardCharsets.UTF_8);
+            return;
+        }
+
+        int separator = path.indexOf('/');
+        String fileName = separator >= 0 ? path.substring(0, separator) : path;
+        String childName = separator >= 0 ? path.substring(separator + 1) : null;
+
+        ImportFile file = this.resolveImportFile(fileName, childName == null);
+        if (file == null) {
+            log.debug("Skipping unexpected manifest entry: {}", name);
+            return;
+        }
+
+        this.presentFiles.add(file);
+
+        switch (file) {
+            case META -> parser.parse(istream, Meta.class, value -> this.meta = value);
+            case CONSUMER -> parser.parse(istream, ConsumerDTO.class, value -> this.consumer = value);
+            case CONSUMER_TYPE -> parser.parse(istream, ConsumerTypeDTO.class, this.consumerTypes::add);
+            case DISTRIBUTOR_VERSIONS ->
+                parser.parse(istream, DistributorVersionDTO.class, this.distributorVersions::add);
+            case CONTENT_DELIVERY_NETWORKS -> parser.parse(istream, CdnDTO.class, this.cdns::add);
+            case ENTITLEMENTS -> parser.parse(istream, EntitlementDTO.class, this.entitlements::add);
+            case UPSTREAM_CONSUMER -> {
+                if (childName.endsWith(".json")) {
+                    log.debug("Import upstream consumeridentity certificate: {}", childName);
+                    parser.parse(istream, CertificateDTO.class, this.upstreamCertificates::add);
+                }
+                else {
+                    log.warn("Extra file found in upstream_consumer directory: {}", childName);
+                }
+            }
+            case PRODUCTS -> {
+                if (childName.endsWith(ProductImporter.PRODUCT_FILE_SUFFIX)) {
+                    String productFileId = childName.substring(0,
+                        childName.length() - ProductImporter.PRODUCT_FILE_SUFFIX.length());
+
+                    parser.parse(istream, ProductDTO.class, value -> this.products.put(productFileId, value));
+                }
+            }
+            default -> log.debug("Skipping manifest entry: {}", name);
+        }
+    }
+
+    /**
+     * Parses archive entries into objects and hands them to their sinks. When configured with a single
+     * thread, entries are parsed and collected immediately on the reading thread. Otherwise, entries are
+     * buffered and parsed on a bounded pool, and the parsed objects are collected in the order in which
+     * their entries were read when {@link #complete()} is called. The number of buffered entries awaiting
+     * parsing is bounded to limit the memory used by a manifest with many large entries.
+     */
+    private static class EntryParser implements AutoCloseable {
+        private final ObjectMapper mapper;
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final List<PendingEntry<?>> pending;
+
+        EntryParser(ObjectMapper mapper, int threads) {
+            this.mapper = mapper;
+
+            if (threads > 1) {
+                this.executor = Executors.newFixedThreadPool(threads, new ParserThreadFactory());
+                this.permits = new Semaphore(threads * 2);
+                this.pending = new ArrayList<>();
+            }
+            else {
+                this.executor = null;
+                this.permits = null;
+                this.pending = null;
+            }
+        }
+
+        public <T> void parse(InputStream istream, Class<T> type, Consumer<T> sink) throws IOException {
+            if (this.executor == null) {
+                sink.accept(this.mapper.readValue(istream, type));
+                return;
+            }
+
+            byte[] data = istream.readAllBytes();
+
+            try {
+                this.permits.acquire();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to parse manifest entry");
+            }
+
+            Future<T> future;
+            try {
+                future = this.executor.submit(() -> {
+                    try {
+                        return this.mapper.readValue(new ByteArrayInputStream(data), type);
+                    }
+                    finally {
+                        this.permits.release();
+                    }
+                });
+            }
+            catch (RuntimeException e) {
+                this.permits.release();
+                throw e;
+            }
+
+            this.pending.add(new PendingEntry<>(future, sink));
+        }
+
+        private <T> void collect(PendingEntry<T> entry) throws IOException {
+            T value;
+
+            try {
+                value = entry.future().get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while parsing manifest entry");
+            }
+            catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+
+                throw cause instanceof IOException ioe ? ioe : new IOException(cause);
+            }
+
+            entry.sink().accept(value);
+        }
+
+        /**
+         * Waits for all pending entries to be parsed, and hands the parsed objects to their sinks in the
+         * order in which the entries were read.
+         *
+         * @throws IOException
+         *  if any entry could not be parsed
+         */
+        public void complete() throws IOException {
+            if (this.pending == null) {
+                return;
+            }
+
+            try {
+                for (PendingEntry<?> entry : this.pending) {
+                    this.collect(entry);
+                }
+            }
+            finally {
+                this.pending.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.executor != null) {
+                this.executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * An entry which has been submitted for parsing, and the sink to receive the parsed object.
+     */
+    private record PendingEntry<T>(Future<T> future, Consumer<T> sink) {
+    }
+
+    /**
+     * Thread factory creating named daemon threads for the manifest entry parsing pool.
+     */
+    private static class ParserThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+        private final int pool = POOL_COUNTER.incrementAndGet();
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                String.format("manifest-parser-%d-%d", this.pool, this.threadCounter.incrementAndGet()));
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+
+    /**
+     * Resolves the import file represented by the given top-level file name of an export entry. Files
+     * are only matched to import files of the matching kind; that is, a file in a directory will only
+     * be matched to an import file representing a directory.
+     */
+    private ImportFile resolveImportFile(String fileName, boolean topLevelFile) {
+        for (ImportFile file : ImportFile.values()) {
+            if (file.fileName().equals(fileName) && TOP_LEVEL_FILES.contains(file) == topLevelFile) {
+                return file;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Fetches the number of entries read from the archive. If the archive stream did not contain a
+     * valid archive, this will be zero.
+     *
+     * @return
+     *  the number of entries read from the archive
+     */
+    int getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Checks whether the archive contained any exported data.
+     *
+     * @return
+     *  true if the archive contained any exported data; false otherwise
+     */
+    boolean hasContent() {
+        return this.hasContent;
+    }
+
+    /**
+     * Fetches the scheme file describing the cryptographic scheme used to sign the manifest.
+     *
+     * @return
+     *  the scheme file, or null if the manifest was not generated with a scheme file
+     */
+    SchemeFile getSchemeFile() {
+        return this.schemeFile;
+    }
+
+    @Override
+    public boolean contains(ImportFile file) {
+        return this.presentFiles.contains(file);
+    }
+
+    @Override
+    public Meta getMeta() {
+        return this.meta;
+    }
+
+    @Override
+    public String getRules() {
+        return this.rules;
+    }
+
+    @Override
+    public List<ConsumerTypeDTO> getConsumerTypes() {
+        return this.consumerTypes;
+    }
+
+    @Override
+    public List<DistributorVersionDTO> getDistributorVersions() {
+        return this.distributorVersions;
+    }
+
+    @Override
+    public List<CdnDTO> getContentDeliveryNetworks() {
+        return this.cdns;
+    }
+
+    @Override
+    public ConsumerDTO getConsumer() {
+        return this.consumer;
+    }
+
+    @Override
+    public List<CertificateDTO> getUpstreamConsumerCertificates() {
+        return this.upstreamCertificates;
+    }
+
+    @Override
+    public Map<String, ProductDTO> getProducts() {
+        return this.products;
+    }
+
+    @Override
+    public List<EntitlementDTO> getEntitlements() {
+        return this.entitlements;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync;
+
+import org.candlepin.dto.manifest.v1.CdnDTO;
+import org.candlepin.dto.manifest.v1.CertificateDTO;
+import org.candlepin.dto.manifest.v1.ConsumerDTO;
+import org.candlepin.dto.manifest.v1.ConsumerTypeDTO;
+import org.candlepin.dto.manifest.v1.DistributorVersionDTO;
+import org.candlepin.dto.manifest.v1.EntitlementDTO;
+import org.candlepin.dto.manifest.v1.ProductDTO;
+import org.candlepin.sync.Importer.ImportFile;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+
+
+/**
+ * The ManifestContents interface provides the importer with access to the objects contained in the
+ * consumer export of a manifest, independent of whether they are read from an extracted directory or
+ * directly from the manifest archive.
+ * <p>
+ * Implementations may read data lazily, so callers should check for the presence of a given file with
+ * {@link #contains(ImportFile)} before fetching its contents.
+ */
+public interface ManifestContents {
+
+    /**
+     * Checks whether the given file or directory is present in the manifest.
+     *
+     * @param file
+     *  the import file to check for
+     *
+     * @return
+     *  true if the file or directory is present in the manifest; false otherwise
+     */
+    boolean contains(ImportFile file);
+
+    /**
+     * Fetches the manifest metadata.
+     *
+     * @throws IOException
+     *  if the metadata cannot be read
+     *
+     * @return
+     *  the manifest metadata, or null if the manifest does not contain any metadata
+     */
+    Meta getMeta() throws IOException;
+
+    /**
+     * Fetches the rules included in the manifest.
+     *
+     * @throws IOException
+     *  if the rules cannot be read
+     *
+     * @return
+     *  the rules as a string, or null if the manifest does not contain any rules
+     */
+    String getRules() throws IOException;
+
+    /**
+     * Fetches the consumer types defined in the manifest.
+     *
+     * @throws IOException
+     *  if the consumer types cannot be read
+     *
+     * @return
+     *  a collection of consumer types; never null
+     */
+    Collection<ConsumerTypeDTO> getConsumerTypes() throws IOException;
+
+    /**
+     * Fetches the distributor versions defined in the manifest.
+     *
+     * @throws IOException
+     *  if the distributor versions cannot be read
+     *
+     * @return
+     *  a collection of distributor versions; never null
+     */
+    Collection<DistributorVersionDTO> getDistributorVersions() throws IOException;
+
+    /**
+     * Fetches the content delivery networks defined in the manifest.
+     *
+     * @throws IOException
+     *  if the content delivery networks cannot be read
+     *
+     * @return
+     *  a collection of content delivery networks; never null
+     */
+    Collection<CdnDTO> getContentDeliveryNetworks() throws IOException;
+
+    /**
+     * Fetches the upstream consumer for which the manifest was generated.
+     *
+     * @throws IOException
+     *  if the consumer cannot be read
+     *
+     * @return
+     *  the upstream consumer, or null if the manifest does not contain a consumer
+     */
+    ConsumerDTO getConsumer() throws IOException;
+
+    /**
+     * Fetches the identity certificates of the upstream consumer.
+     *
+     * @throws IOException
+     *  if the certificates cannot be read
+     *
+     * @return
+     *  a collection of upstream consumer identity certificates; never null
+     */
+    Collection<CertificateDTO> getUpstreamConsumerCertificates() throws IOException;
+
+    /**
+     * Fetches the products defined in the manifest, mapped by the name of the file (less the file
+     * suffix) in which they were defined.
+     *
+     * @throws IOException
+     *  if the products cannot be read
+     *
+     * @return
+     *  a mapping of product file names to products; never null
+     */
+    Map<String, ProductDTO> getProducts() throws IOException;
+
+    /**
+     * Fetches the entitlements defined in the manifest.
+     *
+     * @throws IOException
+     *  if the entitlements cannot be read
+     *
+     * @return
+     *  a collection of entitlements; never null
+     */
+    Collection<EntitlementDTO> getEntitlements() throws IOException;
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync;
+
+import org.candlepin.dto.manifest.v1.CdnDTO;
+import org.candlepin.dto.manifest.v1.CertificateDTO;
+import org.candlepin.dto.manifest.v1.ConsumerDTO;
+import org.candlepin.dto.manifest.v1.ConsumerTypeDTO;
+import org.candlepin.dto.manifest.v1.DistributorVersionDTO;
+import org.candlepin.dto.manifest.v1.EntitlementDTO;
+import org.candlepin.dto.manifest.v1.ProductDTO;
+import org.candlepin.sync.Importer.ImportFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+
+/**
+ * ManifestContents implementation backed by the files of a manifest which has been extracted to disk,
+ * mapped by their import file name. Files are read as their contents are requested.
+ */
+class ManifestDirectory implements ManifestContents {
+    private static final Logger log = LoggerFactory.getLogger(ManifestDirectory.class);
+
+    private final Map<String, File> importFiles;
+    private final ObjectMapper mapper;
+
+    ManifestDirectory(Map<String, File> importFiles, ObjectMapper mapper) {
+        this.importFiles = Objects.requireNonNull(importFiles);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    private File getFile(ImportFile file) {
+        return this.importFiles.get(file.fileName());
+    }
+
+    private File[] listFiles(ImportFile directory) {
+        File dir = this.getFile(directory);
+        File[] files = dir != null ? dir.listFiles() : null;
+
+        return files != null ? files : new File[0];
+    }
+
+    private <T> List<T> readFiles(ImportFile directory, Class<T> type) throws IOException {
+        List<T> output = new ArrayList<>();
+
+        for (File file : this.listFiles(directory)) {
+            output.add(this.mapper.readValue(file, type));
+        }
+
+        return output;
+    }
+
+    /**
+     * Reads the identity certificates from the given upstream consumer files. Files which are not JSON
+     * files are logged and skipped.
+     *
+     * @param mapper
+     *  the object mapper to use to read the certificates
+     *
+     * @param upstreamConsumer
+     *  the files of the upstream consumer directory
+     *
+     * @throws IOException
+     *  if a certificate file cannot be read
+     *
+     * @return
+     *  a list of upstream consumer identity certificates
+     */
+    static List<CertificateDTO> readUpstreamCertificates(ObjectMapper mapper, File[] upstreamConsumer)
+        throws IOException {
+
+        List<CertificateDTO> output = new ArrayList<>();
+
+        for (File file : upstreamConsumer) {
+            if (file.getName().endsWith(".json")) {
+                log.debug("Import upstream consumeridentity certificate: {}", file.getName());
+                output.add(mapper.readValue(file, CertificateDTO.class));
+            }
+            else {
+                log.warn("Extra file found in upstream_consumer directory: {}", file.getName());
+            }
+        }
+
+        return output;
+    }
+
+    @Override
+    public boolean contains(ImportFile file) {
+        return this.getFile(file) != null;
+    }
+
+    @Override
+    public Meta getMeta() throws IOException {
+        File file = this.getFile(ImportFile.META);
+        return file != null ? this.mapper.readValue(file, Meta.class) : null;
+    }
+
+    @Override
+    public String getRules() throws IOException {
+        File file = this.getFile(ImportFile.RULES_FILE);
+        return file != null && file.exists() ? Files.readString(file.toPath()) : null;
+    }
+
+    @Override
+    public List<ConsumerTypeDTO> getConsumerTypes() throws IOException {
+        return this.readFiles(ImportFile.CONSUMER_TYPE, ConsumerTypeDTO.class);
+    }
+
+    @Override
+    public List<DistributorVersionDTO> getDistributorVersions() throws IOException {
+        return this.readFiles(ImportFile.DISTRIBUTOR_VERSIONS, DistributorVersionDTO.class);
+    }
+
+    @Override
+    public List<CdnDTO> getContentDeliveryNetworks() throws IOException {
+        return this.readFiles(ImportFile.CONTENT_DELIVERY_NETWORKS, CdnDTO.class);
+    }
+
+    @Override
+    public ConsumerDTO getConsumer() throws IOException {
+        File file = this.getFile(ImportFile.CONSUMER);
+        return file != null ? this.mapper.readValue(file, ConsumerDTO.class) : null;
+    }
+
+    @Override
+    public List<CertificateDTO> getUpstreamConsumerCertificates() throws IOException {
+        return readUpstreamCertificates(this.mapper, this.listFiles(ImportFile.UPSTREAM_CONSUMER));
+    }
+
+    @Override
+    public Map<String, ProductDTO> getProducts() throws IOException {
+        Map<String, ProductDTO> output = new HashMap<>();
+
+        for (File file : this.listFiles(ImportFile.PRODUCTS)) {
+            String name = file.getName();
+
+            if (name.endsWith(ProductImporter.PRODUCT_FILE_SUFFIX)) {
+                String productFileId = name.substring(0,
+                    name.length() - ProductImporter.PRODUCT_FILE_SUFFIX.length());
+
+                output.put(productFileId, this.mapper.readValue(file, ProductDTO.class));
+            }
+        }
+
+        return output;
+    }
+
+    @Override
+    public List<EntitlementDTO> getEntitlements() throws IOException {
+        return this.readFiles(ImportFile.ENTITLEMENTS, EntitlementDTO.class);
+    }
+
+}
@@ -48,6 +48,7 @@ public class ProductImporter {
     private Map<String, ProductDTO> cache;
 
     private File productDir;
+    private Map<String, ProductDTO> manifestProducts;
     private ObjectMapper mapper;
     private I18n i18n;
 
@@ -73,6 +74,31 @@ public class ProductImporter {
         this.i18n = i18n;
     }
 
+    /**
+     * Creates a product importer backed by products which have already been read from the manifest,
+     * mapped by the name of the manifest file (less the file suffix) they were read from.
+     *
+     * @param manifestProducts
+     *  a mapping of product file names to the products they contain
+     *
+     * @param i18n
+     *  the I18n instance to use for translating error messages
+     */
+    public ProductImporter(Map<String, ProductDTO> manifestProducts, I18n i18n) {
+        if (manifestProducts == null) {
+            throw new IllegalArgumentException("manifestProducts is null");
+        }
+
+        if (i18n == null) {
+            throw new IllegalArgumentException("i18n is null");
+        }
+
+        this.cache = new HashMap<>();
+
+        this.manifestProducts = manifestProducts;
+        this.i18n = i18n;
+    }
+
     /**
      * Normalizes the given product to ensure it is safe for import. If the given product is null,
      * this method returns null.
@@ -147,18 +173,29 @@ public class ProductImporter {
     private ProductDTO readFromManifest(String productId) throws IOException {
         log.debug("loading product from manifest: {}", productId);
 
+        ProductDTO product = this.manifestProducts != null ?
+            this.manifestProducts.get(productId) :
+            this.readFromProductDir(productId);
+
+        if (product == null) {
+            return null;
+        }
+
+        this.normalizeProduct(product);
+        this.resolveChildren(product);
+
+        this.cache.put(product.getId(), product);
+        return product;
+    }
+
+    private ProductDTO readFromProductDir(String productId) throws IOException {
         File pfile = new File(this.productDir, productId + PRODUCT_FILE_SUFFIX);
         if (!pfile.exists()) {
             return null;
         }
 
         try (Reader reader = new FileReader(pfile)) {
-            ProductDTO product = this.mapper.readValue(reader, ProductDTO.class);
-            this.normalizeProduct(product);
-            this.resolveChildren(product);
-
-            this.cache.put(product.getId(), product);
-            return product;
+            return this.mapper.readValue(reader, ProductDTO.class);
         }
     }
 
@@ -321,18 +358,12 @@ public class ProductImporter {
      *  a mapping of products defined in the manifest
      */
     public Map<String, ProductDTO> importProductMap() throws IOException {
-        File[] files = this.productDir.listFiles();
-
         Map<String, ProductDTO> output = new HashMap<>();
-        Pattern fnPattern = Pattern.compile("^(.*)" + Pattern.quote(PRODUCT_FILE_SUFFIX));
 
         try {
-            for (File candidate : files) {
-                Matcher matcher = fnPattern.matcher(candidate.getName());
-                if (matcher.matches()) {
-                    ProductDTO product = this.importProduct(matcher.group(1));
-                    output.put(product.getId(), product);
-                }
+            for (String productFileId : this.listProductFileIds()) {
+                ProductDTO product = this.importProduct(productFileId);
+                output.put(product.getId(), product);
             }
         }
         catch (SyncDataFormatException e) {
@@ -343,4 +374,22 @@ public class ProductImporter {
         return output;
     }
 
+    private List<String> listProductFileIds() {
+        if (this.manifestProducts != null) {
+            return new ArrayList<>(this.manifestProducts.keySet());
+        }
+
+        List<String> output = new ArrayList<>();
+        Pattern fnPattern = Pattern.compile("^(.*)" + Pattern.quote(PRODUCT_FILE_SUFFIX));
+
+        for (File candidate : this.productDir.listFiles()) {
+            Matcher matcher = fnPattern.matcher(candidate.getName());
+            if (matcher.matches()) {
+                output.add(matcher.group(1));
+            }
+        }
+
+        return output;
+    }
+
 }
@@ -50,6 +50,16 @@ public class SyncUtils {
         return (tmp);
     }
 
+    /**
+     * Fetches the number of threads to use to parse the entries of a manifest during import.
+     *
+     * @return
+     *  the number of manifest parsing threads; always at least 1
+     */
+    int getImportParseThreads() {
+        return Math.max(1, config.getInt(ConfigProperties.SYNC_IMPORT_PARSE_THREADS));
+    }
+
     @Inject
     public SyncUtils(Configuration config) {
         this.config = config;
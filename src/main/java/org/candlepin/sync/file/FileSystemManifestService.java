@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync.file;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+import org.candlepin.model.ManifestFileRecord;
+import org.candlepin.model.ManifestFileRecordCurator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+
+
+
+/**
+ * A ManifestFileService implementation that stores manifest archives in a directory on a local or
+ * shared filesystem, keeping only the metadata of each manifest in the database. Archives are stored
+ * under the manifest storage directory as {@code <type>/<record id>.zip}.
+ * <p>
+ * Manifests stored in the database before switching to this service remain readable, and are
+ * deleted as usual.
+ */
+public class FileSystemManifestService implements ManifestFileService {
+    private static final Logger log = LoggerFactory.getLogger(FileSystemManifestService.class);
+
+    private static final String FILE_SUFFIX = ".zip";
+
+    private final ManifestFileRecordCurator curator;
+    private final Path baseDir;
+
+    @Inject
+    public FileSystemManifestService(Configuration config, ManifestFileRecordCurator curator) {
+        this.curator = Objects.requireNonNull(curator);
+        this.baseDir = Paths.get(config.getString(ConfigProperties.SYNC_MANIFEST_STORAGE_DIR));
+    }
+
+    private Path getPath(ManifestFileType type, String id) {
+        return this.baseDir
+            .resolve(type.name().toLowerCase(Locale.ROOT))
+            .resolve(id + FILE_SUFFIX);
+    }
+
+    @Override
+    public ManifestFile get(String id) throws ManifestFileServiceException {
+        ManifestFileRecord record = this.curator.findFile(id);
+        if (record == null || record.getFileData() != null) {
+            return record;
+        }
+
+        Path path = this.getPath(record.getType(), record.getId());
+        if (!Files.isRegularFile(path)) {
+            log.warn("Manifest file {} is missing from manifest storage: {}", id, path);
+            return null;
+        }
+
+        return new StoredManifestFile(record, path);
+    }
+
+    @Override
+    public ManifestFile store(ManifestFileType type, File fileToStore, String principalName,
+        String targetId) throws ManifestFileServiceException {
+
+        ManifestFileRecord record = this.curator.createRecord(type, fileToStore.getName(), principalName,
+            targetId);
+
+        Path path = this.getPath(type, record.getId());
+
+        try {
+            Files.createDirectories(path.getParent());
+
+            // Copy to a temporary file in the target directory first, so a partially written archive
+            // is never visible under its final name
+            Path tmp = Files.createTempFile(path.getParent(), record.getId(), ".tmp");
+            try {
+                Files.copy(fileToStore.toPath(), tmp, StandardCopyOption.REPLACE_EXISTING);
+                this.move(tmp, path);
+            }
+            finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        catch (IOException e) {
+            this.curator.deleteById(record.getId());
+            throw new ManifestFileServiceException("Unable to store manifest file: " + fileToStore, e);
+        }
+
+        log.debug("Stored manifest file {} at {}", record.getId(), path);
+        return new StoredManifestFile(record, path);
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public boolean delete(String id) throws ManifestFileServiceException {
+        ManifestFileRecord record = this.curator.findFile(id);
+        if (record == null) {
+            return false;
+        }
+
+        this.deleteFile(record.getType(), id);
+        return this.curator.deleteById(id);
+    }
+
+    @Override
+    public int deleteExpired(Date expiryDate) throws ManifestFileServiceException {
+        Collection<String> ids = this.curator.listExpiredIds(expiryDate);
+        this.deleteFiles(ids);
+
+        return this.curator.deleteExpired(expiryDate);
+    }
+
+    @Override
+    public int delete(ManifestFileType type, String targetId) throws ManifestFileServiceException {
+        for (String id : this.curator.listMatchingIds(type, targetId)) {
+            this.deleteFile(type, id);
+        }
+
+        return this.curator.deleteMatching(type, targetId);
+    }
+
+    private void deleteFiles(Collection<String> ids) {
+        for (String id : ids) {
+            for (ManifestFileType type : ManifestFileType.values()) {
+                this.deleteFile(type, id);
+            }
+        }
+    }
+
+    private void deleteFile(ManifestFileType type, String id) {
+        Path path = this.getPath(type, id);
+
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e) {
+            // The record is removed regardless; an orphaned file is preferable to a dangling record
+            log.warn("Unable to delete manifest file: {}", path, e);
+        }
+    }
+
+}
@@ -14,7 +14,9 @@
  */
 package org.candlepin.sync.file;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Represents a manifest file that is stored in the {@link ManifestFileService}.
@@ -51,4 +53,24 @@ public interface ManifestFile {
      */
     String getTargetId();
 
+    /**
+     * Writes the contents of the stored file to the given output stream. The output stream is not
+     * flushed or closed. Implementations backed by local files may override this to avoid copying the
+     * file through intermediate buffers.
+     *
+     * @param output
+     *  the output stream to write the contents of the stored file to
+     *
+     * @throws IOException
+     *  if the stored file cannot be read, or the output stream cannot be written
+     *
+     * @return
+     *  the number of bytes written
+     */
+    default long transferTo(OutputStream output) throws IOException {
+        try (InputStream input = this.getInputStream()) {
+            return input.transferTo(output);
+        }
+    }
+
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync.file;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.Configuration;
+
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+
+
+/**
+ * Provides the {@link ManifestFileService} implementation selected by the manifest storage type
+ * configuration.
+ */
+public class ManifestFileServiceProvider implements Provider<ManifestFileService> {
+
+    /** Storage type storing manifest archives in the database */
+    public static final String STORAGE_TYPE_DB = "db";
+
+    /** Storage type storing manifest archives in the manifest storage directory */
+    public static final String STORAGE_TYPE_FILESYSTEM = "filesystem";
+
+    private final Configuration config;
+    private final Provider<DBManifestService> dbServiceProvider;
+    private final Provider<FileSystemManifestService> fileSystemServiceProvider;
+
+    @Inject
+    public ManifestFileServiceProvider(Configuration config, Provider<DBManifestService> dbServiceProvider,
+        Provider<FileSystemManifestService> fileSystemServiceProvider) {
+
+        this.config = Objects.requireNonNull(config);
+        this.dbServiceProvider = Objects.requireNonNull(dbServiceProvider);
+        this.fileSystemServiceProvider = Objects.requireNonNull(fileSystemServiceProvider);
+    }
+
+    @Override
+    public ManifestFileService get() {
+        String type = this.config.getString(ConfigProperties.SYNC_MANIFEST_STORAGE_TYPE);
+
+        return STORAGE_TYPE_FILESYSTEM.equalsIgnoreCase(type) ?
+            this.fileSystemServiceProvider.get() :
+            this.dbServiceProvider.get();
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync.file;
+
+import org.candlepin.model.ManifestFileRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+
+
+/**
+ * A manifest file stored in the filesystem, described by a manifest file record holding its
+ * metadata.
+ */
+class StoredManifestFile implements ManifestFile {
+
+    private final ManifestFileRecord record;
+    private final Path path;
+
+    StoredManifestFile(ManifestFileRecord record, Path path) {
+        this.record = Objects.requireNonNull(record);
+        this.path = Objects.requireNonNull(path);
+    }
+
+    Path getPath() {
+        return this.path;
+    }
+
+    @Override
+    public String getId() {
+        return this.record.getId();
+    }
+
+    @Override
+    public String getName() {
+        return this.record.getName();
+    }
+
+    @Override
+    public String getTargetId() {
+        return this.record.getTargetId();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        try {
+            return Files.newInputStream(this.path);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("InputStream not available for manifest file.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The file is transferred with {@link FileChannel#transferTo}, allowing the kernel to copy the file
+     * directly to the destination where the destination supports it, rather than copying it through
+     * intermediate buffers.
+     */
+    @Override
+    public long transferTo(OutputStream output) throws IOException {
+        // The channel is not closed, as doing so would close the output stream
+        WritableByteChannel target = Channels.newChannel(output);
+
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+
+            return position;
+        }
+    }
+
+}
@@ -30,6 +30,8 @@ import tools.jackson.databind.introspect.AnnotationIntrospectorPair;
 import tools.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.ser.std.SimpleFilterProvider;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 import tools.jackson.datatype.hibernate7.Hibernate7Module;
 import tools.jackson.module.jaxb.JaxbAnnotationIntrospector;
 
@@ -53,6 +55,35 @@ public class ObjectMapperFactory implements Provider<ObjectMapper> {
      *  a new ObjectMapper instance
      */
     public static ObjectMapper getObjectMapper() {
+        return configureStandardMapper(JsonMapper.builder())
+            .build();
+    }
+
+    /**
+     * Creates a new ObjectMapper instance with the standard Candlepin configuration which reads and
+     * writes the binary Smile format rather than JSON.
+     *
+     * @return
+     *  a new Smile ObjectMapper instance
+     */
+    public static ObjectMapper getSmileObjectMapper() {
+        return configureStandardMapper(SmileMapper.builder())
+            .build();
+    }
+
+    /**
+     * Creates a new ObjectMapper instance with the standard Candlepin configuration which reads and
+     * writes the binary CBOR format rather than JSON.
+     *
+     * @return
+     *  a new CBOR ObjectMapper instance
+     */
+    public static ObjectMapper getCborObjectMapper() {
+        return configureStandardMapper(CBORMapper.builder())
+            .build();
+    }
+
+    private static <B extends MapperBuilder<?, B>> B configureStandardMapper(B builder) {
         Hibernate7Module hbm = new Hibernate7Module();
         hbm.enable(Hibernate7Module.Feature.FORCE_LAZY_LOADING);
 
@@ -64,12 +95,11 @@ public class ObjectMapperFactory implements Provider<ObjectMapper> {
         // We're not going to want any of the JSON filters like DynamicPropertyFilter that we apply elsewhere
         filterProvider.setFailOnUnknownId(false);
 
-        return JsonMapper.builder()
+        return builder
             .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
             .addModule(hbm)
             .annotationIntrospector(pair)
-            .filterProvider(filterProvider)
-            .build();
+            .filterProvider(filterProvider);
     }
 
     public static ObjectMapper getX509V3ExtensionUtilObjectMapper() {
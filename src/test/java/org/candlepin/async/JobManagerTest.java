@@ -41,6 +41,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -65,7 +66,9 @@ import org.candlepin.controller.mode.CandlepinModeManager;
 import org.candlepin.controller.mode.CandlepinModeManager.Mode;
 import org.candlepin.guice.CandlepinRequestScope;
 import org.candlepin.guice.PrincipalProvider;
+import org.candlepin.hibernate.QueryStatistics;
 import org.candlepin.logging.LoggingUtil;
+import org.candlepin.metrics.MetricsRegistry;
 import org.candlepin.model.AsyncJobStatus;
 import org.candlepin.model.AsyncJobStatus.JobState;
 import org.candlepin.model.AsyncJobStatusCurator;
@@ -89,6 +92,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -184,6 +188,8 @@ public class JobManagerTest {
     private PrincipalProvider principalProvider;
     private CandlepinRequestScope requestScope;
     private Injector injector;
+    private QueryStatistics queryStatistics;
+    private MetricsRegistry metricsRegistry;
     private EventSink eventSink;
 
     private Scheduler scheduler;
@@ -210,6 +216,8 @@ public class JobManagerTest {
         this.principalProvider = mock(PrincipalProvider.class);
         this.requestScope = mock(CandlepinRequestScope.class);
         this.injector = mock(Injector.class);
+        this.queryStatistics = mock(QueryStatistics.class);
+        this.metricsRegistry = new MetricsRegistry(TestConfig.defaults(), Set.of());
         this.eventSink = mock(EventSink.class);
 
         this.scheduler = mock(Scheduler.class);
@@ -289,7 +297,7 @@ public class JobManagerTest {
     private JobManager createJobManager(JobMessageDispatcher dispatcher, Configuration config) {
         return new JobManager(config, this.schedulerFactory, this.modeManager, this.jobCurator,
             this.ownerCurator, dispatcher, this.receiver, this.principalProvider, this.requestScope,
-            () -> this.eventSink, this.injector);
+            () -> this.eventSink, this.injector, this.queryStatistics, this.metricsRegistry);
     }
 
     private JobArguments buildJobArguments(Map<String, Object> args) {
@@ -413,6 +421,46 @@ public class JobManagerTest {
         verify(spy).execute(any());
     }
 
+    @Test
+    public void testJobExecutionTracksStatements() throws JobException {
+        AsyncJobStatus status = this.createJobStatus(JOB_ID)
+            .setJobKey(TestJob.JOB_KEY)
+            .setState(JobState.QUEUED);
+
+        doReturn(mock(AsyncJob.class)).when(injector).getInstance(TestJob.class);
+        this.injectMockedJobStatus(status);
+
+        JobManager manager = createJobManager();
+        manager.initialize();
+        manager.start();
+
+        manager.executeJob(new JobMessage(JOB_ID, TestJob.JOB_KEY));
+
+        InOrder inOrder = inOrder(this.queryStatistics);
+        inOrder.verify(this.queryStatistics).begin("job:" + TestJob.JOB_KEY);
+        inOrder.verify(this.queryStatistics).end();
+    }
+
+    @Test
+    public void testJobExecutionRecordsDuration() throws JobException {
+        AsyncJobStatus status = this.createJobStatus(JOB_ID)
+            .setJobKey(TestJob.JOB_KEY)
+            .setState(JobState.QUEUED);
+
+        doReturn(mock(AsyncJob.class)).when(injector).getInstance(TestJob.class);
+        this.injectMockedJobStatus(status);
+
+        JobManager manager = createJobManager();
+        manager.initialize();
+        manager.start();
+
+        manager.executeJob(new JobMessage(JOB_ID, TestJob.JOB_KEY));
+
+        String expected = String.format("candlepin_job_duration_seconds_count{job=\"%s\",state=\"%s\"} 1",
+            TestJob.JOB_KEY, JobState.FINISHED);
+        assertThat(this.metricsRegistry.scrape(), StringContains.containsString(expected));
+    }
+
     @Test
     public void testJobManagerDoesNotExecuteCanceledJob() throws JobException {
         AsyncJobStatus status = this.createJobStatus(JOB_ID)
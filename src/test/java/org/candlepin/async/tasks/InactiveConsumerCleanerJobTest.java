@@ -29,6 +29,7 @@ import org.candlepin.async.JobExecutionException;
 import org.candlepin.audit.Event;
 import org.candlepin.audit.EventFactory;
 import org.candlepin.config.ConfigProperties;
+import org.candlepin.controller.BulkConsumerDeletion;
 import org.candlepin.model.AbstractHibernateObject;
 import org.candlepin.model.AnonymousCloudConsumer;
 import org.candlepin.model.AnonymousCloudConsumerCurator;
@@ -64,6 +65,7 @@ public class InactiveConsumerCleanerJobTest extends DatabaseTestFixture {
     private ConsumerType consumerType;
     private TestEventSink eventSink;
     private EventFactory eventFactory;
+    private BulkConsumerDeletion bulkConsumerDeletion;
 
     @Override
     @BeforeEach
@@ -75,14 +77,18 @@ public class InactiveConsumerCleanerJobTest extends DatabaseTestFixture {
         this.eventSink = this.injector.getInstance(TestEventSink.class);
         this.eventFactory = this.injector.getInstance(EventFactory.class);
 
-        inactiveConsumerCleanerJob = new InactiveConsumerCleanerJob(this.config,
-            this.consumerCurator,
-            this.anonymousCloudConsumerCurator,
+        this.bulkConsumerDeletion = new BulkConsumerDeletion(this.consumerCurator,
             this.identityCertificateCurator,
             this.caCertCurator,
             this.certSerialCurator,
-            this.eventSink,
-            eventFactory);
+            this.eventFactory,
+            this.eventSink);
+
+        inactiveConsumerCleanerJob = new InactiveConsumerCleanerJob(this.config,
+            this.consumerCurator,
+            this.anonymousCloudConsumerCurator,
+            this.bulkConsumerDeletion,
+            this.eventSink);
     }
 
     @Test
@@ -382,11 +388,8 @@ public class InactiveConsumerCleanerJobTest extends DatabaseTestFixture {
         this.inactiveConsumerCleanerJob = new InactiveConsumerCleanerJob(this.config,
             this.consumerCurator,
             anonConsumerSpy,
-            this.identityCertificateCurator,
-            this.caCertCurator,
-            this.certSerialCurator,
-            this.eventSink,
-            eventFactory);
+            this.bulkConsumerDeletion,
+            this.eventSink);
 
         int expectedBatches = 3;
         int numberOfConsumers = InactiveConsumerCleanerJob.DEFAULT_BATCH_SIZE * expectedBatches;
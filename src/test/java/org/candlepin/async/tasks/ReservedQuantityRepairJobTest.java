@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.async.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.candlepin.async.JobExecutionContext;
+import org.candlepin.async.JobExecutionException;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.Owner;
+import org.candlepin.model.Pool;
+import org.candlepin.model.Product;
+import org.candlepin.test.DatabaseTestFixture;
+import org.candlepin.test.TestUtil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+
+
+public class ReservedQuantityRepairJobTest extends DatabaseTestFixture {
+
+    private Owner owner;
+    private Product product;
+    private Consumer consumer;
+
+    @BeforeEach
+    public void setUp() {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION, "true");
+
+        this.owner = this.createOwner();
+        this.product = this.createProduct();
+        this.consumer = this.createConsumer(this.owner);
+    }
+
+    private ReservedQuantityRepairJob createJobInstance() {
+        return new ReservedQuantityRepairJob(this.config, this.poolCurator);
+    }
+
+    private Pool createPool(long consumed, int minutesSinceUpdate) {
+        Pool pool = this.createPool(this.owner, this.product, 10L, TestUtil.createDate(2000, 1, 1),
+            TestUtil.createDate(2100, 1, 1));
+        this.createEntitlement(this.owner, this.consumer, pool).setQuantity(1);
+        this.getEntityManager().flush();
+
+        // Simulate a reservation which was never consumed nor released
+        this.getEntityManager()
+            .createQuery("UPDATE Pool p SET p.consumed = :consumed, p.updated = :updated WHERE p.id = :id")
+            .setParameter("consumed", consumed)
+            .setParameter("updated", Date.from(Instant.now().minus(minutesSinceUpdate, ChronoUnit.MINUTES)))
+            .setParameter("id", pool.getId())
+            .executeUpdate();
+
+        return pool;
+    }
+
+    private long getConsumed(Pool pool) {
+        this.getEntityManager().refresh(pool);
+        return pool.getConsumed();
+    }
+
+    @Test
+    public void testStalePoolsAreRecalculated() throws Exception {
+        Pool pool = this.createPool(5L, 120);
+        JobExecutionContext context = mock(JobExecutionContext.class);
+
+        this.createJobInstance().execute(context);
+
+        assertEquals(1L, this.getConsumed(pool));
+        verify(context).setJobResult("Recalculated the consumed quantity of 1 pools.");
+    }
+
+    @Test
+    public void testRecentlyUpdatedPoolsAreNotRecalculated() throws Exception {
+        Pool pool = this.createPool(5L, 5);
+        JobExecutionContext context = mock(JobExecutionContext.class);
+
+        this.createJobInstance().execute(context);
+
+        assertEquals(5L, this.getConsumed(pool));
+        verify(context).setJobResult("No pools needed their consumed quantity recalculated.");
+    }
+
+    @Test
+    public void testPoolsMatchingTheirEntitlementsAreNotRecalculated() throws Exception {
+        Pool pool = this.createPool(1L, 120);
+        JobExecutionContext context = mock(JobExecutionContext.class);
+
+        this.createJobInstance().execute(context);
+
+        assertEquals(1L, this.getConsumed(pool));
+        verify(context).setJobResult("No pools needed their consumed quantity recalculated.");
+    }
+
+    @Test
+    public void testPoolsAreNotRecalculatedWithReservationDisabled() throws Exception {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION, "false");
+        Pool pool = this.createPool(5L, 120);
+        JobExecutionContext context = mock(JobExecutionContext.class);
+
+        this.createJobInstance().execute(context);
+
+        assertEquals(5L, this.getConsumed(pool));
+    }
+
+    @Test
+    public void testInvalidGracePeriod() {
+        this.config.setProperty(ConfigProperties.jobConfig(ReservedQuantityRepairJob.JOB_KEY,
+            ReservedQuantityRepairJob.CFG_GRACE_PERIOD), "0");
+        JobExecutionContext context = mock(JobExecutionContext.class);
+
+        assertThrows(JobExecutionException.class, () -> this.createJobInstance().execute(context));
+    }
+}
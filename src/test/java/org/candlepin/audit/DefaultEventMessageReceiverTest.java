@@ -14,6 +14,7 @@
  */
 package org.candlepin.audit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -46,7 +47,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -178,6 +181,29 @@ public class DefaultEventMessageReceiverTest {
         verify(clientSession, never()).commit();
     }
 
+    @ParameterizedTest
+    @EnumSource(value = EventFormat.class, names = { "SMILE", "CBOR" })
+    public void binaryEventMessagesAreDecodedByContentType(EventFormat format) throws Exception {
+        Event event = new Event(Type.MODIFIED, Target.CONSUMER, new PrincipalData("5678", "910112"))
+            .setConsumerUuid("20");
+
+        doReturn(ClientMessage.BYTES_TYPE).when(this.clientMessage).getType();
+        doReturn(format.getContentType()).when(this.clientMessage)
+            .getStringProperty(EventFormat.CONTENT_TYPE_KEY);
+        this.activeMQBuffer.writeBytes(format.encode(event));
+
+        receiver.onMessage(clientMessage);
+
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        verify(eventListener).onEvent(captor.capture());
+        assertEquals(event.getId(), captor.getValue().getId());
+        assertEquals("20", captor.getValue().getConsumerUuid());
+
+        verify(mapper, never()).readValue(anyString(), eq(Event.class));
+        verify(clientSession).commit();
+        verify(clientSession, never()).rollback();
+    }
+
     @Test
     public void sessionCloseIgnoredIfSessionIsNull() throws Exception {
         DefaultEventMessageReceiver receiver = new DefaultEventMessageReceiver(eventListener,
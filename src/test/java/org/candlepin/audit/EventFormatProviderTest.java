@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+
+/**
+ * Test suite for the EventFormatProvider class
+ */
+public class EventFormatProviderTest {
+
+    @Test
+    public void testDefaultsToJson() {
+        EventFormatProvider provider = new EventFormatProvider(TestConfig.defaults());
+
+        assertSame(EventFormat.JSON, provider.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "cbor", "CBOR", " Cbor " })
+    public void testResolvesConfiguredFormat(String name) {
+        DevConfig config = TestConfig.defaults();
+        config.setProperty(ConfigProperties.AUDIT_EVENT_FORMAT, name);
+
+        assertSame(EventFormat.CBOR, new EventFormatProvider(config).get());
+    }
+
+    @Test
+    public void testRejectsUnknownFormat() {
+        DevConfig config = TestConfig.defaults();
+        config.setProperty(ConfigProperties.AUDIT_EVENT_FORMAT, "xml");
+
+        assertThrows(ConfigurationException.class, () -> new EventFormatProvider(config));
+    }
+
+}
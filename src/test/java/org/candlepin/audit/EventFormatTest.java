@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.candlepin.auth.PrincipalData;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+
+/**
+ * Test suite for the EventFormat enum
+ */
+public class EventFormatTest {
+
+    private Event buildBulkDeletionEvent(int count) {
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            uuids.add(UUID.randomUUID().toString());
+        }
+
+        return new Event(Event.Type.BULK_DELETION, Event.Target.CONSUMER, new PrincipalData("type", "name"))
+            .setOwnerKey("test_owner")
+            .setAnonymousOwner(false)
+            .setEventData(Map.of("consumerUuids", uuids));
+    }
+
+    @ParameterizedTest
+    @EnumSource(EventFormat.class)
+    public void testEncodeDecodeRoundTrip(EventFormat format) {
+        Event event = this.buildBulkDeletionEvent(10);
+
+        Event decoded = format.decode(format.encode(event));
+
+        assertEquals(event.getId(), decoded.getId());
+        assertEquals(event.getType(), decoded.getType());
+        assertEquals(event.getTarget(), decoded.getTarget());
+        assertEquals(event.getOwnerKey(), decoded.getOwnerKey());
+        assertEquals(event.getEventData(), decoded.getEventData());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = EventFormat.class, names = { "SMILE", "CBOR" })
+    public void testBinaryFormatsAreSmallerThanJson(EventFormat format) {
+        Event event = this.buildBulkDeletionEvent(500);
+
+        int jsonSize = EventFormat.JSON.encode(event).length;
+        int binarySize = format.encode(event).length;
+
+        assertTrue(binarySize < jsonSize,
+            String.format("%s size %d is not smaller than JSON size %d", format, binarySize, jsonSize));
+    }
+
+    @Test
+    public void testOnlyJsonIsText() {
+        assertFalse(EventFormat.JSON.isBinary());
+        assertTrue(EventFormat.SMILE.isBinary());
+        assertTrue(EventFormat.CBOR.isBinary());
+    }
+
+    @ParameterizedTest
+    @EnumSource(EventFormat.class)
+    public void testFromContentType(EventFormat format) {
+        assertSame(format, EventFormat.fromContentType(format.getContentType()));
+        assertSame(format, EventFormat.fromContentType(format.getContentType().toUpperCase()));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    public void testMissingContentTypeIsJson(String contentType) {
+        assertSame(EventFormat.JSON, EventFormat.fromContentType(contentType));
+    }
+
+    @Test
+    public void testUnknownContentTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EventFormat.fromContentType("text/xml"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "smile", "Smile", " SMILE " })
+    public void testFromNameIgnoresCase(String name) {
+        assertSame(EventFormat.SMILE, EventFormat.fromName(name));
+    }
+}
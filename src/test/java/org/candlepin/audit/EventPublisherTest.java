@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyByte;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.auth.PrincipalData;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.util.ObjectMapperFactory;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+
+
+/**
+ * Test suite for the EventPublisher class
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class EventPublisherTest {
+    @Mock
+    private ClientSessionFactory mockSessionFactory;
+    @Mock
+    private ClientSession mockClientSession;
+    @Mock
+    private ClientProducer mockClientProducer;
+    @Mock
+    private ClientMessage mockClientMessage;
+
+    @TempDir
+    private Path spillDir;
+
+    private DevConfig config;
+    private TestingActiveMQSessionFactory sessionFactory;
+    private EventPublisher publisher;
+    private EventFormat format;
+
+    @BeforeEach
+    public void init() throws Exception {
+        when(mockSessionFactory.createSession()).thenReturn(mockClientSession);
+        when(mockClientSession.createProducer(anyString())).thenReturn(mockClientProducer);
+        when(mockClientSession.createMessage(anyByte(), anyBoolean())).thenReturn(mockClientMessage);
+        when(mockClientMessage.getBodyBuffer()).thenReturn(ActiveMQBuffers.dynamicBuffer(2000));
+
+        this.sessionFactory = new TestingActiveMQSessionFactory(null, mockSessionFactory);
+
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_ASYNC_ENABLED, "true");
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_BATCH_SIZE, "10");
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_SPILL_DIR, this.spillDir.toString());
+
+        this.format = EventFormat.JSON;
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (this.publisher != null) {
+            this.publisher.shutdown();
+        }
+    }
+
+    private EventPublisher buildPublisher() {
+        this.publisher = new EventPublisher(this.config, this.sessionFactory,
+            ObjectMapperFactory.getObjectMapper(), this.format);
+
+        return this.publisher;
+    }
+
+    private List<Event> buildEvents(int count) {
+        PrincipalData principal = new PrincipalData("test_type", "test_name");
+        List<Event> events = new ArrayList<>();
+
+        for (int i = 0; i < count; ++i) {
+            events.add(new Event(Event.Type.CREATED, Event.Target.CONSUMER, principal)
+                .setEntityId("entity-" + i));
+        }
+
+        return events;
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for the event publisher");
+            }
+
+            Thread.sleep(25);
+        }
+    }
+
+    @Test
+    public void testDisabledPublisherReportsDisabled() {
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_ASYNC_ENABLED, "false");
+        EventPublisher publisher = this.buildPublisher();
+
+        publisher.start();
+
+        assertFalse(publisher.isEnabled());
+    }
+
+    @Test
+    public void testPublishSendsEventsInBatches() throws Exception {
+        EventPublisher publisher = this.buildPublisher();
+        publisher.start();
+
+        publisher.publish(this.buildEvents(25));
+        this.waitFor(() -> publisher.getStats().published() == 25);
+
+        verify(mockClientProducer, times(25)).send(any(ClientMessage.class));
+        verify(mockClientSession, atLeastOnce()).commit();
+
+        EventPublisher.Stats stats = publisher.getStats();
+        assertEquals(25, stats.enqueued());
+        assertTrue(stats.batches() >= 3);
+        assertEquals(0, stats.failed());
+    }
+
+    @Test
+    public void testDropPolicyDiscardsOverflow() throws Exception {
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_OVERFLOW_POLICY, "drop");
+        EventPublisher publisher = this.buildPublisher();
+
+        // Not started, so nothing can be queued
+        publisher.publish(this.buildEvents(5));
+
+        assertEquals(5, publisher.getStats().dropped());
+        verify(mockClientProducer, never()).send(any(ClientMessage.class));
+    }
+
+    @Test
+    public void testBlockPolicySendsInlineWhenNotRunning() throws Exception {
+        EventPublisher publisher = this.buildPublisher();
+
+        publisher.publish(this.buildEvents(3));
+
+        assertEquals(3, publisher.getStats().sentInline());
+        verify(mockClientProducer, times(3)).send(any(ClientMessage.class));
+        verify(mockClientSession).commit();
+    }
+
+    @Test
+    public void testBinaryFormatSendsBytesMessagesWithContentType() throws Exception {
+        this.format = EventFormat.CBOR;
+        EventPublisher publisher = this.buildPublisher();
+
+        publisher.publish(this.buildEvents(2));
+
+        verify(mockClientSession, times(2)).createMessage(ClientMessage.BYTES_TYPE, true);
+        verify(mockClientMessage, times(2))
+            .putStringProperty(EventFormat.CONTENT_TYPE_KEY, EventFormat.CBOR.getContentType());
+        verify(mockClientProducer, times(2)).send(any(ClientMessage.class));
+    }
+
+    @Test
+    public void testSpillPolicyWritesAndReplaysEvents() throws Exception {
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_OVERFLOW_POLICY, "spill");
+        EventPublisher publisher = this.buildPublisher();
+
+        publisher.publish(this.buildEvents(4));
+
+        assertEquals(4, publisher.getStats().spilled());
+        verify(mockClientProducer, never()).send(any(ClientMessage.class));
+
+        try (Stream<Path> files = Files.list(this.spillDir)) {
+            assertEquals(1, files.count());
+        }
+
+        // Once started, the idle publisher should replay and remove the spilled events
+        publisher.start();
+        this.waitFor(() -> publisher.getStats().replayed() == 4);
+
+        verify(mockClientProducer, times(4)).send(any(ClientMessage.class));
+        try (Stream<Path> files = Files.list(this.spillDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testReplaysSpillFilesWithoutRecordedFormats() throws Exception {
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_OVERFLOW_POLICY, "spill");
+        this.format = EventFormat.CBOR;
+
+        // Spill files predating the recorded formats hold only the length and JSON body of each event
+        ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+        try (DataOutputStream output = new DataOutputStream(
+            Files.newOutputStream(this.spillDir.resolve("events-0-000001.spill")))) {
+
+            for (Event event : this.buildEvents(3)) {
+                byte[] payload = mapper.writeValueAsBytes(event);
+                output.writeInt(payload.length);
+                output.write(payload);
+            }
+        }
+
+        EventPublisher publisher = this.buildPublisher();
+        publisher.start();
+        this.waitFor(() -> publisher.getStats().replayed() == 3);
+
+        // The events are replayed in the format they were spilled in
+        verify(mockClientSession, times(3)).createMessage(ClientMessage.TEXT_TYPE, true);
+        verify(mockClientProducer, times(3)).send(any(ClientMessage.class));
+        try (Stream<Path> files = Files.list(this.spillDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testFailedBatchIsSpilledWithSpillPolicy() throws Exception {
+        this.config.setProperty(ConfigProperties.AUDIT_PUBLISHER_OVERFLOW_POLICY, "spill");
+        when(mockSessionFactory.createSession()).thenThrow(new RuntimeException("broker down"));
+
+        EventPublisher publisher = this.buildPublisher();
+        publisher.start();
+
+        publisher.publish(this.buildEvents(2));
+        this.waitFor(() -> publisher.getStats().spilled() == 2);
+
+        assertEquals(0, publisher.getStats().published());
+    }
+}
@@ -24,12 +24,14 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.candlepin.async.impl.ActiveMQSessionFactory;
 import org.candlepin.auth.Principal;
+import org.candlepin.config.DevConfig;
 import org.candlepin.config.TestConfig;
 import org.candlepin.controller.mode.CandlepinModeManager;
 import org.candlepin.controller.mode.CandlepinModeManager.Mode;
@@ -67,6 +69,7 @@ import org.mockito.quality.Strictness;
 import tools.jackson.core.exc.StreamWriteException;
 import tools.jackson.databind.ObjectMapper;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -141,8 +144,11 @@ public class EventSinkImplTest {
      * @throws Exception
      */
     private EventSinkImpl createEventSink(final ClientSessionFactory sessionFactory) throws Exception {
+        DevConfig config = TestConfig.defaults();
+        EventPublisher publisher = new EventPublisher(config, this.amqSessionFactory, mapper, EventFormat.JSON);
+
         EventSinkImpl sink = new EventSinkImpl(eventFilter, factory, mapper,
-            TestConfig.defaults(), this.amqSessionFactory, mockModeManager);
+            config, this.amqSessionFactory, mockModeManager, publisher, EventFormat.JSON);
         return sink;
     }
 
@@ -248,6 +254,49 @@ public class EventSinkImplTest {
         verify(mockClientProducer).send(any(ClientMessage.class));
     }
 
+    @Test
+    public void asyncSinkShouldHandEventsToPublisherOnSend() throws Exception {
+        EventPublisher publisher = mock(EventPublisher.class);
+        doReturn(true).when(publisher).isEnabled();
+
+        EventSinkImpl sink = new EventSinkImpl(eventFilter, factory, mapper,
+            TestConfig.defaults(), this.amqSessionFactory, mockModeManager, publisher, EventFormat.JSON);
+
+        sink.emitOwnerCreated(o);
+        sink.emitPoolCreated(TestUtil.createPool(o, TestUtil.createProduct()));
+
+        // Nothing should be serialized or sent on the request thread
+        verify(mapper, never()).writeValueAsString(any());
+        verify(publisher, never()).publish(any());
+
+        sink.sendEvents();
+
+        ArgumentCaptor<Collection<Event>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(publisher).publish(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(mockClientProducer, never()).send(any(ClientMessage.class));
+
+        // Subsequent sends should not republish the same events
+        reset(publisher);
+        sink.sendEvents();
+        verify(publisher, never()).publish(any());
+    }
+
+    @Test
+    public void asyncSinkShouldDiscardEventsOnRollback() throws Exception {
+        EventPublisher publisher = mock(EventPublisher.class);
+        doReturn(true).when(publisher).isEnabled();
+
+        EventSinkImpl sink = new EventSinkImpl(eventFilter, factory, mapper,
+            TestConfig.defaults(), this.amqSessionFactory, mockModeManager, publisher, EventFormat.JSON);
+
+        sink.emitOwnerCreated(o);
+        sink.rollback();
+        sink.sendEvents();
+
+        verify(publisher, never()).publish(any());
+    }
+
     @Test
     public void rulesDeletedShouldEmitSuccessfully() throws Exception {
         Rules oldRules = new Rules(TestUtil.createRulesBlob(1));
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.Owner;
+import org.candlepin.model.Pool;
+import org.candlepin.test.DatabaseTestFixture;
+import org.candlepin.test.TestUtil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+
+/**
+ * Test suite for the quantity reservation of the BindContext class against the database
+ */
+public class BindContextReservationTest extends DatabaseTestFixture {
+
+    private BindContextFactory bindContextFactory;
+    private HandleEntitlementsOp handleEntitlementsOp;
+    private Owner owner;
+    private Pool pool;
+
+    @BeforeEach
+    public void setUp() {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION, "true");
+
+        this.bindContextFactory = this.injector.getInstance(BindContextFactory.class);
+        this.handleEntitlementsOp = this.injector.getInstance(HandleEntitlementsOp.class);
+
+        this.owner = this.createOwner();
+        this.pool = this.createPool(this.owner, this.createProduct(), 10L, TestUtil.createDate(2000, 1, 1),
+            TestUtil.createDate(2100, 1, 1));
+
+        this.commitTransaction();
+        this.beginTransaction();
+    }
+
+    private void bind(Consumer consumer, int quantity) {
+        Map<String, Integer> quantities = new HashMap<>();
+        quantities.put(this.pool.getId(), quantity);
+
+        BindContext context = this.bindContextFactory.create(consumer, quantities);
+        context.getPoolQuantities();
+        context.getEntitlementMap();
+
+        assertTrue(context.reservePools());
+
+        this.handleEntitlementsOp.execute(context);
+        context.completeReservation(true);
+    }
+
+    @Test
+    public void testReservedQuantitiesAreNotOverwrittenWhenPoolIsFlushed() {
+        Consumer consumer1 = this.createConsumer(this.owner);
+        Consumer consumer2 = this.createConsumer(this.owner);
+
+        // Reservation committed by a concurrent bind after the pool was loaded by this transaction
+        this.poolCurator.reserveQuantities(Map.of(this.pool.getId(), 2), 0);
+
+        this.bind(consumer1, 3);
+        this.bind(consumer2, 4);
+        assertEquals(9L, this.pool.getConsumed());
+
+        this.pool.setEndDate(TestUtil.createDate(2099, 1, 1));
+        this.getEntityManager().flush();
+        this.commitTransaction();
+
+        this.getEntityManager().clear();
+        assertEquals(9L, this.poolCurator.get(this.pool.getId()).getConsumed());
+    }
+}
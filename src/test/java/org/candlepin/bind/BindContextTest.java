@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerCurator;
+import org.candlepin.model.ConsumerType;
+import org.candlepin.model.ConsumerType.ConsumerTypeEnum;
+import org.candlepin.model.ConsumerTypeCurator;
+import org.candlepin.model.Owner;
+import org.candlepin.model.OwnerCurator;
+import org.candlepin.model.Pool;
+import org.candlepin.model.PoolCurator;
+import org.candlepin.model.Product;
+import org.candlepin.test.TestUtil;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.xnap.commons.i18n.I18nFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+
+
+
+/**
+ * Test suite for the quantity reservation of the BindContext class
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BindContextTest {
+
+    @Mock
+    private PoolCurator poolCurator;
+    @Mock
+    private ConsumerCurator consumerCurator;
+    @Mock
+    private ConsumerTypeCurator consumerTypeCurator;
+    @Mock
+    private OwnerCurator ownerCurator;
+    @Mock
+    private QuantityReservationBatcher reservationBatcher;
+    @Mock
+    private Session session;
+    @Mock
+    private Transaction transaction;
+
+    private DevConfig config;
+    private DeferredPoolLocks deferredPoolLocks;
+    private ConsumerType consumerType;
+    private Consumer consumer;
+    private Pool pool;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION, "true");
+        this.deferredPoolLocks = new DeferredPoolLocks();
+
+        Owner owner = TestUtil.createOwner();
+        this.consumerType = new ConsumerType(ConsumerTypeEnum.SYSTEM);
+        this.consumer = TestUtil.createConsumer(this.consumerType, owner);
+        this.pool = TestUtil.createPool(owner, TestUtil.createProduct(), 10)
+            .setId("pool-id");
+
+        when(this.consumerTypeCurator.getConsumerType(this.consumer)).thenReturn(this.consumerType);
+        when(this.poolCurator.listAllByIds(any())).thenReturn(List.of(this.pool));
+        when(this.poolCurator.currentSession()).thenReturn(this.session);
+        when(this.session.getTransaction()).thenReturn(this.transaction);
+        when(this.session.contains(this.pool)).thenReturn(true);
+        when(this.session.getLockMode(this.pool)).thenReturn(LockModeType.NONE);
+        when(this.transaction.getStatus()).thenReturn(TransactionStatus.ACTIVE);
+        when(this.reservationBatcher.reserve(anyMap(), anyInt())).thenReturn(true);
+    }
+
+    private BindContext buildContext(int quantity) {
+        Map<String, Integer> quantities = new HashMap<>();
+        quantities.put(this.pool.getId(), quantity);
+
+        BindContext context = new BindContext(this.poolCurator, this.consumerCurator,
+            this.consumerTypeCurator, this.ownerCurator,
+            I18nFactory.getI18n(this.getClass(), Locale.US, I18nFactory.FALLBACK), this.config,
+            this.reservationBatcher, this.deferredPoolLocks, this.consumer, quantities);
+
+        context.getPoolQuantities();
+        return context;
+    }
+
+    @Test
+    public void testReservePools() {
+        BindContext context = this.buildContext(3);
+
+        assertTrue(context.reservePools());
+        assertTrue(context.isReserved());
+
+        verify(this.reservationBatcher).reserve(Map.of("pool-id", 3), 2);
+        verify(this.session).setReadOnly(this.pool, true);
+        verify(this.poolCurator).reloadQuantities(List.of(this.pool));
+        verify(this.transaction).registerSynchronization(any(Synchronization.class));
+    }
+
+    @Test
+    public void testReservationDisabledByDefault() {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION, "false");
+        BindContext context = this.buildContext(3);
+
+        assertFalse(context.reservePools());
+        assertFalse(context.isReserved());
+        verify(this.reservationBatcher, never()).reserve(anyMap(), anyInt());
+    }
+
+    @Test
+    public void testStackedPoolsAreNotReserved() {
+        this.pool.getProduct().setAttribute(Product.Attributes.STACKING_ID, "stack-id");
+        BindContext context = this.buildContext(3);
+
+        assertFalse(context.reservePools());
+        verify(this.reservationBatcher, never()).reserve(anyMap(), anyInt());
+    }
+
+    @Test
+    public void testBonusPoolsAreNotReserved() {
+        this.pool.getProduct().setAttribute(Product.Attributes.VIRT_LIMIT, "4");
+        BindContext context = this.buildContext(3);
+
+        assertFalse(context.reservePools());
+        verify(this.reservationBatcher, never()).reserve(anyMap(), anyInt());
+    }
+
+    @Test
+    public void testManifestConsumersAreNotReserved() {
+        this.consumerType.setManifest(true);
+        BindContext context = this.buildContext(3);
+
+        assertFalse(context.reservePools());
+        verify(this.reservationBatcher, never()).reserve(anyMap(), anyInt());
+    }
+
+    @Test
+    public void testLockedPoolsAreNotReserved() {
+        when(this.session.getLockMode(this.pool)).thenReturn(LockModeType.PESSIMISTIC_WRITE);
+        BindContext context = this.buildContext(3);
+
+        assertFalse(context.reservePools());
+        verify(this.reservationBatcher, never()).reserve(anyMap(), anyInt());
+    }
+
+    @Test
+    public void testInsufficientQuantityIsNotReserved() {
+        when(this.reservationBatcher.reserve(anyMap(), anyInt())).thenReturn(false);
+        BindContext context = this.buildContext(30);
+
+        assertFalse(context.reservePools());
+        assertFalse(context.isReserved());
+        verify(this.session, never()).setReadOnly(any(), anyBoolean());
+    }
+
+    @Test
+    public void testReservationTimeoutIsNotReserved() {
+        doThrow(new QueryTimeoutException()).when(this.reservationBatcher).reserve(anyMap(), anyInt());
+        BindContext context = this.buildContext(3);
+
+        assertFalse(context.reservePools());
+        assertFalse(context.isReserved());
+    }
+
+    @Test
+    public void testConsumedReservationIsKept() {
+        BindContext context = this.buildContext(3);
+        context.reservePools();
+
+        context.completeReservation(true);
+
+        verify(this.session).setReadOnly(this.pool, false);
+        verify(this.poolCurator, never()).releaseQuantities(anyMap());
+    }
+
+    @Test
+    public void testUnconsumedReservationIsReleased() {
+        BindContext context = this.buildContext(3);
+        context.reservePools();
+
+        context.completeReservation(false);
+
+        verify(this.session).setReadOnly(this.pool, false);
+        verify(this.poolCurator).releaseQuantities(Map.of("pool-id", 3));
+    }
+
+    @Test
+    public void testReservationIsReleasedOnRollback() {
+        BindContext context = this.buildContext(3);
+        context.reservePools();
+        context.completeReservation(true);
+
+        ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+        verify(this.transaction).registerSynchronization(captor.capture());
+
+        captor.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+        captor.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        verify(this.poolCurator, times(1)).releaseQuantities(Map.of("pool-id", 3));
+    }
+
+    @Test
+    public void testReservationIsKeptOnCommit() {
+        BindContext context = this.buildContext(3);
+        context.reservePools();
+        context.completeReservation(true);
+
+        ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+        verify(this.transaction).registerSynchronization(captor.capture());
+
+        captor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        verify(this.poolCurator, never()).releaseQuantities(anyMap());
+    }
+
+    @Test
+    public void testReleasedReservationIsNotReleasedAgainOnRollback() {
+        BindContext context = this.buildContext(3);
+        context.reservePools();
+        context.completeReservation(false);
+
+        ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+        verify(this.transaction).registerSynchronization(captor.capture());
+
+        captor.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        verify(this.poolCurator, times(1)).releaseQuantities(anyMap());
+    }
+
+    @Test
+    public void testDeferredPoolsAreLockedWithPools() {
+        Pool deferred = TestUtil.createPool(this.pool.getOwner(), TestUtil.createProduct(), 10)
+            .setId("deferred-pool-id");
+
+        when(this.poolCurator.lockAndLoad(anyIterable())).thenReturn(List.of(this.pool, deferred));
+
+        this.deferredPoolLocks.defer(List.of(deferred.getId()));
+        BindContext context = this.buildContext(3);
+        context.lockPools();
+
+        verify(this.poolCurator).lockAndLoad(Set.of("pool-id", "deferred-pool-id"));
+        verify(this.poolCurator).refresh(List.of(this.pool));
+        assertEquals(Set.of(), this.deferredPoolLocks.take());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.bind;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.model.PoolCurator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.persistence.QueryTimeoutException;
+
+
+
+/**
+ * Test suite for the QuantityReservationBatcher class
+ */
+@ExtendWith(MockitoExtension.class)
+public class QuantityReservationBatcherTest {
+
+    @Mock
+    private PoolCurator poolCurator;
+
+    private DevConfig config;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_WINDOW, "1000");
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_SIZE, "2");
+
+        this.executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Requests the given reservations while another reservation of the same pool is in progress, and
+     * completes that reservation once the given reservations are done.
+     */
+    private List<Future<Boolean>> reserveConcurrently(QuantityReservationBatcher batcher,
+        Map<String, Integer> first, Map<String, Integer> second) throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(this.poolCurator).reserveQuantities(Map.of("pool", 1), 2);
+
+        Future<Boolean> inProgress = this.executor.submit(() -> batcher.reserve(Map.of("pool", 1), 2));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<Boolean>> results = List.of(
+            this.executor.submit(() -> batcher.reserve(first, 2)),
+            this.executor.submit(() -> batcher.reserve(second, 2)));
+
+        for (Future<Boolean> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+            }
+            catch (ExecutionException e) {
+                // Verified by the caller
+            }
+        }
+
+        release.countDown();
+        assertTrue(inProgress.get(5, TimeUnit.SECONDS));
+
+        return results;
+    }
+
+    @Test
+    public void testBatchingCanBeDisabled() {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_WINDOW, "0");
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 3), 2)).thenReturn(true);
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+
+        assertTrue(batcher.reserve(Map.of("pool", 3), 2));
+        verify(this.poolCurator).reserveQuantities(Map.of("pool", 3), 2);
+    }
+
+    @Test
+    public void testUncontendedReservationIsNotDelayed() {
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 3), 2)).thenReturn(true);
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+
+        long start = System.nanoTime();
+        assertTrue(batcher.reserve(Map.of("pool", 3), 2));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+    }
+
+    @Test
+    public void testBatchIsHeldOpenUntilReservationsInProgressComplete() throws Exception {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_SIZE, "50");
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 3), 2)).thenReturn(true);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(this.poolCurator).reserveQuantities(Map.of("pool", 1), 2);
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+        Future<Boolean> inProgress = this.executor.submit(() -> batcher.reserve(Map.of("pool", 1), 2));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Boolean> queued = this.executor.submit(() -> batcher.reserve(Map.of("pool", 3), 2));
+        assertThrows(TimeoutException.class, () -> queued.get(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(inProgress.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConcurrentReservationsAreCombined() throws Exception {
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 5), 2)).thenReturn(true);
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+        List<Future<Boolean>> results = this.reserveConcurrently(batcher, Map.of("pool", 3), Map.of("pool", 2));
+
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+
+        verify(this.poolCurator, times(1)).reserveQuantities(Map.of("pool", 5), 2);
+    }
+
+    @Test
+    public void testInsufficientCombinedQuantityIsReservedIndividually() throws Exception {
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 5), 2)).thenReturn(false);
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 3), 2)).thenReturn(true);
+        when(this.poolCurator.reserveQuantities(Map.of("pool", 2), 2)).thenReturn(false);
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+        List<Future<Boolean>> results = this.reserveConcurrently(batcher, Map.of("pool", 3), Map.of("pool", 2));
+
+        assertTrue(results.get(0).get(5, TimeUnit.SECONDS));
+        assertFalse(results.get(1).get(5, TimeUnit.SECONDS));
+        verify(this.poolCurator, times(4)).reserveQuantities(anyMap(), anyInt());
+    }
+
+    @Test
+    public void testReservationErrorsArePropagatedToBatch() throws Exception {
+        when(this.poolCurator.reserveQuantities(anyMap(), anyInt())).thenThrow(new QueryTimeoutException());
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+        List<Future<Boolean>> results = this.reserveConcurrently(batcher, Map.of("pool", 3), Map.of("pool", 2));
+
+        for (Future<Boolean> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> result.get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(QueryTimeoutException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    public void testReservationsForDifferentPoolsAreNotCombined() throws Exception {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION_BATCH_WINDOW, "50");
+        when(this.poolCurator.reserveQuantities(anyMap(), anyInt())).thenReturn(true);
+
+        QuantityReservationBatcher batcher = new QuantityReservationBatcher(this.config, this.poolCurator);
+        List<Future<Boolean>> results = List.of(
+            this.executor.submit(() -> batcher.reserve(Map.of("pool1", 3), 2)),
+            this.executor.submit(() -> batcher.reserve(Map.of("pool2", 2), 2)));
+
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+
+        verify(this.poolCurator).reserveQuantities(Map.of("pool1", 3), 2);
+        verify(this.poolCurator).reserveQuantities(Map.of("pool2", 2), 2);
+    }
+}
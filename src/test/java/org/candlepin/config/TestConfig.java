@@ -74,6 +74,7 @@ public final class TestConfig {
 
             // Write other misc configurations...
             config.setProperty(ConfigProperties.SYNC_WORK_DIR, "/tmp");
+            config.setProperty(ConfigProperties.RULES_COMPILED_CACHE_DIR, "");
             config.setProperty(ConfigProperties.ACTIVEMQ_LARGE_MSG_SIZE, "0");
             config.setProperty(ConfigProperties.HIDDEN_RESOURCES, "");
             config.setProperty(DatabaseConfigFactory.IN_OPERATOR_BLOCK_SIZE, "10");
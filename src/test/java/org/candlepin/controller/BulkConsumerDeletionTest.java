@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.candlepin.audit.Event;
+import org.candlepin.audit.EventFactory;
+import org.candlepin.model.CertificateSerial;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.Entitlement;
+import org.candlepin.model.IdentityCertificate;
+import org.candlepin.model.InactiveConsumerRecord;
+import org.candlepin.model.Owner;
+import org.candlepin.model.Pool;
+import org.candlepin.test.DatabaseTestFixture;
+import org.candlepin.test.TestEventSink;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+
+
+public class BulkConsumerDeletionTest extends DatabaseTestFixture {
+
+    private TestEventSink eventSink;
+    private BulkConsumerDeletion deletion;
+
+    @BeforeEach
+    public void setUp() {
+        this.eventSink = this.injector.getInstance(TestEventSink.class);
+
+        this.deletion = new BulkConsumerDeletion(this.consumerCurator,
+            this.identityCertificateCurator,
+            this.caCertCurator,
+            this.certSerialCurator,
+            this.injector.getInstance(EventFactory.class),
+            this.eventSink);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // Each chunk is deleted in a transaction of its own, so the test transaction is committed before
+        // the deletion; begin a new one for the fixture to clean up.
+        this.beginTransaction();
+    }
+
+    @Test
+    public void shouldDeleteConsumersInChunks() {
+        Owner owner = this.createOwner();
+        List<Consumer> consumers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            consumers.add(this.createConsumerWithIdCert(owner));
+        }
+
+        this.commitTransaction();
+
+        int deleted = this.deletion.deleteConsumers(toRecords(owner, consumers), 2);
+        this.consumerCurator.clear();
+
+        assertEquals(5, deleted);
+
+        for (Consumer consumer : consumers) {
+            assertNull(this.consumerCurator.get(consumer.getId()));
+            assertNotNull(this.deletedConsumerCurator.findByConsumerId(consumer.getId()));
+            assertNull(this.identityCertificateCurator.get(consumer.getIdCert().getId()));
+
+            CertificateSerial serial = this.certSerialCurator.get(consumer.getIdCert().getSerial().getId());
+            assertThat(serial.isRevoked()).isTrue();
+        }
+
+        // One bulk deletion event is sent per chunk
+        Queue<Event> events = this.eventSink.getDispatchedEvents();
+        assertThat(events)
+            .hasSize(3)
+            .allSatisfy(event -> assertThat(event)
+                .returns(Event.Type.BULK_DELETION, Event::getType)
+                .returns(owner.getKey(), Event::getOwnerKey));
+    }
+
+    @Test
+    public void shouldSkipConsumersEntitledSinceFoundInactive() {
+        Owner owner = this.createOwner();
+        Pool pool = this.createPool(owner, this.createProduct());
+        Consumer inactive = this.createConsumerWithIdCert(owner);
+        Consumer entitled = this.createConsumerWithIdCert(owner);
+        Entitlement entitlement = this.createEntitlement(owner, entitled, pool);
+
+        this.commitTransaction();
+
+        int deleted = this.deletion.deleteConsumers(toRecords(owner, List.of(inactive, entitled)), 10);
+        this.consumerCurator.clear();
+
+        assertEquals(1, deleted);
+        assertNull(this.consumerCurator.get(inactive.getId()));
+
+        assertNotNull(this.consumerCurator.get(entitled.getId()));
+        assertNotNull(this.entitlementCurator.get(entitlement.getId()));
+        assertNull(this.deletedConsumerCurator.findByConsumerId(entitled.getId()));
+        assertNotNull(this.identityCertificateCurator.get(entitled.getIdCert().getId()));
+
+        CertificateSerial serial = this.certSerialCurator.get(entitled.getIdCert().getSerial().getId());
+        assertThat(serial.isRevoked()).isFalse();
+
+        // Only the deleted consumer is reported as deleted
+        assertThat(this.eventSink.getDispatchedEvents())
+            .singleElement()
+            .satisfies(event -> assertThat(event.getEventData())
+                .containsEntry("consumerUuids", List.of(inactive.getUuid())));
+    }
+
+    @Test
+    public void shouldRejectInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> this.deletion.deleteConsumers(List.of(), 0));
+    }
+
+    private List<InactiveConsumerRecord> toRecords(Owner owner, List<Consumer> consumers) {
+        return consumers.stream()
+            .map(consumer -> new InactiveConsumerRecord(consumer.getId(), consumer.getUuid(), owner.getKey(),
+                owner.getAnonymous()))
+            .toList();
+    }
+
+    private Consumer createConsumerWithIdCert(Owner owner) {
+        CertificateSerial serial = new CertificateSerial();
+        this.certSerialCurator.saveOrUpdate(serial);
+
+        IdentityCertificate identCert = new IdentityCertificate();
+        identCert.setCert("test_cert");
+        identCert.setKey("test_key");
+        identCert.setSerial(serial);
+        this.identityCertificateCurator.saveOrUpdate(identCert);
+
+        Consumer consumer = this.createConsumer(owner);
+        consumer.setIdCert(identCert);
+
+        return this.consumerCurator.saveOrUpdate(consumer);
+    }
+
+}
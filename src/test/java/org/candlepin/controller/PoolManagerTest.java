@@ -59,6 +59,7 @@ import org.candlepin.bind.BindContext;
 import org.candlepin.bind.BindContextFactory;
 import org.candlepin.bind.CheckBonusPoolQuantitiesOp;
 import org.candlepin.bind.ComplianceOp;
+import org.candlepin.bind.DeferredPoolLocks;
 import org.candlepin.bind.HandleCertificatesOp;
 import org.candlepin.bind.HandleEntitlementsOp;
 import org.candlepin.bind.PoolOpProcessor;
@@ -66,11 +67,13 @@ import org.candlepin.bind.PoolOperations;
 import org.candlepin.bind.PostBindBonusPoolsOp;
 import org.candlepin.bind.PreEntitlementRulesCheckOp;
 import org.candlepin.bind.PreEntitlementRulesCheckOpFactory;
+import org.candlepin.bind.QuantityReservationBatcher;
 import org.candlepin.config.ConfigProperties;
 import org.candlepin.config.Configuration;
 import org.candlepin.controller.refresher.RefreshResult;
 import org.candlepin.controller.refresher.RefreshResult.EntityState;
 import org.candlepin.controller.refresher.RefreshWorker;
+import org.candlepin.controller.util.AutobindPoolIndex;
 import org.candlepin.model.Branding;
 import org.candlepin.model.CdnCurator;
 import org.candlepin.model.Consumer;
@@ -213,6 +216,8 @@ public class PoolManagerTest {
     private OwnerCurator ownerCurator;
     @Mock
     private PoolOpProcessor poolOpProcessor;
+    @Mock
+    private AutobindPoolIndex autobindPoolIndex;
 
     private PoolConverter poolConverter;
     private PoolManager manager;
@@ -268,7 +273,7 @@ public class PoolManagerTest {
             poolCurator, mockEventSink, eventFactory, config, enforcer, poolRules, entitlementCurator,
             consumerCuratorMock, consumerTypeCurator, mockecService, complianceRules, autobindRules,
             activationKeyRules, mockOwnerCurator, i18n, poolService, mockBindChainFactory,
-            refreshWorkerProvider, poolOpProcessor, poolConverter));
+            refreshWorkerProvider, poolOpProcessor, poolConverter, autobindPoolIndex));
 
         this.refresherFactory = new RefresherFactory(ownerCurator, manager, poolCurator, poolConverter);
 
@@ -354,6 +359,9 @@ public class PoolManagerTest {
                         consumerTypeCurator,
                         mockOwnerCurator,
                         i18n,
+                        config,
+                        new QuantityReservationBatcher(config, poolCurator),
+                        new DeferredPoolLocks(),
                         consumer,
                         pQ);
                 }
@@ -441,6 +449,26 @@ public class PoolManagerTest {
         verify(poolCurator, times(1)).merge(normalPool);
     }
 
+    @Test
+    public void processPoolUpdatesIncrementsPoolRevisionOnDateChanges() {
+        Pool datedPool = TestUtil.createPool(owner, TestUtil.createProduct());
+        datedPool.setId("dated-pool-id");
+        Pool consumedPool = TestUtil.createPool(TestUtil.createOwner("other-owner"), TestUtil.createProduct());
+        consumedPool.setId("consumed-pool-id");
+
+        when(poolCurator.getExistingPoolIdsByIds(anyIterable()))
+            .thenReturn(Set.of(datedPool.getId(), consumedPool.getId()));
+
+        PoolUpdate datesUpdate = new PoolUpdate(datedPool);
+        datesUpdate.setDatesChanged(true);
+        PoolUpdate quantityUpdate = new PoolUpdate(consumedPool);
+        quantityUpdate.setQuantityChanged(true);
+
+        manager.processPoolUpdates(new HashMap<>(), List.of(datesUpdate, quantityUpdate));
+
+        verify(ownerCurator).incrementPoolRevision(Set.of(owner.getId()));
+    }
+
     @Test
     public void deletePoolsTest() {
         Product prod = TestUtil.createProduct();
@@ -1148,6 +1176,48 @@ public class PoolManagerTest {
         assertEquals(1, e.size());
     }
 
+    @Test
+    public void testGetBestPoolsOnlyLoadsCandidatePools() throws Exception {
+        Consumer consumer = TestUtil.createConsumer(owner);
+        Product product = TestUtil.createProduct();
+        Date now = new Date();
+
+        when(complianceRules.getStatus(eq(consumer), eq(now), eq(false))).thenReturn(dummyComplianceStatus);
+        when(autobindPoolIndex.isEnabled()).thenReturn(true);
+        when(autobindPoolIndex.findCandidatePoolIds(eq(owner.getId()), anyCollection(), anyCollection(),
+            nullable(Collection.class), nullable(String.class)))
+            .thenReturn(new HashSet<>(Set.of("pool-1", "pool-2")));
+
+        Page<List<Pool>> page = new Page<>();
+        page.setPageData(new ArrayList<>());
+        doReturn(page).when(poolCurator).listAvailableEntitlementPools(any(PoolQualifier.class));
+
+        manager.getBestPools(consumer, Set.of(product.getId()), now, owner.getId(), null, null);
+
+        ArgumentCaptor<PoolQualifier> captor = ArgumentCaptor.forClass(PoolQualifier.class);
+        verify(poolCurator).listAvailableEntitlementPools(captor.capture());
+        assertEquals(Set.of("pool-1", "pool-2"), captor.getValue().getIds());
+    }
+
+    @Test
+    public void testGetBestPoolsSkipsPoolLookupWithoutCandidates() throws Exception {
+        Consumer consumer = TestUtil.createConsumer(owner);
+        Product product = TestUtil.createProduct();
+        Date now = new Date();
+
+        when(complianceRules.getStatus(eq(consumer), eq(now), eq(false))).thenReturn(dummyComplianceStatus);
+        when(autobindPoolIndex.isEnabled()).thenReturn(true);
+        when(autobindPoolIndex.findCandidatePoolIds(eq(owner.getId()), anyCollection(), anyCollection(),
+            nullable(Collection.class), nullable(String.class)))
+            .thenReturn(new HashSet<>(Set.of("pool-1")));
+
+        List<PoolQuantity> bestPools = manager.getBestPools(consumer, Set.of(product.getId()), now,
+            owner.getId(), null, Set.of("pool-2"));
+
+        assertTrue(bestPools.isEmpty());
+        verify(poolCurator, never()).listAvailableEntitlementPools(any(PoolQualifier.class));
+    }
+
     @Test
     public void testEntitleByProductRetry() {
         Date now = new Date();
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.controller.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.model.Content;
+import org.candlepin.model.ContentCurator;
+import org.candlepin.model.Owner;
+import org.candlepin.model.ProductContent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+
+
+/**
+ * Test suite for the ActiveContentCache class
+ */
+public class ActiveContentCacheTest {
+
+    private DevConfig config;
+    private ContentCurator contentCurator;
+    private Owner owner;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.contentCurator = mock(ContentCurator.class);
+
+        this.owner = new Owner()
+            .setId("owner-id")
+            .setKey("owner-key")
+            .setLastContentUpdate(new Date(1000L));
+
+        Content content1 = new Content("content-1");
+        Content content2 = new Content("content-2");
+
+        when(this.contentCurator.getActiveContentByOwner("owner-id")).thenReturn(List.of(
+            new ProductContent(content1, false),
+            new ProductContent(content2, false),
+            new ProductContent(content1, true)));
+    }
+
+    private ActiveContentCache buildCache() {
+        return new ActiveContentCache(this.config, this.contentCurator);
+    }
+
+    @Test
+    public void testActiveContentIsMergedByContentId() {
+        Map<String, ProductContent> content = this.buildCache().getActiveContent(this.owner);
+
+        assertEquals(2, content.size());
+        assertTrue(content.get("content-1").isEnabled());
+        assertFalse(content.get("content-2").isEnabled());
+        assertThrows(UnsupportedOperationException.class, () -> content.remove("content-1"));
+    }
+
+    @Test
+    public void testSnapshotIsReusedUntilContentIsUpdated() {
+        ActiveContentCache cache = this.buildCache();
+
+        ActiveContentCache.Snapshot first = cache.getSnapshot(this.owner);
+        ActiveContentCache.Snapshot second = cache.getSnapshot(this.owner);
+        assertSame(first, second);
+        verify(this.contentCurator, times(1)).getActiveContentByOwner("owner-id");
+
+        this.owner.setLastContentUpdate(new Date(2000L));
+        ActiveContentCache.Snapshot third = cache.getSnapshot(this.owner);
+
+        assertNotSame(first, third);
+        assertEquals(2000L, third.version());
+        verify(this.contentCurator, times(2)).getActiveContentByOwner("owner-id");
+
+        ActiveContentCache.Statistics stats = cache.getStatistics();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.builds());
+        assertEquals(1, stats.snapshots());
+        assertEquals(2, stats.content());
+    }
+
+    @Test
+    public void testSnapshotIsRebuiltOncePoolsStartOrEnd() {
+        // A pool of the organization started or ended since the snapshot was built
+        when(this.contentCurator.getActiveContentExpirationByOwner(eq("owner-id"), any(Date.class)))
+            .thenReturn(new Date(System.currentTimeMillis() - 1000L));
+
+        ActiveContentCache cache = this.buildCache();
+
+        ActiveContentCache.Snapshot first = cache.getSnapshot(this.owner);
+        ActiveContentCache.Snapshot second = cache.getSnapshot(this.owner);
+
+        assertNotSame(first, second);
+        verify(this.contentCurator, times(2)).getActiveContentByOwner("owner-id");
+    }
+
+    @Test
+    public void testSnapshotIsReusedUntilPoolsStartOrEnd() {
+        Date boundary = new Date(System.currentTimeMillis() + 60000L);
+        when(this.contentCurator.getActiveContentExpirationByOwner(eq("owner-id"), any(Date.class)))
+            .thenReturn(boundary);
+
+        ActiveContentCache cache = this.buildCache();
+
+        ActiveContentCache.Snapshot first = cache.getSnapshot(this.owner);
+        assertSame(first, cache.getSnapshot(this.owner));
+        assertEquals(boundary, first.expiration());
+
+        assertTrue(first.isCurrent(1000L, boundary.getTime() - 1));
+        assertFalse(first.isCurrent(1000L, boundary.getTime()));
+        assertFalse(first.isCurrent(2000L, boundary.getTime() - 1));
+    }
+
+    @Test
+    public void testSnapshotContentIsDetached() {
+        Content content = new Content("content-1");
+        when(this.contentCurator.getActiveContentByOwner("owner-id"))
+            .thenReturn(List.of(new ProductContent(content, true)));
+
+        ProductContent cached = this.buildCache().getActiveContent(this.owner).get("content-1");
+
+        assertNotSame(content, cached.getContent());
+        assertEquals(content.getId(), cached.getContent().getId());
+    }
+
+    @Test
+    public void testInvalidateDiscardsSnapshot() {
+        ActiveContentCache cache = this.buildCache();
+
+        cache.getSnapshot(this.owner);
+        cache.invalidate("owner-id");
+        cache.getSnapshot(this.owner);
+
+        verify(this.contentCurator, times(2)).getActiveContentByOwner("owner-id");
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysQueries() {
+        this.config.setProperty(ConfigProperties.CACHE_ACTIVE_CONTENT_MAX_ENTRIES, "0");
+        ActiveContentCache cache = this.buildCache();
+
+        cache.getActiveContent(this.owner);
+        cache.getActiveContent(this.owner);
+
+        verify(this.contentCurator, times(2)).getActiveContentByOwner("owner-id");
+        assertEquals(0, cache.getStatistics().snapshots());
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        this.config.setProperty(ConfigProperties.CACHE_ACTIVE_CONTENT_TTL, "0");
+        assertThrows(ConfigurationException.class, this::buildCache);
+
+        this.config.setProperty(ConfigProperties.CACHE_ACTIVE_CONTENT_TTL, "1000");
+        this.config.setProperty(ConfigProperties.CACHE_ACTIVE_CONTENT_MAX_ENTRIES, "-1");
+        assertThrows(ConfigurationException.class, this::buildCache);
+    }
+
+    @Test
+    public void testOwnerIsRequired() {
+        assertThrows(IllegalArgumentException.class, () -> this.buildCache().getSnapshot(null));
+    }
+
+}
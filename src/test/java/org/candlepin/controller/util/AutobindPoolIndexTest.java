@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.controller.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.model.PoolCurator;
+import org.candlepin.model.PoolSummary;
+import org.candlepin.model.Product;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+
+/**
+ * Test suite for the AutobindPoolIndex class
+ */
+public class AutobindPoolIndexTest {
+    private static final String OWNER_ID = "owner-id";
+
+    private DevConfig config;
+    private PoolCurator poolCurator;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.poolCurator = mock(PoolCurator.class);
+
+        when(this.poolCurator.getPoolVersionByOwner(OWNER_ID)).thenReturn("1");
+        when(this.poolCurator.getPoolSummariesByOwner(eq(OWNER_ID), anyCollection())).thenReturn(List.of(
+            buildPool("pool-1", "sku-1", Set.of("prod-1", "prod-2"), Map.of()),
+            buildPool("pool-2", "sku-2", Set.of("prod-3"),
+                Map.of(Product.Attributes.STACKING_ID, "stack-1")),
+            buildPool("pool-3", "sku-3", Set.of(),
+                Map.of(Product.Attributes.ADDONS, "Addon-1, addon-2", Product.Attributes.ROLES, "Role-1")),
+            buildPool("pool-4", "sku-4", Set.of("prod-1"), Map.of())));
+    }
+
+    private static PoolSummary buildPool(String poolId, String productId, Set<String> providedProductIds,
+        Map<String, String> attributes) {
+
+        return new PoolSummary(poolId, productId, 10L, providedProductIds, attributes);
+    }
+
+    private AutobindPoolIndex buildIndex() {
+        return new AutobindPoolIndex(this.config, this.poolCurator);
+    }
+
+    @Test
+    public void testCandidatesProvideRequestedProducts() {
+        AutobindPoolIndex index = this.buildIndex();
+
+        assertEquals(Set.of("pool-1"), index.findCandidatePoolIds(OWNER_ID, List.of("prod-1"), null, null,
+            null));
+        assertEquals(Set.of("pool-1", "pool-2"), index.findCandidatePoolIds(OWNER_ID,
+            List.of("prod-2", "sku-2"), null, null, null));
+        assertEquals(Set.of(), index.findCandidatePoolIds(OWNER_ID, List.of("prod-4"), null, null, null));
+    }
+
+    @Test
+    public void testCandidatesCompleteStacksAndMatchAddonsAndRoles() {
+        AutobindPoolIndex index = this.buildIndex();
+
+        assertEquals(Set.of("pool-2"), index.findCandidatePoolIds(OWNER_ID, null, List.of("stack-1"), null,
+            null));
+        assertEquals(Set.of("pool-3"), index.findCandidatePoolIds(OWNER_ID, null, null, Set.of(" ADDON-2 "),
+            null));
+        assertEquals(Set.of("pool-3"), index.findCandidatePoolIds(OWNER_ID, null, null, null, "role-1"));
+    }
+
+    @Test
+    public void testCandidatesIncludeEveryPoolProvidingRequestedProducts() {
+        AutobindPoolIndex index = this.buildIndex();
+
+        assertEquals(Set.of("pool-1", "pool-4"), index.findCandidatePoolIds(OWNER_ID, List.of("prod-1"),
+            null, null, null));
+    }
+
+    @Test
+    public void testIndexIsReusedUntilPoolVersionChanges() {
+        AutobindPoolIndex index = this.buildIndex();
+
+        AutobindPoolIndex.Snapshot first = index.getSnapshot(OWNER_ID);
+        AutobindPoolIndex.Snapshot second = index.getSnapshot(OWNER_ID);
+        assertSame(first, second);
+        assertEquals(4, first.size());
+        verify(this.poolCurator, times(1)).getPoolSummariesByOwner(eq(OWNER_ID), anyCollection());
+
+        when(this.poolCurator.getPoolVersionByOwner(OWNER_ID)).thenReturn("2");
+        AutobindPoolIndex.Snapshot third = index.getSnapshot(OWNER_ID);
+
+        assertNotSame(first, third);
+        assertEquals("2", third.version());
+        verify(this.poolCurator, times(2)).getPoolSummariesByOwner(eq(OWNER_ID), anyCollection());
+    }
+
+    @Test
+    public void testInvalidateDiscardsIndex() {
+        AutobindPoolIndex index = this.buildIndex();
+
+        AutobindPoolIndex.Snapshot first = index.getSnapshot(OWNER_ID);
+        index.invalidate(OWNER_ID);
+
+        assertNotSame(first, index.getSnapshot(OWNER_ID));
+    }
+
+    @Test
+    public void testDisabledIndex() {
+        this.config.setProperty(ConfigProperties.CACHE_AUTOBIND_POOLS_MAX_ENTRIES, "0");
+        AutobindPoolIndex index = this.buildIndex();
+
+        assertFalse(index.isEnabled());
+        assertThrows(IllegalStateException.class, () -> index.getSnapshot(OWNER_ID));
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        this.config.setProperty(ConfigProperties.CACHE_AUTOBIND_POOLS_TTL, "0");
+
+        assertThrows(ConfigurationException.class, this::buildIndex);
+    }
+}
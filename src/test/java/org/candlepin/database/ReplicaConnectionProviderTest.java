@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.database;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+
+
+/**
+ * Test suite for the ReplicaConnectionProvider class
+ */
+public class ReplicaConnectionProviderTest {
+
+    private DevConfig config;
+    private ConnectionProvider primary;
+    private ConnectionProvider replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ResultSet lagResult;
+
+    @BeforeEach
+    public void init() throws Exception {
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.DB_REPLICA_ENABLED, "true");
+        this.config.setProperty(ConfigProperties.DB_REPLICA_URL, "jdbc:postgresql://replica/candlepin");
+
+        this.primaryConnection = mock(Connection.class);
+        this.primary = mock(ConnectionProvider.class);
+        doReturn(this.primaryConnection).when(this.primary).getConnection();
+
+        this.lagResult = mock(ResultSet.class);
+        doReturn(true).when(this.lagResult).next();
+        doReturn(0.5).when(this.lagResult).getDouble(1);
+
+        Statement statement = mock(Statement.class);
+        doReturn(this.lagResult).when(statement).executeQuery(anyString());
+
+        this.replicaConnection = mock(Connection.class);
+        doReturn(statement).when(this.replicaConnection).createStatement();
+
+        this.replica = mock(ConnectionProvider.class);
+        doReturn(this.replicaConnection).when(this.replica).getConnection();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        DatabaseRouting.setReadOnly(false);
+    }
+
+    private ReplicaConnectionProvider buildProvider() {
+        return new ReplicaConnectionProvider(this.config, this.primary, this.replica);
+    }
+
+    @Test
+    public void testConnectionsRoutedToPrimaryByDefault() throws Exception {
+        ReplicaConnectionProvider provider = this.buildProvider();
+
+        assertSame(this.primaryConnection, provider.getConnection());
+        verify(this.replica, never()).getConnection();
+    }
+
+    @Test
+    public void testReadOnlyConnectionsRoutedToReplica() throws Exception {
+        ReplicaConnectionProvider provider = this.buildProvider();
+        DatabaseRouting.setReadOnly(true);
+
+        Connection connection = provider.getConnection();
+        assertSame(this.replicaConnection, connection);
+        verify(this.replicaConnection).setReadOnly(true);
+
+        provider.closeConnection(connection);
+        verify(this.replica).closeConnection(connection);
+        verify(this.primary, never()).closeConnection(connection);
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimary() throws Exception {
+        doReturn(60.0).when(this.lagResult).getDouble(1);
+        ReplicaConnectionProvider provider = this.buildProvider();
+        DatabaseRouting.setReadOnly(true);
+
+        assertSame(this.primaryConnection, provider.getConnection());
+        verify(this.replica).closeConnection(this.replicaConnection);
+
+        // The replica is not checked again until the check interval elapses
+        assertSame(this.primaryConnection, provider.getConnection());
+        verify(this.replica, times(1)).getConnection();
+    }
+
+    @Test
+    public void testUnavailableReplicaFallsBackToPrimary() throws Exception {
+        doThrow(SQLException.class).when(this.replica).getConnection();
+        ReplicaConnectionProvider provider = this.buildProvider();
+        DatabaseRouting.setReadOnly(true);
+
+        assertSame(this.primaryConnection, provider.getConnection());
+    }
+
+    @Test
+    public void testReplicaUrlIsRequired() {
+        this.config.setProperty(ConfigProperties.DB_REPLICA_URL, "");
+
+        assertThrows(ConfigurationException.class, this::buildProvider);
+    }
+}
@@ -17,9 +17,14 @@ package org.candlepin.dto.api.v1;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.candlepin.dto.AbstractTranslatorTest;
@@ -39,6 +44,8 @@ import org.candlepin.model.OwnerCurator;
 import org.candlepin.model.Release;
 import org.candlepin.util.Util;
 
+import org.junit.jupiter.api.Test;
+
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -258,4 +265,35 @@ public class ConsumerArrayElementTranslatorTest extends
             assertNull(dest);
         }
     }
+
+    @Test
+    public void testFilteredTranslationSkipsExcludedAttributes() {
+        Set<String> included = Set.of("uuid", "name", "capabilities");
+        ConsumerArrayElementTranslator filtered = this.translator.withAttributeFilter(included::contains);
+
+        Consumer source = spy(this.source);
+        ConsumerDTOArrayElement dest = filtered.translate(this.modelTranslator, source);
+
+        assertEquals(source.getUuid(), dest.getUuid());
+        assertEquals(source.getName(), dest.getName());
+        assertEquals(source.getCapabilities().size(), dest.getCapabilities().size());
+
+        assertNull(dest.getInstalledProducts());
+        assertNull(dest.getAddOns());
+        assertNull(dest.getContentTags());
+        assertNull(dest.getOwner());
+        assertNull(dest.getType());
+        assertNull(dest.getHypervisorId());
+
+        // Excluded data should not be loaded at all
+        verify(source, never()).getInstalledProducts();
+        verify(source, never()).getContentTags();
+        verify(source, never()).getHypervisorId();
+        verify(this.mockOwnerCurator, never()).findOwnerById(anyString());
+    }
+
+    @Test
+    public void testFilteredTranslatorRequiresFilter() {
+        assertThrows(IllegalArgumentException.class, () -> this.translator.withAttributeFilter(null));
+    }
 }
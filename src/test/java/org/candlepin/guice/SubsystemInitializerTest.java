@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.guice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Test suite for the SubsystemInitializer class
+ */
+public class SubsystemInitializerTest {
+
+    private ExecutorService executor;
+    private List<String> initialized;
+
+    @BeforeEach
+    public void init() {
+        this.executor = Executors.newFixedThreadPool(4);
+        this.initialized = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testDependenciesAreInitializedFirst() throws Exception {
+        SubsystemInitializer initializer = new SubsystemInitializer()
+            .add("a", () -> this.initialized.add("a"))
+            .add("b", () -> this.initialized.add("b"), "a")
+            .add("c", () -> this.initialized.add("c"), "b");
+
+        initializer.initialize(this.executor);
+
+        assertEquals(List.of("a", "b", "c"), this.initialized);
+    }
+
+    @Test
+    public void testIndependentSubsystemsAreInitializedConcurrently() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+
+        // Each subsystem can only complete once the other has started
+        SubsystemInitializer initializer = new SubsystemInitializer()
+            .add("a", () -> {
+                latch.countDown();
+                assertTrue(latch.await(10, TimeUnit.SECONDS));
+            })
+            .add("b", () -> {
+                latch.countDown();
+                assertTrue(latch.await(10, TimeUnit.SECONDS));
+            });
+
+        initializer.initialize(this.executor);
+
+        assertEquals(0, latch.getCount());
+    }
+
+    @Test
+    public void testTimesAreReportedInOrderAdded() throws Exception {
+        SubsystemInitializer initializer = new SubsystemInitializer()
+            .add("first", () -> Thread.sleep(20))
+            .add("second", () -> this.initialized.add("second"))
+            .add("third", () -> this.initialized.add("third"), "first", "second");
+
+        Map<String, Long> times = initializer.initialize(this.executor);
+
+        assertEquals(List.of("first", "second", "third"), List.copyOf(times.keySet()));
+        assertTrue(times.get("first") >= 20);
+    }
+
+    @Test
+    public void testFailurePreventsInitializationOfDependents() {
+        IOException exception = new IOException("failed");
+
+        SubsystemInitializer initializer = new SubsystemInitializer()
+            .add("a", () -> {
+                throw exception;
+            })
+            .add("b", () -> this.initialized.add("b"))
+            .add("c", () -> this.initialized.add("c"), "a");
+
+        IOException thrown = assertThrows(IOException.class, () -> initializer.initialize(this.executor));
+
+        assertSame(exception, thrown);
+        assertEquals(List.of("b"), this.initialized);
+    }
+
+    @Test
+    public void testUnknownDependencyIsRejected() {
+        SubsystemInitializer initializer = new SubsystemInitializer()
+            .add("a", () -> this.initialized.add("a"));
+
+        assertThrows(IllegalArgumentException.class, () -> initializer.add("b", () -> {}, "c"));
+        assertThrows(IllegalArgumentException.class, () -> initializer.add("a", () -> {}));
+    }
+}
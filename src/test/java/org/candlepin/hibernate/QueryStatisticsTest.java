@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.dto.api.server.v1.QueryStatisticsDTO;
+
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+
+
+
+/**
+ * Test suite for the QueryStatistics and QueryTracker classes
+ */
+public class QueryStatisticsTest {
+
+    private DevConfig config;
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.DB_QUERY_STATS_ENABLED, "true");
+        this.config.setProperty(ConfigProperties.DB_QUERY_STATS_REPEAT_THRESHOLD, "3");
+
+        SessionStatistics sessionStats = mock(SessionStatistics.class);
+        doReturn(7).when(sessionStats).getEntityCount();
+
+        Session session = mock(Session.class);
+        doReturn(sessionStats).when(session).getStatistics();
+
+        this.entityManager = mock(EntityManager.class);
+        doReturn(true).when(this.entityManager).isOpen();
+        doReturn(session).when(this.entityManager).unwrap(Session.class);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        QueryTracker.stop();
+    }
+
+    private QueryStatistics buildQueryStatistics() {
+        return new QueryStatistics(this.config, () -> this.entityManager);
+    }
+
+    private void issueStatements(String sql, int count) {
+        for (int i = 0; i < count; ++i) {
+            QueryTracker.statementPrepared(sql);
+            QueryTracker.statementExecuted(1_000_000L);
+        }
+    }
+
+    @Test
+    public void testTrackerCountsStatementsOfCurrentThread() {
+        QueryTracker tracker = QueryTracker.start("unit");
+        this.issueStatements("select a", 2);
+        this.issueStatements("select b", 1);
+
+        assertEquals(tracker, QueryTracker.stop());
+        assertEquals(3, tracker.getStatementCount());
+        assertEquals(3, tracker.getExecutionTime());
+        assertEquals("select a", tracker.getMostRepeatedStatement().getKey());
+        assertEquals(2, tracker.getMostRepeatedStatement().getValue());
+
+        // Statements issued after tracking stops are ignored
+        this.issueStatements("select a", 1);
+        assertEquals(3, tracker.getStatementCount());
+        assertNull(QueryTracker.current());
+    }
+
+    @Test
+    public void testStatisticsAggregateInvocations() {
+        QueryStatistics stats = this.buildQueryStatistics();
+
+        stats.begin("GET Resource.method");
+        this.issueStatements("select consumer", 4);
+        stats.end();
+
+        stats.begin("GET Resource.method");
+        this.issueStatements("select owner", 2);
+        stats.end();
+
+        List<QueryStatisticsDTO> output = stats.getStatistics();
+        assertEquals(1, output.size());
+
+        QueryStatisticsDTO dto = output.get(0);
+        assertEquals("GET Resource.method", dto.getName());
+        assertEquals(2L, dto.getInvocations());
+        assertEquals(6L, dto.getStatements());
+        assertEquals(4L, dto.getMaxStatements());
+        assertEquals(6L, dto.getExecutionTime());
+        assertEquals(14L, dto.getEntities());
+        assertEquals(7L, dto.getMaxEntities());
+        assertEquals(1L, dto.getRepeatedStatementInvocations());
+        assertEquals(4L, dto.getMaxStatementRepeats());
+        assertEquals("select consumer", dto.getRepeatedStatement());
+    }
+
+    @Test
+    public void testStatisticsOrderedByStatements() {
+        QueryStatistics stats = this.buildQueryStatistics();
+
+        stats.begin("job:small");
+        this.issueStatements("select a", 1);
+        stats.end();
+
+        stats.begin("job:large");
+        this.issueStatements("select b", 5);
+        stats.end();
+
+        List<String> names = stats.getStatistics()
+            .stream()
+            .map(QueryStatisticsDTO::getName)
+            .toList();
+
+        assertEquals(List.of("job:large", "job:small"), names);
+    }
+
+    @Test
+    public void testDisabledStatisticsDoNotTrack() {
+        this.config.setProperty(ConfigProperties.DB_QUERY_STATS_ENABLED, "false");
+        QueryStatistics stats = this.buildQueryStatistics();
+
+        stats.begin("GET Resource.method");
+        assertNull(QueryTracker.current());
+
+        this.issueStatements("select a", 1);
+        stats.end();
+
+        assertTrue(stats.getStatistics().isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.audit.EventPublisher;
+
+import org.junit.jupiter.api.Test;
+
+
+
+/**
+ * Test suite for the EventPublisherMetricsCollector class
+ */
+public class EventPublisherMetricsCollectorTest {
+
+    @Test
+    public void testPublisherStatsAreCollected() {
+        EventPublisher publisher = mock(EventPublisher.class);
+        when(publisher.getStats()).thenReturn(new EventPublisher.Stats(10, 7, 3, 1, 2, 1, 4, 0, 5));
+
+        MetricsWriter writer = new MetricsWriter();
+        new EventPublisherMetricsCollector(publisher).collect(writer);
+
+        assertThat(writer.toString())
+            .contains("candlepin_events_total{result=\"enqueued\"} 10\n")
+            .contains("candlepin_events_total{result=\"published\"} 7\n")
+            .contains("candlepin_events_total{result=\"dropped\"} 1\n")
+            .contains("candlepin_events_total{result=\"spilled\"} 2\n")
+            .contains("candlepin_events_total{result=\"replayed\"} 1\n")
+            .contains("candlepin_events_total{result=\"sent_inline\"} 4\n")
+            .contains("candlepin_events_total{result=\"failed\"} 0\n")
+            .contains("candlepin_event_batches_total 3\n")
+            .contains("candlepin_events_pending 5\n");
+    }
+
+}
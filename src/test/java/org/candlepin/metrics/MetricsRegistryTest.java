@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.metrics.MetricsRegistry.HistogramFamily;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Test suite for the MetricsRegistry class
+ */
+public class MetricsRegistryTest {
+
+    private DevConfig config;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.METRICS_BUCKETS, "0.1,1");
+    }
+
+    @Test
+    public void testHistogramRendering() {
+        MetricsRegistry registry = new MetricsRegistry(this.config, Set.of());
+        HistogramFamily family = registry.histogram("test_duration_seconds", "Test durations", "name");
+
+        family.observe(TimeUnit.MILLISECONDS.toNanos(50), "a");
+        family.observe(TimeUnit.MILLISECONDS.toNanos(100), "a");
+        family.observe(TimeUnit.MILLISECONDS.toNanos(500), "a");
+        family.observe(TimeUnit.SECONDS.toNanos(2), "a");
+
+        String expected = "# HELP test_duration_seconds Test durations\n" +
+            "# TYPE test_duration_seconds histogram\n" +
+            "test_duration_seconds_bucket{name=\"a\",le=\"0.1\"} 2\n" +
+            "test_duration_seconds_bucket{name=\"a\",le=\"1.0\"} 3\n" +
+            "test_duration_seconds_bucket{name=\"a\",le=\"+Inf\"} 4\n" +
+            "test_duration_seconds_sum{name=\"a\"} 2.65\n" +
+            "test_duration_seconds_count{name=\"a\"} 4\n";
+
+        assertEquals(expected, registry.scrape());
+    }
+
+    @Test
+    public void testHistogramFamilyIsShared() {
+        MetricsRegistry registry = new MetricsRegistry(this.config, Set.of());
+
+        assertSame(registry.histogram("test_seconds", "Test", "name"),
+            registry.histogram("test_seconds", "Test", "name"));
+    }
+
+    @Test
+    public void testLabelValuesAreEscaped() {
+        MetricsRegistry registry = new MetricsRegistry(this.config, Set.of());
+        registry.histogram("test_seconds", "Test", "name")
+            .observe(1, "quote\"slash\\");
+
+        assertTrue(registry.scrape().contains("test_seconds_count{name=\"quote\\\"slash\\\\\"} 1"));
+    }
+
+    @Test
+    public void testCollectorsAreCollected() {
+        MetricsCollector collector = writer -> writer
+            .family("test_gauge", MetricsWriter.GAUGE, "Test gauge")
+            .sample("test_gauge", 3, "name", "b");
+
+        MetricsRegistry registry = new MetricsRegistry(this.config, Set.of(collector));
+
+        String expected = "# HELP test_gauge Test gauge\n" +
+            "# TYPE test_gauge gauge\n" +
+            "test_gauge{name=\"b\"} 3\n";
+
+        assertEquals(expected, registry.scrape());
+    }
+
+    @Test
+    public void testDisabledRegistryRecordsNothing() {
+        this.config.setProperty(ConfigProperties.METRICS_ENABLED, "false");
+        MetricsCollector collector = writer -> writer.sample("test_gauge", 1);
+
+        MetricsRegistry registry = new MetricsRegistry(this.config, Set.of(collector));
+        registry.histogram("test_seconds", "Test", "name").observe(1, "a");
+
+        assertEquals("", registry.scrape());
+    }
+
+    @Test
+    public void testInvalidBucketsAreRejected() {
+        this.config.setProperty(ConfigProperties.METRICS_BUCKETS, "1,0.5");
+        assertThrows(ConfigurationException.class, () -> new MetricsRegistry(this.config, Set.of()));
+
+        this.config.setProperty(ConfigProperties.METRICS_BUCKETS, "fast");
+        assertThrows(ConfigurationException.class, () -> new MetricsRegistry(this.config, Set.of()));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.audit.EventSink;
+import org.candlepin.controller.util.ActiveContentCache;
+import org.candlepin.controller.util.AutobindPoolIndex;
+import org.candlepin.guice.StartupReport;
+import org.candlepin.policy.js.JsRunnerProvider;
+import org.candlepin.sync.ExportCache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+
+/**
+ * Test suite for the ServerMetricsCollector class
+ */
+public class ServerMetricsCollectorTest {
+
+    private EventSink eventSink;
+    private ActiveContentCache activeContentCache;
+    private AutobindPoolIndex autobindPoolIndex;
+    private ExportCache exportCache;
+    private JsRunnerProvider jsRunnerProvider;
+    private StartupReport startupReport;
+
+    @BeforeEach
+    public void init() {
+        this.eventSink = mock(EventSink.class);
+        this.activeContentCache = mock(ActiveContentCache.class);
+        this.autobindPoolIndex = mock(AutobindPoolIndex.class);
+        this.exportCache = mock(ExportCache.class);
+        this.jsRunnerProvider = mock(JsRunnerProvider.class);
+        this.startupReport = new StartupReport();
+
+        when(this.eventSink.getQueueInfo()).thenReturn(List.of());
+        when(this.activeContentCache.getStatistics())
+            .thenReturn(new ActiveContentCache.Statistics(0, 0, Duration.ZERO, 0, 0));
+        when(this.autobindPoolIndex.getStats()).thenReturn(CacheStats.empty());
+        when(this.exportCache.getStats()).thenReturn(CacheStats.empty());
+        when(this.jsRunnerProvider.getScopeStatistics()).thenReturn(new JsRunnerProvider.ScopeStatistics(0, 0));
+    }
+
+    private String collect() {
+        ServerMetricsCollector collector = new ServerMetricsCollector(() -> this.eventSink,
+            this.activeContentCache, this.autobindPoolIndex, this.exportCache, this.jsRunnerProvider,
+            this.startupReport);
+
+        MetricsWriter writer = new MetricsWriter();
+        collector.collect(writer);
+
+        return writer.toString();
+    }
+
+    @Test
+    public void testStartupTimesAreCollected() {
+        Map<String, Long> times = new LinkedHashMap<>();
+        times.put("database", 1200L);
+        times.put("total", 5000L);
+        this.startupReport.setTimes(times);
+
+        assertThat(this.collect())
+            .contains("candlepin_startup_duration_seconds{subsystem=\"database\"} 1.2\n")
+            .contains("candlepin_startup_duration_seconds{subsystem=\"total\"} 5\n");
+    }
+
+    @Test
+    public void testStartupTimesAreOmittedBeforeStartupCompletes() {
+        assertThat(this.collect())
+            .doesNotContain("candlepin_startup_duration_seconds");
+    }
+
+}
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -33,6 +34,7 @@ import org.candlepin.auth.permissions.Permission;
 import org.candlepin.model.ConsumerCurator.ConsumerQueryArguments;
 import org.candlepin.test.DatabaseTestFixture;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -1183,5 +1185,43 @@ public class ConsumerCuratorSearchTest extends DatabaseTestFixture {
         assertEquals(expected, fetched.size());
     }
 
+    @Test
+    public void testFindConsumersInitializesFetchedCollections() {
+        Owner owner = this.createOwner();
+
+        for (int i = 0; i < 3; ++i) {
+            Consumer consumer = this.createConsumer(owner);
+            consumer.addInstalledProduct(new ConsumerInstalledProduct()
+                .setProductId("product-" + i)
+                .setProductName("product-" + i));
+            consumer.setCapabilities(List.of(new ConsumerCapability("capability-" + i)));
+
+            this.consumerCurator.merge(consumer);
+        }
+
+        this.consumerCurator.flush();
+        this.consumerCurator.clear();
+
+        ConsumerQueryArguments queryArgs = new ConsumerQueryArguments()
+            .setOwner(owner)
+            .setFetchedCollections(List.of("installedProducts"));
+
+        List<Consumer> fetched = this.consumerCurator.findConsumers(queryArgs);
+        assertEquals(3, fetched.size());
+
+        for (Consumer consumer : fetched) {
+            assertTrue(Hibernate.isInitialized(consumer.getInstalledProducts()));
+            assertEquals(1, consumer.getInstalledProducts().size());
+            assertFalse(Hibernate.isInitialized(consumer.getCapabilities()));
+        }
+    }
+
+    @Test
+    public void testUnsupportedFetchedCollectionsAreRejected() {
+        ConsumerQueryArguments queryArgs = new ConsumerQueryArguments();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> queryArgs.setFetchedCollections(List.of("entitlements")));
+    }
 
 }
@@ -2812,6 +2812,21 @@ public class ConsumerCuratorTest extends DatabaseTestFixture {
             .isNull();
     }
 
+    @Test
+    public void testGetConsumerIdsWithoutEntitlements() {
+        Owner owner = this.createOwner();
+        Pool pool = this.createPool(owner, this.createProduct());
+        Consumer unentitled = this.createConsumer(owner);
+        Consumer entitled = this.createConsumer(owner);
+        this.createEntitlement(owner, entitled, pool);
+
+        Set<String> actual = this.consumerCurator.getConsumerIdsWithoutEntitlements(
+            List.of(unentitled.getId(), entitled.getId(), "unknownId"));
+
+        assertThat(actual)
+            .containsExactly(unentitled.getId());
+    }
+
     @Test
     public void testDeleteConsumerCreateCorrespondingRecordInDeleteConsumerTable() {
         Owner owner = this.createOwner();
@@ -20,6 +20,7 @@ import static org.candlepin.model.CloudIdentifierFacts.AWS_INSTANCE_ID;
 import static org.candlepin.model.CloudIdentifierFacts.AZURE_OFFER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -46,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -431,6 +433,153 @@ public class ConsumerTest extends DatabaseTestFixture {
         assertTrue(first.factsAreEqual(second.getFacts()));
     }
 
+    @Test
+    public void testFactsHashIgnoresOrdering() {
+        Map<String, String> facts = new LinkedHashMap<>();
+        facts.put("key1", "1");
+        facts.put("key2", null);
+
+        Map<String, String> reordered = new LinkedHashMap<>();
+        reordered.put("key2", null);
+        reordered.put("key1", "1");
+
+        assertEquals(Consumer.hashFacts(facts), Consumer.hashFacts(reordered));
+        assertNotEquals(Consumer.hashFacts(facts), Consumer.hashFacts(Map.of("key1", "1", "key2", "")));
+        assertNotEquals(Consumer.hashFacts(Map.of("key1", "12")), Consumer.hashFacts(Map.of("key11", "2")));
+    }
+
+    @Test
+    public void testUpdateFactsComparesHashes() {
+        Consumer consumer = new Consumer()
+            .setFacts(Map.of("key1", "1", "key2", "two"));
+
+        assertEquals(Consumer.hashFacts(Map.of("key1", "1", "key2", "two")), consumer.getFactsHash());
+
+        assertFalse(consumer.updateFacts(Map.of("key2", "two", "key1", "1")));
+        assertTrue(consumer.updateFacts(Map.of("key1", "1", "key2", "2")));
+
+        assertEquals(Map.of("key1", "1", "key2", "2"), consumer.getFacts());
+        assertEquals(Consumer.hashFacts(Map.of("key1", "1", "key2", "2")), consumer.getFactsHash());
+    }
+
+    @Test
+    public void testUpdateFactsRecordsMissingHash() {
+        Consumer consumer = new Consumer()
+            .setFact("key1", "1");
+
+        assertNull(consumer.getFactsHash());
+
+        assertFalse(consumer.updateFacts(Map.of("key1", "1")));
+        assertEquals(Consumer.hashFacts(Map.of("key1", "1")), consumer.getFactsHash());
+
+        consumer.removeFact("key1");
+        assertNull(consumer.getFactsHash());
+        assertTrue(consumer.updateFacts(Map.of("key1", "1")));
+    }
+
+    @Test
+    public void testFactsHashIsPersisted() {
+        Consumer lookedUp = consumerCurator.get(consumer.getId());
+        assertTrue(lookedUp.updateFacts(Map.of("key1", "1")));
+        consumerCurator.merge(lookedUp);
+        consumerCurator.flush();
+        consumerCurator.clear();
+
+        lookedUp = consumerCurator.get(consumer.getId());
+        assertEquals(Consumer.hashFacts(Map.of("key1", "1")), lookedUp.getFactsHash());
+        assertFalse(lookedUp.updateFacts(Map.of("key1", "1")));
+    }
+
+    @Test
+    public void testEntitledHostOfNewConsumer() {
+        assertEquals(Consumer.NO_ENTITLED_HOST, new Consumer().getEntitledHost());
+    }
+
+    @Test
+    public void testEntitledHostTracksRequiredHost() {
+        Consumer guest = new Consumer();
+
+        guest.addEntitlement(createHostRestrictedEntitlement(null));
+        assertEquals(Consumer.NO_ENTITLED_HOST, guest.getEntitledHost());
+
+        guest.addEntitlement(createHostRestrictedEntitlement("host-1"));
+        assertEquals("host-1", guest.getEntitledHost());
+
+        guest.addEntitlement(createHostRestrictedEntitlement("host-1"));
+        assertEquals("host-1", guest.getEntitledHost());
+
+        guest.addEntitlement(createHostRestrictedEntitlement("host-2"));
+        assertNull(guest.getEntitledHost());
+    }
+
+    @Test
+    public void testEntitledHostIsUnknownWithUnmappedGuestEntitlements() {
+        Entitlement entitlement = createHostRestrictedEntitlement(null);
+        entitlement.getPool().setAttribute(Pool.Attributes.UNMAPPED_GUESTS_ONLY, "true");
+
+        Consumer guest = new Consumer();
+        guest.addEntitlement(entitlement);
+
+        assertNull(guest.getEntitledHost());
+    }
+
+    @Test
+    public void testEntitledHostIsUnknownWhenEntitlementsReplaced() {
+        Consumer guest = new Consumer()
+            .setEntitlements(List.of(createHostRestrictedEntitlement("host-1")));
+
+        assertNull(guest.getEntitledHost());
+
+        guest.updateEntitledHost();
+        assertEquals("host-1", guest.getEntitledHost());
+
+        guest.removeEntitlement(guest.getEntitlements().iterator().next());
+        guest.updateEntitledHost();
+        assertEquals(Consumer.NO_ENTITLED_HOST, guest.getEntitledHost());
+    }
+
+    @Test
+    public void testEntitledHostIsPersisted() {
+        consumerCurator.clear();
+
+        Consumer lookedUp = consumerCurator.get(consumer.getId());
+        assertEquals(Consumer.NO_ENTITLED_HOST, lookedUp.getEntitledHost());
+    }
+
+    @Test
+    public void testGuestIdsHashIgnoresOrderingCaseAndDuplicates() {
+        String hash = Consumer.hashGuestIds(List.of(new GuestId("guest-1"), new GuestId("guest-2")));
+
+        assertEquals(hash, Consumer.hashGuestIds(List.of(new GuestId("GUEST-2"), new GuestId("guest-1"),
+            new GuestId("guest-2"))));
+        assertNotEquals(hash, Consumer.hashGuestIds(List.of(new GuestId("guest-1"))));
+        assertNotEquals(hash, Consumer.hashGuestIds(List.of(new GuestId("guest-1"),
+            new GuestId("guest-2", null, Map.of("virtWhoType", "esx")))));
+    }
+
+    @Test
+    public void testGuestIdsHashClearedByGuestIdChanges() {
+        Consumer host = new Consumer();
+        GuestId guestId = new GuestId("guest-1");
+
+        host.addGuestId(guestId);
+        assertNull(host.getGuestIdsHash());
+
+        host.updateGuestIdsHash();
+        assertEquals(Consumer.hashGuestIds(List.of(guestId)), host.getGuestIdsHash());
+
+        host.removeGuestId(guestId);
+        assertNull(host.getGuestIdsHash());
+
+        host.updateGuestIdsHash();
+        host.setGuestIds(List.of(guestId));
+        assertNull(host.getGuestIdsHash());
+
+        host.updateGuestIdsHash();
+        host.clearGuestIdsHash();
+        assertNull(host.getGuestIdsHash());
+    }
+
     @Test
     public void testInstalledProducts() {
         Consumer lookedUp = consumerCurator.get(consumer.getId());
@@ -997,6 +1146,15 @@ public class ConsumerTest extends DatabaseTestFixture {
         );
     }
 
+    private Entitlement createHostRestrictedEntitlement(String requiredHost) {
+        Entitlement entitlement = TestUtil.createEntitlement();
+        if (requiredHost != null) {
+            entitlement.getPool().setAttribute(Pool.Attributes.REQUIRES_HOST, requiredHost);
+        }
+
+        return entitlement;
+    }
+
     private Consumer createConsumerWithIdCert(Owner owner) {
         IdentityCertificate idCert = createIdCert();
         Consumer consumer = createConsumer(owner)
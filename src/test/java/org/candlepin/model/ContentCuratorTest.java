@@ -35,6 +35,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -876,6 +877,29 @@ public class ContentCuratorTest extends DatabaseTestFixture {
             .containsOnly(true);
     }
 
+    @Test
+    public void testGetActiveContentExpirationByOwner() {
+        Owner owner = this.createOwner();
+        Owner other = this.createOwner();
+        Date now = TestUtil.createDate(2030, 1, 1);
+
+        this.createPool(owner, this.createProduct(), 1L, TestUtil.createDate(2020, 1, 1),
+            TestUtil.createDate(2040, 1, 1));
+        this.createPool(owner, this.createProduct(), 1L, TestUtil.createDate(2035, 1, 1),
+            TestUtil.createDate(2045, 1, 1));
+        this.createPool(owner, this.createProduct(), 1L, TestUtil.createDate(2010, 1, 1),
+            TestUtil.createDate(2020, 1, 1));
+        this.createPool(other, this.createProduct(), 1L, TestUtil.createDate(2020, 1, 1),
+            TestUtil.createDate(2031, 1, 1));
+
+        assertEquals(TestUtil.createDate(2035, 1, 1),
+            this.contentCurator.getActiveContentExpirationByOwner(owner.getId(), now));
+        assertEquals(TestUtil.createDate(2040, 1, 1),
+            this.contentCurator.getActiveContentExpirationByOwner(owner.getId(), TestUtil.createDate(2036, 1, 1)));
+        assertNull(this.contentCurator.getActiveContentExpirationByOwner(owner.getId(),
+            TestUtil.createDate(2050, 1, 1)));
+    }
+
     @Test
     public void testGetActiveContentByOwnerMultipleOwners() {
         Owner owner1 = createOwner();
@@ -432,6 +432,28 @@ public class OwnerCuratorTest extends DatabaseTestFixture {
         assertFalse(now.isBefore(owner3.getLastContentUpdate().toInstant()));
     }
 
+    @Test
+    public void testIncrementPoolRevision() {
+        Owner owner1 = this.createOwner("test_owner-1");
+        Owner owner2 = this.createOwner("test_owner-2");
+        assertEquals(0L, owner1.getPoolRevision());
+
+        int count = this.ownerCurator.incrementPoolRevision(List.of(owner1.getId(), "invalid_id"));
+        assertEquals(1, count);
+
+        this.ownerCurator.refresh(owner1, owner2);
+        assertEquals(1L, owner1.getPoolRevision());
+        assertEquals(0L, owner2.getPoolRevision());
+
+        // Merging the owner must not overwrite the revision
+        owner1.setDisplayName("updated");
+        this.ownerCurator.merge(owner1);
+        this.ownerCurator.flush();
+
+        this.ownerCurator.refresh(owner1);
+        assertEquals(1L, owner1.getPoolRevision());
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     public void testSetLastContentUpdateForOwnersWithProductsHandlesNullAndEmptyInputs(List<String> input) {
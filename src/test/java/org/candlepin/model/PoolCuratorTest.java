@@ -4063,4 +4063,20 @@ public class PoolCuratorTest extends DatabaseTestFixture {
             .isEqualTo(pool1);
     }
 
+    @Test
+    public void testPoolVersionByOwnerChangesWithPoolRevision() {
+        Owner owner = this.createOwner();
+        Pool pool = this.createPool(owner, this.createProduct());
+
+        String version = this.poolCurator.getPoolVersionByOwner(owner.getId());
+
+        pool.setConsumed(pool.getConsumed() + 1);
+        this.poolCurator.merge(pool);
+        this.poolCurator.flush();
+        assertEquals(version, this.poolCurator.getPoolVersionByOwner(owner.getId()));
+
+        this.ownerCurator.incrementPoolRevision(List.of(owner.getId()));
+        assertNotEquals(version, this.poolCurator.getPoolVersionByOwner(owner.getId()));
+    }
+
 }
@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
@@ -38,14 +39,18 @@ import org.jboss.resteasy.core.ResteasyContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.xnap.commons.i18n.I18n;
 import org.xnap.commons.i18n.I18nFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import jakarta.persistence.Query;
@@ -601,6 +606,69 @@ public class PagingUtilTest {
         assertTrue(errmsg.contains("no sort-by field provided"));
     }
 
+    private List<Pageable> buildPageables(int count) {
+        List<Pageable> elements = new ArrayList<>();
+
+        // Use a small range of values for the first field so many elements compare equal
+        Random random = new Random(8675309);
+        for (int i = 0; i < count; ++i) {
+            elements.add(new Pageable(String.valueOf(random.nextInt(10)), String.valueOf(i)));
+        }
+
+        return elements;
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "1, 10, ASCENDING", "3, 10, DESCENDING", "2, 25, ASCENDING", "20, 25, DESCENDING" })
+    public void testPageSelectionMatchesFullSort(int page, int perPage, PageRequest.Order order) {
+        PageRequest pageRequest = new PageRequest()
+            .setSortBy("fieldOne")
+            .setOrder(order)
+            .setPerPage(perPage)
+            .setPage(page);
+
+        ResteasyContext.pushContext(PageRequest.class, pageRequest);
+
+        List<Pageable> elements = this.buildPageables(1000);
+
+        Comparator<Pageable> comparator = Comparator.comparing(Pageable::getFieldOne);
+        if (order == PageRequest.Order.DESCENDING) {
+            comparator = comparator.reversed();
+        }
+
+        List<Pageable> expected = elements.stream()
+            .sorted(comparator)
+            .skip((long) (page - 1) * perPage)
+            .limit(perPage)
+            .toList();
+
+        List<Pageable> output = this.buildPagingUtil()
+            .applyPaging(elements)
+            .toList();
+
+        // Elements must match by identity, as equal elements must retain their encounter order
+        assertEquals(expected.size(), output.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i), output.get(i));
+        }
+
+        this.validateContextPage(pageRequest, elements.size());
+    }
+
+    @Test
+    public void testSelectLeadingHandlesShortStreams() {
+        List<Pageable> elements = this.buildPageables(5);
+        Comparator<Pageable> comparator = Comparator.comparing(Pageable::getFieldOne);
+
+        List<Pageable> expected = elements.stream()
+            .sorted(comparator)
+            .toList();
+
+        assertEquals(expected, PagingUtil.selectLeading(elements.stream(), comparator, 10));
+        assertEquals(expected.subList(0, 3), PagingUtil.selectLeading(elements.stream(), comparator, 3));
+        assertEquals(List.of(), PagingUtil.selectLeading(Stream.of(), comparator, 3));
+    }
+
     // TODO: FIXME:
     // These tests use mocks due primarily to a lack of proper means of validating input is received and
     // outputs are generated properly. Really this test suite should become DB backed so none of these
@@ -15,15 +15,20 @@
 package org.candlepin.paging;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Comparator;
+import java.util.List;
+
 
 
 public class ReflectionFieldComparatorFactoryTest {
@@ -237,4 +242,66 @@ public class ReflectionFieldComparatorFactoryTest {
         assertNull(factory.getDefaultComparator());
     }
 
+    /**
+     * Simple test type with a couple of comparable fields
+     */
+    public static class Ranked {
+        private final int rank;
+
+        public Ranked(int rank) {
+            this.rank = rank;
+        }
+
+        public Integer getRank() {
+            return this.rank;
+        }
+
+        public String getName() {
+            return "rank-" + this.rank;
+        }
+    }
+
+    @Test
+    public void testComparatorComparesFieldValues() {
+        Comparator<Ranked> comparator = this.buildFactory(Ranked.class).getComparator("rank");
+        assertNotNull(comparator);
+
+        assertTrue(comparator.compare(new Ranked(1), new Ranked(2)) < 0);
+        assertTrue(comparator.compare(new Ranked(3), new Ranked(2)) > 0);
+        assertEquals(0, comparator.compare(new Ranked(2), new Ranked(2)));
+    }
+
+    @Test
+    public void testComparatorsAreConsistentAcrossFactories() {
+        List<Ranked> elements = List.of(new Ranked(3), new Ranked(12), new Ranked(1));
+
+        for (int i = 0; i < 2; ++i) {
+            Comparator<Ranked> comparator = this.buildFactory(Ranked.class, "name").getDefaultComparator();
+            assertNotNull(comparator);
+
+            List<Integer> ranks = elements.stream()
+                .sorted(comparator)
+                .map(Ranked::getRank)
+                .toList();
+
+            assertEquals(List.of(1, 12, 3), ranks);
+        }
+    }
+
+    @Test
+    public void testComparatorComparesValuesOfNonPublicTypes() {
+        Object obj1 = new Object() {
+            public String getMyField() {
+                return "a";
+            }
+        };
+
+        @SuppressWarnings("unchecked")
+        Comparator<Object> comparator = (Comparator<Object>) this.buildFactory(obj1.getClass())
+            .getComparator("myField");
+
+        assertNotNull(comparator);
+        assertEquals(0, comparator.compare(obj1, obj1));
+    }
+
 }
@@ -397,4 +397,82 @@ public abstract class SignatureValidatorTest {
 
         assertThrows(IOException.class, () -> validator.validate(new File("this_file_shouldnt_exist.pls")));
     }
+
+    @ParameterizedTest
+    @MethodSource("schemeSource")
+    public void testValidateWithStream(Scheme scheme) throws Exception {
+        byte[] bytes = "hello world".getBytes(StandardCharsets.UTF_8);
+        byte[] signature = signData(scheme.signatureAlgorithm(), scheme.privateKey().get(), bytes);
+
+        SignatureValidator validator = this.buildSignatureValidator(scheme)
+            .forSignature(signature);
+
+        try (InputStream istream = new ByteArrayInputStream(bytes)) {
+            assertTrue(validator.validate(istream));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("schemeSource")
+    public void testValidateWithStreamAndAdditionalCertificates(Scheme scheme) throws Exception {
+        Scheme altScheme = CryptoUtil.generateSchemeFromScheme(scheme);
+
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (Scheme supportedScheme : CryptoUtil.SUPPORTED_SCHEMES.values()) {
+            X509Certificate cert = CryptoUtil.generateX509Certificate(supportedScheme);
+            certificates.add(cert);
+        }
+
+        certificates.add(altScheme.certificate());
+
+        byte[] bytes = "hello world".getBytes(StandardCharsets.UTF_8);
+        byte[] signature = signData(altScheme.signatureAlgorithm(), altScheme.privateKey().get(), bytes);
+
+        SignatureValidator validator = this.buildSignatureValidator(scheme)
+            .forSignature(signature)
+            .withAdditionalCertificates(certificates);
+
+        // The stream can only be read once, so all of the certificates must be checked in a single pass
+        try (InputStream istream = new ByteArrayInputStream(bytes)) {
+            assertTrue(validator.validate(istream));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("schemeSource")
+    public void testValidateWithStreamFailsWithNoMatchingCertificates(Scheme scheme) throws Exception {
+        Scheme altScheme = CryptoUtil.generateSchemeFromScheme(scheme);
+
+        byte[] bytes = "hello world".getBytes(StandardCharsets.UTF_8);
+        byte[] signature = signData(altScheme.signatureAlgorithm(), altScheme.privateKey().get(), bytes);
+
+        SignatureValidator validator = this.buildSignatureValidator(scheme)
+            .forSignature(signature);
+
+        try (InputStream istream = new ByteArrayInputStream(bytes)) {
+            assertFalse(validator.validate(istream));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("schemeSource")
+    public void testValidateWithStreamRequiresSignature(Scheme scheme) throws Exception {
+        SignatureValidator validator = this.buildSignatureValidator(scheme);
+
+        try (InputStream istream = new ByteArrayInputStream(new byte[] { 1, 2, 3 })) {
+            assertThrows(IllegalStateException.class, () -> validator.validate(istream));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("schemeSource")
+    public void testValidateWithStreamRejectsNullStreams(Scheme scheme) throws Exception {
+        byte[] bytes = "hello world".getBytes(StandardCharsets.UTF_8);
+        byte[] signature = signData(scheme.signatureAlgorithm(), scheme.privateKey().get(), bytes);
+
+        SignatureValidator validator = this.buildSignatureValidator(scheme)
+            .forSignature(signature);
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validate((InputStream) null));
+    }
 }
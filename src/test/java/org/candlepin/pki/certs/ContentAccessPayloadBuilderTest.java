@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.candlepin.controller.util.ActiveContentCache;
 import org.candlepin.model.Consumer;
 import org.candlepin.model.Content;
 import org.candlepin.model.ContentAccessPayload;
@@ -92,7 +93,7 @@ public class ContentAccessPayloadBuilderTest extends DatabaseTestFixture {
             this.cryptoManager,
             this.buildEntitlementPayloadGenerator(),
             this.buildV3ExtensionUtil(),
-            this.contentCurator,
+            new ActiveContentCache(this.config, this.contentCurator),
             this.caPayloadCurator);
     }
 
@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 import org.candlepin.config.Configuration;
 import org.candlepin.config.TestConfig;
 import org.candlepin.controller.ContentAccessMode;
+import org.candlepin.controller.util.ActiveContentCache;
 import org.candlepin.model.CertificateSerial;
 import org.candlepin.model.Consumer;
 import org.candlepin.model.ConsumerType;
@@ -117,7 +118,7 @@ public class SCACertificateGeneratorTest extends DatabaseTestFixture {
             this.cryptoManager,
             new EntitlementPayloadGenerator(new ObjectMapper()),
             this.v3ExtensionUtil,
-            this.contentCurator,
+            new ActiveContentCache(this.config, this.contentCurator),
             this.caPayloadCurator);
 
         return new SCACertificateGenerator(
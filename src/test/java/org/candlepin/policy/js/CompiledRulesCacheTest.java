@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+
+
+/**
+ * Test suite for the CompiledRulesCache class
+ */
+public class CompiledRulesCacheTest {
+    private static final String SOURCE = "function answer() { return 40 + 2; }\nanswer();";
+
+    @TempDir
+    private Path cacheDir;
+
+    private DevConfig config;
+    private Context context;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.RULES_COMPILED_CACHE_DIR, this.cacheDir.toString());
+
+        this.context = Context.enter();
+        this.context.setOptimizationLevel(9);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Context.exit();
+    }
+
+    private double execute(Script script) {
+        Scriptable scope = this.context.initStandardObjects();
+        return Context.toNumber(script.exec(this.context, scope));
+    }
+
+    private long countCachedRules() throws Exception {
+        try (Stream<Path> files = Files.list(this.cacheDir)) {
+            return files.filter(path -> path.toString().endsWith(".rules")).count();
+        }
+    }
+
+    @Test
+    public void testCompiledRulesAreCached() throws Exception {
+        CompiledRulesCache cache = new CompiledRulesCache(this.config);
+        String key = cache.getKey(this.context, SOURCE);
+
+        assertNull(cache.load(this.context, key));
+        assertEquals(42.0, this.execute(cache.compile(this.context, SOURCE)));
+
+        // A new cache, as after a restart, defines the rules from the stored classes
+        Script loaded = new CompiledRulesCache(this.config).load(this.context, key);
+
+        assertNotNull(loaded);
+        assertEquals(42.0, this.execute(loaded));
+    }
+
+    @Test
+    public void testChangedRulesReplaceCachedRules() throws Exception {
+        CompiledRulesCache cache = new CompiledRulesCache(this.config);
+        String updated = SOURCE.replace("40", "41");
+
+        cache.compile(this.context, SOURCE);
+        assertEquals(43.0, this.execute(cache.compile(this.context, updated)));
+
+        assertNotEquals(cache.getKey(this.context, SOURCE), cache.getKey(this.context, updated));
+        assertNull(cache.load(this.context, cache.getKey(this.context, SOURCE)));
+        assertEquals(1, this.countCachedRules());
+    }
+
+    @Test
+    public void testCorruptCachedRulesAreCompiledFromSource() throws Exception {
+        CompiledRulesCache cache = new CompiledRulesCache(this.config);
+        String key = cache.getKey(this.context, SOURCE);
+
+        cache.compile(this.context, SOURCE);
+        Files.write(this.cacheDir.resolve(key + ".rules"), "corrupt".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(cache.load(this.context, key));
+        assertEquals(42.0, this.execute(cache.compile(this.context, SOURCE)));
+        assertNotNull(cache.load(this.context, key));
+    }
+
+    @Test
+    public void testDisabledCacheCompilesFromSource() throws Exception {
+        this.config.setProperty(ConfigProperties.RULES_COMPILED_CACHE_DIR, "");
+        CompiledRulesCache cache = new CompiledRulesCache(this.config);
+
+        assertEquals(42.0, this.execute(cache.compile(this.context, SOURCE)));
+        assertEquals(0, this.countCachedRules());
+    }
+
+    @Test
+    public void testUnwritableCacheCompilesFromSource() throws Exception {
+        Path file = this.cacheDir.resolve("file");
+        Files.write(file, new byte[0]);
+        this.config.setProperty(ConfigProperties.RULES_COMPILED_CACHE_DIR, file.resolve("rules").toString());
+
+        CompiledRulesCache cache = new CompiledRulesCache(this.config);
+
+        assertEquals(42.0, this.execute(cache.compile(this.context, SOURCE)));
+        assertFalse(Files.isDirectory(file));
+        assertTrue(Files.isRegularFile(file));
+    }
+}
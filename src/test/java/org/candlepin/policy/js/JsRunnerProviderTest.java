@@ -15,6 +15,7 @@
 package org.candlepin.policy.js;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,11 +32,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mozilla.javascript.Scriptable;
 
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 
 public class JsRunnerProviderTest {
+    private static final String VARIABLE_RULES = "function variable_name_space() {\n" +
+        "    return { read: function() { return typeof variable === 'undefined' ? 'unset' : variable; } };\n" +
+        "}";
+
     @Mock
     private Provider<JsRunnerRequestCache> cacheProvider;
     @Mock
@@ -100,4 +107,93 @@ public class JsRunnerProviderTest {
         verify(rulesCurator, times(3)).getUpdated();
     }
 
+    private JsContext variableContext(String value) {
+        return new JsContext() {
+            @Override
+            public void applyTo(Scriptable scope) {
+                scope.put("variable", scope, value);
+            }
+        };
+    }
+
+    private String readVariable(JsRunner runner) throws Exception {
+        runner.init("variable_name_space");
+        return runner.invokeMethod("read");
+    }
+
+    @Test
+    public void scopeIsReusedByThread() {
+        when(cacheProvider.get()).thenReturn(new JsRunnerRequestCache());
+
+        provider.get();
+        provider.get();
+        provider.get();
+
+        assertEquals(new JsRunnerProvider.ScopeStatistics(1, 2), provider.getScopeStatistics());
+    }
+
+    @Test
+    public void reusedScopeIsResetForNewRequest() throws Exception {
+        when(rules.getRules()).thenReturn(VARIABLE_RULES);
+        when(cacheProvider.get()).thenReturn(new JsRunnerRequestCache());
+
+        JsRunner runner = provider.get();
+        runner.init("variable_name_space");
+        assertEquals("first", runner.invokeMethod("read", this.variableContext("first")));
+
+        // Runners of the same request share the scope
+        assertEquals("first", this.readVariable(provider.get()));
+
+        when(cacheProvider.get()).thenReturn(new JsRunnerRequestCache());
+        assertEquals("unset", this.readVariable(provider.get()));
+        assertEquals(new JsRunnerProvider.ScopeStatistics(1, 2), provider.getScopeStatistics());
+    }
+
+    @Test
+    public void scopeIsRecreatedWhenRulesChange() {
+        when(cacheProvider.get()).thenReturn(new JsRunnerRequestCache());
+
+        provider.get();
+        provider.compileRules(true);
+        provider.get();
+
+        assertEquals(new JsRunnerProvider.ScopeStatistics(2, 0), provider.getScopeStatistics());
+    }
+
+    @Test
+    public void scopesAreNotSharedBetweenThreads() throws Exception {
+        when(rules.getRules()).thenReturn(VARIABLE_RULES);
+        when(cacheProvider.get()).thenReturn(new JsRunnerRequestCache());
+
+        JsRunner runner = provider.get();
+        runner.init("variable_name_space");
+        runner.invokeMethod("read", this.variableContext("main"));
+
+        String other = CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.readVariable(provider.get());
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }).get();
+
+        assertEquals("unset", other);
+        assertEquals(new JsRunnerProvider.ScopeStatistics(2, 0), provider.getScopeStatistics());
+    }
+
+    @Test
+    public void isolatedRunnersHaveScopesOfTheirOwn() throws Exception {
+        when(rules.getRules()).thenReturn(VARIABLE_RULES);
+        when(cacheProvider.get()).thenReturn(new JsRunnerRequestCache());
+
+        JsRunner runner = provider.get();
+        runner.init("variable_name_space");
+        runner.invokeMethod("read", this.variableContext("pooled"));
+
+        JsRunner isolated = provider.getIsolated();
+        assertNotSame(runner, isolated);
+        assertEquals("unset", this.readVariable(isolated));
+        assertEquals(new JsRunnerProvider.ScopeStatistics(2, 0), provider.getScopeStatistics());
+    }
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.audit.EventSink;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.dto.ModelTranslator;
+import org.candlepin.dto.StandardTranslator;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerCurator;
+import org.candlepin.model.ConsumerInstalledProduct;
+import org.candlepin.model.ConsumerType;
+import org.candlepin.model.ConsumerTypeCurator;
+import org.candlepin.model.Entitlement;
+import org.candlepin.model.EntitlementCurator;
+import org.candlepin.model.EnvironmentCurator;
+import org.candlepin.model.Owner;
+import org.candlepin.model.OwnerCurator;
+import org.candlepin.model.Pool;
+import org.candlepin.model.Product;
+import org.candlepin.model.Rules;
+import org.candlepin.model.RulesCurator;
+import org.candlepin.policy.js.JsRunnerProvider;
+import org.candlepin.policy.js.JsRunnerRequestCache;
+import org.candlepin.test.TestUtil;
+import org.candlepin.util.ObjectMapperFactory;
+import org.candlepin.util.Util;
+
+import com.google.inject.Provider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.xnap.commons.i18n.I18n;
+import org.xnap.commons.i18n.I18nFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+
+
+/**
+ * Test suite for the BulkComplianceCalculator class
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BulkComplianceCalculatorTest {
+
+    @Mock
+    private ConsumerCurator consumerCurator;
+    @Mock
+    private ConsumerTypeCurator consumerTypeCurator;
+    @Mock
+    private OwnerCurator ownerCurator;
+    @Mock
+    private EntitlementCurator entCurator;
+    @Mock
+    private EnvironmentCurator environmentCurator;
+    @Mock
+    private RulesCurator rulesCurator;
+    @Mock
+    private EventSink eventSink;
+    @Mock
+    private Provider<JsRunnerRequestCache> cacheProvider;
+    @Mock
+    private JsRunnerRequestCache cache;
+
+    private DevConfig config;
+    private ModelTranslator translator;
+    private I18n i18n;
+    private JsRunnerProvider jsRunnerProvider;
+    private Owner owner;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.translator = new StandardTranslator(this.consumerTypeCurator, this.environmentCurator,
+            this.ownerCurator);
+        this.i18n = I18nFactory.getI18n(getClass(), "org.candlepin.i18n.Messages", Locale.US,
+            I18nFactory.FALLBACK);
+
+        InputStream is = this.getClass().getResourceAsStream(RulesCurator.DEFAULT_RULES_FILE);
+        when(this.rulesCurator.getUpdated()).thenReturn(new Date());
+        when(this.rulesCurator.getRules()).thenReturn(new Rules(Util.readFile(is)));
+        when(this.cacheProvider.get()).thenReturn(this.cache);
+        this.jsRunnerProvider = new JsRunnerProvider(this.rulesCurator, this.cacheProvider);
+
+        this.owner = new Owner()
+            .setId(TestUtil.randomString())
+            .setKey("test")
+            .setDisplayName("test");
+    }
+
+    private ComplianceRules buildComplianceRules() {
+        return new ComplianceRules(this.jsRunnerProvider.get(), this.entCurator,
+            new StatusReasonMessageGenerator(this.i18n), this.eventSink, this.consumerCurator,
+            this.consumerTypeCurator, ObjectMapperFactory.getRulesObjectMapper(), this.translator,
+            new ComplianceSettingsProvider(this.config).get(), new NativeComplianceEngine(this.consumerTypeCurator));
+    }
+
+    private BulkComplianceCalculator buildCalculator() {
+        return new BulkComplianceCalculator(this.config, this.consumerCurator, this::buildComplianceRules,
+            this.jsRunnerProvider);
+    }
+
+    private Consumer buildConsumer(ConsumerType.ConsumerTypeEnum typeEnum, Product installed) {
+        ConsumerType ctype = new ConsumerType(typeEnum);
+        ctype.setId("test-ctype-" + TestUtil.randomInt());
+
+        Consumer consumer = new Consumer()
+            .setUuid(TestUtil.randomString());
+        consumer.setType(ctype);
+        consumer.addInstalledProduct(new ConsumerInstalledProduct()
+            .setProductId(installed.getId())
+            .setProductName(installed.getName()));
+
+        when(this.consumerTypeCurator.get(ctype.getId())).thenReturn(ctype);
+        when(this.consumerTypeCurator.getConsumerType(consumer)).thenReturn(ctype);
+
+        return consumer;
+    }
+
+    private void entitle(Consumer consumer, Product provided) {
+        Product product = TestUtil.createProduct()
+            .setProvidedProducts(Set.of(provided));
+
+        Pool pool = TestUtil.createPool(this.owner, product)
+            .setId("pool-" + TestUtil.randomInt());
+
+        Entitlement entitlement = new Entitlement(pool, consumer, this.owner, 1);
+        entitlement.setId("ent-" + TestUtil.randomInt());
+
+        consumer.setEntitlements(Set.of(entitlement));
+    }
+
+    /**
+     * Builds consumers alternating between consumers whose installed product is covered by an
+     * entitlement and consumers without entitlements.
+     */
+    private List<Consumer> buildConsumers(int count) {
+        List<Consumer> consumers = new ArrayList<>();
+
+        for (int i = 0; i < count; ++i) {
+            Product installed = TestUtil.createProduct();
+            Consumer consumer = this.buildConsumer(ConsumerType.ConsumerTypeEnum.SYSTEM, installed);
+
+            if (i % 2 == 0) {
+                this.entitle(consumer, installed);
+            }
+
+            consumers.add(consumer);
+        }
+
+        return consumers;
+    }
+
+    private void verifyStatuses(List<Consumer> consumers, List<ComplianceStatus> statuses) {
+        ComplianceRules rules = this.buildComplianceRules();
+
+        assertEquals(consumers.size(), statuses.size());
+        for (int i = 0; i < consumers.size(); ++i) {
+            ComplianceStatus expected = rules.getStatus(consumers.get(i), null);
+
+            assertEquals(List.of(), ComplianceStatusDiff.compare(expected, statuses.get(i)));
+            assertEquals(i % 2 == 0 ? ComplianceStatus.GREEN : ComplianceStatus.RED,
+                statuses.get(i).getStatus());
+        }
+    }
+
+    @Test
+    public void testStatusesMatchIndividualCalculationInOrder() {
+        List<Consumer> consumers = this.buildConsumers(25);
+
+        List<ComplianceStatus> statuses = this.buildCalculator().getStatuses(consumers);
+
+        this.verifyStatuses(consumers, statuses);
+        verify(this.consumerCurator).initializeComplianceData(consumers);
+    }
+
+    @Test
+    public void testStatusesCalculatedOnRequestingThread() {
+        this.config.setProperty(ConfigProperties.COMPLIANCE_BULK_THREADS, "1");
+        List<Consumer> consumers = this.buildConsumers(5);
+
+        List<ComplianceStatus> statuses = this.buildCalculator().getStatuses(consumers);
+
+        this.verifyStatuses(consumers, statuses);
+    }
+
+    @Test
+    public void testStatusesAppliedToConsumers() {
+        List<Consumer> consumers = this.buildConsumers(4);
+
+        List<ComplianceStatus> statuses = this.buildCalculator().getStatuses(consumers);
+
+        for (int i = 0; i < consumers.size(); ++i) {
+            assertEquals(statuses.get(i).getStatus(), consumers.get(i).getEntitlementStatus());
+            verify(this.eventSink).emitCompliance(eq(consumers.get(i)), any(ComplianceStatus.class));
+        }
+    }
+
+    @Test
+    public void testDistributorStatusesAreNotCalculated() {
+        List<Consumer> consumers = this.buildConsumers(3);
+        Consumer distributor = this.buildConsumer(ConsumerType.ConsumerTypeEnum.CANDLEPIN,
+            TestUtil.createProduct());
+        consumers.add(1, distributor);
+
+        List<ComplianceStatus> statuses = this.buildCalculator().getStatuses(consumers);
+
+        assertEquals(4, statuses.size());
+        assertTrue(statuses.get(1).getReasons().isEmpty());
+        assertEquals(ComplianceStatus.GREEN, statuses.get(0).getStatus());
+        assertEquals(ComplianceStatus.RED, statuses.get(2).getStatus());
+        assertEquals(ComplianceStatus.GREEN, statuses.get(3).getStatus());
+    }
+
+    @Test
+    public void testNoConsumers() {
+        assertEquals(List.of(), this.buildCalculator().getStatuses(List.of()));
+        assertEquals(List.of(), this.buildCalculator().getStatuses(null));
+    }
+
+    @Test
+    public void testInvalidThreadCountIsRejected() {
+        this.config.setProperty(ConfigProperties.COMPLIANCE_BULK_THREADS, "0");
+
+        assertThrows(ConfigurationException.class, this::buildCalculator);
+    }
+}
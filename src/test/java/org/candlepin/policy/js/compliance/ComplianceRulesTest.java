@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
@@ -27,6 +28,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.candlepin.audit.EventSink;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
 import org.candlepin.dto.ModelTranslator;
 import org.candlepin.dto.StandardTranslator;
 import org.candlepin.model.Consumer;
@@ -132,9 +137,7 @@ public class ComplianceRulesTest {
         when(rulesCuratorMock.getRules()).thenReturn(rules);
         when(cacheProvider.get()).thenReturn(cache);
         provider = new JsRunnerProvider(rulesCuratorMock, cacheProvider);
-        compliance = new ComplianceRules(provider.get(), entCurator, new StatusReasonMessageGenerator(i18n),
-            eventSink, consumerCurator, consumerTypeCurator, ObjectMapperFactory.getRulesObjectMapper(),
-            translator);
+        compliance = this.buildComplianceRules(provider.get(), this.buildConfig());
 
         this.owner = new Owner()
             .setId(TestUtil.randomString())
@@ -150,6 +153,55 @@ public class ComplianceRulesTest {
         ctype.setId("test-ctype");
     }
 
+    /**
+     * Builds the configuration used by the compliance rules under test; subclasses override this to
+     * test the compliance rules with other engines.
+     */
+    protected DevConfig buildConfig() {
+        return TestConfig.defaults();
+    }
+
+    private ComplianceRules buildComplianceRules(JsRunner runner, DevConfig config) {
+        return new ComplianceRules(runner, entCurator, new StatusReasonMessageGenerator(i18n), eventSink,
+            consumerCurator, consumerTypeCurator, ObjectMapperFactory.getRulesObjectMapper(), translator,
+            new ComplianceSettingsProvider(config).get(), new NativeComplianceEngine(consumerTypeCurator));
+    }
+
+    @Test
+    public void invalidComplianceEngineIsRejected() {
+        DevConfig config = this.buildConfig();
+        config.setProperty(ConfigProperties.COMPLIANCE_ENGINE, "bad_engine");
+
+        assertThrows(ConfigurationException.class, () -> this.buildComplianceRules(provider.get(), config));
+    }
+
+    @Test
+    public void invalidShadowPercentageIsRejected() {
+        DevConfig config = this.buildConfig();
+        config.setProperty(ConfigProperties.COMPLIANCE_SHADOW_PERCENTAGE, "101");
+
+        assertThrows(ConfigurationException.class, () -> this.buildComplianceRules(provider.get(), config));
+    }
+
+    @Test
+    public void shadowedCalculationDoesNotAffectStatus() {
+        DevConfig config = this.buildConfig();
+        config.setProperty(ConfigProperties.COMPLIANCE_SHADOW_PERCENTAGE, "100");
+        ComplianceRules shadowed = this.buildComplianceRules(provider.get(), config);
+
+        Consumer c = mockConsumer(PRODUCT_1, PRODUCT_2);
+        List<Entitlement> ents = new LinkedList<>();
+        ents.add(mockStackedEntitlement(c, STACK_ID_1, TestUtil.createProduct("Awesome Product"),
+            PRODUCT_1, PRODUCT_2));
+        mockEntCurator(c, ents);
+
+        ComplianceStatus expected = compliance.getStatus(c, TestUtil.createDate(2011, 8, 30));
+        ComplianceStatus status = shadowed.getStatus(c, TestUtil.createDate(2011, 8, 30));
+
+        assertEquals(List.of(), ComplianceStatusDiff.compare(expected, status));
+        assertFalse(shadowed.isStackCompliant(c, STACK_ID_1, ents));
+    }
+
     /*
      * Make sure additive properties coming back from the javascript do not break when
      * we deserialize.
@@ -157,9 +209,7 @@ public class ComplianceRulesTest {
     @Test
     public void additivePropertiesCanStillDeserialize() {
         JsRunner mockRunner = mock(JsRunner.class);
-        compliance = new ComplianceRules(mockRunner, entCurator, new StatusReasonMessageGenerator(i18n),
-            eventSink, consumerCurator, consumerTypeCurator, ObjectMapperFactory.getRulesObjectMapper(),
-            translator);
+        compliance = this.buildComplianceRules(mockRunner, this.buildConfig());
 
         when(mockRunner.runJsFunction(any(Class.class), eq("get_status"),
             any(JsContext.class))).thenReturn("{\"unknown\": \"thing\"}");
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+
+/**
+ * Test suite for the ComplianceSettingsProvider class
+ */
+public class ComplianceSettingsProviderTest {
+
+    @Test
+    public void testDefaultsToJsWithoutShadowing() {
+        ComplianceSettings settings = new ComplianceSettingsProvider(TestConfig.defaults()).get();
+
+        assertEquals(new ComplianceSettings(ComplianceRules.Engine.JS, 0), settings);
+    }
+
+    @Test
+    public void testResolvesConfiguredSettings() {
+        DevConfig config = TestConfig.defaults();
+        config.setProperty(ConfigProperties.COMPLIANCE_ENGINE, " Native ");
+        config.setProperty(ConfigProperties.COMPLIANCE_SHADOW_PERCENTAGE, "25");
+
+        ComplianceSettings settings = new ComplianceSettingsProvider(config).get();
+
+        assertEquals(new ComplianceSettings(ComplianceRules.Engine.NATIVE, 25), settings);
+    }
+
+    @Test
+    public void testRejectsUnknownEngine() {
+        DevConfig config = TestConfig.defaults();
+        config.setProperty(ConfigProperties.COMPLIANCE_ENGINE, "bad_engine");
+
+        assertThrows(ConfigurationException.class, () -> new ComplianceSettingsProvider(config));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "-1", "101" })
+    public void testRejectsInvalidShadowPercentage(String percentage) {
+        DevConfig config = TestConfig.defaults();
+        config.setProperty(ConfigProperties.COMPLIANCE_SHADOW_PERCENTAGE, percentage);
+
+        assertThrows(ConfigurationException.class, () -> new ComplianceSettingsProvider(config));
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerInstalledProduct;
+import org.candlepin.model.ConsumerType;
+import org.candlepin.model.ConsumerTypeCurator;
+import org.candlepin.model.Entitlement;
+import org.candlepin.model.Owner;
+import org.candlepin.model.Pool;
+import org.candlepin.model.Product;
+import org.candlepin.test.TestUtil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+
+/**
+ * Test suite for the NativeComplianceEngine class. The compliance calculations themselves are
+ * verified against the rules file by the NativeComplianceRulesTest suite.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class NativeComplianceEngineTest {
+    private static final Date ON_DATE = TestUtil.createDate(2020, 6, 1);
+
+    @Mock
+    private ConsumerTypeCurator consumerTypeCurator;
+
+    private Owner owner;
+    private Product installed;
+    private NativeComplianceEngine engine;
+
+    @BeforeEach
+    public void init() {
+        this.owner = TestUtil.createOwner();
+        this.installed = TestUtil.createProduct("installed", "installed product");
+        this.engine = new NativeComplianceEngine(this.consumerTypeCurator);
+    }
+
+    private Consumer buildConsumer(String sockets) {
+        ConsumerType ctype = new ConsumerType(ConsumerType.ConsumerTypeEnum.SYSTEM);
+        ctype.setId("test-ctype");
+
+        Consumer consumer = new Consumer()
+            .setUuid("consumer-uuid")
+            .setOwner(this.owner)
+            .setType(ctype)
+            .setFact(Consumer.Facts.CPU_SOCKETS, sockets);
+
+        consumer.addInstalledProduct(new ConsumerInstalledProduct()
+            .setProductId(this.installed.getId())
+            .setProductName(this.installed.getName()));
+
+        when(this.consumerTypeCurator.getConsumerType(consumer)).thenReturn(ctype);
+        return consumer;
+    }
+
+    private Entitlement buildEntitlement(Consumer consumer, String id, Map<String, String> attributes) {
+        Product product = TestUtil.createProduct("sku-" + id, "sku")
+            .setAttributes(attributes)
+            .setProvidedProducts(Set.of(this.installed));
+
+        Pool pool = new Pool()
+            .setId("pool-" + id)
+            .setOwner(this.owner)
+            .setProduct(product)
+            .setQuantity(10L)
+            .setStartDate(TestUtil.createDate(2020, 1, 1))
+            .setEndDate(TestUtil.createDate(2021, 1, 1));
+
+        Entitlement entitlement = new Entitlement(pool, consumer, this.owner, 1);
+        entitlement.setId("ent-" + id);
+
+        return entitlement;
+    }
+
+    @Test
+    public void testUncoveredProductIsNonCompliant() {
+        Consumer consumer = this.buildConsumer("2");
+
+        ComplianceStatus status = this.engine.getStatus(consumer, List.of(), ON_DATE, true, true);
+
+        assertEquals(ComplianceStatus.RED, status.getStatus());
+        assertEquals(Set.of(this.installed.getId()), status.getNonCompliantProducts());
+        assertEquals(1, status.getReasons().size());
+
+        ComplianceReason reason = status.getReasons().iterator().next();
+        assertEquals(ComplianceReason.ReasonKeys.NOT_COVERED, reason.getKey());
+        assertEquals(this.installed.getId(), reason.getAttributes().get(ComplianceReason.Attributes.PRODUCT_ID));
+    }
+
+    @Test
+    public void testInsufficientSocketsArePartiallyCompliant() {
+        Consumer consumer = this.buildConsumer("8");
+        Entitlement entitlement = this.buildEntitlement(consumer, "1",
+            Map.of(Product.Attributes.SOCKETS, "4"));
+
+        ComplianceStatus status = this.engine.getStatus(consumer, List.of(entitlement), ON_DATE, true, false);
+
+        assertEquals(ComplianceStatus.YELLOW, status.getStatus());
+        assertEquals(Set.of(entitlement), status.getPartiallyCompliantProducts().get(this.installed.getId()));
+        assertEquals(1, status.getReasons().size());
+
+        ComplianceReason reason = status.getReasons().iterator().next();
+        assertEquals("SOCKETS", reason.getKey());
+        assertEquals("8", reason.getAttributes().get(ComplianceReason.Attributes.PRESENT));
+        assertEquals("4", reason.getAttributes().get(ComplianceReason.Attributes.COVERED));
+        assertEquals("ent-1", reason.getAttributes().get(ComplianceReason.Attributes.ENTITLEMENT_ID));
+    }
+
+    @Test
+    public void testStackedEntitlementsCombineCoverage() {
+        Consumer consumer = this.buildConsumer("8");
+        Map<String, String> attributes = Map.of(
+            Product.Attributes.SOCKETS, "4",
+            Product.Attributes.STACKING_ID, "stack");
+
+        Entitlement ent1 = this.buildEntitlement(consumer, "1", attributes);
+        Entitlement ent2 = this.buildEntitlement(consumer, "2", attributes);
+
+        assertFalse(this.engine.isStackCompliant(consumer, "stack", List.of(ent1)));
+        assertTrue(this.engine.isStackCompliant(consumer, "stack", List.of(ent1, ent2)));
+
+        ComplianceStatus status = this.engine.getStatus(consumer, List.of(ent1, ent2), ON_DATE, true, false);
+
+        assertEquals(ComplianceStatus.GREEN, status.getStatus());
+        assertEquals(Set.of(ent1, ent2), status.getCompliantProducts().get(this.installed.getId()));
+        assertEquals(TestUtil.createDate(2021, 1, 1).getTime() + 1000, status.getCompliantUntil().getTime());
+    }
+
+    @Test
+    public void testEntitlementComplianceIgnoresZeroAttributes() {
+        Consumer consumer = this.buildConsumer("8");
+        Entitlement entitlement = this.buildEntitlement(consumer, "1",
+            Map.of(Product.Attributes.SOCKETS, "0"));
+
+        assertTrue(this.engine.isEntitlementCompliant(consumer, entitlement, List.of(entitlement)));
+    }
+
+    @Test
+    public void testNullDateIsRejected() {
+        Consumer consumer = this.buildConsumer("2");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> this.engine.getStatus(consumer, List.of(), null, false, false));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+        "4abc, 4", "' 12 ', 12", "0x1A, 26", "-7.9, -7", "1e3, 1", "abc, NaN", "'', NaN", "null, NaN"
+    })
+    public void testParseIntMatchesJavaScript(String value, double expected) {
+        assertEquals(expected, NativeComplianceEngine.parseInt(value));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+        "' 12 ', 12", "0x1A, 26", "-7.9, -7.9", "1e3, 1000", "4abc, NaN", "'', 0", "null, 0"
+    })
+    public void testToNumberMatchesJavaScript(String value, double expected) {
+        assertEquals(expected, NativeComplianceEngine.toNumber(value));
+    }
+
+    @Test
+    public void testNumbersAreFormattedAsJavaScript() {
+        assertEquals("2", NativeComplianceEngine.formatNumber(2.0));
+        assertEquals("2.5", NativeComplianceEngine.formatNumber(2.5));
+        assertEquals("NaN", NativeComplianceEngine.formatNumber(Double.NaN));
+        assertEquals("1e+21", NativeComplianceEngine.formatNumber(1e21));
+        assertEquals("0.30000000000000004", NativeComplianceEngine.formatNumber(0.1 + 0.2));
+
+        assertEquals(2.0, NativeComplianceEngine.toInt32(2.7));
+        assertEquals(-2.0, NativeComplianceEngine.toInt32(-2.7));
+        assertEquals(0.0, NativeComplianceEngine.toInt32(Double.NaN));
+    }
+
+    @Test
+    public void testStatusDiffListsDifferences() {
+        Consumer consumer = this.buildConsumer("8");
+        Entitlement entitlement = this.buildEntitlement(consumer, "1",
+            Map.of(Product.Attributes.SOCKETS, "4"));
+
+        ComplianceStatus partial = this.engine.getStatus(consumer, List.of(entitlement), ON_DATE, true, false);
+        ComplianceStatus invalid = this.engine.getStatus(consumer, List.of(), ON_DATE, true, false);
+
+        assertEquals(List.of(), ComplianceStatusDiff.compare(partial,
+            this.engine.getStatus(consumer, List.of(entitlement), ON_DATE, true, false)));
+
+        List<String> differences = ComplianceStatusDiff.compare(partial, invalid);
+        assertTrue(differences.stream().anyMatch(diff -> diff.startsWith("status:")));
+        assertTrue(differences.stream().anyMatch(diff -> diff.startsWith("reasons:")));
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.policy.js.compliance;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+
+
+
+/**
+ * Runs the compliance rules test suite against the native compliance engine, verifying it calculates
+ * the same compliance as the rules file.
+ */
+public class NativeComplianceRulesTest extends ComplianceRulesTest {
+
+    @Override
+    protected DevConfig buildConfig() {
+        DevConfig config = super.buildConfig();
+        config.setProperty(ConfigProperties.COMPLIANCE_ENGINE, ComplianceRules.Engine.NATIVE.name());
+
+        return config;
+    }
+
+}
@@ -19,7 +19,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import org.candlepin.audit.EventSink;
+import org.candlepin.dto.api.server.v1.QueryStatisticsDTO;
 import org.candlepin.dto.api.server.v1.QueueStatus;
+import org.candlepin.hibernate.QueryStatistics;
+import org.candlepin.metrics.MetricsRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,11 +39,15 @@ public class AdminResourceTest {
 
     private AdminResource ar;
     private EventSink sink;
+    private QueryStatistics queryStatistics;
+    private MetricsRegistry metricsRegistry;
 
     @BeforeEach
     public void init() {
         sink = mock(EventSink.class);
-        ar = new AdminResource(sink);
+        queryStatistics = mock(QueryStatistics.class);
+        metricsRegistry = mock(MetricsRegistry.class);
+        ar = new AdminResource(sink, queryStatistics, metricsRegistry);
     }
 
     @Test
@@ -61,4 +68,19 @@ public class AdminResourceTest {
         when(sink.getQueueInfo()).thenReturn(mockQueueStats);
         assertEquals(2, ar.getQueueStats().size());
     }
+
+    @Test
+    public void testQueryStatistics() {
+        List<QueryStatisticsDTO> stats = List.of(new QueryStatisticsDTO().name("GET Resource.method"));
+        when(queryStatistics.getStatistics()).thenReturn(stats);
+
+        assertEquals(stats, ar.getQueryStatistics());
+    }
+
+    @Test
+    public void testMetrics() {
+        when(metricsRegistry.scrape()).thenReturn("metric 1\n");
+
+        assertEquals("metric 1\n", ar.getMetrics());
+    }
 }
@@ -75,6 +75,7 @@ import org.candlepin.pki.certs.AnonymousCertificateGenerator;
 import org.candlepin.pki.certs.IdentityCertificateGenerator;
 import org.candlepin.pki.certs.SCACertificateGenerator;
 import org.candlepin.policy.SystemPurposeComplianceRules;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
 import org.candlepin.policy.js.compliance.ComplianceRules;
 import org.candlepin.policy.js.compliance.ComplianceStatus;
 import org.candlepin.policy.js.consumer.ConsumerRules;
@@ -198,6 +199,8 @@ public class AnonymousConsumerResourceCreationTest {
     private AnonymousCertificateGenerator anonymousCertificateGenerator;
     @Mock
     private ConsumerCloudDataBuilder consumerCloudDataBuilder;
+    @Mock
+    private BulkComplianceCalculator bulkComplianceCalculator;
 
     protected ModelTranslator modelTranslator;
 
@@ -233,7 +236,8 @@ public class AnonymousConsumerResourceCreationTest {
             this.consumerContentOverrideCurator, this.entCertService, this.poolService,
             this.environmentContentCurator, this.anonymousConsumerCurator, this.anonymousCertCurator,
             this.ownerService, this.scaCertificateGenerator, this.anonymousCertificateGenerator,
-            this.consumerCloudDataBuilder
+            this.consumerCloudDataBuilder,
+            this.bulkComplianceCalculator
         );
 
         this.system = this.initConsumerType();
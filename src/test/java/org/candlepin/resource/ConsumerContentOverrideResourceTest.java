@@ -45,6 +45,7 @@ import org.candlepin.pki.certs.AnonymousCertificateGenerator;
 import org.candlepin.pki.certs.IdentityCertificateGenerator;
 import org.candlepin.pki.certs.SCACertificateGenerator;
 import org.candlepin.policy.SystemPurposeComplianceRules;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
 import org.candlepin.policy.js.compliance.ComplianceRules;
 import org.candlepin.policy.js.consumer.ConsumerRules;
 import org.candlepin.resource.util.CalculatedAttributesUtil;
@@ -140,6 +141,8 @@ public class ConsumerContentOverrideResourceTest extends DatabaseTestFixture {
     private AnonymousCertificateGenerator anonymousCertificateGenerator;
     @Mock
     private ConsumerCloudDataBuilder consumerCloudDataBuilder;
+    @Mock
+    private BulkComplianceCalculator bulkComplianceCalculator;
 
     private ConsumerResource resource;
 
@@ -195,7 +198,8 @@ public class ConsumerContentOverrideResourceTest extends DatabaseTestFixture {
             this.ownerService,
             this.scaCertificateGenerator,
             this.anonymousCertificateGenerator,
-            this.consumerCloudDataBuilder
+            this.consumerCloudDataBuilder,
+            this.bulkComplianceCalculator
         );
     }
 
@@ -71,6 +71,7 @@ import org.candlepin.pki.certs.AnonymousCertificateGenerator;
 import org.candlepin.pki.certs.IdentityCertificateGenerator;
 import org.candlepin.pki.certs.SCACertificateGenerator;
 import org.candlepin.policy.SystemPurposeComplianceRules;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
 import org.candlepin.policy.js.compliance.ComplianceRules;
 import org.candlepin.policy.js.compliance.ComplianceStatus;
 import org.candlepin.policy.js.consumer.ConsumerRules;
@@ -196,6 +197,8 @@ public class ConsumerResourceCreationLiberalNameRules {
     private OwnerServiceAdapter ownerService;
     @Mock
     private ConsumerCloudDataBuilder consumerCloudDataBuilder;
+    @Mock
+    private BulkComplianceCalculator bulkComplianceCalculator;
     protected ModelTranslator modelTranslator;
 
     private I18n i18n;
@@ -261,7 +264,8 @@ public class ConsumerResourceCreationLiberalNameRules {
             this.ownerService,
             this.scaCertificateGenerator,
             this.anonymousCertificateGenerator,
-            this.consumerCloudDataBuilder
+            this.consumerCloudDataBuilder,
+            this.bulkComplianceCalculator
         );
 
         this.system = this.initConsumerType();
@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -119,6 +120,7 @@ import org.candlepin.pki.certs.ConcurrentContentPayloadCreationException;
 import org.candlepin.pki.certs.IdentityCertificateGenerator;
 import org.candlepin.pki.certs.SCACertificateGenerator;
 import org.candlepin.policy.SystemPurposeComplianceRules;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
 import org.candlepin.policy.js.compliance.ComplianceRules;
 import org.candlepin.policy.js.compliance.ComplianceStatus;
 import org.candlepin.policy.js.consumer.ConsumerRules;
@@ -301,6 +303,8 @@ public class ConsumerResourceTest {
     private Principal principal;
     @Mock
     private ConsumerCloudDataBuilder consumerCloudDataBuilder;
+    @Mock
+    private BulkComplianceCalculator bulkComplianceCalculator;
 
     private ModelTranslator translator;
     private ConsumerResource consumerResource;
@@ -391,7 +395,8 @@ public class ConsumerResourceTest {
             this.ownerService,
             this.scaCertificateGenerator,
             this.anonymousCertificateGenerator,
-            this.consumerCloudDataBuilder
+            this.consumerCloudDataBuilder,
+            this.bulkComplianceCalculator
         );
     }
 
@@ -683,7 +688,8 @@ public class ConsumerResourceTest {
             this.ownerService,
             this.scaCertificateGenerator,
             this.anonymousCertificateGenerator,
-            this.consumerCloudDataBuilder
+            this.consumerCloudDataBuilder,
+            this.bulkComplianceCalculator
         );
 
         // Fixme throw custom exception from generator instead of generic RuntimeException
@@ -1253,8 +1259,8 @@ public class ConsumerResourceTest {
         when(consumerCurator.findByUuids(uuids)).thenReturn(consumers);
 
         ComplianceStatus status = new ComplianceStatus();
-        when(complianceRules.getStatus(any(Consumer.class), any(Date.class)))
-            .thenReturn(status);
+        when(bulkComplianceCalculator.getStatuses(anyList()))
+            .thenAnswer(invocation -> Collections.nCopies(invocation.<List<?>>getArgument(0).size(), status));
 
         Map<String, ComplianceStatusDTO> results = consumerResource.getComplianceStatusList(uuids);
         assertEquals(2, results.size());
@@ -1262,6 +1268,31 @@ public class ConsumerResourceTest {
         assertTrue(results.containsKey(c2.getUuid()));
     }
 
+    @Test
+    public void testGetComplianceStatusListRetainsRequestedOrder() {
+        Owner owner = this.createOwner();
+        Consumer c1 = this.createConsumer(owner);
+        Consumer c2 = this.createConsumer(owner);
+        Consumer c3 = this.createConsumer(owner);
+
+        List<String> uuids = List.of(c3.getUuid(), c1.getUuid(), "unknown", c2.getUuid(), c3.getUuid());
+        when(consumerCurator.findByUuids(uuids)).thenReturn(Set.of(c1, c2, c3));
+
+        ComplianceStatus disabled = new ComplianceStatus();
+        disabled.setDisabled(true);
+
+        when(bulkComplianceCalculator.getStatuses(anyList()))
+            .thenReturn(List.of(disabled, new ComplianceStatus(), new ComplianceStatus()));
+
+        Map<String, ComplianceStatusDTO> results = consumerResource.getComplianceStatusList(uuids);
+
+        verify(bulkComplianceCalculator).getStatuses(List.of(c3, c1, c2));
+        assertEquals(List.of(c3.getUuid(), c1.getUuid(), c2.getUuid()), new ArrayList<>(results.keySet()));
+        assertEquals(ComplianceStatus.GRAY, results.get(c3.getUuid()).getStatus());
+        assertEquals(ComplianceStatus.GREEN, results.get(c1.getUuid()).getStatus());
+        assertEquals(ComplianceStatus.GREEN, results.get(c2.getUuid()).getStatus());
+    }
+
     @Test
     public void testConsumerExistsYes() {
         when(consumerCurator.doesConsumerExist(any(String.class))).thenReturn(true);
@@ -100,6 +100,7 @@ import org.candlepin.pki.certs.AnonymousCertificateGenerator;
 import org.candlepin.pki.certs.IdentityCertificateGenerator;
 import org.candlepin.pki.certs.SCACertificateGenerator;
 import org.candlepin.policy.SystemPurposeComplianceRules;
+import org.candlepin.policy.js.compliance.BulkComplianceCalculator;
 import org.candlepin.policy.js.compliance.ComplianceRules;
 import org.candlepin.policy.js.compliance.ComplianceStatus;
 import org.candlepin.policy.js.compliance.hash.ComplianceFacts;
@@ -247,6 +248,8 @@ public class ConsumerResourceUpdateTest {
     private AnonymousCertificateGenerator anonymousCertificateGenerator;
     @Mock
     private ConsumerCloudDataBuilder cloudDataBuilder;
+    @Mock
+    private BulkComplianceCalculator bulkComplianceCalculator;
 
     private ModelTranslator translator;
 
@@ -311,7 +314,8 @@ public class ConsumerResourceUpdateTest {
             this.ownerService,
             this.scaCertificateGenerator,
             this.anonymousCertificateGenerator,
-            this.cloudDataBuilder
+            this.cloudDataBuilder,
+            this.bulkComplianceCalculator
         );
 
         when(this.complianceRules.getStatus(any(Consumer.class), any(Date.class), any(Boolean.class),
@@ -1032,6 +1036,55 @@ public class ConsumerResourceUpdateTest {
         verify(poolService, never()).revokeEntitlement(entitlement);
     }
 
+    @Test
+    public void guestMigrationCheckSkippedWithoutHostRestrictedEntitlements() {
+        Consumer guest = createGuest("virt-uuid");
+        guest.addEntitlement(TestUtil.createEntitlement());
+
+        this.resource.revokeOnGuestMigration(guest);
+
+        verify(this.consumerCurator, never()).getHost(any(String.class), any());
+        verifyNoInteractions(this.poolService);
+    }
+
+    @Test
+    public void guestMigrationCheckSkipsEntitlementsRequiringCurrentHost() {
+        Consumer host = new Consumer().setUuid("host-1");
+        Entitlement entitlement = TestUtil.createEntitlement();
+        entitlement.getPool().setAttribute(Pool.Attributes.REQUIRES_HOST, host.getUuid());
+
+        Consumer guest = createGuest("virt-uuid");
+        guest.addEntitlement(entitlement);
+        when(this.consumerCurator.getHost("virt-uuid", guest.getOwnerId())).thenReturn(host);
+
+        this.resource.revokeOnGuestMigration(guest);
+
+        verifyNoInteractions(this.poolService);
+        assertEquals(host.getUuid(), guest.getEntitledHost());
+    }
+
+    @Test
+    public void guestMigrationCheckRevokesEntitlementsRequiringPreviousHost() {
+        Consumer host = new Consumer().setUuid("host-2");
+        Entitlement entitlement = TestUtil.createEntitlement();
+        entitlement.getPool().setAttribute(Pool.Attributes.REQUIRES_HOST, "host-1");
+
+        Consumer guest = createGuest("virt-uuid");
+        guest.addEntitlement(entitlement);
+        when(this.consumerCurator.getHost("virt-uuid", guest.getOwnerId())).thenReturn(host);
+
+        this.resource.revokeOnGuestMigration(guest);
+
+        verify(this.poolService).revokeEntitlement(entitlement);
+    }
+
+    private Consumer createGuest(String virtUuid) {
+        return new Consumer()
+            .setUuid("guest")
+            .setFact(Consumer.Facts.VIRT_IS_GUEST, "true")
+            .setFact(Consumer.Facts.VIRT_UUID, virtUuid);
+    }
+
     @Test
     public void multipleUpdatesCanOccur() {
         String uuid = "A Consumer";
@@ -15,6 +15,7 @@
 package org.candlepin.resource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
@@ -199,6 +200,43 @@ public class GuestIdResourceTest {
         verify(consumerCurator, never()).update(eq(consumer));
     }
 
+    @Test
+    public void updateGuestsRecordsGuestIdsHash() {
+        List<GuestIdDTO> guestIds = List.of(TestUtil.createGuestIdDTO("1"), TestUtil.createGuestIdDTO("2"));
+
+        when(consumerResource.performConsumerUpdates(any(ConsumerDTO.class), any(Consumer.class),
+            eq(testMigration))).thenReturn(true);
+        resource.updateGuests(consumer.getUuid(), guestIds);
+
+        assertEquals(Consumer.hashGuestIds(List.of(new GuestId("2"), new GuestId("1"))),
+            consumer.getGuestIdsHash());
+    }
+
+    @Test
+    public void updateGuestsSkippedWhenGuestIdsUnchanged() {
+        consumer.addGuestId(new GuestId("1"));
+        consumer.addGuestId(new GuestId("2"));
+        consumer.updateGuestIdsHash();
+
+        List<GuestIdDTO> guestIds = List.of(TestUtil.createGuestIdDTO("2"), TestUtil.createGuestIdDTO("1"));
+        resource.updateGuests(consumer.getUuid(), guestIds);
+
+        verify(testMigration, never()).buildMigrationManifest(any(ConsumerDTO.class), any(Consumer.class));
+        verify(consumerResource, never()).performConsumerUpdates(any(ConsumerDTO.class), any(Consumer.class),
+            any(GuestMigration.class));
+        verify(consumerCurator, never()).update(any(Consumer.class));
+    }
+
+    @Test
+    public void updateGuestClearsGuestIdsHash() {
+        consumer.updateGuestIdsHash();
+
+        GuestIdDTO guest = TestUtil.createGuestIdDTO("some_guest");
+        resource.updateGuest(consumer.getUuid(), guest.getGuestId(), guest);
+
+        assertNull(consumer.getGuestIdsHash());
+    }
+
     @Test
     public void updateGuest() {
         GuestIdDTO guest = TestUtil.createGuestIdDTO("some_guest");
@@ -14,8 +14,10 @@
  */
 package org.candlepin.resource.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
@@ -23,6 +25,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.candlepin.bind.DeferredPoolLocks;
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
 import org.candlepin.controller.ContentAccessMode;
 import org.candlepin.controller.Entitler;
 import org.candlepin.exceptions.BadRequestException;
@@ -32,6 +38,7 @@ import org.candlepin.model.ConsumerContentOverrideCurator;
 import org.candlepin.model.ConsumerInstalledProduct;
 import org.candlepin.model.ConsumerType;
 import org.candlepin.model.ConsumerType.ConsumerTypeEnum;
+import org.candlepin.model.ConsumerTypeCurator;
 import org.candlepin.model.Owner;
 import org.candlepin.model.OwnerCurator;
 import org.candlepin.model.Pool;
@@ -72,8 +79,12 @@ public class ConsumerBindUtilTest {
     private ServiceLevelValidator serviceLevelValidator;
     @Mock
     private PoolCurator poolCurator;
+    @Mock
+    private ConsumerTypeCurator consumerTypeCurator;
 
     private I18n i18n;
+    private DevConfig config;
+    private DeferredPoolLocks deferredPoolLocks;
 
     private ConsumerType systemConsumerType;
     private Owner owner;
@@ -81,6 +92,8 @@ public class ConsumerBindUtilTest {
     @BeforeEach
     public void init() throws Exception {
         this.i18n = I18nFactory.getI18n(getClass(), Locale.US, I18nFactory.FALLBACK);
+        this.config = TestConfig.defaults();
+        this.deferredPoolLocks = new DeferredPoolLocks();
 
         this.systemConsumerType = new ConsumerType(ConsumerTypeEnum.SYSTEM);
         this.systemConsumerType.setId("test-ctype-" + TestUtil.randomInt());
@@ -91,7 +104,8 @@ public class ConsumerBindUtilTest {
 
     private ConsumerBindUtil buildConsumerBindUtil() {
         return new ConsumerBindUtil(this.entitler, this.i18n, this.consumerContentOverrideCurator,
-            this.ownerCurator, null, this.serviceLevelValidator, this.poolCurator);
+            this.ownerCurator, null, this.serviceLevelValidator, this.poolCurator, this.consumerTypeCurator,
+            this.config, () -> this.deferredPoolLocks);
     }
 
     private List<ActivationKey> mockActivationKeys() {
@@ -397,4 +411,52 @@ public class ConsumerBindUtilTest {
         // Bind should not be invoked if we're in SCA mode
         verify(this.entitler, never()).bindByProducts(any(AutobindData.class));
     }
+
+    @Test
+    public void testReservablePoolsAreNotLockedUpFront() throws Exception {
+        this.config.setProperty(ConfigProperties.BIND_QUANTITY_RESERVATION, "true");
+
+        Pool pool = this.createTestPool(owner, 5);
+        Pool stackedPool = this.createTestPool(owner, 5);
+        stackedPool.getProduct().setAttribute(Product.Attributes.STACKING_ID, "stack-id");
+
+        ActivationKey key = new ActivationKey("key1", owner)
+            .addPool(pool, 1L)
+            .addPool(stackedPool, 1L);
+
+        Consumer consumer = new Consumer()
+            .setName("sys.example.com")
+            .setType(this.systemConsumerType);
+
+        when(this.consumerTypeCurator.getConsumerType(consumer)).thenReturn(this.systemConsumerType);
+
+        List<Set<String>> deferred = new ArrayList<>();
+        when(this.entitler.bindByPoolQuantity(eq(consumer), anyString(), any())).thenAnswer(invocation -> {
+            deferred.add(this.deferredPoolLocks.take());
+            return List.of();
+        });
+
+        this.buildConsumerBindUtil().handleActivationKeys(consumer, List.of(key), false);
+
+        verify(this.poolCurator).lock(Set.of(stackedPool));
+
+        // The reservable pool is deferred for the binds, and no longer once the keys are handled
+        assertEquals(Set.of(pool.getId()), deferred.get(0));
+        assertEquals(Set.of(), this.deferredPoolLocks.take());
+    }
+
+    @Test
+    public void testPoolsAreLockedUpFrontWithoutReservation() throws Exception {
+        Pool pool = this.createTestPool(owner, 5);
+        ActivationKey key = new ActivationKey("key1", owner)
+            .addPool(pool, 1L);
+
+        Consumer consumer = new Consumer()
+            .setName("sys.example.com")
+            .setType(this.systemConsumerType);
+
+        this.buildConsumerBindUtil().handleActivationKeys(consumer, List.of(key), false);
+
+        verify(this.poolCurator).lock(Set.of(pool));
+    }
 }
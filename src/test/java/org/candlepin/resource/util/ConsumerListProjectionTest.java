@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.resource.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.dto.ModelTranslator;
+import org.candlepin.dto.SimpleModelTranslator;
+import org.candlepin.dto.api.server.v1.ConsumerDTOArrayElement;
+import org.candlepin.dto.api.v1.ConsumerArrayElementTranslator;
+import org.candlepin.jackson.DynamicFilterData;
+import org.candlepin.model.Consumer;
+import org.candlepin.model.ConsumerCurator.ConsumerQueryArguments;
+import org.candlepin.model.ConsumerInstalledProduct;
+import org.candlepin.model.ConsumerTypeCurator;
+import org.candlepin.model.Owner;
+import org.candlepin.model.OwnerCurator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.function.Function;
+
+
+
+/**
+ * Test suite for the ConsumerListProjection class
+ */
+public class ConsumerListProjectionTest {
+
+    private DynamicFilterData buildFilterData(boolean allowlist, Set<String> includes, Set<String> excludes) {
+        DynamicFilterData filterData = new DynamicFilterData(allowlist);
+        includes.forEach(filterData::includeAttribute);
+        excludes.forEach(filterData::excludeAttribute);
+
+        return filterData;
+    }
+
+    @Test
+    public void testUnfilteredProjectionIncludesEverything() {
+        ConsumerListProjection projection = new ConsumerListProjection(null);
+
+        assertTrue(projection.isIncluded("installedProducts"));
+        assertTrue(projection.isIncluded("owner"));
+
+        ConsumerQueryArguments queryArgs = projection.applyTo(new ConsumerQueryArguments());
+        assertNull(queryArgs.getFetchedCollections());
+    }
+
+    @Test
+    public void testIncludeFiltersLimitFetchedCollections() {
+        DynamicFilterData filterData = this.buildFilterData(true, Set.of("uuid", "installedProducts.productId"),
+            Set.of());
+        ConsumerListProjection projection = new ConsumerListProjection(filterData);
+
+        assertTrue(projection.isIncluded("uuid"));
+        assertTrue(projection.isIncluded("installedProducts"));
+        assertFalse(projection.isIncluded("capabilities"));
+        assertFalse(projection.isIncluded("owner"));
+
+        ConsumerQueryArguments queryArgs = projection.applyTo(new ConsumerQueryArguments());
+        assertEquals(Set.of("installedProducts"), Set.copyOf(queryArgs.getFetchedCollections()));
+    }
+
+    @Test
+    public void testExcludeFiltersLimitFetchedCollections() {
+        DynamicFilterData filterData = this.buildFilterData(false, Set.of(),
+            Set.of("installedProducts", "contentTags"));
+        ConsumerListProjection projection = new ConsumerListProjection(filterData);
+
+        ConsumerQueryArguments queryArgs = projection.applyTo(new ConsumerQueryArguments());
+        assertEquals(Set.of("capabilities", "addOns"), Set.copyOf(queryArgs.getFetchedCollections()));
+    }
+
+    @Test
+    public void testUnfilteredMapperUsesStandardMapper() {
+        ModelTranslator translator = mock(ModelTranslator.class);
+        Function<Consumer, ConsumerDTOArrayElement> mapper = consumer -> null;
+        when(translator.getStreamMapper(Consumer.class, ConsumerDTOArrayElement.class)).thenReturn(mapper);
+
+        assertSame(mapper, new ConsumerListProjection(null).getMapper(translator));
+    }
+
+    @Test
+    public void testFilteredMapperSkipsExcludedAttributes() {
+        OwnerCurator ownerCurator = mock(OwnerCurator.class);
+        ModelTranslator translator = new SimpleModelTranslator();
+        translator.registerTranslator(new ConsumerArrayElementTranslator(mock(ConsumerTypeCurator.class),
+            ownerCurator), Consumer.class, ConsumerDTOArrayElement.class);
+
+        Consumer consumer = new Consumer()
+            .setUuid("consumer-uuid")
+            .setName("consumer-name")
+            .setOwner(new Owner().setId("owner-id"));
+        consumer.addInstalledProduct(new ConsumerInstalledProduct().setProductId("product"));
+
+        DynamicFilterData filterData = this.buildFilterData(true, Set.of("uuid"), Set.of());
+        ConsumerDTOArrayElement output = new ConsumerListProjection(filterData)
+            .getMapper(translator)
+            .apply(consumer);
+
+        assertEquals("consumer-uuid", output.getUuid());
+        assertNull(output.getInstalledProducts());
+        assertNull(output.getOwner());
+        verify(ownerCurator, never()).findOwnerById(anyString());
+    }
+
+}
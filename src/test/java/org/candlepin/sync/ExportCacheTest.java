@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.ConfigurationException;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.model.Content;
+import org.candlepin.model.Product;
+import org.candlepin.test.TestUtil;
+import org.candlepin.util.function.CheckedSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+
+/**
+ * Test suite for the ExportCache class
+ */
+public class ExportCacheTest {
+
+    private DevConfig config;
+    private AtomicInteger serializations;
+
+    @BeforeEach
+    public void init() {
+        this.config = TestConfig.defaults();
+        this.serializations = new AtomicInteger();
+    }
+
+    private Product buildProduct(String id) {
+        Content content = TestUtil.createContent(id + "-content", id + "-content")
+            .setUuid(id + "-content-uuid");
+        content.setUpdated(new Date(1000L));
+
+        Product product = TestUtil.createProduct(id, id + "-name")
+            .setUuid(id + "-uuid");
+        product.setUpdated(new Date(1000L));
+        product.addContent(content, true);
+
+        return product;
+    }
+
+    private CheckedSupplier<byte[], IOException> serializer(Product product) {
+        return () -> {
+            this.serializations.incrementAndGet();
+            return product.getName().getBytes(StandardCharsets.UTF_8);
+        };
+    }
+
+    @Test
+    public void testUnchangedProductIsSerializedOnce() throws Exception {
+        ExportCache cache = new ExportCache(this.config);
+        Product product = this.buildProduct("prod");
+
+        byte[] first = cache.getProduct(product, this.serializer(product));
+        byte[] second = cache.getProduct(this.buildProduct("prod"), this.serializer(product));
+
+        assertArrayEquals(first, second);
+        assertEquals(1, this.serializations.get());
+    }
+
+    @Test
+    public void testUpdatedProductIsSerializedAgain() throws Exception {
+        ExportCache cache = new ExportCache(this.config);
+        Product product = this.buildProduct("prod");
+
+        cache.getProduct(product, this.serializer(product));
+
+        product.setName("updated-name");
+        product.setUpdated(new Date(2000L));
+        byte[] output = cache.getProduct(product, this.serializer(product));
+
+        assertArrayEquals("updated-name".getBytes(StandardCharsets.UTF_8), output);
+        assertEquals(2, this.serializations.get());
+    }
+
+    @Test
+    public void testVersionCoversContentAndChildren() {
+        Product product = this.buildProduct("prod");
+        Product provided = this.buildProduct("provided");
+        product.addProvidedProduct(provided);
+
+        assertNotNull(ExportCache.productVersion(product));
+        assertEquals(ExportCache.productVersion(product), ExportCache.productVersion(product));
+
+        // Content changes
+        Product changedContent = this.buildProduct("prod");
+        changedContent.addProvidedProduct(this.buildProduct("provided"));
+        changedContent.getProductContent().iterator().next().getContent().setUpdated(new Date(2000L));
+        assertNotEquals(ExportCache.productVersion(product), ExportCache.productVersion(changedContent));
+
+        // Provided product changes
+        Product changedProvided = this.buildProduct("prod");
+        Product updatedProvided = this.buildProduct("provided");
+        updatedProvided.setUpdated(new Date(2000L));
+        changedProvided.addProvidedProduct(updatedProvided);
+        assertNotEquals(ExportCache.productVersion(product), ExportCache.productVersion(changedProvided));
+
+        // Derived product added
+        Product withDerived = this.buildProduct("prod");
+        withDerived.addProvidedProduct(this.buildProduct("provided"));
+        withDerived.setDerivedProduct(this.buildProduct("derived"));
+        assertNotEquals(ExportCache.productVersion(product), ExportCache.productVersion(withDerived));
+    }
+
+    @Test
+    public void testUnpersistedProductsAreNotCached() throws Exception {
+        ExportCache cache = new ExportCache(this.config);
+        Product product = TestUtil.createProduct("prod", "prod-name");
+
+        assertNull(ExportCache.productVersion(product));
+
+        cache.getProduct(product, this.serializer(product));
+        cache.getProduct(product, this.serializer(product));
+
+        assertEquals(2, this.serializations.get());
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysSerializes() throws Exception {
+        this.config.setProperty(ConfigProperties.CACHE_EXPORT_MAX_BYTES, "0");
+        ExportCache cache = new ExportCache(this.config);
+        Product product = this.buildProduct("prod");
+
+        cache.getProduct(product, this.serializer(product));
+        cache.getProduct(product, this.serializer(product));
+
+        assertEquals(2, this.serializations.get());
+    }
+
+    @Test
+    public void testInvalidateAllClearsCache() throws Exception {
+        ExportCache cache = new ExportCache(this.config);
+        Product product = this.buildProduct("prod");
+
+        cache.getProduct(product, this.serializer(product));
+        cache.invalidateAll();
+        cache.getProduct(product, this.serializer(product));
+
+        assertEquals(2, this.serializations.get());
+    }
+
+    @Test
+    public void testStatsCountHitsAndMisses() throws Exception {
+        ExportCache cache = new ExportCache(this.config);
+        Product product = this.buildProduct("prod");
+
+        cache.getProduct(product, this.serializer(product));
+        cache.getProduct(product, this.serializer(product));
+        cache.getProduct(product, this.serializer(product));
+
+        assertEquals(2, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void testNegativeMaxSizeIsRejected() {
+        this.config.setProperty(ConfigProperties.CACHE_EXPORT_MAX_BYTES, "-1");
+
+        assertThrows(ConfigurationException.class, () -> new ExportCache(this.config));
+    }
+}
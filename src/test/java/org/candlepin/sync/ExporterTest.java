@@ -165,6 +165,7 @@ public class ExporterTest {
     private DistributorVersionExporter distributorVersionExporter;
     private EntitlementExporter entitlementExporter;
     private SchemeFileExporter schemeFileExporter;
+    private ExportCache exportCache;
 
     @BeforeEach
     public void setUp() {
@@ -183,6 +184,7 @@ public class ExporterTest {
         schemeFileExporter = new SchemeFileExporter(mapper);
         cdnExporter = new CdnExporter(translator);
         syncUtil = new SyncUtils(config);
+        exportCache = new ExportCache(config);
         when(exportRules.canExport(any(Entitlement.class))).thenReturn(Boolean.TRUE);
     }
 
@@ -222,7 +224,8 @@ public class ExporterTest {
             this.mapper,
             this.translator,
             this.scaCertificateGenerator,
-            this.schemeFileExporter);
+            this.schemeFileExporter,
+            this.exportCache);
     }
 
     @Test
@@ -39,6 +39,7 @@ import org.candlepin.config.DevConfig;
 import org.candlepin.config.TestConfig;
 import org.candlepin.controller.Refresher;
 import org.candlepin.controller.RefresherFactory;
+import org.candlepin.controller.util.ActiveContentCache;
 import org.candlepin.dto.ModelTranslator;
 import org.candlepin.dto.StandardTranslator;
 import org.candlepin.dto.manifest.v1.ConsumerDTO;
@@ -597,7 +598,7 @@ public class ImporterTest extends DatabaseTestFixture {
         Throwable throwable = assertThrows(ImportExtractionException.class,
             () -> importer.loadExport(owner, archive, co, "original_file.zip"));
 
-        String m = i18n.tr("The archive consumer_export.zip is not a properly compressed file or is empty");
+        String m = i18n.tr("The archive does not contain the required consumer_export.zip file");
         assertThat(throwable.getMessage(), StringContains.containsString(m));
     }
 
@@ -605,7 +606,7 @@ public class ImporterTest extends DatabaseTestFixture {
     public void testImportBadConsumerZip() throws Exception {
         // Mock a passed signature check:
         SignatureValidator mockSignatureValidator = mock(SignatureValidator.class, Answers.RETURNS_SELF);
-        doReturn(true).when(mockSignatureValidator).validate(any(File.class));
+        doReturn(true).when(mockSignatureValidator).validate(any(InputStream.class));
         doReturn(mockSignatureValidator).when(this.cryptoManager).getSignatureValidator(any(Scheme.class));
 
         Owner owner = mock(Owner.class);
@@ -933,6 +934,53 @@ public class ImporterTest extends DatabaseTestFixture {
             .doesNotReturn(null, ImportRecord::getFileName);
     }
 
+    @Test
+    public void testLoadExportDoesNotExtractManifest() throws Exception {
+        this.config.setProperty(ConfigProperties.SYNC_WORK_DIR, "/tmp/");
+
+        Owner owner = this.createOwner();
+        ConsumerType consumerType = this.createConsumerType(true);
+        doReturn(consumerType).when(mockConsumerTypeCurator).getByLabel(any(String.class));
+
+        Consumer consumer = new Consumer()
+            .setName(TestUtil.randomString("name-"))
+            .setUsername(TestUtil.randomString("username-"))
+            .setOwner(owner)
+            .setType(consumerType);
+
+        CryptoUtil.configureConsumerForSchemes(consumer, this.cryptoManager.getDefaultCryptoScheme());
+        consumer = this.consumerCurator.create(consumer);
+
+        IdentityCertificate idCert = this.identityCertificateGenerator.generate(consumer);
+        consumer.setIdCert(idCert);
+        consumer = this.consumerCurator.update(consumer);
+
+        Exporter exporter = this.createExporter();
+        File export = exporter.getFullExport(consumer, TestUtil.randomString(), TestUtil.randomString(),
+            TestUtil.randomString());
+        export.deleteOnExit();
+
+        Refresher mockRefresher = mock(Refresher.class);
+        doReturn(mockRefresher)
+            .when(this.refresherFactory)
+            .getRefresher(any(SubscriptionServiceAdapter.class));
+        doReturn(mockRefresher).when(mockRefresher).add(any(Owner.class));
+
+        // Point the sync work dir somewhere we can watch; the import should never write to it
+        File workDir = new File(this.tmpFolder, "import_work_dir");
+        this.config.setProperty(ConfigProperties.SYNC_WORK_DIR, workDir.getAbsolutePath());
+
+        Owner mockOwner = mock(Owner.class);
+        Importer importer = this.buildImporter();
+
+        ImportRecord importRecord = importer
+            .loadExport(mockOwner, export, new ConflictOverrides(), "original_file.zip");
+
+        assertNotNull(importRecord);
+        assertEquals(Status.SUCCESS_WITH_WARNING, importRecord.getStatus());
+        assertFalse(workDir.exists());
+    }
+
     @Test
     public void testLoadExportWithLegacyExport() throws Exception {
         this.config.setProperty(ConfigProperties.SYNC_WORK_DIR, "/tmp/");
@@ -1596,7 +1644,8 @@ public class ImporterTest extends DatabaseTestFixture {
             this.mapper,
             translator,
             this.createSCACertificateGenerator(cryptoManager),
-            new SchemeFileExporter(mapper));
+            new SchemeFileExporter(mapper),
+            new ExportCache(this.config));
     }
 
     private SCACertificateGenerator createSCACertificateGenerator(CryptoManager cryptoManager) {
@@ -1609,7 +1658,7 @@ public class ImporterTest extends DatabaseTestFixture {
             cryptoManager,
             new EntitlementPayloadGenerator(this.mapper),
             v3ExtensionUtil,
-            this.contentCurator,
+            new ActiveContentCache(this.config, this.contentCurator),
             this.caPayloadCurator);
 
         return new SCACertificateGenerator(
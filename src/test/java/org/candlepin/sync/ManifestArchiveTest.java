@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.candlepin.config.TestConfig;
+import org.candlepin.dto.manifest.v1.CertificateDTO;
+import org.candlepin.dto.manifest.v1.ConsumerDTO;
+import org.candlepin.dto.manifest.v1.ConsumerTypeDTO;
+import org.candlepin.dto.manifest.v1.EntitlementDTO;
+import org.candlepin.dto.manifest.v1.ProductDTO;
+import org.candlepin.sync.Importer.ImportFile;
+import org.candlepin.util.ObjectMapperFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+
+
+/**
+ * Test suite for the ManifestArchive class
+ */
+public class ManifestArchiveTest {
+
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    public void init() {
+        this.mapper = ObjectMapperFactory.getSyncObjectMapper(TestConfig.defaults());
+    }
+
+    private byte[] buildArchive(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zos = new ZipOutputStream(output)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey()));
+                zos.write(entry.getValue());
+                zos.closeEntry();
+            }
+        }
+
+        return output.toByteArray();
+    }
+
+    private byte[] toJson(Object object) {
+        return this.mapper.writeValueAsBytes(object);
+    }
+
+    private ManifestArchive read(byte[] archive) throws IOException {
+        try (InputStream istream = new ByteArrayInputStream(archive)) {
+            return ManifestArchive.read(istream, this.mapper);
+        }
+    }
+
+    @Test
+    public void testReadsExportEntries() throws Exception {
+        ConsumerDTO consumer = new ConsumerDTO();
+        consumer.setUuid("consumer-uuid");
+
+        ConsumerTypeDTO ctype = new ConsumerTypeDTO();
+        ctype.setLabel("candlepin");
+
+        ProductDTO product = new ProductDTO();
+        product.setId("prod-id");
+        product.setName("prod-name");
+
+        CertificateDTO certificate = new CertificateDTO();
+        certificate.setId("cert-id");
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("export/meta.json", this.toJson(new Meta("1.0", new Date(), "admin", "prefix", null)));
+        entries.put("export/consumer.json", this.toJson(consumer));
+        entries.put("export/consumer_types/candlepin.json", this.toJson(ctype));
+        entries.put("export/products/product-file.json", this.toJson(product));
+        entries.put("export/products/product-file.pem", "not json".getBytes(StandardCharsets.UTF_8));
+        entries.put("export/upstream_consumer/cert.json", this.toJson(certificate));
+        entries.put("export/upstream_consumer/cert.pem", "not json".getBytes(StandardCharsets.UTF_8));
+        entries.put("export/rules2/rules.js", "// rules".getBytes(StandardCharsets.UTF_8));
+
+        ManifestArchive archive = this.read(this.buildArchive(entries));
+
+        assertEquals(entries.size(), archive.getEntryCount());
+        assertTrue(archive.hasContent());
+
+        assertNotNull(archive.getMeta());
+        assertEquals("admin", archive.getMeta().getPrincipalName());
+        assertEquals("consumer-uuid", archive.getConsumer().getUuid());
+        assertEquals("// rules", archive.getRules());
+
+        assertEquals(1, archive.getConsumerTypes().size());
+        assertEquals("candlepin", archive.getConsumerTypes().get(0).getLabel());
+
+        // Products are mapped by their file name, and non-JSON files are ignored
+        assertEquals(1, archive.getProducts().size());
+        assertEquals("prod-id", archive.getProducts().get("product-file").getId());
+
+        assertEquals(1, archive.getUpstreamConsumerCertificates().size());
+        assertEquals("cert-id", archive.getUpstreamConsumerCertificates().get(0).getId());
+
+        assertTrue(archive.contains(ImportFile.META));
+        assertTrue(archive.contains(ImportFile.CONSUMER));
+        assertTrue(archive.contains(ImportFile.CONSUMER_TYPE));
+        assertTrue(archive.contains(ImportFile.PRODUCTS));
+        assertTrue(archive.contains(ImportFile.RULES_FILE));
+        assertFalse(archive.contains(ImportFile.ENTITLEMENTS));
+        assertFalse(archive.contains(ImportFile.DISTRIBUTOR_VERSIONS));
+
+        assertNull(archive.getSchemeFile());
+    }
+
+    @Test
+    public void testIgnoresEntriesOutsideOfExportDirectory() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("meta.json", "not json".getBytes(StandardCharsets.UTF_8));
+        entries.put("../export/consumer.json", "not json".getBytes(StandardCharsets.UTF_8));
+
+        ManifestArchive archive = this.read(this.buildArchive(entries));
+
+        assertEquals(2, archive.getEntryCount());
+        assertFalse(archive.hasContent());
+        assertFalse(archive.contains(ImportFile.META));
+        assertFalse(archive.contains(ImportFile.CONSUMER));
+    }
+
+    @Test
+    public void testDirectoryNamesOnlyMatchDirectoryImportFiles() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("export/products", "not json".getBytes(StandardCharsets.UTF_8));
+        entries.put("export/meta.json/nested.json", "not json".getBytes(StandardCharsets.UTF_8));
+
+        ManifestArchive archive = this.read(this.buildArchive(entries));
+
+        assertTrue(archive.hasContent());
+        assertFalse(archive.contains(ImportFile.PRODUCTS));
+        assertFalse(archive.contains(ImportFile.META));
+    }
+
+    @Test
+    public void testReadDoesNotCloseSourceStream() throws Exception {
+        Map<String, byte[]> entries = Map.of("export/meta.json",
+            this.toJson(new Meta("1.0", new Date(), "admin", "prefix", null)));
+
+        boolean[] closed = new boolean[1];
+        InputStream istream = new ByteArrayInputStream(this.buildArchive(entries)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        ManifestArchive.read(istream, this.mapper);
+
+        assertFalse(closed[0]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 8 })
+    public void testParallelParsingRetainsArchiveOrder(int parseThreads) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("export/meta.json", this.toJson(new Meta("1.0", new Date(), "admin", "prefix", null)));
+
+        for (int i = 0; i < 50; ++i) {
+            ProductDTO product = new ProductDTO();
+            product.setId("prod-" + i);
+
+            EntitlementDTO entitlement = new EntitlementDTO();
+            entitlement.setId("ent-" + i);
+
+            entries.put("export/products/prod-" + i + ".json", this.toJson(product));
+            entries.put("export/entitlements/ent-" + i + ".json", this.toJson(entitlement));
+        }
+
+        ManifestArchive archive;
+        try (InputStream istream = new ByteArrayInputStream(this.buildArchive(entries))) {
+            archive = ManifestArchive.read(istream, this.mapper, parseThreads);
+        }
+
+        assertEquals(entries.size(), archive.getEntryCount());
+        assertEquals("admin", archive.getMeta().getPrincipalName());
+        assertEquals(50, archive.getProducts().size());
+
+        List<EntitlementDTO> entitlements = archive.getEntitlements();
+        assertEquals(50, entitlements.size());
+
+        for (int i = 0; i < 50; ++i) {
+            assertEquals("prod-" + i, archive.getProducts().get("prod-" + i).getId());
+            assertEquals("ent-" + i, entitlements.get(i).getId());
+        }
+    }
+
+    @Test
+    public void testParallelParsingPropagatesParseFailures() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("export/meta.json", this.toJson(new Meta("1.0", new Date(), "admin", "prefix", null)));
+        entries.put("export/entitlements/bad.json", "{ not json".getBytes(StandardCharsets.UTF_8));
+
+        try (InputStream istream = new ByteArrayInputStream(this.buildArchive(entries))) {
+            assertThrows(JacksonException.class, () -> ManifestArchive.read(istream, this.mapper, 4));
+        }
+    }
+
+    @Test
+    public void testReadSchemeFileOnlyParsesSchemeFile() throws Exception {
+        SchemeFile schemeFile = new SchemeFile("rsa", "cert", "SHA256withRSA", "RSA");
+
+        // The malformed entries would fail the read if parsed
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("export/meta.json", "{ not json".getBytes(StandardCharsets.UTF_8));
+        entries.put("export/" + SchemeFile.FILENAME, this.toJson(schemeFile));
+        entries.put("export/entitlements/bad.json", "{ not json".getBytes(StandardCharsets.UTF_8));
+
+        try (InputStream istream = new ByteArrayInputStream(this.buildArchive(entries))) {
+            assertEquals(schemeFile, ManifestArchive.readSchemeFile(istream, this.mapper));
+        }
+    }
+
+    @Test
+    public void testReadSchemeFileWithoutSchemeFile() throws Exception {
+        Map<String, byte[]> entries = Map.of("export/meta.json", "{ not json".getBytes(StandardCharsets.UTF_8));
+
+        try (InputStream istream = new ByteArrayInputStream(this.buildArchive(entries))) {
+            assertNull(ManifestArchive.readSchemeFile(istream, this.mapper));
+        }
+    }
+
+    @Test
+    public void testReadSchemeFileRejectsNonArchiveStream() throws Exception {
+        byte[] data = "This is just a flat file".getBytes(StandardCharsets.UTF_8);
+
+        try (InputStream istream = new ByteArrayInputStream(data)) {
+            assertThrows(ZipException.class, () -> ManifestArchive.readSchemeFile(istream, this.mapper));
+        }
+    }
+
+    @Test
+    public void testNonArchiveStreamHasNoEntries() throws Exception {
+        ManifestArchive archive = this.read("This is just a flat file".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(0, archive.getEntryCount());
+        assertFalse(archive.hasContent());
+    }
+}
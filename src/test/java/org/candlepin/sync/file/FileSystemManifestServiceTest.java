@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2009 - 2026 Red Hat, Inc.
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.candlepin.sync.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.candlepin.config.ConfigProperties;
+import org.candlepin.config.DevConfig;
+import org.candlepin.config.TestConfig;
+import org.candlepin.model.ManifestFileRecord;
+import org.candlepin.model.ManifestFileRecordCurator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.util.Date;
+import java.util.List;
+
+
+
+/**
+ * Test suite for the FileSystemManifestService class
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class FileSystemManifestServiceTest {
+    private static final byte[] ARCHIVE_DATA = "manifest archive data".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ManifestFileRecordCurator curator;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path storageDir;
+    private DevConfig config;
+
+    @BeforeEach
+    public void init() {
+        this.storageDir = this.tempDir.resolve("storage");
+
+        this.config = TestConfig.defaults();
+        this.config.setProperty(ConfigProperties.SYNC_MANIFEST_STORAGE_DIR, this.storageDir.toString());
+    }
+
+    private FileSystemManifestService buildService() {
+        return new FileSystemManifestService(this.config, this.curator);
+    }
+
+    private ManifestFileRecord buildRecord(String id, ManifestFileType type) {
+        ManifestFileRecord record = new ManifestFileRecord(type, "manifest.zip", "admin", "target", null);
+        record.setId(id);
+
+        when(this.curator.findFile(id)).thenReturn(record);
+        return record;
+    }
+
+    private File createArchive() throws Exception {
+        Path archive = this.tempDir.resolve("manifest.zip");
+        Files.write(archive, ARCHIVE_DATA);
+
+        return archive.toFile();
+    }
+
+    private ManifestFile storeArchive(FileSystemManifestService service, String id) throws Exception {
+        ManifestFileRecord record = this.buildRecord(id, ManifestFileType.EXPORT);
+        when(this.curator.createRecord(ManifestFileType.EXPORT, "manifest.zip", "admin", "target"))
+            .thenReturn(record);
+
+        return service.store(ManifestFileType.EXPORT, this.createArchive(), "admin", "target");
+    }
+
+    @Test
+    public void testStoreWritesArchiveToStorage() throws Exception {
+        FileSystemManifestService service = this.buildService();
+
+        ManifestFile stored = this.storeArchive(service, "file-id");
+
+        assertEquals("file-id", stored.getId());
+        assertEquals("manifest.zip", stored.getName());
+        assertEquals("target", stored.getTargetId());
+
+        Path path = this.storageDir.resolve("export").resolve("file-id.zip");
+        assertArrayEquals(ARCHIVE_DATA, Files.readAllBytes(path));
+
+        // No temporary files should be left behind
+        try (var files = Files.list(path.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testStoredArchiveCanBeReadAndTransferred() throws Exception {
+        FileSystemManifestService service = this.buildService();
+        this.storeArchive(service, "file-id");
+
+        ManifestFile manifest = service.get("file-id");
+        assertInstanceOf(StoredManifestFile.class, manifest);
+
+        try (InputStream istream = manifest.getInputStream()) {
+            assertArrayEquals(ARCHIVE_DATA, istream.readAllBytes());
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(ARCHIVE_DATA.length, manifest.transferTo(output));
+        assertArrayEquals(ARCHIVE_DATA, output.toByteArray());
+    }
+
+    @Test
+    public void testGetReturnsNullForMissingArchive() {
+        this.buildRecord("file-id", ManifestFileType.IMPORT);
+
+        assertNull(this.buildService().get("file-id"));
+        assertNull(this.buildService().get("unknown-id"));
+    }
+
+    @Test
+    public void testGetReturnsRecordsStoredInDatabase() {
+        ManifestFileRecord record = this.buildRecord("file-id", ManifestFileType.IMPORT);
+        record.setFileData(mock(Blob.class));
+
+        assertSame(record, this.buildService().get("file-id"));
+    }
+
+    @Test
+    public void testFailedStoreRemovesRecord() throws Exception {
+        // Occupy the storage directory with a regular file so the archive cannot be written
+        Files.write(this.storageDir, ARCHIVE_DATA);
+
+        FileSystemManifestService service = this.buildService();
+
+        assertThrows(ManifestFileServiceException.class, () -> this.storeArchive(service, "file-id"));
+        verify(this.curator).deleteById("file-id");
+    }
+
+    @Test
+    public void testDeleteRemovesArchiveAndRecord() throws Exception {
+        FileSystemManifestService service = this.buildService();
+        this.storeArchive(service, "file-id");
+        when(this.curator.deleteById("file-id")).thenReturn(true);
+
+        assertTrue(service.delete("file-id"));
+        assertFalse(Files.exists(this.storageDir.resolve("export").resolve("file-id.zip")));
+        verify(this.curator).deleteById("file-id");
+    }
+
+    @Test
+    public void testDeleteMatchingRemovesArchives() throws Exception {
+        FileSystemManifestService service = this.buildService();
+        this.storeArchive(service, "file-id");
+        when(this.curator.listMatchingIds(ManifestFileType.EXPORT, "target")).thenReturn(List.of("file-id"));
+        when(this.curator.deleteMatching(ManifestFileType.EXPORT, "target")).thenReturn(1);
+
+        assertEquals(1, service.delete(ManifestFileType.EXPORT, "target"));
+        assertFalse(Files.exists(this.storageDir.resolve("export").resolve("file-id.zip")));
+    }
+
+    @Test
+    public void testDeleteExpiredRemovesArchives() throws Exception {
+        FileSystemManifestService service = this.buildService();
+        this.storeArchive(service, "file-id");
+        when(this.curator.listExpiredIds(any(Date.class))).thenReturn(List.of("file-id"));
+        when(this.curator.deleteExpired(any(Date.class))).thenReturn(1);
+
+        assertEquals(1, service.deleteExpired(new Date()));
+        assertFalse(Files.exists(this.storageDir.resolve("export").resolve("file-id.zip")));
+    }
+
+    @Test
+    public void testProviderSelectsConfiguredService() {
+        DBManifestService dbService = new DBManifestService(this.curator);
+        FileSystemManifestService fsService = this.buildService();
+
+        ManifestFileServiceProvider provider = new ManifestFileServiceProvider(this.config,
+            () -> dbService, () -> fsService);
+
+        assertSame(dbService, provider.get());
+
+        this.config.setProperty(ConfigProperties.SYNC_MANIFEST_STORAGE_TYPE,
+            ManifestFileServiceProvider.STORAGE_TYPE_FILESYSTEM);
+        assertSame(fsService, provider.get());
+    }
+}